@@ -0,0 +1,60 @@
+package com.microservices.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * 🏁 BENCHMARK RUNNER - Punto de entrada de target/benchmarks.jar
+ *
+ * Igual que org.openjdk.jmh.Main (acepta las mismas opciones: -f, -wi, -i,
+ * un filtro por nombre...), pero SIEMPRE deja un informe legible por máquina:
+ * si no se indica -rf / -rff, escribe JSON en target/jmh-result.json.
+ *
+ * Ejemplos:
+ *   java -jar benchmarks/target/benchmarks.jar
+ *   java -jar benchmarks/target/benchmarks.jar Email -f 1 -rff email.json
+ *
+ * El JSON se puede comparar entre ejecuciones (p.ej. con jmh.morethan.io)
+ * para tener una línea base antes de cualquier optimización.
+ */
+public final class BenchmarkRunner {
+
+    static final String DEFAULT_RESULT_FILE = "target/jmh-result.json";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        CommandLineOptions cmd;
+        try {
+            cmd = new CommandLineOptions(args);
+        } catch (CommandLineOptionException e) {
+            System.err.println("Error en los argumentos: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        if (cmd.shouldHelp()) {
+            cmd.showHelp();
+            return;
+        }
+        if (cmd.shouldList()) {
+            new Runner(cmd).list();
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmd);
+        if (!cmd.getResultFormat().hasValue() && !cmd.getResult().hasValue()) {
+            // Sin preferencia del usuario → informe JSON por defecto
+            options.resultFormat(ResultFormatType.JSON).result(DEFAULT_RESULT_FILE);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,133 @@
+package com.microservices.benchmarks.event;
+
+import com.microservices.order.domain.event.OrderCreatedEvent;
+import com.microservices.order.infrastructure.adapter.out.kafka.KafkaProducerAdapter;
+import com.microservices.order.infrastructure.config.KafkaProducerConfig;
+import com.microservices.order.infrastructure.config.KafkaProducerProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📤 KAFKA PRODUCER BENCHMARK
+ *
+ * Compara los perfiles del productor (KafkaProducerProfile) publicando
+ * OrderCreatedEvent con KafkaProducerAdapter contra un Kafka embebido
+ * (KRaft, 1 broker, 3 particiones):
+ * - publishBatch: eventos/s enviando 1000 eventos seguidos y esperando a
+ *   que el broker los confirme todos (flush)
+ * - publishOne: latencia de un evento hasta la confirmación del broker
+ *
+ * El broker corre en el mismo proceso: no hay red y compite por CPU con el
+ * productor. Sirve para comparar perfiles entre sí, no como cifra absoluta;
+ * contra un clúster real se ve además el efecto de la red y de acks=all
+ * con réplicas.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KafkaProducerBenchmark {
+
+    private static final int BATCH = 1000;
+
+    @Param({"LOW_LATENCY", "BALANCED", "HIGH_THROUGHPUT", "EXACTLY_ONCE"})
+    public KafkaProducerProfile profile;
+
+    private EmbeddedKafkaBroker kafka;
+    private DefaultKafkaProducerFactory<String, Object> producerFactory;
+    private KafkaTemplate<String, Object> kafkaTemplate;
+    private KafkaProducerAdapter adapter;
+
+    private OrderCreatedEvent[] events;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // Un solo broker: el log de transacciones (exactly-once) con 1 réplica
+        kafka = new EmbeddedKafkaKraftBroker(1, 3, KafkaProducerAdapter.TOPIC)
+            .brokerProperties(Map.of(
+                "transaction.state.log.replication.factor", "1",
+                "transaction.state.log.min.isr", "1"));
+        kafka.afterPropertiesSet();
+
+        producerFactory = KafkaProducerConfig.createProducerFactory(
+            kafka.getBrokersAsString(), profile, "benchmark-" + UUID.randomUUID() + "-", Map.of());
+        kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        adapter = new KafkaProducerAdapter(kafkaTemplate);
+
+        // Órdenes distintas: claves repartidas entre particiones y una
+        // compresión realista (no el mismo mensaje repetido)
+        events = new OrderCreatedEvent[1024];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new OrderCreatedEvent(
+                UUID.randomUUID().toString(),
+                UUID.randomUUID().toString(),
+                "user" + i + "@example.com",
+                10 + i * 0.25,
+                "Orden por un total de " + (10 + i * 0.25),
+                LocalDateTime.now(),
+                "OrderCreated"
+            );
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        producerFactory.destroy();
+        kafka.destroy();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH)
+    public void publishBatch() {
+        for (int i = 0; i < BATCH; i++) {
+            adapter.publishOrderCreatedEvent(nextEvent());
+        }
+        awaitAcks();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void publishOne() {
+        adapter.publishOrderCreatedEvent(nextEvent());
+        awaitAcks();
+    }
+
+    /**
+     * Espera la confirmación del broker. Con exactly-once el adaptador ya
+     * la esperó (commit de la transacción de cada evento) y flush() fuera
+     * de una transacción no está permitido.
+     */
+    private void awaitAcks() {
+        if (!kafkaTemplate.isTransactional()) {
+            kafkaTemplate.flush();
+        }
+    }
+
+    private OrderCreatedEvent nextEvent() {
+        return events[next++ & (events.length - 1)];
+    }
+}
@@ -0,0 +1,98 @@
+package com.microservices.benchmarks.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.support.JacksonUtils;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📨 ORDER CREATED EVENT JSON BENCHMARK
+ *
+ * Mide la (de)serialización JSON de los dos OrderCreatedEvent:
+ * - order-service lo serializa al publicarlo en Kafka
+ * - notification-service deserializa los mismos bytes en su propia clase
+ *
+ * Se usa el mismo ObjectMapper que JsonSerializer/JsonDeserializer de
+ * spring-kafka (JacksonUtils.enhancedObjectMapper) y, como ellos, un
+ * ObjectWriter/ObjectReader preconstruido.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class OrderCreatedEventJsonBenchmark {
+
+    private ObjectWriter writer;
+    private ObjectReader orderEventReader;
+    private ObjectReader notificationEventReader;
+
+    private com.microservices.order.domain.event.OrderCreatedEvent orderEvent;
+    private com.microservices.notification.domain.event.OrderCreatedEvent notificationEvent;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = JacksonUtils.enhancedObjectMapper();
+        writer = objectMapper.writer();
+        orderEventReader = objectMapper.readerFor(com.microservices.order.domain.event.OrderCreatedEvent.class);
+        notificationEventReader = objectMapper.readerFor(
+            com.microservices.notification.domain.event.OrderCreatedEvent.class);
+
+        orderEvent = new com.microservices.order.domain.event.OrderCreatedEvent(
+            UUID.randomUUID().toString(),
+            UUID.randomUUID().toString(),
+            "john.doe@example.com",
+            149.99,
+            "Orden por un total de 149.99",
+            LocalDateTime.now(),
+            "OrderCreated"
+        );
+        payload = writer.writeValueAsBytes(orderEvent);
+        notificationEvent = notificationEventReader.readValue(payload);
+    }
+
+    // ============================================
+    // order-service (productor)
+    // ============================================
+
+    @Benchmark
+    public byte[] serializeOrderEvent() throws IOException {
+        return writer.writeValueAsBytes(orderEvent);
+    }
+
+    @Benchmark
+    public Object deserializeOrderEvent() throws IOException {
+        return orderEventReader.readValue(payload);
+    }
+
+    // ============================================
+    // notification-service (consumidor)
+    // ============================================
+
+    @Benchmark
+    public byte[] serializeNotificationEvent() throws IOException {
+        return writer.writeValueAsBytes(notificationEvent);
+    }
+
+    @Benchmark
+    public Object deserializeNotificationEvent() throws IOException {
+        return notificationEventReader.readValue(payload);
+    }
+}
@@ -0,0 +1,105 @@
+package com.microservices.benchmarks.order;
+
+import com.microservices.order.application.dto.CreateOrderRequest;
+import com.microservices.order.application.dto.OrderResponse;
+import com.microservices.order.application.port.output.PublishOrderEventPort;
+import com.microservices.order.application.port.output.UserValidationPort;
+import com.microservices.order.application.service.FanOut;
+import com.microservices.order.application.service.OrderService;
+import com.microservices.order.domain.event.OrderCreatedEvent;
+import com.microservices.order.domain.event.OrderStatusChangedEvent;
+import com.microservices.order.infrastructure.adapter.output.persistence.inmemory.InMemoryOrderRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 🔀 CREATE ORDER LATENCY BENCHMARK
+ *
+ * Latencia de OrderService.execute(CreateOrderRequest) con un user-service
+ * simulado que tarda remoteLatencyMicros por llamada (una sola llamada por
+ * orden: valida el usuario y devuelve su email):
+ * - sequential: el flujo original, consulta y después Order.create
+ * - parallel: FanOut, la consulta en el pool mientras este hilo hace
+ *   Order.create (id y validación del importe)
+ *
+ * Con una sola llamada remota lo que se puede solapar es poco (el coste de
+ * Order.create); lo que mide parallel es sobre todo el coste del pool.
+ *
+ * Repositorio en memoria y publicación sin broker: lo que se mide es el
+ * camino crítico de la petición. Con 4 hilos se ve además el coste de
+ * repartir los pasos entre el pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(4)
+public class CreateOrderLatencyBenchmark {
+
+    @Param({"sequential", "parallel"})
+    public String pipeline;
+
+    @Param({"500", "2000"})
+    public long remoteLatencyMicros;
+
+    private final UUID userId = UUID.randomUUID();
+    private FanOut fanOut;
+    private OrderService service;
+
+    @Setup
+    public void setUp() {
+        UserValidationPort userService = new UserValidationPort() {
+            @Override
+            public Optional<String> validateUserExists(String userId) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(remoteLatencyMicros));
+                return Optional.of("benchmark@example.com");
+            }
+        };
+        PublishOrderEventPort events = new PublishOrderEventPort() {
+            @Override
+            public void publishOrderCreatedEvent(OrderCreatedEvent event) {
+            }
+
+            @Override
+            public void publishOrderStatusChangedEvent(OrderStatusChangedEvent event) {
+            }
+        };
+        fanOut = pipeline.equals("parallel")
+                ? new FanOut(Executors.newFixedThreadPool(16), Duration.ofSeconds(5))
+                : null;
+        service = new OrderService(new InMemoryOrderRepository(), userService, events, fanOut);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (fanOut != null) {
+            fanOut.close();
+        }
+    }
+
+    @Benchmark
+    public OrderResponse create() {
+        return service.execute(new CreateOrderRequest(userId.toString(), BigDecimal.TEN));
+    }
+}
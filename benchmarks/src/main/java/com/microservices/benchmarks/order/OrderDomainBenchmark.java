@@ -0,0 +1,54 @@
+package com.microservices.benchmarks.order;
+
+import com.microservices.order.application.dto.OrderResponse;
+import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🛒 ORDER DOMAIN BENCHMARK
+ *
+ * Mide los caminos calientes del dominio de order-service:
+ * - OrderId.of(...): parseo del UUID de la URL
+ * - OrderResponse.from(...): mapeo dominio → DTO de salida
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class OrderDomainBenchmark {
+
+    private String orderId;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        orderId = UUID.randomUUID().toString();
+        order = Order.create(UUID.randomUUID(), new BigDecimal("149.99"));
+    }
+
+    @Benchmark
+    public OrderId orderIdOf() {
+        return OrderId.of(orderId);
+    }
+
+    @Benchmark
+    public OrderResponse orderResponseFrom() {
+        return OrderResponse.from(order);
+    }
+}
@@ -0,0 +1,153 @@
+package com.microservices.benchmarks.order;
+
+import com.microservices.order.domain.exception.ConcurrentOrderUpdateException;
+import com.microservices.order.domain.exception.InvalidOrderStateException;
+import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderId;
+import com.microservices.order.domain.model.OrderStatus;
+import com.microservices.order.domain.model.OrderTransition;
+import com.microservices.order.domain.repository.OrderRepository;
+import com.microservices.order.infrastructure.adapter.output.persistence.inmemory.InMemoryOrderRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🔄 ORDER STATUS TRANSITION BENCHMARK
+ *
+ * Cambios de estado con 8 hilos sobre pocas órdenes "calientes", como
+ * cuando llega una ráfaga de webhooks de pago para las mismas órdenes:
+ * - atomic: InMemoryOrderRepository.transitionStatus() (computeIfPresent,
+ *   atómico por orden, sin reintentos)
+ * - readModifyWrite: lectura + transitionTo() + save() con compare-and-set
+ *   y reintento si hay conflicto (el método default del puerto)
+ *
+ * 3 de cada 4 peticiones son PAID (muchas repetidas) y 1 CANCELLED. Una
+ * orden cancelada se sustituye por una nueva en CREATED para que la
+ * mezcla de transiciones no cambie durante la medición.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@Threads(8)
+public class OrderStatusTransitionBenchmark {
+
+    @Param({"1", "16", "1024"})
+    public int hotOrders;
+
+    @Param({"atomic", "readModifyWrite"})
+    public String strategy;
+
+    private InMemoryOrderRepository store;
+    private OrderRepository repository;
+    private OrderId[] ids;
+
+    @Setup
+    public void setUp() {
+        store = new InMemoryOrderRepository();
+        repository = strategy.equals("atomic") ? store : new ReadModifyWriteRepository(store);
+        ids = new OrderId[hotOrders];
+        for (int i = 0; i < hotOrders; i++) {
+            ids[i] = store.save(Order.create(UUID.randomUUID(), new BigDecimal("149.99"))).getId();
+        }
+    }
+
+    @Benchmark
+    public Object transition() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        OrderId id = ids[random.nextInt(ids.length)];
+        OrderStatus target = random.nextInt(4) == 0 ? OrderStatus.CANCELLED : OrderStatus.PAID;
+        try {
+            Optional<OrderTransition> transition = transitionWithRetry(id, target);
+            if (transition.isPresent() && transition.get().changed() && target.isFinal()) {
+                recycle(id);
+            }
+            return transition;
+        } catch (InvalidOrderStateException e) {
+            return e;
+        }
+    }
+
+    private Optional<OrderTransition> transitionWithRetry(OrderId id, OrderStatus target) {
+        while (true) {
+            try {
+                return repository.transitionStatus(id, target);
+            } catch (ConcurrentOrderUpdateException conflict) {
+                // Igual que OrderService, pero sin límite: se mide el coste de los reintentos
+            }
+        }
+    }
+
+    private void recycle(OrderId id) {
+        LocalDateTime now = LocalDateTime.now();
+        store.deleteById(id);
+        try {
+            store.save(new Order(id, UUID.randomUUID(), new BigDecimal("149.99"), OrderStatus.CREATED, now, now));
+        } catch (ConcurrentOrderUpdateException alreadyRecycled) {
+            // Otro hilo ya la sustituyó
+        }
+    }
+
+    /**
+     * Mismo almacenamiento, pero transitionStatus() es el método default
+     * del puerto (lectura + compare-and-set)
+     */
+    private static final class ReadModifyWriteRepository implements OrderRepository {
+
+        private final OrderRepository delegate;
+
+        private ReadModifyWriteRepository(OrderRepository delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Order save(Order order) {
+            return delegate.save(order);
+        }
+
+        @Override
+        public Optional<Order> findById(OrderId id) {
+            return delegate.findById(id);
+        }
+
+        @Override
+        public List<Order> findAll() {
+            return delegate.findAll();
+        }
+
+        @Override
+        public List<Order> findByStatus(OrderStatus status) {
+            return delegate.findByStatus(status);
+        }
+
+        @Override
+        public void deleteById(OrderId id) {
+            delegate.deleteById(id);
+        }
+
+        @Override
+        public boolean existsById(OrderId id) {
+            return delegate.existsById(id);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.microservices.benchmarks.order;
+
+import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderId;
+import com.microservices.order.domain.repository.OrderRepository;
+import com.microservices.order.infrastructure.adapter.output.persistence.inmemory.CompactOrderRepository;
+import com.microservices.order.infrastructure.adapter.output.persistence.inmemory.InMemoryOrderRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🗜️ ORDER STORE BENCHMARK
+ *
+ * Repositorio en memoria con muchas órdenes:
+ * - map: InMemoryOrderRepository (ConcurrentHashMap de Order)
+ * - compact: CompactOrderRepository (columnas fuera del heap)
+ *
+ * Mide findById() y save() de una orden leída (compare-and-set). Al
+ * preparar el estado imprime lo que ocupa cada orden en el heap y fuera
+ * de él: es lo que decide cuántas órdenes caben por GB y cuánto heap
+ * tiene que recorrer el GC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = "-Xmx2g")
+public class OrderStoreBenchmark {
+
+    @Param({"map", "compact"})
+    public String layout;
+
+    @Param({"1000000"})
+    public int orders;
+
+    private OrderRepository repository;
+    private OrderId[] ids;
+
+    @Setup
+    public void setUp() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ids = new OrderId[orders];
+        for (int i = 0; i < orders; i++) {
+            ids[i] = OrderId.generate();
+        }
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+
+        CompactOrderRepository compact = layout.equals("compact") ? new CompactOrderRepository() : null;
+        repository = compact != null ? compact : new InMemoryOrderRepository();
+        for (OrderId id : ids) {
+            Order order = Order.create(UUID.randomUUID(), BigDecimal.valueOf(ThreadLocalRandom.current().nextLong(100, 100_000), 2));
+            order.setId(id);
+            repository.save(order);
+        }
+
+        System.gc();
+        long heap = memory.getHeapMemoryUsage().getUsed() - heapBefore;
+        long offHeap = compact != null ? compact.offHeapBytes() : 0;
+        System.out.printf("%n%s: %d órdenes, heap %d bytes/orden, fuera del heap %d bytes/orden%n",
+                layout, orders, heap / orders, offHeap / orders);
+    }
+
+    @Benchmark
+    public Object findById() {
+        return repository.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public Order readAndSave() {
+        OrderId id = ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        return repository.save(repository.findById(id).orElseThrow());
+    }
+}
@@ -0,0 +1,85 @@
+package com.microservices.benchmarks.user;
+
+import com.microservices.user.application.dto.UserResponse;
+import com.microservices.user.domain.model.Email;
+import com.microservices.user.domain.model.User;
+import com.microservices.user.domain.model.UserId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 👤 USER DOMAIN BENCHMARK
+ *
+ * Mide los caminos calientes del dominio de user-service:
+ * - new Email(...): validación + normalización en cada petición
+ * - Email.fromTrusted(...): sin validación, en cada lectura de BD
+ * - UserId.of(...): parseo del UUID de la URL
+ * - UserResponse.from(...): mapeo dominio → DTO de salida
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class UserDomainBenchmark {
+
+    /**
+     * normalized: ya viene en minúsculas y sin espacios (caso de la BD)
+     * raw: tal como lo envía un cliente
+     */
+    @Param({"normalized", "raw"})
+    public String emailInput;
+
+    private String email;
+    private String userId;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        email = emailInput.equals("raw") ? "  John.Doe@Example.COM " : "john.doe@example.com";
+        userId = UUID.randomUUID().toString();
+        user = User.create(new Email("john.doe@example.com"), "John Doe");
+    }
+
+    @Benchmark
+    public Email emailConstruction() {
+        return new Email(email);
+    }
+
+    @Benchmark
+    public Email emailFromTrusted() {
+        return Email.fromTrusted(email);
+    }
+
+    @Benchmark
+    public Object emailRejected() {
+        try {
+            return new Email("not-an-email");
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public UserId userIdOf() {
+        return UserId.of(userId);
+    }
+
+    @Benchmark
+    public UserResponse userResponseFrom() {
+        return UserResponse.from(user);
+    }
+}
@@ -0,0 +1,56 @@
+package com.microservices.notification.application.service;
+
+import com.microservices.notification.domain.event.OrderCreatedEvent;
+import com.microservices.notification.domain.model.Notification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📩 NOTIFICATION SERVICE BENCHMARK
+ *
+ * Mide NotificationService.buildNotification(): UUID aleatorio +
+ * String.format del mensaje, una vez por cada evento consumido.
+ *
+ * Vive en el mismo paquete que el servicio porque el método
+ * es package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class NotificationServiceBenchmark {
+
+    private OrderCreatedEvent event;
+
+    @Setup
+    public void setUp() {
+        event = new OrderCreatedEvent(
+            UUID.randomUUID().toString(),
+            UUID.randomUUID().toString(),
+            "john.doe@example.com",
+            149.99,
+            "Orden por un total de 149.99",
+            LocalDateTime.now(),
+            "OrderCreated"
+        );
+    }
+
+    @Benchmark
+    public Notification buildNotification() {
+        return NotificationService.buildNotification(event);
+    }
+}
@@ -0,0 +1,55 @@
+package com.microservices.user.infrastructure.adapter.output.persistence;
+
+import com.microservices.user.domain.model.Email;
+import com.microservices.user.domain.model.User;
+import com.microservices.user.infrastructure.adapter.output.persistence.entity.UserEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🔌 USER PERSISTENCE MAPPER BENCHMARK
+ *
+ * Mide los mappers de PostgresUserRepositoryAdapter (User ↔ UserEntity).
+ * toDomain() se ejecuta por cada fila leída, así que en findAll()
+ * su coste se multiplica por el número de usuarios.
+ *
+ * Vive en el mismo paquete que el adaptador porque los mappers
+ * son package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class UserPersistenceMapperBenchmark {
+
+    private User user;
+    private UserEntity entity;
+
+    @Setup
+    public void setUp() {
+        user = User.create(new Email("john.doe@example.com"), "John Doe");
+        entity = PostgresUserRepositoryAdapter.toEntity(user);
+    }
+
+    @Benchmark
+    public UserEntity toEntity() {
+        return PostgresUserRepositoryAdapter.toEntity(user);
+    }
+
+    @Benchmark
+    public User toDomain() {
+        return PostgresUserRepositoryAdapter.toDomain(entity);
+    }
+}
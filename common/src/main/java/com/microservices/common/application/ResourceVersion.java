@@ -0,0 +1,59 @@
+package com.microservices.common.application;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * 🏷️ RESOURCE VERSION - Versión de un recurso o de una lista (base del ETag)
+ *
+ * Se calcula con los datos que cambian en cada modificación (updatedAt,
+ * estado...) directamente sobre las entidades de dominio: así un GET
+ * condicional (If-None-Match) se resuelve sin mapear a DTO ni serializar.
+ *
+ * Para listas se combinan id + versión de cada elemento y el número de
+ * elementos: cualquier alta, baja o modificación cambia la versión.
+ *
+ * Hash FNV-1a de 64 bits: no es criptográfico, solo tiene que cambiar
+ * cuando cambian los datos.
+ */
+public final class ResourceVersion {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private long hash = FNV_OFFSET_BASIS;
+    private int parts;
+
+    /**
+     * Añade un instante con precisión de nanosegundos (hashCode() la perdería)
+     */
+    public ResourceVersion add(LocalDateTime timestamp) {
+        return mix(timestamp == null ? 0 : timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + timestamp.getNano());
+    }
+
+    /**
+     * Solo valores con hashCode() estable entre JVMs (UUID, String...): la
+     * versión tiene que ser la misma en todas las réplicas. Los enum usan
+     * el hashCode de identidad, por eso se usa su nombre.
+     */
+    public ResourceVersion add(Object value) {
+        if (value instanceof Enum<?> constant) {
+            return mix(constant.name().hashCode());
+        }
+        return mix(value == null ? 0 : value.hashCode());
+    }
+
+    private ResourceVersion mix(long value) {
+        hash = (hash ^ value) * FNV_PRIME;
+        parts++;
+        return this;
+    }
+
+    /**
+     * Formato compacto, p.ej. "2-3k1x9c0d2ab5f"
+     */
+    @Override
+    public String toString() {
+        return Integer.toString(parts, 36) + "-" + Long.toUnsignedString(hash, 36);
+    }
+}
@@ -0,0 +1,115 @@
+package com.microservices.common.application;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 🛬 SINGLE FLIGHT - Una sola ejecución para llamadas simultáneas iguales
+ *
+ * La primera llamada con una clave la ejecuta en su hilo y deja un
+ * CompletableFuture en vuelo; las que llegan con la misma clave mientras
+ * tanto esperan ese futuro y reciben el mismo resultado (o la misma
+ * excepción). En cuanto termina, la clave se libera: NO es una caché, la
+ * siguiente llamada vuelve a ejecutarse.
+ *
+ * Si el hilo que ejecuta es interrumpido (p.ej. se cancela su
+ * petición), los que esperaban no heredan el fallo: vuelven a intentarlo
+ * y uno de ellos pasa a ejecutar.
+ *
+ * Solo para lecturas cuyo resultado no se modifica: todos reciben la
+ * misma instancia.
+ *
+ * @param <K> clave de la llamada (equals/hashCode)
+ * @param <V> resultado
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public V execute(K key, Supplier<V> call) {
+        while (true) {
+            CompletableFuture<V> flight = new CompletableFuture<>();
+            CompletableFuture<V> running = inFlight.putIfAbsent(key, flight);
+            if (running == null) {
+                return lead(key, flight, call);
+            }
+            coalesced.increment();
+            try {
+                return running.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrumpido esperando la llamada en curso: " + key);
+            } catch (ExecutionException e) {
+                if (!(e.getCause() instanceof LeaderInterrupted)) {
+                    throw rethrow(e.getCause());
+                }
+            }
+        }
+    }
+
+    /**
+     * Llamadas ejecutadas (una por grupo de llamadas simultáneas)
+     */
+    public long executions() {
+        return executions.sum();
+    }
+
+    /**
+     * Llamadas que esperaron a otra en curso en lugar de ejecutarse
+     */
+    public long coalesced() {
+        return coalesced.sum();
+    }
+
+    private V lead(K key, CompletableFuture<V> flight, Supplier<V> call) {
+        executions.increment();
+        try {
+            V value = call.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(interrupted(e) ? new LeaderInterrupted() : e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static boolean interrupted(Throwable failure) {
+        if (Thread.currentThread().isInterrupted()) {
+            return true;
+        }
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof InterruptedException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    /**
+     * Marca para los que esperan: reintentar en lugar de fallar
+     */
+    private static final class LeaderInterrupted extends RuntimeException {
+        LeaderInterrupted() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.microservices.common.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.type.MethodMetadata;
+
+/**
+ * 🚀 Arranque rápido (perfil fast-startup).
+ *
+ * Con spring.main.lazy-initialization=true los beans se crean en su primer uso.
+ * Se excluyen (siguen siendo eager) los de la propia aplicación: controladores,
+ * casos de uso, adaptadores y los @Bean de nuestras clases @Configuration,
+ * para que la primera petición no pague su creación. El resto de la
+ * infraestructura que casi nunca se usa (cliente de Eureka, Config Client,
+ * endpoints de Actuator...) solo se crea si alguien la pide.
+ *
+ * Los SmartLifecycle también se excluyen: tienen que arrancar con la aplicación.
+ */
+@Configuration
+@Profile("fast-startup")
+public class FastStartupConfig {
+
+    private static final String APPLICATION_PACKAGE = "com.microservices.";
+
+    /**
+     * static: el filtro lo consulta un BeanFactoryPostProcessor
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter applicationBeansEagerFilter() {
+        return (beanName, beanDefinition, beanType) ->
+            isApplicationType(beanType)
+                || isDeclaredByApplication(beanDefinition)
+                || (beanType != null && SmartLifecycle.class.isAssignableFrom(beanType));
+    }
+
+    private static boolean isApplicationType(Class<?> beanType) {
+        return beanType != null && beanType.getName().startsWith(APPLICATION_PACKAGE);
+    }
+
+    private static boolean isDeclaredByApplication(BeanDefinition beanDefinition) {
+        if (beanDefinition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            return factoryMethod != null && factoryMethod.getDeclaringClassName().startsWith(APPLICATION_PACKAGE);
+        }
+        return false;
+    }
+}
@@ -0,0 +1,81 @@
+package com.microservices.common.infrastructure.config;
+
+import com.microservices.common.infrastructure.idempotency.IdempotencyFilter;
+import com.microservices.common.infrastructure.idempotency.IdempotencyRepository;
+import com.microservices.common.infrastructure.idempotency.InMemoryIdempotencyRepository;
+import com.microservices.common.infrastructure.idempotency.JdbcIdempotencyRepository;
+import com.microservices.common.infrastructure.ratelimit.ClientIdentity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.init.DataSourceScriptDatabaseInitializer;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 🔑 IDEMPOTENCY CONFIG - Idempotency-Key en los POST del servicio
+ *
+ * - idempotency.url-patterns (obligatoria): rutas del servicio con el
+ *   filtro, p. ej. /orders
+ * - idempotency.store=memory (por defecto): por instancia, acotado
+ *   (max-entries) y con TTL
+ * - idempotency.store=jdbc: tabla idempotency_keys (db/idempotency-schema.sql),
+ *   compartida entre réplicas. El script (IF NOT EXISTS) se aplica al
+ *   arrancar solo con este store; idempotency.schema-init=false si la
+ *   tabla se crea como migración (usuario de BD sin permisos de DDL)
+ *
+ * Las claves son de cada cliente (ClientIdentity, la misma identidad que
+ * el rate limit). Ver IdempotencyFilter.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "idempotency", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyRepository inMemoryIdempotencyRepository(
+            @Value("${idempotency.max-entries:100000}") int maxEntries,
+            @Value("${idempotency.ttl:24h}") Duration ttl,
+            @Value("${idempotency.in-flight-timeout:10s}") Duration inFlightTimeout) {
+        return new InMemoryIdempotencyRepository(maxEntries, ttl, inFlightTimeout);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "idempotency", name = "store", havingValue = "jdbc")
+    public IdempotencyRepository jdbcIdempotencyRepository(
+            JdbcTemplate jdbcTemplate,
+            @Value("${idempotency.ttl:24h}") Duration ttl,
+            @Value("${idempotency.in-flight-timeout:10s}") Duration inFlightTimeout) {
+        return new JdbcIdempotencyRepository(jdbcTemplate, ttl, inFlightTimeout);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "idempotency", name = "store", havingValue = "jdbc")
+    public DataSourceScriptDatabaseInitializer idempotencySchemaInitializer(
+            DataSource dataSource,
+            @Value("${idempotency.schema-init:true}") boolean schemaInit) {
+        DatabaseInitializationSettings settings = new DatabaseInitializationSettings();
+        settings.setSchemaLocations(List.of("classpath:db/idempotency-schema.sql"));
+        settings.setMode(schemaInit ? DatabaseInitializationMode.ALWAYS : DatabaseInitializationMode.NEVER);
+        return new DataSourceScriptDatabaseInitializer(dataSource, settings);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(
+            IdempotencyRepository idempotencyRepository,
+            ClientIdentity clientIdentity,
+            @Value("${idempotency.url-patterns}") String[] urlPatterns,
+            @Value("${idempotency.in-flight-timeout:10s}") Duration inFlightTimeout) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(idempotencyRepository, clientIdentity::of, inFlightTimeout));
+        registration.addUrlPatterns(urlPatterns);
+        return registration;
+    }
+}
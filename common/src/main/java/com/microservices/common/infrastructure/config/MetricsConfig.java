@@ -0,0 +1,29 @@
+package com.microservices.common.infrastructure.config;
+
+import com.microservices.common.infrastructure.metrics.HexagonPortObservationPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 📏 Instrumentación de los puertos del hexágono (casos de uso y puertos de salida).
+ *
+ * Métricas en /actuator/prometheus:
+ * - hexagon_port_seconds{layer, port, method, error}   (timer + histograma)
+ * - hexagon_port_errors_total{layer, port, method, exception}
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * static: los BeanPostProcessor se crean antes que el resto de beans
+     */
+    @Bean
+    public static HexagonPortObservationPostProcessor hexagonPortObservationPostProcessor(
+            ObjectProvider<ObservationRegistry> observationRegistry,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new HexagonPortObservationPostProcessor(observationRegistry, meterRegistry);
+    }
+}
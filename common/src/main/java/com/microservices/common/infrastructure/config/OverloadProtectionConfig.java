@@ -0,0 +1,124 @@
+package com.microservices.common.infrastructure.config;
+
+import com.microservices.common.infrastructure.ratelimit.AdaptiveConcurrencyLimiter;
+import com.microservices.common.infrastructure.ratelimit.ClientIdentity;
+import com.microservices.common.infrastructure.ratelimit.ConcurrencyLimitFilter;
+import com.microservices.common.infrastructure.ratelimit.RateLimitFilter;
+import com.microservices.common.infrastructure.ratelimit.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 🚦 OVERLOAD PROTECTION CONFIG - Rate limit y límite de concurrencia
+ *
+ * Cada servicio la registra (@Import) y elige en application.yml dónde se
+ * aplica:
+ * - overload.url-patterns: rutas protegidas (p.ej. /orders, /orders/*),
+ *   nunca /actuator. Obligatoria
+ * - overload.concurrency-limit.excluded-paths: patrones Ant de rutas de
+ *   larga duración (SSE, importaciones) que el límite no cuenta
+ *
+ * Orden de los filtros: después del de observación (los rechazos aparecen
+ * en http.server.requests) y antes del de Idempotency-Key:
+ * 1. RateLimitFilter: 429 si un cliente supera su tasa
+ * 2. ConcurrencyLimitFilter: 503 si el servicio está al límite
+ *
+ * Clientes (ClientIdentity): solo las API keys de client-keys y
+ * trusted-keys identifican a un cliente; cualquier otro valor de la
+ * cabecera cuenta como la IP de la conexión.
+ *
+ * Métricas:
+ * - rate_limit_rejected_total              peticiones rechazadas (429)
+ * - rate_limit_clients                     clientes con cubo en memoria
+ * - concurrency_limit                      límite actual
+ * - concurrency_limit_in_flight            peticiones en curso
+ * - concurrency_limit_rejected_total       peticiones rechazadas (503)
+ */
+@Configuration
+public class OverloadProtectionConfig {
+
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    private final String[] urlPatterns;
+
+    public OverloadProtectionConfig(@Value("${overload.url-patterns}") String[] urlPatterns) {
+        this.urlPatterns = urlPatterns;
+    }
+
+    @Bean
+    public ClientIdentity clientIdentity(
+            @Value("${overload.rate-limit.client-header:X-API-Key}") String clientHeader,
+            @Value("${overload.rate-limit.client-keys:}") Set<String> clientKeys,
+            @Value("${overload.rate-limit.trusted-keys:}") Set<String> trustedKeys) {
+        Set<String> knownKeys = new HashSet<>(clientKeys);
+        knownKeys.addAll(trustedKeys);
+        return new ClientIdentity(clientHeader, knownKeys);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "overload.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            @Value("${overload.rate-limit.requests-per-second:500}") double requestsPerSecond,
+            @Value("${overload.rate-limit.burst:1000}") int burst,
+            @Value("${overload.rate-limit.max-clients:100000}") int maxClients,
+            @Value("${overload.rate-limit.trusted-keys:}") Set<String> trustedKeys,
+            ClientIdentity clientIdentity,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(requestsPerSecond, burst, maxClients);
+        meterRegistry.ifAvailable(registry -> {
+            FunctionCounter.builder("rate.limit.rejected", limiter, TokenBucketRateLimiter::rejected)
+                .description("Peticiones rechazadas (429) por superar la tasa del cliente")
+                .register(registry);
+            Gauge.builder("rate.limit.clients", limiter, TokenBucketRateLimiter::clients)
+                .description("Clientes con cubo de tokens en memoria")
+                .register(registry);
+        });
+        FilterRegistrationBean<RateLimitFilter> registration =
+                new FilterRegistrationBean<>(new RateLimitFilter(limiter, clientIdentity, trustedKeys));
+        registration.addUrlPatterns(urlPatterns);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "overload.concurrency-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${overload.concurrency-limit.initial-limit:50}") int initialLimit,
+            @Value("${overload.concurrency-limit.min-limit:10}") int minLimit,
+            @Value("${overload.concurrency-limit.max-limit:200}") int maxLimit,
+            @Value("${overload.concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${overload.concurrency-limit.excluded-paths:}") List<String> excludedPaths,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, smoothing);
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("concurrency.limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Límite adaptativo de peticiones en curso")
+                .register(registry);
+            Gauge.builder("concurrency.limit.in.flight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Peticiones en curso")
+                .register(registry);
+            FunctionCounter.builder("concurrency.limit.rejected", limiter, AdaptiveConcurrencyLimiter::rejected)
+                .description("Peticiones rechazadas (503) por superar el límite de concurrencia")
+                .register(registry);
+        });
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limiter,
+                        path -> excludedPaths.stream().anyMatch(pattern -> PATHS.match(pattern, path))));
+        registration.addUrlPatterns(urlPatterns);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 11);
+        return registration;
+    }
+}
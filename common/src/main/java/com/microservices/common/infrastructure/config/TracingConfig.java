@@ -0,0 +1,34 @@
+package com.microservices.common.infrastructure.config;
+
+import com.microservices.common.infrastructure.tracing.LocalSpanExporter;
+import com.microservices.common.infrastructure.tracing.SpansEndpoint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * 🛰️ Tracing distribuido (Micrometer Tracing + OpenTelemetry).
+ *
+ * Los spans HTTP, Kafka y de cada puerto (hexagon.port) los crea Spring Boot
+ * a partir de las Observations; aquí solo se registra dónde se exportan.
+ */
+@Configuration
+public class TracingConfig {
+
+    /**
+     * Spring Boot añade automáticamente cualquier SpanExporter al SDK de OpenTelemetry
+     */
+    @Bean
+    public LocalSpanExporter localSpanExporter(
+            @Value("${tracing.local.buffer-size:1000}") int bufferSize,
+            @Value("${tracing.local.file:}") String file) {
+        return new LocalSpanExporter(bufferSize, file.isBlank() ? null : Path.of(file));
+    }
+
+    @Bean
+    public SpansEndpoint spansEndpoint(LocalSpanExporter localSpanExporter) {
+        return new SpansEndpoint(localSpanExporter);
+    }
+}
@@ -0,0 +1,321 @@
+package com.microservices.common.infrastructure.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 🔑 IDEMPOTENCY FILTER - POST con cabecera Idempotency-Key
+ *
+ * Un cliente que reintenta tras un timeout envía la misma Idempotency-Key
+ * y recibe la respuesta de la primera ejecución en lugar de crear otro
+ * recurso:
+ *
+ * - Clave nueva → se reserva, se ejecuta la petición y, si la respuesta es
+ *   2xx, se guarda (status, cabeceras, Content-Type y cuerpo). Si no es
+ *   2xx la reserva se libera: nada se creó y el cliente puede reintentar.
+ * - Clave con respuesta guardada → se devuelve tal cual (un 201 conserva
+ *   su Location), con la cabecera Idempotent-Replayed: true, sin llegar
+ *   al controller
+ * - Misma clave con otra petición (método, ruta, query o cuerpo distintos) → 422
+ * - Duplicados simultáneos en esta instancia → esperan a la ejecución en
+ *   curso (como mucho inFlightTimeout) y devuelven su misma respuesta:
+ *   una tormenta de reintentos ejecuta el caso de uso una sola vez
+ * - Reserva en curso en otra réplica (store jdbc) o espera agotada → 409
+ *   con Retry-After
+ *
+ * Las claves son de cada cliente (clientOf: la misma identidad que el
+ * rate limit, ver ClientIdentity): dos clientes que eligen la misma clave
+ * no comparten respuesta. Se guarda el SHA-256 de cliente + clave (cabe
+ * en idempotency_keys.idempotency_key con cualquier clave válida).
+ *
+ * Solo se guardan las cabeceras que pone la propia petición: las que ya
+ * traía la respuesta al llegar a este filtro (de filtros anteriores, como
+ * el rate limit) los vuelven a poner esos filtros en cada reintento.
+ * Tampoco las de transporte (NOT_STORED_HEADERS).
+ *
+ * Sin cabecera la petición pasa sin cambios.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    /**
+     * Cabeceras que no se guardan: las calcula el contenedor en cada
+     * respuesta (o van aparte, como Content-Type)
+     */
+    private static final Set<String> NOT_STORED_HEADERS = caseInsensitive(List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH, HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.CONNECTION, HttpHeaders.DATE));
+
+    private final IdempotencyRepository repository;
+    private final Function<HttpServletRequest, String> clientOf;
+    private final Duration inFlightTimeout;
+    private final Clock clock;
+    private final Map<String, CompletableFuture<IdempotentResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyFilter(IdempotencyRepository repository, Function<HttpServletRequest, String> clientOf,
+                             Duration inFlightTimeout) {
+        this(repository, clientOf, inFlightTimeout, Clock.systemUTC());
+    }
+
+    IdempotencyFilter(IdempotencyRepository repository, Function<HttpServletRequest, String> clientOf,
+                      Duration inFlightTimeout, Clock clock) {
+        this.repository = repository;
+        this.clientOf = clientOf;
+        this.inFlightTimeout = inFlightTimeout;
+        this.clock = clock;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || request.getHeader(HEADER) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String rawKey = request.getHeader(HEADER).trim();
+        if (rawKey.isEmpty() || rawKey.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(),
+                    HEADER + " debe tener entre 1 y " + MAX_KEY_LENGTH + " caracteres");
+            return;
+        }
+        String key = scopedKey(clientOf.apply(request), rawKey);
+        byte[] body = request.getInputStream().readAllBytes();
+        String fingerprint = fingerprint(request, body);
+
+        CompletableFuture<IdempotentResponse> execution = new CompletableFuture<>();
+        CompletableFuture<IdempotentResponse> running = inFlight.putIfAbsent(key, execution);
+        if (running != null) {
+            awaitAndReplay(key, running, fingerprint, response);
+            return;
+        }
+        try {
+            Optional<IdempotentResponse> existing = repository.claim(key, fingerprint);
+            if (existing.isPresent()) {
+                execution.complete(existing.get());
+                respond(key, existing.get(), fingerprint, response);
+                return;
+            }
+            execution.complete(execute(key, new CachedBodyRequest(request, body), response, chain, fingerprint));
+        } catch (IOException | ServletException | RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, execution);
+        }
+    }
+
+    /**
+     * Ejecuta la petición (clave reservada) y guarda la respuesta si es 2xx
+     */
+    private IdempotentResponse execute(String key, HttpServletRequest request, HttpServletResponse response,
+                                       FilterChain chain, String fingerprint) throws ServletException, IOException {
+        Set<String> outerHeaders = caseInsensitive(response.getHeaderNames());
+        ContentCachingResponseWrapper capture = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, capture);
+        } catch (IOException | ServletException | RuntimeException e) {
+            repository.release(key);
+            throw e;
+        }
+        IdempotentResponse result = new IdempotentResponse(fingerprint, capture.getStatus(),
+                capture.getContentType(), addedHeaders(capture, outerHeaders),
+                capture.getContentAsByteArray(), clock.instant());
+        if (result.isSuccessful()) {
+            repository.complete(key, result);
+        } else {
+            repository.release(key);
+        }
+        capture.copyBodyToResponse();
+        return result;
+    }
+
+    private void awaitAndReplay(String key, CompletableFuture<IdempotentResponse> running, String fingerprint,
+                                HttpServletResponse response) throws IOException {
+        IdempotentResponse result;
+        try {
+            result = running.get(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            inProgress(response);
+            return;
+        } catch (ExecutionException | TimeoutException e) {
+            inProgress(response);
+            return;
+        }
+        log.debug("🔁 Petición duplicada en curso agrupada: {}", key);
+        respond(key, result, fingerprint, response);
+    }
+
+    private void respond(String key, IdempotentResponse stored, String fingerprint, HttpServletResponse response)
+            throws IOException {
+        if (!stored.fingerprint().equals(fingerprint)) {
+            response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                    HEADER + " ya usada con otra petición");
+            return;
+        }
+        if (stored.isPending()) {
+            inProgress(response);
+            return;
+        }
+        log.debug("🔁 Respuesta reproducida para {}: {}", key, stored.status());
+        response.setStatus(stored.status());
+        stored.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    /**
+     * Cabeceras que puso la petición: las que no estaban antes de ejecutarla
+     */
+    private static HttpHeaders addedHeaders(HttpServletResponse response, Set<String> outerHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        for (String name : response.getHeaderNames()) {
+            if (!outerHeaders.contains(name) && !NOT_STORED_HEADERS.contains(name)) {
+                headers.put(name, List.copyOf(response.getHeaders(name)));
+            }
+        }
+        return headers;
+    }
+
+    private static Set<String> caseInsensitive(Collection<String> names) {
+        Set<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        set.addAll(names);
+        return set;
+    }
+
+    private static void inProgress(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.sendError(HttpStatus.CONFLICT.value(), "Petición con la misma " + HEADER + " en curso");
+    }
+
+    /**
+     * Clave guardada: SHA-256 de cliente y clave
+     */
+    static String scopedKey(String client, String key) {
+        return HexFormat.of().formatHex(sha256().digest((client + '\n' + key).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * SHA-256 de método, ruta, query string y cuerpo
+     */
+    static String fingerprint(HttpServletRequest request, byte[] body) {
+        MessageDigest digest = sha256();
+        String query = request.getQueryString();
+        digest.update((request.getMethod() + ' ' + request.getRequestURI() + (query != null ? "?" + query : "") + '\n')
+                .getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest(body));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * La petición con el cuerpo ya leído (para el fingerprint), que el
+     * controller vuelve a leer
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
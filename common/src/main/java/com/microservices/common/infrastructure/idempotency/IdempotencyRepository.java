@@ -0,0 +1,32 @@
+package com.microservices.common.infrastructure.idempotency;
+
+import java.util.Optional;
+
+/**
+ * 🔑 Almacén de Idempotency-Key → respuesta
+ *
+ * - InMemoryIdempotencyRepository: por instancia, acotado y con TTL
+ * - JdbcIdempotencyRepository: tabla idempotency_keys, compartida entre
+ *   réplicas (idempotency.store=jdbc)
+ */
+public interface IdempotencyRepository {
+
+    /**
+     * Reserva la clave para ejecutar la petición
+     *
+     * @return vacío si la reserva es de quien llama (debe ejecutar y después
+     *         llamar a complete() o release()); si no, lo que ya hay guardado
+     *         (una respuesta o la reserva de otra petición en curso)
+     */
+    Optional<IdempotentResponse> claim(String key, String fingerprint);
+
+    /**
+     * Guarda la respuesta de una clave reservada con claim()
+     */
+    void complete(String key, IdempotentResponse response);
+
+    /**
+     * Libera una reserva sin guardar respuesta (la petición puede reintentarse)
+     */
+    void release(String key);
+}
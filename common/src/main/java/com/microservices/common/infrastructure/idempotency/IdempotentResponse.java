@@ -0,0 +1,45 @@
+package com.microservices.common.infrastructure.idempotency;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 🔑 Respuesta guardada para una Idempotency-Key
+ *
+ * status 0 = la petición original aún se está ejecutando (reserva).
+ * fingerprint = hash de método, ruta y cuerpo: la misma clave con otra
+ * petición distinta no se reproduce (ver IdempotencyFilter).
+ *
+ * @param headers   cabeceras que puso la petición (Location, ETag...),
+ *                  sin Content-Type, que va aparte; de solo lectura
+ * @param createdAt momento de la reserva o, si ya terminó, de la respuesta
+ */
+public record IdempotentResponse(String fingerprint, int status, String contentType, HttpHeaders headers,
+                                 byte[] body, Instant createdAt) {
+
+    public IdempotentResponse {
+        headers = HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    public static IdempotentResponse pending(String fingerprint, Instant now) {
+        return new IdempotentResponse(fingerprint, 0, null, HttpHeaders.EMPTY, new byte[0], now);
+    }
+
+    public boolean isPending() {
+        return status == 0;
+    }
+
+    public boolean isSuccessful() {
+        return status >= 200 && status < 300;
+    }
+
+    /**
+     * Caducada (ttl) o, si es una reserva, abandonada (pendingTimeout):
+     * la clave puede volver a usarse
+     */
+    public boolean isStale(Instant now, Duration ttl, Duration pendingTimeout) {
+        return !createdAt.plus(isPending() ? pendingTimeout : ttl).isAfter(now);
+    }
+}
@@ -0,0 +1,91 @@
+package com.microservices.common.infrastructure.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+
+/**
+ * 💾 Idempotency-Keys en memoria (por instancia)
+ *
+ * LinkedHashMap en orden de inserción: todas las entradas caducan tras el
+ * mismo TTL, así que las más antiguas están siempre al principio y se
+ * eliminan sin recorrer el resto. Con más de maxEntries claves se descarta
+ * la más antigua aunque no haya caducado (memoria acotada).
+ *
+ * Un solo lock: cada operación es una búsqueda o inserción en el mapa,
+ * mucho más corta que la petición que protege.
+ */
+public class InMemoryIdempotencyRepository implements IdempotencyRepository {
+
+    private final LinkedHashMap<String, IdempotentResponse> entries = new LinkedHashMap<>();
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Duration pendingTimeout;
+    private final Clock clock;
+
+    public InMemoryIdempotencyRepository(int maxEntries, Duration ttl, Duration pendingTimeout) {
+        this(maxEntries, ttl, pendingTimeout, Clock.systemUTC());
+    }
+
+    InMemoryIdempotencyRepository(int maxEntries, Duration ttl, Duration pendingTimeout, Clock clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries debe ser mayor que 0: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.pendingTimeout = pendingTimeout;
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized Optional<IdempotentResponse> claim(String key, String fingerprint) {
+        Instant now = clock.instant();
+        evictExpired(now);
+        IdempotentResponse existing = entries.get(key);
+        if (existing != null && !existing.isStale(now, ttl, pendingTimeout)) {
+            return Optional.of(existing);
+        }
+        put(key, IdempotentResponse.pending(fingerprint, now));
+        return Optional.empty();
+    }
+
+    @Override
+    public synchronized void complete(String key, IdempotentResponse response) {
+        put(key, response);
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        IdempotentResponse existing = entries.get(key);
+        if (existing != null && existing.isPending()) {
+            entries.remove(key);
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * remove + put: la entrada pasa al final (orden de caducidad)
+     */
+    private void put(String key, IdempotentResponse response) {
+        entries.remove(key);
+        entries.put(key, response);
+        if (entries.size() > maxEntries) {
+            Iterator<IdempotentResponse> eldest = entries.values().iterator();
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private void evictExpired(Instant now) {
+        Iterator<IdempotentResponse> iterator = entries.values().iterator();
+        while (iterator.hasNext() && !iterator.next().createdAt().plus(ttl).isAfter(now)) {
+            iterator.remove();
+        }
+    }
+}
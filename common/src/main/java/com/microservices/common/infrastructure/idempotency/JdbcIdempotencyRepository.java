@@ -0,0 +1,159 @@
+package com.microservices.common.infrastructure.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🗄️ Idempotency-Keys en base de datos (tabla idempotency_keys)
+ *
+ * Compartido entre réplicas: la reserva es un INSERT, así que si dos
+ * réplicas reciben a la vez la misma clave solo una lo consigue (clave
+ * primaria) y la otra ve la reserva en curso.
+ *
+ * Cada sentencia se confirma por separado (fuera de la transacción del
+ * caso de uso): la reserva es visible para las demás réplicas antes de
+ * ejecutar la petición.
+ *
+ * Las filas caducadas se borran como mucho una vez por minuto, desde
+ * claim() (sin hilo propio).
+ *
+ * Las cabeceras se guardan como texto, una línea "Nombre: valor" por
+ * valor (como en HTTP/1.1: ni nombres ni valores llevan saltos de línea).
+ */
+@Slf4j
+public class JdbcIdempotencyRepository implements IdempotencyRepository {
+
+    private static final long PURGE_INTERVAL_MILLIS = 60_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Duration pendingTimeout;
+    private final Clock clock;
+    private final AtomicLong nextPurge = new AtomicLong();
+
+    public JdbcIdempotencyRepository(JdbcTemplate jdbcTemplate, Duration ttl, Duration pendingTimeout) {
+        this(jdbcTemplate, ttl, pendingTimeout, Clock.systemUTC());
+    }
+
+    JdbcIdempotencyRepository(JdbcTemplate jdbcTemplate, Duration ttl, Duration pendingTimeout, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.pendingTimeout = pendingTimeout;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<IdempotentResponse> claim(String key, String fingerprint) {
+        Instant now = clock.instant();
+        purgeIfDue(now);
+        // Segundo intento solo si la fila existente estaba caducada y se borró
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                jdbcTemplate.update(
+                        "INSERT INTO idempotency_keys (idempotency_key, fingerprint, status, created_at) VALUES (?, ?, NULL, ?)",
+                        key, fingerprint, Timestamp.from(now));
+                return Optional.empty();
+            } catch (DuplicateKeyException e) {
+                Optional<IdempotentResponse> existing = find(key);
+                if (existing.isPresent() && !existing.get().isStale(now, ttl, pendingTimeout)) {
+                    return existing;
+                }
+                existing.ifPresent(stale -> jdbcTemplate.update(
+                        "DELETE FROM idempotency_keys WHERE idempotency_key = ? AND created_at = ?",
+                        key, Timestamp.from(stale.createdAt())));
+            }
+        }
+        // Otra petición volvió a reservarla entre el DELETE y el INSERT
+        return Optional.of(find(key).orElseGet(() -> IdempotentResponse.pending(fingerprint, now)));
+    }
+
+    @Override
+    public void complete(String key, IdempotentResponse response) {
+        jdbcTemplate.update(
+                "UPDATE idempotency_keys SET status = ?, content_type = ?, headers = ?, body = ?, created_at = ? "
+                        + "WHERE idempotency_key = ?",
+                response.status(), response.contentType(), writeHeaders(response.headers()), response.body(),
+                Timestamp.from(response.createdAt()), key);
+    }
+
+    @Override
+    public void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ? AND status IS NULL", key);
+    }
+
+    /**
+     * Borra las respuestas caducadas y las reservas abandonadas
+     */
+    int purgeExpired(Instant now) {
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM idempotency_keys WHERE created_at <= ? OR (status IS NULL AND created_at <= ?)",
+                Timestamp.from(now.minus(ttl)), Timestamp.from(now.minus(pendingTimeout)));
+        if (deleted > 0) {
+            log.debug("🧹 {} Idempotency-Keys caducadas eliminadas", deleted);
+        }
+        return deleted;
+    }
+
+    private void purgeIfDue(Instant now) {
+        long due = nextPurge.get();
+        long millis = now.toEpochMilli();
+        if (millis >= due && nextPurge.compareAndSet(due, millis + PURGE_INTERVAL_MILLIS)) {
+            purgeExpired(now);
+        }
+    }
+
+    private Optional<IdempotentResponse> find(String key) {
+        return jdbcTemplate.query(
+                "SELECT fingerprint, status, content_type, headers, body, created_at FROM idempotency_keys "
+                        + "WHERE idempotency_key = ?",
+                JdbcIdempotencyRepository::toResponse, key)
+                .stream()
+                .findFirst();
+    }
+
+    private static IdempotentResponse toResponse(ResultSet rs, int rowNum) throws SQLException {
+        byte[] body = rs.getBytes("body");
+        return new IdempotentResponse(
+                rs.getString("fingerprint"),
+                rs.getInt("status"),  // NULL → 0 (reserva)
+                rs.getString("content_type"),
+                readHeaders(rs.getString("headers")),
+                body != null ? body : new byte[0],
+                rs.getTimestamp("created_at").toInstant());
+    }
+
+    private static String writeHeaders(HttpHeaders headers) {
+        if (headers.isEmpty()) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder();
+        headers.forEach((name, values) -> values.forEach(value ->
+                text.append(name).append(": ").append(value).append('\n')));
+        return text.toString();
+    }
+
+    private static HttpHeaders readHeaders(String text) {
+        HttpHeaders headers = new HttpHeaders();
+        if (text == null) {
+            return headers;
+        }
+        for (String line : text.split("\n")) {
+            int colon = line.indexOf(':');
+            if (colon > 0) {
+                headers.add(line.substring(0, colon), line.substring(colon + 1).strip());
+            }
+        }
+        return headers;
+    }
+}
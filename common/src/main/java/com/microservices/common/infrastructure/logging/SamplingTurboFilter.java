@@ -0,0 +1,113 @@
+package com.microservices.common.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🎲 SAMPLING TURBO FILTER - Muestreo de logs por logger
+ *
+ * Deja pasar 1 de cada N eventos INFO/DEBUG/TRACE de los loggers indicados.
+ * WARN y ERROR pasan siempre. Se configura en logback-spring.xml a partir
+ * de logging.sampling.rules:
+ *
+ *   logging.sampling.rules: com.microservices.order.application.service=20,com.microservices.order.infrastructure.adapter=50
+ *
+ * - La clave es un logger o un paquete: gana el prefijo más largo
+ * - N = 1 (o sin regla) no muestrea
+ * - El muestreo es por contador (determinista), no aleatorio: con la misma
+ *   carga se conserva siempre la misma proporción de líneas
+ *
+ * Como TurboFilter se evalúa ANTES de crear el evento de log, los eventos
+ * descartados no formatean mensaje ni reservan memoria.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private static final Sampler ALWAYS = new Sampler(1);
+
+    private String rules = "";
+    private final TreeMap<String, Integer> ratios = new TreeMap<>();
+    private final Map<String, Sampler> samplers = new ConcurrentHashMap<>();
+
+    public void setRules(String rules) {
+        this.rules = rules == null ? "" : rules;
+    }
+
+    @Override
+    public void start() {
+        ratios.clear();
+        samplers.clear();
+        for (String rule : rules.split(",")) {
+            String trimmed = rule.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int separator = trimmed.lastIndexOf('=');
+            if (separator <= 0) {
+                addError("Regla de muestreo inválida (se espera logger=N): " + trimmed);
+                continue;
+            }
+            try {
+                int ratio = Integer.parseInt(trimmed.substring(separator + 1).trim());
+                if (ratio > 1) {
+                    ratios.put(trimmed.substring(0, separator).trim(), ratio);
+                }
+            } catch (NumberFormatException e) {
+                addError("Regla de muestreo inválida (se espera logger=N): " + trimmed);
+            }
+        }
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format,
+                              Object[] params, Throwable t) {
+        // format == null: es una llamada a isXxxEnabled(), no un evento
+        if (!isStarted() || ratios.isEmpty() || format == null
+                || level.isGreaterOrEqual(Level.WARN)
+                || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Sampler sampler = samplers.computeIfAbsent(logger.getName(), this::resolve);
+        return sampler.sample() ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    /**
+     * Regla del prefijo más largo (logger exacto o paquete padre)
+     */
+    private Sampler resolve(String loggerName) {
+        String name = loggerName;
+        while (true) {
+            Integer ratio = ratios.get(name);
+            if (ratio != null) {
+                return new Sampler(ratio);
+            }
+            int dot = name.lastIndexOf('.');
+            if (dot < 0) {
+                return ALWAYS;
+            }
+            name = name.substring(0, dot);
+        }
+    }
+
+    private static final class Sampler {
+
+        private final int ratio;
+        private final AtomicLong counter = new AtomicLong();
+
+        private Sampler(int ratio) {
+            this.ratio = ratio;
+        }
+
+        boolean sample() {
+            return ratio == 1 || counter.getAndIncrement() % ratio == 0;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.microservices.common.infrastructure.metrics;
+
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🔷 HEXAGON PORT - Qué puerto y qué método se está llamando
+ *
+ * @param layer     "use-case" (puerto de entrada) u "output-port" (puerto de salida)
+ * @param port      nombre de la interfaz (p.ej. FindUserByIdUseCase)
+ * @param method    nombre del método
+ */
+record HexagonPort(String layer, String port, String method) {
+
+    static final String USE_CASE = "use-case";
+    static final String OUTPUT_PORT = "output-port";
+
+    /**
+     * Clave para detectar llamadas anidadas al MISMO puerto
+     * (p.ej. un adaptador de caso de uso que delega en el servicio)
+     */
+    String key() {
+        return port + "#" + method;
+    }
+
+    /**
+     * Decide si un método pertenece a un puerto, según el paquete de la
+     * interfaz que lo declara. El resultado se cachea por (método, clase).
+     */
+    static class Resolver {
+
+        private final Map<Method, Map<Class<?>, Optional<HexagonPort>>> cache = new ConcurrentHashMap<>();
+
+        HexagonPort resolve(Method method, Class<?> targetClass) {
+            return cache.computeIfAbsent(method, m -> new ConcurrentHashMap<>())
+                .computeIfAbsent(targetClass, c -> Optional.ofNullable(lookup(method, c)))
+                .orElse(null);
+        }
+
+        private static HexagonPort lookup(Method method, Class<?> targetClass) {
+            if (method.getDeclaringClass().isInterface()) {
+                return describe(method.getDeclaringClass(), method);
+            }
+            Class<?> type = targetClass != null ? targetClass : method.getDeclaringClass();
+            for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(type)) {
+                if (layerOf(candidate) != null
+                        && ClassUtils.hasMethod(candidate, method.getName(), method.getParameterTypes())) {
+                    return describe(candidate, method);
+                }
+            }
+            return null;
+        }
+
+        private static HexagonPort describe(Class<?> portInterface, Method method) {
+            String layer = layerOf(portInterface);
+            return layer == null ? null : new HexagonPort(layer, portInterface.getSimpleName(), method.getName());
+        }
+
+        private static String layerOf(Class<?> type) {
+            String pkg = type.getPackageName();
+            if (!pkg.startsWith("com.microservices.")) {
+                return null;
+            }
+            if (pkg.endsWith(".application.usecase") || pkg.endsWith(".application.port.in")) {
+                return USE_CASE;
+            }
+            if (pkg.contains(".application.port.") || pkg.endsWith(".domain.repository")) {
+                return OUTPUT_PORT;
+            }
+            return null;
+        }
+    }
+}
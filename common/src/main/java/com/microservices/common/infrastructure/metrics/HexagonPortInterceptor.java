@@ -0,0 +1,89 @@
+package com.microservices.common.infrastructure.metrics;
+
+import io.micrometer.common.KeyValues;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * ⏱️ HEXAGON PORT INTERCEPTOR - Mide cada llamada a un puerto
+ *
+ * Por cada llamada crea una Observation "hexagon.port" con las etiquetas
+ * layer / port / method. Con Actuator eso produce:
+ * - Timer hexagon.port (con histograma de percentiles, ver application.yml)
+ * - Etiqueta error=<Excepción> cuando la llamada falla
+ * Además se incrementa el contador hexagon.port.errors en cada excepción.
+ *
+ * Si un puerto delega en otra implementación del MISMO puerto (adaptador
+ * de caso de uso → servicio) solo se mide la llamada externa.
+ */
+class HexagonPortInterceptor implements MethodInterceptor {
+
+    static final String OBSERVATION_NAME = "hexagon.port";
+    static final String ERRORS_COUNTER = "hexagon.port.errors";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private final HexagonPort.Resolver resolver;
+    private final ObjectProvider<ObservationRegistry> observationRegistry;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    HexagonPortInterceptor(HexagonPort.Resolver resolver,
+                           ObjectProvider<ObservationRegistry> observationRegistry,
+                           ObjectProvider<MeterRegistry> meterRegistry) {
+        this.resolver = resolver;
+        this.observationRegistry = observationRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Class<?> targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : null;
+        HexagonPort port = resolver.resolve(invocation.getMethod(), targetClass);
+
+        String previous = CURRENT.get();
+        if (port == null || port.key().equals(previous)) {
+            return invocation.proceed();
+        }
+
+        Observation observation = Observation.createNotStarted(OBSERVATION_NAME,
+                observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP))
+            .contextualName(port.port() + "." + port.method())
+            .lowCardinalityKeyValues(KeyValues.of(
+                "layer", port.layer(),
+                "port", port.port(),
+                "method", port.method()))
+            .start();
+
+        CURRENT.set(port.key());
+        try (Observation.Scope scope = observation.openScope()) {
+            return invocation.proceed();
+        } catch (Throwable error) {
+            observation.error(error);
+            countError(port, error);
+            throw error;
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+            observation.stop();
+        }
+    }
+
+    private void countError(HexagonPort port, Throwable error) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            registry.counter(ERRORS_COUNTER,
+                "layer", port.layer(),
+                "port", port.port(),
+                "method", port.method(),
+                "exception", error.getClass().getSimpleName()).increment();
+        }
+    }
+}
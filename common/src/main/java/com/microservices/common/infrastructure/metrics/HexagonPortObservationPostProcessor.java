@@ -0,0 +1,64 @@
+package com.microservices.common.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * 📏 HEXAGON PORT OBSERVATION POST PROCESSOR
+ *
+ * Envuelve con un proxy cada bean que implemente un PUERTO del hexágono:
+ * - Casos de uso (puertos de entrada): paquete *.application.usecase
+ * - Puertos de salida: paquetes *.application.port.* y *.domain.repository
+ *
+ * Cada llamada se registra con HexagonPortInterceptor (timer + errores).
+ * Así ni el dominio ni la aplicación saben nada de métricas: la
+ * instrumentación es otro adaptador más, en infraestructura.
+ *
+ * Tipo de proxy:
+ * - CGLIB (subclase) por defecto, porque algunos beans se inyectan por
+ *   su clase concreta (p.ej. OrderService o UserService)
+ * - JDK (interfaces) para clases finales o lambdas, que no admiten subclases
+ */
+public class HexagonPortObservationPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+
+    public HexagonPortObservationPostProcessor(ObjectProvider<ObservationRegistry> observationRegistry,
+                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        HexagonPort.Resolver resolver = new HexagonPort.Resolver();
+
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return resolver.resolve(method, targetClass) != null;
+            }
+        };
+
+        this.advisor = new DefaultPointcutAdvisor(pointcut,
+            new HexagonPortInterceptor(resolver, observationRegistry, meterRegistry));
+        // La medición envuelve a los demás proxies (p.ej. @Transactional incluye el commit)
+        setBeforeExistingAdvisors(true);
+    }
+
+    /**
+     * Se decide aquí y no en prepareProxyFactory() porque este método también
+     * se usa en build (Spring AOT, determineBeanType): así el proxy CGLIB se
+     * genera en el build y la imagen nativa no necesita crear clases al arrancar.
+     */
+    @Override
+    protected void customizeProxyFactory(ProxyFactory proxyFactory) {
+        Class<?> beanClass = proxyFactory.getTargetClass();
+        boolean subclassable = beanClass != null
+            && !beanClass.isInterface()
+            && !Modifier.isFinal(beanClass.getModifiers())
+            && !beanClass.isSynthetic()
+            && !beanClass.getName().contains("$$Lambda");
+        proxyFactory.setProxyTargetClass(subclassable);
+    }
+}
@@ -0,0 +1,113 @@
+package com.microservices.common.infrastructure.ratelimit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 📐 ADAPTIVE CONCURRENCY LIMITER - Límite de peticiones en curso (gradiente)
+ *
+ * En lugar de un máximo fijo de peticiones simultáneas, el límite se ajusta
+ * con la latencia medida (algoritmo de gradiente, como Gradient2 de
+ * Netflix concurrency-limits):
+ *
+ *   gradiente = clamp(0.5, 1, tolerancia × rttLargo / rtt)
+ *   nuevo     = límite × gradiente + √límite
+ *
+ * - rttLargo: media móvil exponencial de la latencia (la "normal")
+ * - Si la latencia sube por encima de la normal × tolerancia (se están
+ *   formando colas), el gradiente baja de 1 y el límite se reduce
+ * - Si no, crece √límite por muestra (hueco para detectar más capacidad)
+ * - Cambios suavizados (smoothing) y acotados a [minLimit, maxLimit]
+ * - Con menos de la mitad del límite en curso no se ajusta: la latencia
+ *   no dice nada de la capacidad si no hay carga
+ * - Si la latencia baja mucho (rttLargo > 2 × rtt) la media se acerca
+ *   rápido, para no quedarse con una "normal" de un pico anterior
+ *
+ * Por encima del límite la petición se rechaza al instante (503) en lugar
+ * de esperar en la cola de Tomcat.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+
+    // Acceso con el lock del objeto
+    private double estimatedLimit;
+    private double longRtt;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit
+                || smoothing <= 0 || smoothing > 1) {
+            throw new IllegalArgumentException("Límite de concurrencia inválido: inicial " + initialLimit
+                    + ", [" + minLimit + ", " + maxLimit + "], smoothing " + smoothing);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    /**
+     * @return true si la petición puede ejecutarse (después, release());
+     *         false si ya hay tantas en curso como el límite
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @param rttNanos lo que tardó la petición admitida con tryAcquire()
+     */
+    public void release(long rttNanos) {
+        int load = inFlight.getAndDecrement();
+        update(Math.max(1, rttNanos), load);
+    }
+
+    private synchronized void update(double rtt, int load) {
+        if (longRtt == 0) {
+            longRtt = rtt;
+        } else {
+            longRtt += (rtt - longRtt) / LONG_WINDOW;
+        }
+        if (longRtt / rtt > 2) {
+            longRtt *= 0.95;
+        }
+        if (load < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / rtt));
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit,
+                estimatedLimit * (1 - smoothing) + target * smoothing));
+        limit = (int) estimatedLimit;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+}
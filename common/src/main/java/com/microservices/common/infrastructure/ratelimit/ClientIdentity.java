@@ -0,0 +1,45 @@
+package com.microservices.common.infrastructure.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Set;
+
+/**
+ * 🪪 CLIENT IDENTITY - Quién hace la petición
+ *
+ * Cliente = la API key de la cabecera (header, p.ej. X-API-Key) solo si es
+ * una de las configuradas (knownKeys); cualquier otra petición, con o sin
+ * cabecera, es la IP de la conexión. Una key inventada no da identidad
+ * propia: si no, bastaría con cambiarla en cada petición para tener un
+ * cubo nuevo (lo mismo que con X-Forwarded-For, que tampoco se usa) y
+ * llenar el mapa de clientes echando a los legítimos.
+ *
+ * La comparten RateLimitFilter (cubo por cliente) e IdempotencyFilter
+ * (espacio de claves por cliente).
+ */
+public class ClientIdentity {
+
+    private final String header;
+    private final Set<String> knownKeys;
+
+    public ClientIdentity(String header, Set<String> knownKeys) {
+        this.header = header;
+        this.knownKeys = Set.copyOf(knownKeys);
+    }
+
+    /**
+     * "key:<api key>" para las keys configuradas, "ip:<dirección>" para el resto
+     */
+    public String of(HttpServletRequest request) {
+        String apiKey = request.getHeader(header);
+        return apiKey != null && knownKeys.contains(apiKey) ? "key:" + apiKey : "ip:" + request.getRemoteAddr();
+    }
+
+    /**
+     * ¿La petición trae en la cabecera una de estas keys?
+     */
+    public boolean hasKey(HttpServletRequest request, Set<String> keys) {
+        String apiKey = request.getHeader(header);
+        return apiKey != null && keys.contains(apiKey);
+    }
+}
@@ -0,0 +1,53 @@
+package com.microservices.common.infrastructure.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.function.Predicate;
+
+/**
+ * 📐 CONCURRENCY LIMIT FILTER - 503 si el servicio ya está al límite
+ *
+ * Cada petición admitida mide su latencia y alimenta el límite adaptativo
+ * (AdaptiveConcurrencyLimiter). Las que superan el límite reciben 503 con
+ * Retry-After al instante, en lugar de esperar en la cola de Tomcat y
+ * alargar la latencia de todas.
+ *
+ * excluded: rutas de larga duración (SSE, importaciones) que no se cuentan:
+ * su duración no dice nada de la capacidad y falsearía el límite.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Predicate<String> excluded;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, Predicate<String> excluded) {
+        this.limiter = limiter;
+        this.excluded = excluded;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return excluded.test(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!limiter.tryAcquire()) {
+            RateLimitFilter.reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Servicio al límite de capacidad");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release(System.nanoTime() - start);
+        }
+    }
+}
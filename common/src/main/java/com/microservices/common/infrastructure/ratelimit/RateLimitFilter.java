@@ -0,0 +1,73 @@
+package com.microservices.common.infrastructure.ratelimit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🚦 RATE LIMIT FILTER - 429 si un cliente supera su tasa
+ *
+ * Un cubo por cliente (ver ClientIdentity): API key configurada o, si no,
+ * la IP de la conexión.
+ *
+ * trustedKeys: API keys sin límite de tasa (otros microservicios, p.ej.
+ * order-service → user-service). Siguen sujetas al límite de concurrencia.
+ * Son secretos: configurarlas por entorno.
+ *
+ * El rechazo se escribe aquí mismo (sin pasar por /error): bajo sobrecarga
+ * una respuesta 429 tiene que costar lo mínimo.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final TokenBucketRateLimiter limiter;
+    private final ClientIdentity clientIdentity;
+    private final Set<String> trustedKeys;
+
+    public RateLimitFilter(TokenBucketRateLimiter limiter, ClientIdentity clientIdentity, Set<String> trustedKeys) {
+        this.limiter = limiter;
+        this.clientIdentity = clientIdentity;
+        this.trustedKeys = Set.copyOf(trustedKeys);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return clientIdentity.hasKey(request, trustedKeys);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long wait = limiter.tryAcquire(clientIdentity.of(request));
+        if (wait > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, TimeUnit.NANOSECONDS.toSeconds(wait - 1) + 1,
+                    "Demasiadas peticiones de este cliente");
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Respuesta de rechazo con Retry-After (segundos) y el mismo cuerpo
+     * que GlobalExceptionHandler (status, error, message)
+     */
+    static void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        byte[] body = ("{\"status\":" + status.value() + ",\"error\":\"" + status.getReasonPhrase()
+                + "\",\"message\":\"" + message + "\"}").getBytes(StandardCharsets.UTF_8);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+}
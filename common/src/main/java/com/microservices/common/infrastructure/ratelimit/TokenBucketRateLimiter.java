@@ -0,0 +1,113 @@
+package com.microservices.common.infrastructure.ratelimit;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 🪣 TOKEN BUCKET RATE LIMITER - Peticiones por segundo por cliente
+ *
+ * Cada cliente (API key o IP, ver RateLimitFilter) tiene un cubo de
+ * capacity tokens que se rellena a tokensPerSecond. Cada petición gasta
+ * uno; sin tokens se rechaza y se indica cuánto falta para el siguiente.
+ * capacity permite ráfagas cortas por encima de la tasa media.
+ *
+ * El rellenado se calcula al pedir un token (sin hilos ni temporizadores).
+ * Memoria acotada: con maxClients cubos se eliminan primero los que están
+ * llenos (clientes inactivos: recrearlos da el mismo resultado) y, si no
+ * basta, cualquiera hasta dejar un 10% de hueco.
+ */
+public class TokenBucketRateLimiter {
+
+    private final double tokensPerNano;
+    private final double capacity;
+    private final int maxClients;
+    private final LongSupplier nanoTime;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+
+    public TokenBucketRateLimiter(double tokensPerSecond, int capacity, int maxClients) {
+        this(tokensPerSecond, capacity, maxClients, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double tokensPerSecond, int capacity, int maxClients, LongSupplier nanoTime) {
+        if (tokensPerSecond <= 0 || capacity < 1 || maxClients < 1) {
+            throw new IllegalArgumentException("Rate limit inválido: " + tokensPerSecond + "/s, capacidad "
+                    + capacity + ", clientes " + maxClients);
+        }
+        this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = capacity;
+        this.maxClients = maxClients;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * @return 0 si la petición se admite; si no, nanosegundos hasta que el
+     *         cliente vuelva a tener un token
+     */
+    public long tryAcquire(String client) {
+        long now = nanoTime.getAsLong();
+        Bucket bucket = buckets.get(client);
+        if (bucket == null) {
+            if (buckets.size() >= maxClients) {
+                evict(now);
+            }
+            bucket = buckets.computeIfAbsent(client, key -> new Bucket(now));
+        }
+        long wait = bucket.tryAcquire(now);
+        if (wait > 0) {
+            rejected.increment();
+        }
+        return wait;
+    }
+
+    public int clients() {
+        return buckets.size();
+    }
+
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    private void evict(long now) {
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+        Iterator<Bucket> iterator = buckets.values().iterator();
+        while (buckets.size() > maxClients * 0.9 && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private final class Bucket {
+
+        private double tokens;
+        private long updatedAt;
+
+        Bucket(long now) {
+            this.tokens = capacity;
+            this.updatedAt = now;
+        }
+
+        synchronized long tryAcquire(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano));
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - updatedAt) * tokensPerNano);
+            updatedAt = now;
+        }
+    }
+}
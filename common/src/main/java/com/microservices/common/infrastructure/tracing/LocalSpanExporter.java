@@ -0,0 +1,178 @@
+package com.microservices.common.infrastructure.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🛰️ LOCAL SPAN EXPORTER - Recolector de spans sin infraestructura externa
+ *
+ * Recibe los spans terminados de OpenTelemetry y:
+ * 1. Guarda los últimos N en memoria (consultables en /actuator/spans
+ *    o directamente con getFinishedSpans() desde un test)
+ * 2. Opcionalmente los añade a un fichero JSON Lines (uno por span),
+ *    para juntar los de varios servicios y buscarlos por traceId
+ *
+ * No sustituye a Zipkin/Jaeger: es para medir en local sin levantar nada más.
+ */
+@Slf4j
+public class LocalSpanExporter implements SpanExporter {
+
+    private final int capacity;
+    private final Deque<SpanData> spans;
+    private final BufferedWriter fileWriter;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * @param capacity spans que se guardan en memoria (al menos 1)
+     * @param file     fichero JSON Lines, o null para no escribir a disco
+     */
+    public LocalSpanExporter(int capacity, Path file) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("La capacidad del buffer de spans debe ser al menos 1: " + capacity);
+        }
+        this.capacity = capacity;
+        this.spans = new ArrayDeque<>(capacity);
+        this.fileWriter = file == null ? null : openFile(file);
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> batch) {
+        synchronized (spans) {
+            for (SpanData span : batch) {
+                if (spans.size() == capacity) {
+                    spans.removeFirst();
+                }
+                spans.addLast(span);
+            }
+        }
+        if (fileWriter != null) {
+            return writeToFile(batch);
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * Spans terminados que siguen en memoria (del más antiguo al más reciente)
+     */
+    public List<SpanData> getFinishedSpans() {
+        synchronized (spans) {
+            return new ArrayList<>(spans);
+        }
+    }
+
+    /**
+     * Spans de una traza, ordenados por inicio
+     */
+    public List<SpanData> getTrace(String traceId) {
+        return getFinishedSpans().stream()
+            .filter(span -> span.getTraceId().equals(traceId))
+            .sorted(Comparator.comparingLong(SpanData::getStartEpochNanos))
+            .toList();
+    }
+
+    public void reset() {
+        synchronized (spans) {
+            spans.clear();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        if (fileWriter != null) {
+            try {
+                synchronized (fileWriter) {
+                    fileWriter.flush();
+                }
+            } catch (IOException e) {
+                return CompletableResultCode.ofFailure();
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        if (fileWriter != null) {
+            try {
+                synchronized (fileWriter) {
+                    fileWriter.close();
+                }
+            } catch (IOException e) {
+                return CompletableResultCode.ofFailure();
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * Vista plana de un span: lo que interesa para ver la latencia por salto
+     */
+    public static Map<String, Object> toMap(SpanData span) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("traceId", span.getTraceId());
+        map.put("spanId", span.getSpanId());
+        map.put("parentSpanId", span.getParentSpanId());
+        map.put("service", span.getResource().getAttributes().asMap().entrySet().stream()
+            .filter(e -> e.getKey().getKey().equals("service.name"))
+            .map(e -> String.valueOf(e.getValue()))
+            .findFirst().orElse(null));
+        map.put("name", span.getName());
+        map.put("kind", span.getKind().name());
+        map.put("startEpochMicros", TimeUnit.NANOSECONDS.toMicros(span.getStartEpochNanos()));
+        map.put("durationMicros", TimeUnit.NANOSECONDS.toMicros(span.getEndEpochNanos() - span.getStartEpochNanos()));
+        map.put("status", span.getStatus().getStatusCode().name());
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        map.put("attributes", attributes);
+        return map;
+    }
+
+    private CompletableResultCode writeToFile(Collection<SpanData> batch) {
+        try {
+            synchronized (fileWriter) {
+                for (SpanData span : batch) {
+                    fileWriter.write(objectMapper.writeValueAsString(toMap(span)));
+                    fileWriter.newLine();
+                }
+                fileWriter.flush();
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("⚠️ No se pudieron escribir {} spans: {}", batch.size(), e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    private static BufferedWriter openFile(Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            log.info("🛰️ Exportando spans a {}", file.toAbsolutePath());
+            return Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new IllegalStateException("No se puede abrir el fichero de spans: " + file, e);
+        }
+    }
+}
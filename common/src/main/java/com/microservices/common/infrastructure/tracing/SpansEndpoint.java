@@ -0,0 +1,45 @@
+package com.microservices.common.infrastructure.tracing;
+
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔎 SPANS ENDPOINT - /actuator/spans
+ *
+ * - GET /actuator/spans            → últimos spans, los más lentos primero
+ * - GET /actuator/spans/{traceId}  → todos los spans de una traza, en orden
+ */
+@Endpoint(id = "spans")
+public class SpansEndpoint {
+
+    private static final int MAX_RESULTS = 100;
+
+    private final LocalSpanExporter exporter;
+
+    public SpansEndpoint(LocalSpanExporter exporter) {
+        this.exporter = exporter;
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> slowest() {
+        return exporter.getFinishedSpans().stream()
+            .sorted(Comparator.comparingLong(
+                (SpanData span) -> span.getEndEpochNanos() - span.getStartEpochNanos()).reversed())
+            .limit(MAX_RESULTS)
+            .map(LocalSpanExporter::toMap)
+            .toList();
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> trace(@Selector String traceId) {
+        return exporter.getTrace(traceId).stream()
+            .map(LocalSpanExporter::toMap)
+            .toList();
+    }
+}
@@ -0,0 +1,23 @@
+-- ============================================
+-- IDEMPOTENCY-KEYS (JdbcIdempotencyRepository, idempotency.store=jdbc)
+-- ============================================
+-- status NULL = petición original en curso (reserva). Las filas se
+-- borran al caducar (created_at + TTL).
+-- Idempotente: se ejecuta en cada arranque solo con idempotency.store=jdbc
+-- (IdempotencyConfig; idempotency.schema-init=false si se aplica como
+-- migración). Las tablas de cada servicio (orders, users) van aparte.
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    fingerprint     VARCHAR(64)  NOT NULL,
+    status          INTEGER,
+    content_type    VARCHAR(255),
+    headers         TEXT,
+    body            BYTEA,
+    created_at      TIMESTAMP    NOT NULL
+);
+
+-- Tablas creadas antes de guardar las cabeceras
+ALTER TABLE idempotency_keys ADD COLUMN IF NOT EXISTS headers TEXT;
+
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created ON idempotency_keys (created_at);
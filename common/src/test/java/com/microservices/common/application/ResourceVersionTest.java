@@ -0,0 +1,58 @@
+package com.microservices.common.application;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA ResourceVersion
+ *
+ * PROPÓSITO:
+ * - Verificar que los mismos datos dan la misma versión y que cualquier
+ *   cambio (valor, instante, número de partes) la cambia
+ */
+@DisplayName("🧪 Resource Version Tests")
+class ResourceVersionTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 1, 15, 10, 0, 0, 123_456_789);
+
+    private enum Status { CREATED, PAID }
+
+    @Nested
+    @DisplayName("🏷️ Versión")
+    class VersionTests {
+
+        @Test
+        @DisplayName("Los mismos datos deben dar la misma versión")
+        void shouldBeStableForSameData() {
+            UUID id = UUID.randomUUID();
+
+            String first = new ResourceVersion().add(id).add(UPDATED_AT).add(Status.PAID).toString();
+            String second = new ResourceVersion().add(id).add(UPDATED_AT).add(Status.PAID).toString();
+
+            assertEquals(first, second);
+        }
+
+        @Test
+        @DisplayName("Debe cambiar con el estado y con un nanosegundo de diferencia")
+        void shouldChangeWithAnyPart() {
+            String base = new ResourceVersion().add(UPDATED_AT).add(Status.CREATED).toString();
+
+            assertNotEquals(base, new ResourceVersion().add(UPDATED_AT).add(Status.PAID).toString());
+            assertNotEquals(base, new ResourceVersion().add(UPDATED_AT.plusNanos(1)).add(Status.CREATED).toString());
+        }
+
+        @Test
+        @DisplayName("Debe incluir el número de partes (una lista vacía no es igual a un null)")
+        void shouldPrefixNumberOfParts() {
+            assertTrue(new ResourceVersion().toString().startsWith("0-"));
+            assertTrue(new ResourceVersion().add((Object) null).toString().startsWith("1-"));
+            assertEquals("2-", new ResourceVersion().add("a").add("b").toString().substring(0, 2));
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.microservices.common.application;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA SingleFlight
+ *
+ * PROPÓSITO:
+ * - Verificar que llamadas simultáneas con la misma clave se ejecutan una vez
+ * - Verificar que no es una caché (llamadas sucesivas se ejecutan todas)
+ * - Verificar que el fallo se comparte, salvo si el hilo que ejecuta es
+ *   interrumpido (los demás reintentan)
+ */
+@DisplayName("🧪 Single Flight Tests")
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private SingleFlight<String, String> singleFlight;
+    private ExecutorService pool;
+    private AtomicInteger calls;
+
+    @BeforeEach
+    void setUp() {
+        singleFlight = new SingleFlight<>();
+        pool = Executors.newFixedThreadPool(CALLERS);
+        calls = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Lanza CALLERS llamadas con la misma clave y espera a que todas menos
+     * la primera estén esperando antes de dejar terminar la llamada
+     */
+    private List<Future<String>> callConcurrently(Supplier<String> call, CountDownLatch release) throws Exception {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(pool.submit(() -> singleFlight.execute("user-1", call)));
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.coalesced() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        return results;
+    }
+
+    private Supplier<String> blockingCall(CountDownLatch release, Supplier<String> result) {
+        return () -> {
+            calls.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return result.get();
+        };
+    }
+
+    @Nested
+    @DisplayName("🛬 Llamadas simultáneas")
+    class CoalescingTests {
+
+        @Test
+        @DisplayName("Debe ejecutar una vez y dar a todos el mismo resultado")
+        void shouldCoalesceConcurrentCalls() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+
+            List<Future<String>> results = callConcurrently(blockingCall(release, () -> "john@example.com"), release);
+
+            for (Future<String> result : results) {
+                assertEquals("john@example.com", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+            assertEquals(1, singleFlight.executions());
+            assertEquals(CALLERS - 1, singleFlight.coalesced());
+        }
+
+        @Test
+        @DisplayName("Debe compartir la misma excepción con los que esperaban")
+        void shouldShareFailure() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            IllegalStateException failure = new IllegalStateException("user-service no disponible");
+
+            List<Future<String>> results = callConcurrently(blockingCall(release, () -> {
+                throw failure;
+            }), release);
+
+            for (Future<String> result : results) {
+                ExecutionException thrown = assertThrows(ExecutionException.class,
+                    () -> result.get(5, TimeUnit.SECONDS));
+                assertSame(failure, thrown.getCause());
+            }
+            assertEquals(1, calls.get());
+        }
+
+        @Test
+        @DisplayName("No debe agrupar llamadas con claves distintas")
+        void shouldNotCoalesceDifferentKeys() throws Exception {
+            CountDownLatch bothRunning = new CountDownLatch(2);
+            Supplier<String> call = () -> {
+                bothRunning.countDown();
+                try {
+                    assertTrue(bothRunning.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "ok";
+            };
+
+            Future<String> first = pool.submit(() -> singleFlight.execute("user-1", call));
+            Future<String> second = pool.submit(() -> singleFlight.execute("user-2", call));
+
+            assertEquals("ok", first.get(5, TimeUnit.SECONDS));
+            assertEquals("ok", second.get(5, TimeUnit.SECONDS));
+            assertEquals(2, singleFlight.executions());
+            assertEquals(0, singleFlight.coalesced());
+        }
+    }
+
+    @Nested
+    @DisplayName("🔁 Ciclo de vida")
+    class LifecycleTests {
+
+        @Test
+        @DisplayName("No debe guardar resultados: cada llamada sucesiva se ejecuta")
+        void shouldNotCacheResults() {
+            assertEquals("1", singleFlight.execute("user-1", () -> String.valueOf(calls.incrementAndGet())));
+            assertEquals("2", singleFlight.execute("user-1", () -> String.valueOf(calls.incrementAndGet())));
+
+            assertEquals(2, singleFlight.executions());
+        }
+
+        @Test
+        @DisplayName("Si se interrumpe el hilo que ejecuta, los que esperaban reintentan")
+        void shouldRetryWhenLeaderIsInterrupted() throws Exception {
+            CountDownLatch leaderRunning = new CountDownLatch(1);
+            Future<String> leader = pool.submit(() -> singleFlight.execute("user-1", () -> {
+                leaderRunning.countDown();
+                try {
+                    Thread.sleep(10_000);
+                    return "nunca";
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("cancelada", e);
+                }
+            }));
+            assertTrue(leaderRunning.await(5, TimeUnit.SECONDS));
+            Future<String> follower = pool.submit(() -> singleFlight.execute("user-1", () -> "john@example.com"));
+            while (singleFlight.coalesced() < 1) {
+                Thread.sleep(5);
+            }
+
+            leader.cancel(true);
+
+            assertEquals("john@example.com", follower.get(5, TimeUnit.SECONDS));
+            assertEquals(2, singleFlight.executions());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.microservices.common.infrastructure.config;
+
+import com.microservices.common.infrastructure.idempotency.IdempotencyFilter;
+import com.microservices.common.infrastructure.idempotency.IdempotencyRepository;
+import com.microservices.common.infrastructure.idempotency.InMemoryIdempotencyRepository;
+import com.microservices.common.infrastructure.idempotency.JdbcIdempotencyRepository;
+import com.microservices.common.infrastructure.ratelimit.ClientIdentity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import javax.sql.DataSource;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA IdempotencyConfig
+ *
+ * PROPÓSITO:
+ * - Verificar que cada servicio elige las rutas con el filtro
+ *   (idempotency.url-patterns) y que sin ellas no arranca
+ * - Verificar el repositorio de cada store y que jdbc crea la tabla
+ */
+@DisplayName("🧪 Idempotency Config Tests")
+class IdempotencyConfigTest {
+
+    // Conversión ("a,b" → String[]) y placeholders estrictos de Spring Boot, como en la aplicación
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withInitializer(context -> context.getBeanFactory()
+            .setConversionService(ApplicationConversionService.getSharedInstance()))
+        .withConfiguration(AutoConfigurations.of(PropertyPlaceholderAutoConfiguration.class))
+        .withUserConfiguration(IdempotencyConfig.class)
+        .withBean(ClientIdentity.class, () -> new ClientIdentity("X-API-Key", Set.of()));
+
+    @Nested
+    @DisplayName("🛣️ Rutas")
+    class PathTests {
+
+        @Test
+        @DisplayName("Debe registrar el filtro en las rutas configuradas")
+        void shouldRegisterConfiguredUrlPatterns() {
+            contextRunner.withPropertyValues("idempotency.url-patterns=/orders,/payments").run(context -> {
+                assertNull(context.getStartupFailure());
+                FilterRegistrationBean<?> registration =
+                    context.getBean("idempotencyFilter", FilterRegistrationBean.class);
+
+                assertInstanceOf(IdempotencyFilter.class, registration.getFilter());
+                assertEquals(Set.of("/orders", "/payments"), Set.copyOf(registration.getUrlPatterns()));
+            });
+        }
+
+        @Test
+        @DisplayName("Sin url-patterns no debe arrancar")
+        void shouldRequireUrlPatterns() {
+            contextRunner.run(context -> assertNotNull(context.getStartupFailure()));
+        }
+
+        @Test
+        @DisplayName("Con enabled=false no debe registrar nada")
+        void shouldSkipWhenDisabled() {
+            contextRunner.withPropertyValues("idempotency.enabled=false")
+                .run(context -> assertFalse(context.containsBean("idempotencyFilter")));
+        }
+    }
+
+    @Nested
+    @DisplayName("💾 Store")
+    class StoreTests {
+
+        @Test
+        @DisplayName("Por defecto debe guardar las claves en memoria")
+        void shouldUseMemoryStoreByDefault() {
+            contextRunner.withPropertyValues("idempotency.url-patterns=/orders").run(context ->
+                assertInstanceOf(InMemoryIdempotencyRepository.class, context.getBean(IdempotencyRepository.class)));
+        }
+
+        @Test
+        @DisplayName("Con store=jdbc debe crear la tabla idempotency_keys al arrancar")
+        void shouldCreateTableWithJdbcStore() {
+            EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+            try {
+                contextRunner
+                    .withBean(DataSource.class, () -> database)
+                    .withBean(JdbcTemplate.class, () -> jdbcTemplate)
+                    .withPropertyValues("idempotency.url-patterns=/orders", "idempotency.store=jdbc")
+                    .run(context -> {
+                        assertInstanceOf(JdbcIdempotencyRepository.class, context.getBean(IdempotencyRepository.class));
+                        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_keys", Integer.class));
+                    });
+            } finally {
+                database.shutdown();
+            }
+        }
+    }
+}
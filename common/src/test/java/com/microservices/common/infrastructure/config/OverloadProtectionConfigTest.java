@@ -0,0 +1,108 @@
+package com.microservices.common.infrastructure.config;
+
+import com.microservices.common.infrastructure.ratelimit.ConcurrencyLimitFilter;
+import com.microservices.common.infrastructure.ratelimit.RateLimitFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.assertj.AssertableApplicationContext;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA OverloadProtectionConfig
+ *
+ * PROPÓSITO:
+ * - Verificar que cada servicio elige las rutas protegidas (overload.url-patterns)
+ * - Verificar que excluded-paths saca rutas del límite de concurrencia
+ * - Verificar que sin url-patterns no arranca
+ */
+@DisplayName("🧪 Overload Protection Config Tests")
+class OverloadProtectionConfigTest {
+
+    // Conversión ("a,b" → List) y placeholders estrictos de Spring Boot, como en la aplicación
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withInitializer(context -> context.getBeanFactory()
+            .setConversionService(ApplicationConversionService.getSharedInstance()))
+        .withConfiguration(AutoConfigurations.of(PropertyPlaceholderAutoConfiguration.class))
+        .withUserConfiguration(OverloadProtectionConfig.class)
+        .withBean(MeterRegistry.class, SimpleMeterRegistry::new);
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Filter> FilterRegistrationBean<T> registration(
+            AssertableApplicationContext context, String name) {
+        return (FilterRegistrationBean<T>) context.getBean(name, FilterRegistrationBean.class);
+    }
+
+    /**
+     * Peticiones en curso que ve el limitador mientras se atiende la petición
+     */
+    private static double inFlightDuring(AssertableApplicationContext context, String path) throws Exception {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = registration(context, "concurrencyLimitFilter");
+        MeterRegistry meters = context.getBean(MeterRegistry.class);
+        List<Double> seen = new ArrayList<>();
+        FilterChain chain = (request, response) -> seen.add(meters.get("concurrency.limit.in.flight").gauge().value());
+        registration.getFilter().doFilter(new MockHttpServletRequest("GET", path), new MockHttpServletResponse(), chain);
+        return seen.get(0);
+    }
+
+    @Nested
+    @DisplayName("🛣️ Rutas")
+    class PathTests {
+
+        @Test
+        @DisplayName("Debe aplicar los dos filtros a las rutas configuradas")
+        void shouldRegisterConfiguredUrlPatterns() {
+            contextRunner.withPropertyValues("overload.url-patterns=/api/users,/api/users/*").run(context -> {
+                assertNull(context.getStartupFailure());
+                FilterRegistrationBean<RateLimitFilter> rateLimit = registration(context, "rateLimitFilter");
+                FilterRegistrationBean<ConcurrencyLimitFilter> concurrency = registration(context, "concurrencyLimitFilter");
+
+                assertEquals(Set.of("/api/users", "/api/users/*"), Set.copyOf(rateLimit.getUrlPatterns()));
+                assertEquals(Set.of("/api/users", "/api/users/*"), Set.copyOf(concurrency.getUrlPatterns()));
+                assertTrue(rateLimit.getOrder() < concurrency.getOrder());
+            });
+        }
+
+        @Test
+        @DisplayName("Las rutas de excluded-paths no deben contar para el límite de concurrencia")
+        void shouldSkipExcludedPaths() {
+            contextRunner.withPropertyValues(
+                "overload.url-patterns=/orders,/orders/*",
+                "overload.concurrency-limit.excluded-paths=/orders/events,/orders/*/events"
+            ).run(context -> {
+                assertEquals(1.0, inFlightDuring(context, "/orders/o-1"));
+                assertEquals(0.0, inFlightDuring(context, "/orders/events"));
+                assertEquals(0.0, inFlightDuring(context, "/orders/o-1/events"));
+            });
+        }
+
+        @Test
+        @DisplayName("Sin excluded-paths debe contar todas las rutas")
+        void shouldCountEveryPathByDefault() {
+            contextRunner.withPropertyValues("overload.url-patterns=/orders,/orders/*").run(context ->
+                assertEquals(1.0, inFlightDuring(context, "/orders/events")));
+        }
+
+        @Test
+        @DisplayName("Sin url-patterns no debe arrancar")
+        void shouldRequireUrlPatterns() {
+            contextRunner.run(context -> assertNotNull(context.getStartupFailure()));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.microservices.common.infrastructure.config;
+
+import com.microservices.common.infrastructure.tracing.LocalSpanExporter;
+import com.microservices.common.infrastructure.tracing.SpansEndpoint;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA TracingConfig
+ *
+ * PROPÓSITO:
+ * - Verificar tracing.local.buffer-size (y que 0 no arranca)
+ * - Verificar tracing.local.file: vacío → solo memoria; con valor → JSON Lines
+ * - Verificar que /actuator/spans lee del mismo exporter
+ */
+@DisplayName("🧪 Tracing Config Tests")
+class TracingConfigTest {
+
+    private final TracingConfig config = new TracingConfig();
+
+    private static void export(LocalSpanExporter exporter, String... names) {
+        SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+            .build();
+        for (String name : names) {
+            tracerProvider.get("test").spanBuilder(name).startSpan().end();
+        }
+        tracerProvider.shutdown();
+    }
+
+    @Nested
+    @DisplayName("🛰️ LocalSpanExporter")
+    class ExporterTests {
+
+        @Test
+        @DisplayName("Debe guardar en memoria como mucho buffer-size spans")
+        void shouldApplyBufferSize() {
+            LocalSpanExporter exporter = config.localSpanExporter(2, "");
+
+            export(exporter, "a", "b", "c");
+
+            assertEquals(2, exporter.getFinishedSpans().size());
+        }
+
+        @Test
+        @DisplayName("Debe rechazar buffer-size 0")
+        void shouldRejectZeroBufferSize() {
+            assertThrows(IllegalArgumentException.class, () -> config.localSpanExporter(0, ""));
+        }
+
+        @Test
+        @DisplayName("Con file debe escribir cada span en el fichero")
+        void shouldWriteToConfiguredFile(@TempDir Path dir) throws Exception {
+            Path file = dir.resolve("order-service.jsonl");
+            LocalSpanExporter exporter = config.localSpanExporter(10, file.toString());
+
+            export(exporter, "a", "b");
+
+            assertEquals(2, Files.readAllLines(file).size());
+        }
+    }
+
+    @Nested
+    @DisplayName("🔎 SpansEndpoint")
+    class EndpointTests {
+
+        @Test
+        @DisplayName("Debe exponer los spans del exporter configurado")
+        void shouldReadFromExporter() {
+            LocalSpanExporter exporter = config.localSpanExporter(10, "");
+            SpansEndpoint endpoint = config.spansEndpoint(exporter);
+
+            export(exporter, "POST /orders");
+
+            List<Map<String, Object>> spans = endpoint.slowest();
+            assertEquals(1, spans.size());
+            assertEquals("POST /orders", spans.get(0).get("name"));
+        }
+    }
+}
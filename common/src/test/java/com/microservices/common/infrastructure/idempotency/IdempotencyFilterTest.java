@@ -0,0 +1,355 @@
+package com.microservices.common.infrastructure.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA IdempotencyFilter (con InMemoryIdempotencyRepository)
+ *
+ * PROPÓSITO:
+ * - Verificar que un reintento con la misma clave recibe la respuesta
+ *   guardada (con sus cabeceras) sin volver a ejecutar el controller
+ * - Verificar 422 si la clave se reutiliza con otro cuerpo y que las
+ *   respuestas que no son 2xx no se guardan
+ * - Verificar que duplicados simultáneos se agrupan en una ejecución
+ * - Verificar que cada cliente tiene su propio espacio de claves y que la
+ *   query string forma parte de la petición
+ * - Verificar el TTL y el límite de claves del repositorio en memoria
+ *
+ * Sin servidor: el FilterChain hace de controller y cuenta las ejecuciones.
+ */
+@DisplayName("🧪 Idempotency Filter Tests")
+class IdempotencyFilterTest {
+
+    private static final String BODY = "{\"userId\":\"u-1\",\"totalAmount\":99.90}";
+    private static final Function<HttpServletRequest, String> CLIENT_BY_IP = request -> "ip:" + request.getRemoteAddr();
+
+    private MutableClock clock;
+    private InMemoryIdempotencyRepository repository;
+    private IdempotencyFilter filter;
+    private AtomicInteger executions;
+    private volatile int status;
+    private volatile CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        repository = new InMemoryIdempotencyRepository(2, Duration.ofHours(24), Duration.ofSeconds(10), clock);
+        filter = new IdempotencyFilter(repository, CLIENT_BY_IP, Duration.ofSeconds(5), clock);
+        executions = new AtomicInteger();
+        status = 201;
+        release = new CountDownLatch(0);
+    }
+
+    /**
+     * "Controller": devuelve el número de ejecución y el cuerpo recibido,
+     * con Location como un 201 de verdad
+     */
+    private final FilterChain controller = (request, response) -> {
+        int execution = executions.incrementAndGet();
+        String received = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        HttpServletResponse http = (HttpServletResponse) response;
+        http.setStatus(status);
+        http.setHeader(HttpHeaders.LOCATION, "/orders/o-" + execution);
+        http.setContentType("application/json");
+        http.getOutputStream().write(("{\"execution\":" + execution + ",\"received\":" + received + "}")
+                .getBytes(StandardCharsets.UTF_8));
+    };
+
+    private MockHttpServletResponse post(String key, String body) throws Exception {
+        return post("10.0.0.1", null, key, body);
+    }
+
+    private MockHttpServletResponse post(String remoteAddr, String query, String key, String body) throws Exception {
+        return post(remoteAddr, query, key, body, new MockHttpServletResponse());
+    }
+
+    /**
+     * response puede traer ya cabeceras de filtros anteriores
+     */
+    private MockHttpServletResponse post(String remoteAddr, String query, String key, String body,
+                                         MockHttpServletResponse response) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders");
+        request.setRemoteAddr(remoteAddr);
+        request.setQueryString(query);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        request.setContentType("application/json");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.HEADER, key);
+        }
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+
+    @Nested
+    @DisplayName("🔁 Reintentos con la misma clave")
+    class ReplayTests {
+
+        @Test
+        @DisplayName("Debe devolver la respuesta guardada sin volver a ejecutar")
+        void shouldReplayStoredResponse() throws Exception {
+            MockHttpServletResponse first = post("key-1", BODY);
+            MockHttpServletResponse retry = post("key-1", BODY);
+
+            assertEquals(1, executions.get());
+            assertEquals(201, first.getStatus());
+            assertEquals(201, retry.getStatus());
+            assertEquals(first.getContentAsString(), retry.getContentAsString());
+            assertTrue(first.getContentAsString().contains("\"received\":" + BODY));
+            assertEquals("application/json", retry.getContentType());
+            assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+            assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        }
+
+        @Test
+        @DisplayName("Debe reproducir las cabeceras de la respuesta (Location del 201)")
+        void shouldReplayStoredHeaders() throws Exception {
+            MockHttpServletResponse first = post("key-1", BODY);
+            MockHttpServletResponse retry = post("key-1", BODY);
+
+            assertEquals("/orders/o-1", first.getHeader(HttpHeaders.LOCATION));
+            assertEquals(List.of("/orders/o-1"), retry.getHeaders(HttpHeaders.LOCATION));
+        }
+
+        @Test
+        @DisplayName("No debe guardar las cabeceras que pusieron filtros anteriores")
+        void shouldNotStoreOuterHeaders() throws Exception {
+            MockHttpServletResponse outer = new MockHttpServletResponse();
+            outer.setHeader("RateLimit-Remaining", "9");
+            post("10.0.0.1", null, "key-1", BODY, outer);
+
+            MockHttpServletResponse retryOuter = new MockHttpServletResponse();
+            retryOuter.setHeader("RateLimit-Remaining", "8");
+            MockHttpServletResponse retry = post("10.0.0.1", null, "key-1", BODY, retryOuter);
+
+            assertEquals(List.of("8"), retry.getHeaders("RateLimit-Remaining"));
+            assertEquals("/orders/o-1", retry.getHeader(HttpHeaders.LOCATION));
+        }
+
+        @Test
+        @DisplayName("Debe ejecutar siempre las peticiones sin clave o con claves distintas")
+        void shouldExecuteWithoutKeyOrWithOtherKey() throws Exception {
+            post(null, BODY);
+            post(null, BODY);
+            post("key-1", BODY);
+            post("key-2", BODY);
+
+            assertEquals(4, executions.get());
+        }
+
+        @Test
+        @DisplayName("Debe responder 422 si la clave se reutiliza con otro cuerpo")
+        void shouldRejectSameKeyWithOtherBody() throws Exception {
+            post("key-1", BODY);
+            MockHttpServletResponse other = post("key-1", BODY.replace("99.90", "10.00"));
+
+            assertEquals(422, other.getStatus());
+            assertEquals(1, executions.get());
+        }
+
+        @Test
+        @DisplayName("No debe guardar respuestas que no son 2xx (el reintento se ejecuta)")
+        void shouldNotStoreFailedResponses() throws Exception {
+            status = 503;
+            assertEquals(503, post("key-1", BODY).getStatus());
+
+            status = 201;
+            MockHttpServletResponse retry = post("key-1", BODY);
+
+            assertEquals(201, retry.getStatus());
+            assertEquals(2, executions.get());
+        }
+
+        @Test
+        @DisplayName("Debe responder 400 si la clave es demasiado larga")
+        void shouldRejectInvalidKey() throws Exception {
+            MockHttpServletResponse response = post("k".repeat(IdempotencyFilter.MAX_KEY_LENGTH + 1), BODY);
+
+            assertEquals(400, response.getStatus());
+            assertEquals(0, executions.get());
+        }
+    }
+
+    @Nested
+    @DisplayName("👥 Claves por cliente")
+    class ClientScopeTests {
+
+        @Test
+        @DisplayName("Dos clientes con la misma clave no comparten respuesta ni chocan")
+        void shouldScopeKeysPerClient() throws Exception {
+            MockHttpServletResponse first = post("10.0.0.1", null, "key-1", BODY);
+            MockHttpServletResponse otherClient = post("10.0.0.2", null, "key-1", BODY.replace("99.90", "10.00"));
+            MockHttpServletResponse retry = post("10.0.0.2", null, "key-1", BODY.replace("99.90", "10.00"));
+
+            assertEquals(201, first.getStatus());
+            assertEquals(201, otherClient.getStatus());
+            assertNull(otherClient.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+            assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+            assertEquals(otherClient.getContentAsString(), retry.getContentAsString());
+            assertEquals(2, executions.get());
+        }
+
+        @Test
+        @DisplayName("Debe responder 422 si la clave se reutiliza con otra query string")
+        void shouldRejectSameKeyWithOtherQuery() throws Exception {
+            post("10.0.0.1", "notify=true", "key-1", BODY);
+            MockHttpServletResponse other = post("10.0.0.1", "notify=false", "key-1", BODY);
+
+            assertEquals(422, other.getStatus());
+            assertEquals(1, executions.get());
+        }
+    }
+
+    @Nested
+    @DisplayName("⚡ Duplicados simultáneos")
+    class InFlightTests {
+
+        @Test
+        @DisplayName("Debe ejecutar una sola vez y dar a todos la misma respuesta")
+        void shouldCollapseConcurrentDuplicates() throws Exception {
+            release = new CountDownLatch(1);
+            int duplicates = 8;
+            ExecutorService pool = Executors.newFixedThreadPool(duplicates);
+            try {
+                List<Future<MockHttpServletResponse>> responses = new ArrayList<>();
+                for (int i = 0; i < duplicates; i++) {
+                    responses.add(pool.submit(() -> post("key-1", BODY)));
+                }
+                // Los duplicados llegan mientras la primera petición sigue en curso
+                Thread.sleep(300);
+                release.countDown();
+
+                String expected = null;
+                for (Future<MockHttpServletResponse> future : responses) {
+                    MockHttpServletResponse response = future.get(5, TimeUnit.SECONDS);
+                    assertEquals(201, response.getStatus());
+                    if (expected == null) {
+                        expected = response.getContentAsString();
+                    }
+                    assertEquals(expected, response.getContentAsString());
+                }
+                assertEquals(1, executions.get());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Debe responder 409 con Retry-After si la ejecución en curso tarda demasiado")
+        void shouldRejectDuplicateAfterInFlightTimeout() throws Exception {
+            filter = new IdempotencyFilter(repository, CLIENT_BY_IP, Duration.ofMillis(100), clock);
+            release = new CountDownLatch(1);
+            ExecutorService pool = Executors.newSingleThreadExecutor();
+            try {
+                Future<MockHttpServletResponse> first = pool.submit(() -> post("key-1", BODY));
+                Thread.sleep(100);
+
+                MockHttpServletResponse duplicate = post("key-1", BODY);
+                release.countDown();
+
+                assertEquals(409, duplicate.getStatus());
+                assertEquals("1", duplicate.getHeader(HttpHeaders.RETRY_AFTER));
+                assertEquals(201, first.get(5, TimeUnit.SECONDS).getStatus());
+                assertEquals(1, executions.get());
+            } finally {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("💾 InMemoryIdempotencyRepository")
+    class RepositoryTests {
+
+        @Test
+        @DisplayName("Debe volver a ejecutar cuando la respuesta guardada caduca")
+        void shouldExpireAfterTtl() throws Exception {
+            post("key-1", BODY);
+            clock.advance(Duration.ofHours(24));
+
+            MockHttpServletResponse retry = post("key-1", BODY);
+
+            assertNull(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+            assertEquals(2, executions.get());
+        }
+
+        @Test
+        @DisplayName("Debe descartar la clave más antigua al superar max-entries")
+        void shouldEvictEldestWhenFull() throws Exception {
+            post("key-1", BODY);
+            post("key-2", BODY);
+            post("key-3", BODY);
+
+            assertEquals(2, repository.size());
+            assertEquals("true", post("key-3", BODY).getHeader(IdempotencyFilter.REPLAYED_HEADER));
+            assertNull(post("key-1", BODY).getHeader(IdempotencyFilter.REPLAYED_HEADER));
+            assertEquals(4, executions.get());
+        }
+
+        @Test
+        @DisplayName("Debe considerar abandonada una reserva más antigua que el plazo")
+        void shouldTakeOverAbandonedClaim() {
+            assertTrue(repository.claim("key-1", "fp").isEmpty());
+            assertTrue(repository.claim("key-1", "fp").orElseThrow().isPending());
+
+            clock.advance(Duration.ofSeconds(10));
+
+            assertTrue(repository.claim("key-1", "fp").isEmpty());
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-15T10:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.microservices.common.infrastructure.idempotency;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA JdbcIdempotencyRepository (H2 en memoria)
+ *
+ * PROPÓSITO:
+ * - Verificar la reserva con INSERT (clave primaria) y la respuesta guardada
+ * - Verificar que las reservas liberadas, abandonadas o caducadas se reutilizan
+ * - Verificar que el script actualiza tablas creadas sin la columna headers
+ */
+@DisplayName("🧪 JDBC Idempotency Repository Tests")
+class JdbcIdempotencyRepositoryTest {
+
+    private static final Instant NOW = Instant.parse("2024-01-15T10:00:00Z");
+    private static final Duration TTL = Duration.ofHours(24);
+    private static final Duration PENDING_TIMEOUT = Duration.ofSeconds(10);
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .addScript("db/idempotency-schema.sql")
+            .build();
+        jdbcTemplate = new JdbcTemplate(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    private JdbcIdempotencyRepository repositoryAt(Instant now) {
+        return new JdbcIdempotencyRepository(jdbcTemplate, TTL, PENDING_TIMEOUT, Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Debe reservar una clave nueva y devolver la reserva a la segunda petición")
+    void shouldClaimOnce() {
+        JdbcIdempotencyRepository repository = repositoryAt(NOW);
+
+        assertTrue(repository.claim("key-1", "fp").isEmpty());
+        IdempotentResponse existing = repository.claim("key-1", "fp").orElseThrow();
+
+        assertTrue(existing.isPending());
+        assertEquals("fp", existing.fingerprint());
+    }
+
+    @Test
+    @DisplayName("Debe guardar la respuesta completa y devolverla igual")
+    void shouldStoreCompletedResponse() {
+        JdbcIdempotencyRepository repository = repositoryAt(NOW);
+        byte[] body = "{\"id\":\"o-1\"}".getBytes(StandardCharsets.UTF_8);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setLocation(URI.create("/orders/o-1"));
+        headers.addAll("Link", List.of("</users/u-1>; rel=\"user\"", "</orders>; rel=\"collection\""));
+
+        repository.claim("key-1", "fp");
+        repository.complete("key-1", new IdempotentResponse("fp", 201, "application/json", headers, body, NOW));
+        IdempotentResponse stored = repository.claim("key-1", "fp").orElseThrow();
+
+        assertEquals(201, stored.status());
+        assertEquals("application/json", stored.contentType());
+        assertEquals(headers, stored.headers());
+        assertArrayEquals(body, stored.body());
+        assertEquals(NOW, stored.createdAt());
+    }
+
+    @Test
+    @DisplayName("Debe permitir reservar de nuevo tras release()")
+    void shouldReleaseClaim() {
+        JdbcIdempotencyRepository repository = repositoryAt(NOW);
+
+        repository.claim("key-1", "fp");
+        repository.release("key-1");
+
+        assertTrue(repository.claim("key-1", "fp").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe tomar una reserva abandonada y una respuesta caducada")
+    void shouldTakeOverStaleRows() {
+        repositoryAt(NOW).claim("key-1", "fp");
+        JdbcIdempotencyRepository later = repositoryAt(NOW.plus(PENDING_TIMEOUT));
+        assertTrue(later.claim("key-1", "fp").isEmpty());
+
+        later.complete("key-1",
+            new IdempotentResponse("fp", 201, null, HttpHeaders.EMPTY, new byte[0], NOW.plus(PENDING_TIMEOUT)));
+        assertFalse(repositoryAt(NOW.plus(TTL)).claim("key-1", "fp").orElseThrow().isPending());
+        assertTrue(repositoryAt(NOW.plus(PENDING_TIMEOUT).plus(TTL)).claim("key-1", "fp").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe borrar las filas caducadas al purgar")
+    void shouldPurgeExpiredRows() {
+        JdbcIdempotencyRepository repository = repositoryAt(NOW);
+        repository.claim("pending", "fp");
+        repository.claim("done", "fp");
+        repository.complete("done", new IdempotentResponse("fp", 201, null, HttpHeaders.EMPTY, new byte[0], NOW));
+
+        assertEquals(1, repository.purgeExpired(NOW.plus(PENDING_TIMEOUT)));
+        assertEquals(1, repository.purgeExpired(NOW.plus(TTL)));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_keys", Integer.class));
+    }
+
+    @Test
+    @DisplayName("El script debe añadir la columna headers a una tabla anterior")
+    void shouldUpgradeTableWithoutHeaders() {
+        jdbcTemplate.execute("DROP TABLE idempotency_keys");
+        jdbcTemplate.execute("CREATE TABLE idempotency_keys (idempotency_key VARCHAR(255) PRIMARY KEY, "
+            + "fingerprint VARCHAR(64) NOT NULL, status INTEGER, content_type VARCHAR(255), body BYTEA, "
+            + "created_at TIMESTAMP NOT NULL)");
+        new ResourceDatabasePopulator(new ClassPathResource("db/idempotency-schema.sql")).execute(database);
+        JdbcIdempotencyRepository repository = repositoryAt(NOW);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setLocation(URI.create("/orders/o-1"));
+
+        repository.claim("key-1", "fp");
+        repository.complete("key-1", new IdempotentResponse("fp", 201, null, headers, new byte[0], NOW));
+
+        assertEquals(headers, repository.claim("key-1", "fp").orElseThrow().headers());
+    }
+}
@@ -0,0 +1,92 @@
+package com.microservices.common.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA SamplingTurboFilter
+ *
+ * PROPÓSITO:
+ * - Verificar que se deja pasar 1 de cada N eventos por logger
+ * - Verificar que WARN/ERROR y los loggers sin regla no se muestrean
+ * - Verificar la regla del prefijo más largo
+ */
+@DisplayName("🧪 SamplingTurboFilter Tests")
+class SamplingTurboFilterTest {
+
+    private LoggerContext context;
+    private SamplingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.DEBUG);
+        filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        filter.setRules("com.microservices.user.application=10, com.microservices.user.application.service.UserService=4");
+        filter.start();
+    }
+
+    private long accepted(String loggerName, Level level, int events) {
+        Logger logger = context.getLogger(loggerName);
+        return IntStream.range(0, events)
+            .mapToObj(i -> filter.decide(null, logger, level, "mensaje {}", new Object[]{i}, null))
+            .filter(reply -> reply == FilterReply.NEUTRAL)
+            .count();
+    }
+
+    @Nested
+    @DisplayName("🎲 decide() - Muestreo")
+    class DecideTests {
+
+        @Test
+        @DisplayName("Debe dejar pasar 1 de cada N eventos INFO")
+        void shouldSampleInfo() {
+            assertEquals(10, accepted("com.microservices.user.application.ImportUsersService", Level.INFO, 100));
+        }
+
+        @Test
+        @DisplayName("Debe aplicar la regla del prefijo más largo")
+        void shouldUseLongestPrefix() {
+            assertEquals(25, accepted("com.microservices.user.application.service.UserService", Level.INFO, 100));
+        }
+
+        @Test
+        @DisplayName("No debe muestrear WARN/ERROR ni loggers sin regla")
+        void shouldNotSampleWarningsOrUnmatchedLoggers() {
+            assertEquals(100, accepted("com.microservices.user.application.ImportUsersService", Level.WARN, 100));
+            assertEquals(100, accepted("com.microservices.user.infrastructure.Other", Level.INFO, 100));
+        }
+
+        @Test
+        @DisplayName("No debe contar eventos que el nivel del logger ya descarta")
+        void shouldIgnoreDisabledLevels() {
+            context.getLogger("com.microservices.user.application").setLevel(Level.INFO);
+
+            assertEquals(100, accepted("com.microservices.user.application.ImportUsersService", Level.DEBUG, 100));
+            assertEquals(10, accepted("com.microservices.user.application.ImportUsersService", Level.INFO, 100));
+        }
+
+        @Test
+        @DisplayName("Debe ignorar reglas inválidas")
+        void shouldIgnoreInvalidRules() {
+            SamplingTurboFilter invalid = new SamplingTurboFilter();
+            invalid.setContext(context);
+            invalid.setRules("sin-ratio, com.microservices=abc");
+            invalid.start();
+
+            Logger logger = context.getLogger("com.microservices.user.application.ImportUsersService");
+            assertEquals(FilterReply.NEUTRAL, invalid.decide(null, logger, Level.INFO, "mensaje", null, null));
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.microservices.common.infrastructure.metrics;
+
+import com.microservices.sample.application.port.output.SampleLookupPort;
+import com.microservices.sample.application.usecase.FindSampleUseCase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA HexagonPortObservationPostProcessor e HexagonPortInterceptor
+ *
+ * PROPÓSITO:
+ * - Verificar qué beans se envuelven (puertos de entrada y de salida) y con
+ *   qué tipo de proxy, y que el resto de beans y métodos no se miden
+ * - Verificar que la delegación en el MISMO puerto se mide una sola vez
+ *   y que una llamada a otro puerto sí se mide
+ * - Verificar la etiqueta error del timer y el contador hexagon.port.errors
+ *
+ * Post processor real sobre implementaciones escritas en el test de los
+ * puertos de com.microservices.sample; las métricas se leen de un
+ * SimpleMeterRegistry.
+ */
+@DisplayName("🧪 Hexagon Port Observation Tests")
+class HexagonPortObservationPostProcessorTest {
+
+    private SimpleMeterRegistry meters;
+    private HexagonPortObservationPostProcessor postProcessor;
+
+    @BeforeEach
+    void setUp() {
+        meters = new SimpleMeterRegistry();
+        ObservationRegistry observations = ObservationRegistry.create();
+        observations.observationConfig().observationHandler(new DefaultMeterObservationHandler(meters));
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(Map.of(
+            "observationRegistry", observations,
+            "meterRegistry", meters));
+        postProcessor = new HexagonPortObservationPostProcessor(
+            beans.getBeanProvider(ObservationRegistry.class),
+            beans.getBeanProvider(MeterRegistry.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T instrument(T bean) {
+        return (T) postProcessor.postProcessAfterInitialization(bean, "bean");
+    }
+
+    private long calls(String port, String method) {
+        // Un timer por valor de la etiqueta error
+        return meters.find(HexagonPortInterceptor.OBSERVATION_NAME)
+            .tags("port", port, "method", method)
+            .timers().stream()
+            .mapToLong(Timer::count)
+            .sum();
+    }
+
+    // Implementaciones de los puertos usadas por los tests
+
+    static class FindSample implements FindSampleUseCase {
+
+        @Override
+        public String execute(String id) {
+            return null;
+        }
+
+        public String notAPortMethod() {
+            return "ok";
+        }
+    }
+
+    static class DelegatingFindSample extends FindSample {
+
+        private final FindSampleUseCase delegate;
+
+        DelegatingFindSample(FindSampleUseCase delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String execute(String id) {
+            return delegate.execute(id);
+        }
+    }
+
+    static class LookingUpFindSample extends FindSample {
+
+        private final SampleLookupPort lookup;
+
+        LookingUpFindSample(SampleLookupPort lookup) {
+            this.lookup = lookup;
+        }
+
+        @Override
+        public String execute(String id) {
+            lookup.lookup("u1");
+            return null;
+        }
+    }
+
+    static class FailingFindSample extends FindSample {
+
+        @Override
+        public String execute(String id) {
+            throw new IllegalStateException("fallo");
+        }
+    }
+
+    static class NotAPort {
+
+        String hello() {
+            return "hola";
+        }
+    }
+
+    @Nested
+    @DisplayName("🎯 Qué se instrumenta")
+    class ProxyTests {
+
+        @Test
+        @DisplayName("Un caso de uso se envuelve con CGLIB y cada llamada se mide con layer/port/method")
+        void shouldProxyUseCaseWithCglib() {
+            FindSampleUseCase useCase = instrument(new FindSample());
+
+            useCase.execute("o1");
+            useCase.execute("o2");
+
+            assertTrue(AopUtils.isCglibProxy(useCase));
+            assertEquals(2, calls("FindSampleUseCase", "execute"));
+            assertNotNull(meters.find(HexagonPortInterceptor.OBSERVATION_NAME)
+                .tags("layer", HexagonPort.USE_CASE, "error", "none")
+                .timer());
+        }
+
+        @Test
+        @DisplayName("Un puerto de salida implementado con una lambda se envuelve con un proxy JDK")
+        void shouldProxyLambdaOutputPortWithJdkProxy() {
+            SampleLookupPort port = instrument((SampleLookupPort) id -> Optional.of("ana@example.com"));
+
+            assertEquals(Optional.of("ana@example.com"), port.lookup("u1"));
+
+            assertTrue(AopUtils.isJdkDynamicProxy(port));
+            assertNotNull(meters.find(HexagonPortInterceptor.OBSERVATION_NAME)
+                .tags("layer", HexagonPort.OUTPUT_PORT, "port", "SampleLookupPort", "method", "lookup")
+                .timer());
+        }
+
+        @Test
+        @DisplayName("No debe envolver beans que no implementan un puerto ni medir métodos fuera del puerto")
+        void shouldIgnoreNonPortBeansAndMethods() {
+            NotAPort plain = new NotAPort();
+            FindSample useCase = instrument(new FindSample());
+
+            assertSame(plain, instrument(plain));
+            assertEquals("ok", useCase.notAPortMethod());
+            assertNull(meters.find(HexagonPortInterceptor.OBSERVATION_NAME).timer());
+        }
+    }
+
+    @Nested
+    @DisplayName("🪆 Llamadas anidadas")
+    class NestedCallTests {
+
+        @Test
+        @DisplayName("La delegación en otra implementación del mismo puerto se mide una sola vez")
+        void shouldMeasureSamePortDelegationOnce() {
+            FindSampleUseCase service = instrument(new FindSample());
+            FindSampleUseCase adapter = instrument(new DelegatingFindSample(service));
+
+            adapter.execute("o1");
+            service.execute("o2");
+
+            assertEquals(2, calls("FindSampleUseCase", "execute"));
+        }
+
+        @Test
+        @DisplayName("Una llamada a otro puerto desde un caso de uso se mide aparte")
+        void shouldMeasureNestedCallToOtherPort() {
+            SampleLookupPort users = instrument((SampleLookupPort) id -> Optional.empty());
+            FindSampleUseCase useCase = instrument(new LookingUpFindSample(users));
+
+            useCase.execute("o1");
+
+            assertEquals(1, calls("FindSampleUseCase", "execute"));
+            assertEquals(1, calls("SampleLookupPort", "lookup"));
+        }
+    }
+
+    @Nested
+    @DisplayName("💥 Errores")
+    class ErrorTests {
+
+        @Test
+        @DisplayName("Debe propagar la excepción, etiquetar el timer con error y contar el error")
+        void shouldTagErrorAndCountIt() {
+            FindSampleUseCase useCase = instrument(new FailingFindSample());
+
+            IllegalStateException error = assertThrows(IllegalStateException.class, () -> useCase.execute("o1"));
+
+            assertEquals("fallo", error.getMessage());
+            Timer timer = meters.find(HexagonPortInterceptor.OBSERVATION_NAME)
+                .tags("port", "FindSampleUseCase", "error", "IllegalStateException")
+                .timer();
+            assertNotNull(timer);
+            assertEquals(1, timer.count());
+            Counter errors = meters.find(HexagonPortInterceptor.ERRORS_COUNTER)
+                .tags("layer", HexagonPort.USE_CASE, "port", "FindSampleUseCase",
+                    "method", "execute", "exception", "IllegalStateException")
+                .counter();
+            assertNotNull(errors);
+            assertEquals(1, errors.count());
+        }
+
+        @Test
+        @DisplayName("Tras un fallo el hilo no debe quedar marcado: la siguiente llamada al puerto se mide")
+        void shouldClearNestedCallMarkerAfterFailure() {
+            FindSampleUseCase failing = instrument(new FailingFindSample());
+            FindSampleUseCase adapter = instrument(new DelegatingFindSample(failing));
+
+            assertThrows(IllegalStateException.class, () -> adapter.execute("o1"));
+            instrument(new FindSample()).execute("o2");
+
+            assertEquals(2, calls("FindSampleUseCase", "execute"));
+            assertEquals(1, meters.find(HexagonPortInterceptor.ERRORS_COUNTER).counter().count());
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.microservices.common.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA AdaptiveConcurrencyLimiter y ConcurrencyLimitFilter
+ *
+ * PROPÓSITO:
+ * - Verificar el rechazo por encima del límite
+ * - Verificar que el límite crece con latencia estable y baja cuando la
+ *   latencia sube (colas), dentro de [min, max]
+ * - Verificar la respuesta 503 con Retry-After y las rutas excluidas
+ *
+ * Las latencias se pasan a release() directamente (sin reloj real).
+ */
+@DisplayName("🧪 Adaptive Concurrency Limiter Tests")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long RTT = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /**
+     * Ocupa todo el límite y termina las peticiones con la latencia dada
+     */
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, long rtt, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int admitted = 0;
+            while (limiter.tryAcquire()) {
+                admitted++;
+            }
+            for (int i = 0; i < admitted; i++) {
+                limiter.release(rtt);
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("📐 Límite adaptativo")
+    class LimitTests {
+
+        @Test
+        @DisplayName("Debe rechazar cuando ya hay tantas peticiones en curso como el límite")
+        void shouldRejectAboveLimit() {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(3, 1, 10, 0.2);
+
+            assertTrue(limiter.tryAcquire());
+            assertTrue(limiter.tryAcquire());
+            assertTrue(limiter.tryAcquire());
+            assertFalse(limiter.tryAcquire());
+
+            assertEquals(3, limiter.inFlight());
+            assertEquals(1, limiter.rejected());
+        }
+
+        @Test
+        @DisplayName("Debe subir el límite con carga y latencia estable, hasta el máximo")
+        void shouldGrowWithStableLatency() {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 10, 100, 0.2);
+
+            saturate(limiter, RTT, 5);
+            int grown = limiter.limit();
+            saturate(limiter, RTT, 50);
+
+            assertTrue(grown > 20, "límite tras 5 rondas: " + grown);
+            assertEquals(100, limiter.limit());
+            assertEquals(0, limiter.inFlight());
+        }
+
+        @Test
+        @DisplayName("Debe bajar el límite cuando la latencia se dispara, sin bajar del mínimo")
+        void shouldShrinkWhenLatencyRises() {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 40, 100, 0.2);
+            saturate(limiter, RTT, 1);
+            int before = limiter.limit();
+
+            saturate(limiter, RTT * 5, 3);
+
+            assertTrue(before > 40, "límite con latencia estable: " + before);
+            assertEquals(40, limiter.limit());
+        }
+
+        @Test
+        @DisplayName("No debe cambiar el límite si hay poca carga (la latencia no informa)")
+        void shouldNotAdjustWithoutLoad() {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(50, 10, 100, 0.2);
+
+            for (int i = 0; i < 100; i++) {
+                assertTrue(limiter.tryAcquire());
+                limiter.release(i % 2 == 0 ? RTT : RTT * 10);
+            }
+
+            assertEquals(50, limiter.limit());
+        }
+    }
+
+    @Nested
+    @DisplayName("🚧 ConcurrencyLimitFilter")
+    class FilterTests {
+
+        @Test
+        @DisplayName("Debe responder 503 con Retry-After si el servicio está al límite")
+        void shouldRejectWhenAtLimit() throws Exception {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 0.2);
+            ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, path -> path.endsWith("/events"));
+            assertTrue(limiter.tryAcquire());
+
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(new MockHttpServletRequest("GET", "/orders"), response, chain);
+
+            assertEquals(503, response.getStatus());
+            assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+            assertNull(chain.getRequest());
+        }
+
+        @Test
+        @DisplayName("Debe liberar el permiso al terminar y no contar las rutas excluidas")
+        void shouldReleaseAndSkipExcludedPaths() throws Exception {
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1, 1, 1, 0.2);
+            ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limiter, path -> path.endsWith("/events"));
+
+            filter.doFilter(new MockHttpServletRequest("GET", "/orders"), new MockHttpServletResponse(), new MockFilterChain());
+            assertEquals(0, limiter.inFlight());
+
+            assertTrue(limiter.tryAcquire());
+            MockHttpServletResponse sse = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/orders/events"), sse, new MockFilterChain());
+            assertEquals(200, sse.getStatus());
+        }
+    }
+}
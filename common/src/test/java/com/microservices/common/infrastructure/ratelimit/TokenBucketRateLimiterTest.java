@@ -0,0 +1,187 @@
+package com.microservices.common.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA TokenBucketRateLimiter y RateLimitFilter
+ *
+ * PROPÓSITO:
+ * - Verificar la ráfaga (capacity), el rechazo y el rellenado a la tasa
+ * - Verificar que cada cliente tiene su propio cubo y que el número de
+ *   cubos está acotado
+ * - Verificar la respuesta 429 con Retry-After
+ * - Verificar que las API keys de confianza no tienen límite
+ * - Verificar que una API key no configurada no da un cubo nuevo
+ *
+ * El tiempo lo controla el test (nanoTime inyectado).
+ */
+@DisplayName("🧪 Token Bucket Rate Limiter Tests")
+class TokenBucketRateLimiterTest {
+
+    private AtomicLong now;
+    private TokenBucketRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        now = new AtomicLong();
+        // 10 peticiones/s, ráfaga de 5, hasta 10 clientes
+        limiter = new TokenBucketRateLimiter(10, 5, 10, now::get);
+    }
+
+    private void advanceMillis(long millis) {
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    @Nested
+    @DisplayName("🪣 Cubo de tokens")
+    class BucketTests {
+
+        @Test
+        @DisplayName("Debe admitir la ráfaga y rechazar después indicando la espera")
+        void shouldAdmitBurstThenReject() {
+            for (int i = 0; i < 5; i++) {
+                assertEquals(0, limiter.tryAcquire("ip:10.0.0.1"));
+            }
+
+            long wait = limiter.tryAcquire("ip:10.0.0.1");
+
+            assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+            assertEquals(1, limiter.rejected());
+        }
+
+        @Test
+        @DisplayName("Debe rellenar los tokens a la tasa configurada sin superar la capacidad")
+        void shouldRefillAtRate() {
+            for (int i = 0; i < 5; i++) {
+                limiter.tryAcquire("ip:10.0.0.1");
+            }
+
+            advanceMillis(200);
+            assertEquals(0, limiter.tryAcquire("ip:10.0.0.1"));
+            assertEquals(0, limiter.tryAcquire("ip:10.0.0.1"));
+            assertTrue(limiter.tryAcquire("ip:10.0.0.1") > 0);
+
+            advanceMillis(60_000);
+            for (int i = 0; i < 5; i++) {
+                assertEquals(0, limiter.tryAcquire("ip:10.0.0.1"));
+            }
+            assertTrue(limiter.tryAcquire("ip:10.0.0.1") > 0);
+        }
+
+        @Test
+        @DisplayName("Debe tener un cubo independiente por cliente")
+        void shouldIsolateClients() {
+            for (int i = 0; i < 5; i++) {
+                limiter.tryAcquire("key:abc");
+            }
+
+            assertTrue(limiter.tryAcquire("key:abc") > 0);
+            assertEquals(0, limiter.tryAcquire("key:def"));
+        }
+
+        @Test
+        @DisplayName("Debe acotar el número de cubos descartando primero los inactivos")
+        void shouldBoundClients() {
+            limiter.tryAcquire("ip:activo");
+            for (int i = 0; i < 20; i++) {
+                limiter.tryAcquire("ip:10.0.0." + i);
+                limiter.tryAcquire("ip:activo");
+            }
+
+            assertTrue(limiter.clients() <= 10);
+        }
+    }
+
+    @Nested
+    @DisplayName("🚦 RateLimitFilter")
+    class FilterTests {
+
+        @Test
+        @DisplayName("Debe responder 429 con Retry-After sin llegar al controller")
+        void shouldRejectWithRetryAfter() throws Exception {
+            RateLimitFilter filter = filter();
+
+            MockHttpServletResponse first = new MockHttpServletResponse();
+            filter.doFilter(request("abc"), first, new MockFilterChain());
+            MockHttpServletResponse second = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+            filter.doFilter(request("abc"), second, chain);
+
+            assertEquals(200, first.getStatus());
+            assertEquals(429, second.getStatus());
+            assertEquals("2", second.getHeader(HttpHeaders.RETRY_AFTER));
+            assertTrue(second.getContentAsString().contains("\"status\":429"));
+            assertNull(chain.getRequest());
+        }
+
+        @Test
+        @DisplayName("Debe identificar al cliente por API key configurada o, sin ella, por IP")
+        void shouldIdentifyClientByApiKeyOrIp() throws Exception {
+            RateLimitFilter filter = filter();
+
+            filter.doFilter(request("abc"), new MockHttpServletResponse(), new MockFilterChain());
+            MockHttpServletResponse otherKey = new MockHttpServletResponse();
+            filter.doFilter(request("def"), otherKey, new MockFilterChain());
+            MockHttpServletResponse noKey = new MockHttpServletResponse();
+            filter.doFilter(request(null), noKey, new MockFilterChain());
+
+            assertEquals(200, otherKey.getStatus());
+            assertEquals(200, noKey.getStatus());
+        }
+
+        @Test
+        @DisplayName("No debe limitar las API keys de confianza")
+        void shouldNotLimitTrustedKeys() throws Exception {
+            RateLimitFilter filter = filter();
+
+            for (int i = 0; i < 5; i++) {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                filter.doFilter(request("order-service"), response, new MockFilterChain());
+                assertEquals(200, response.getStatus());
+            }
+        }
+
+        @Test
+        @DisplayName("Una API key no configurada cuenta como la IP: rotarla no evita el límite")
+        void shouldNotResetBucketWithRotatingUnknownKeys() throws Exception {
+            TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(0.5, 1, 2, now::get);
+            RateLimitFilter filter = new RateLimitFilter(limiter, new ClientIdentity("X-API-Key", Set.of("abc")), Set.of());
+
+            MockHttpServletResponse first = new MockHttpServletResponse();
+            filter.doFilter(request("aleatoria-0"), first, new MockFilterChain());
+            assertEquals(200, first.getStatus());
+            for (int i = 1; i <= 5; i++) {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                filter.doFilter(request("aleatoria-" + i), response, new MockFilterChain());
+                assertEquals(429, response.getStatus());
+            }
+            assertEquals(1, limiter.clients());
+        }
+
+        private RateLimitFilter filter() {
+            return new RateLimitFilter(new TokenBucketRateLimiter(0.5, 1, 10, now::get),
+                    new ClientIdentity("X-API-Key", Set.of("abc", "def", "order-service")), Set.of("order-service"));
+        }
+
+        private MockHttpServletRequest request(String apiKey) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders");
+            if (apiKey != null) {
+                request.addHeader("X-API-Key", apiKey);
+            }
+            return request;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.microservices.common.infrastructure.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA LocalSpanExporter
+ *
+ * Usa el SDK real de OpenTelemetry (sin Spring) para generar spans
+ */
+@DisplayName("🧪 LocalSpanExporter Tests")
+class LocalSpanExporterTest {
+
+    private SdkTracerProvider tracerProvider;
+
+    private Tracer tracer(LocalSpanExporter exporter) {
+        tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+            .build();
+        return tracerProvider.get("test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (tracerProvider != null) {
+            tracerProvider.shutdown();
+        }
+    }
+
+    @Nested
+    @DisplayName("🧠 Buffer en memoria")
+    class BufferTests {
+
+        @Test
+        @DisplayName("Debe agrupar los spans de una traza en orden de inicio")
+        void shouldReturnTraceInOrder() {
+            LocalSpanExporter exporter = new LocalSpanExporter(10, null);
+            Tracer tracer = tracer(exporter);
+
+            Span parent = tracer.spanBuilder("POST /orders").startSpan();
+            try (Scope ignored = parent.makeCurrent()) {
+                tracer.spanBuilder("UserValidationPort.validateUserExists").startSpan().end();
+            }
+            parent.end();
+            tracer.spanBuilder("otra traza").startSpan().end();
+
+            List<SpanData> trace = exporter.getTrace(parent.getSpanContext().getTraceId());
+
+            assertEquals(2, trace.size());
+            assertEquals("POST /orders", trace.get(0).getName());
+            assertEquals(parent.getSpanContext().getSpanId(), trace.get(1).getParentSpanId());
+        }
+
+        @Test
+        @DisplayName("Debe descartar los spans más antiguos al llenarse")
+        void shouldEvictOldest() {
+            LocalSpanExporter exporter = new LocalSpanExporter(2, null);
+            Tracer tracer = tracer(exporter);
+
+            tracer.spanBuilder("a").startSpan().end();
+            tracer.spanBuilder("b").startSpan().end();
+            tracer.spanBuilder("c").startSpan().end();
+
+            assertEquals(List.of("b", "c"),
+                exporter.getFinishedSpans().stream().map(SpanData::getName).toList());
+        }
+
+        @Test
+        @DisplayName("Debe rechazar una capacidad menor que 1")
+        void shouldRejectCapacityBelowOne() {
+            assertThrows(IllegalArgumentException.class, () -> new LocalSpanExporter(0, null));
+            assertThrows(IllegalArgumentException.class, () -> new LocalSpanExporter(-1, null));
+        }
+    }
+
+    @Nested
+    @DisplayName("📄 Fichero JSON Lines")
+    class FileTests {
+
+        @Test
+        @DisplayName("Debe escribir un span por línea")
+        void shouldWriteJsonLines(@TempDir Path dir) throws Exception {
+            Path file = dir.resolve("spans/order-service.jsonl");
+            LocalSpanExporter exporter = new LocalSpanExporter(10, file);
+            Tracer tracer = tracer(exporter);
+
+            Span span = tracer.spanBuilder("OrderService.createOrder").startSpan();
+            span.setAttribute("layer", "use-case");
+            span.end();
+            tracerProvider.shutdown();
+
+            List<String> lines = Files.readAllLines(file);
+            assertEquals(1, lines.size());
+            Map<?, ?> json = new ObjectMapper().readValue(lines.get(0), Map.class);
+            assertEquals(span.getSpanContext().getTraceId(), json.get("traceId"));
+            assertEquals("OrderService.createOrder", json.get("name"));
+            assertEquals("use-case", ((Map<?, ?>) json.get("attributes")).get("layer"));
+        }
+    }
+}
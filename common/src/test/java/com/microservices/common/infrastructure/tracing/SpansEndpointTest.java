@@ -0,0 +1,127 @@
+package com.microservices.common.infrastructure.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA SpansEndpoint (/actuator/spans)
+ *
+ * PROPÓSITO:
+ * - Verificar que la lista general va de más lento a más rápido y está acotada
+ * - Verificar que /{traceId} devuelve solo esa traza, en orden de inicio
+ *
+ * Spans reales del SDK de OpenTelemetry con tiempos fijados por el test.
+ */
+@DisplayName("🧪 Spans Endpoint Tests")
+class SpansEndpointTest {
+
+    // Instante de referencia: el SDK toma 0 como "sin timestamp" (ahora)
+    private static final long EPOCH_MICROS = TimeUnit.SECONDS.toMicros(1_700_000_000L);
+
+    private SdkTracerProvider tracerProvider;
+    private Tracer tracer;
+    private SpansEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        LocalSpanExporter exporter = new LocalSpanExporter(500, null);
+        tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(exporter))
+            .build();
+        tracer = tracerProvider.get("test");
+        endpoint = new SpansEndpoint(exporter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.shutdown();
+    }
+
+    private Span span(String name, long startMicros, long durationMicros) {
+        Span span = tracer.spanBuilder(name)
+            .setStartTimestamp(EPOCH_MICROS + startMicros, TimeUnit.MICROSECONDS)
+            .startSpan();
+        span.end(EPOCH_MICROS + startMicros + durationMicros, TimeUnit.MICROSECONDS);
+        return span;
+    }
+
+    @Nested
+    @DisplayName("🐢 Spans más lentos")
+    class SlowestTests {
+
+        @Test
+        @DisplayName("Debe devolver primero los spans más lentos")
+        void shouldSortByDurationDescending() {
+            span("rápido", 0, 10);
+            span("lento", 0, 300);
+            span("medio", 0, 50);
+
+            List<Map<String, Object>> spans = endpoint.slowest();
+
+            assertEquals(List.of("lento", "medio", "rápido"), spans.stream().map(s -> s.get("name")).toList());
+            assertEquals(300L, spans.get(0).get("durationMicros"));
+        }
+
+        @Test
+        @DisplayName("Debe devolver como mucho 100 spans")
+        void shouldLimitResults() {
+            for (int i = 1; i <= 150; i++) {
+                span("span-" + i, 0, i);
+            }
+
+            List<Map<String, Object>> spans = endpoint.slowest();
+
+            assertEquals(100, spans.size());
+            assertEquals("span-150", spans.get(0).get("name"));
+            assertEquals("span-51", spans.get(99).get("name"));
+        }
+    }
+
+    @Nested
+    @DisplayName("🧵 Una traza")
+    class TraceTests {
+
+        @Test
+        @DisplayName("Debe devolver solo los spans de la traza, en orden de inicio")
+        void shouldReturnOnlyTheTraceInStartOrder() {
+            Span parent = tracer.spanBuilder("POST /orders")
+                .setStartTimestamp(EPOCH_MICROS, TimeUnit.MICROSECONDS).startSpan();
+            try (Scope ignored = parent.makeCurrent()) {
+                span("OrderRepository.save", 200, 10);
+                span("UserValidationPort.validateUserExists", 100, 50);
+            }
+            parent.end(EPOCH_MICROS + 500, TimeUnit.MICROSECONDS);
+            span("otra traza", 50, 10);
+            String traceId = parent.getSpanContext().getTraceId();
+
+            List<Map<String, Object>> trace = endpoint.trace(traceId);
+
+            assertEquals(List.of("POST /orders", "UserValidationPort.validateUserExists", "OrderRepository.save"),
+                trace.stream().map(s -> s.get("name")).toList());
+            assertTrue(trace.stream().allMatch(s -> traceId.equals(s.get("traceId"))));
+            assertEquals(parent.getSpanContext().getSpanId(), trace.get(1).get("parentSpanId"));
+        }
+
+        @Test
+        @DisplayName("Debe devolver una lista vacía para una traza desconocida")
+        void shouldReturnEmptyForUnknownTrace() {
+            span("a", 0, 10);
+
+            assertTrue(endpoint.trace("00000000000000000000000000000001").isEmpty());
+        }
+    }
+}
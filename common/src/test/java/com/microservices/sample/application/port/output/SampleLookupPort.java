@@ -0,0 +1,12 @@
+package com.microservices.sample.application.port.output;
+
+import java.util.Optional;
+
+/**
+ * 🔌 Puerto de salida de ejemplo para los tests de métricas (paquete
+ * *.application.port.*)
+ */
+public interface SampleLookupPort {
+
+    Optional<String> lookup(String id);
+}
@@ -0,0 +1,10 @@
+package com.microservices.sample.application.usecase;
+
+/**
+ * 🎯 Caso de uso de ejemplo para los tests de métricas (paquete
+ * *.application.usecase: puerto de entrada)
+ */
+public interface FindSampleUseCase {
+
+    String execute(String id);
+}
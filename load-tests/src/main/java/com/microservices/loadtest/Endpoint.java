@@ -0,0 +1,40 @@
+package com.microservices.loadtest;
+
+/**
+ * 🎯 ENDPOINT - Operaciones que genera la carga
+ *
+ * Cada una tiene su propio histograma en el informe.
+ */
+public enum Endpoint {
+
+    CREATE("create", "POST /orders"),
+    FIND("find", "GET /orders/{id}"),
+    UPDATE("update", "PATCH /orders/{id}/status"),
+    LIST("list", "GET /orders"),
+    HISTORY("history", "GET /orders?userId=");
+
+    private final String mixKey;
+    private final String label;
+
+    Endpoint(String mixKey, String label) {
+        this.mixKey = mixKey;
+        this.label = label;
+    }
+
+    public String mixKey() {
+        return mixKey;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public static Endpoint fromMixKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.mixKey.equalsIgnoreCase(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Operación desconocida en --mix: " + key);
+    }
+}
@@ -0,0 +1,38 @@
+package com.microservices.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 📊 ENDPOINT STATS - Latencias y errores de una operación
+ *
+ * Las latencias se guardan en microsegundos en un ConcurrentHistogram
+ * (se registran desde los hilos del HttpClient) con 3 dígitos significativos.
+ */
+public class EndpointStats {
+
+    private final ConcurrentHistogram latencyMicros = new ConcurrentHistogram(3);
+    private final LongAdder errors = new LongAdder();
+
+    void record(long latencyNanos, boolean success) {
+        latencyMicros.recordValue(Math.max(1, latencyNanos / 1_000));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    void reset() {
+        latencyMicros.reset();
+        errors.reset();
+    }
+
+    public Histogram histogram() {
+        return latencyMicros.copy();
+    }
+
+    public long errors() {
+        return errors.sum();
+    }
+}
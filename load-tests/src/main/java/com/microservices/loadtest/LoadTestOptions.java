@@ -0,0 +1,114 @@
+package com.microservices.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ⚙️ LOAD TEST OPTIONS - Parámetros de una ejecución
+ *
+ * Se leen de los argumentos con formato --clave=valor:
+ *
+ *   --rate=200                 Peticiones por segundo (tasa de llegada fija)
+ *   --duration=60s             Duración de la medición
+ *   --warmup=15s               Calentamiento (no cuenta en el informe)
+ *   --mix=create:20,find:50,update:15,list:15
+ *   --users=50                 Usuarios creados antes de empezar
+ *   --orders=200               Órdenes creadas antes de empezar
+ *   --seed=42                  Semilla: misma semilla → misma secuencia de peticiones
+ *   --report=target/loadtest   Carpeta del informe
+ *
+ * El resto de argumentos (--logging.level...=INFO, --spring...) se pasan
+ * tal cual a los tres servicios.
+ */
+public record LoadTestOptions(
+    int rate,
+    Duration duration,
+    Duration warmup,
+    Map<Endpoint, Integer> mix,
+    int users,
+    int orders,
+    long seed,
+    Path reportDir,
+    List<String> springArgs
+) {
+
+    public LoadTestOptions {
+        if (rate <= 0) {
+            throw new IllegalArgumentException("--rate debe ser mayor que cero");
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("--mix debe tener al menos un peso positivo");
+        }
+        if (users <= 0 || orders <= 0) {
+            throw new IllegalArgumentException("--users y --orders deben ser mayores que cero");
+        }
+    }
+
+    public static LoadTestOptions parse(String[] args) {
+        int rate = 200;
+        Duration duration = Duration.ofSeconds(60);
+        Duration warmup = Duration.ofSeconds(15);
+        Map<Endpoint, Integer> mix = parseMix("create:20,find:50,update:15,list:15");
+        int users = 50;
+        int orders = 200;
+        long seed = 42;
+        Path reportDir = Path.of("target", "loadtest");
+        List<String> springArgs = new ArrayList<>();
+
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String key = eq > 0 ? arg.substring(0, eq) : arg;
+            String value = eq > 0 ? arg.substring(eq + 1) : "";
+            switch (key) {
+                case "--rate" -> rate = Integer.parseInt(value);
+                case "--duration" -> duration = parseDuration(value);
+                case "--warmup" -> warmup = parseDuration(value);
+                case "--mix" -> mix = parseMix(value);
+                case "--users" -> users = Integer.parseInt(value);
+                case "--orders" -> orders = Integer.parseInt(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--report" -> reportDir = Path.of(value);
+                default -> springArgs.add(arg);
+            }
+        }
+        return new LoadTestOptions(rate, duration, warmup, mix, users, orders, seed, reportDir,
+            List.copyOf(springArgs));
+    }
+
+    /**
+     * Acepta "90s", "2m" o segundos a secas ("90").
+     */
+    static Duration parseDuration(String value) {
+        String v = value.trim().toLowerCase();
+        if (v.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(v.substring(0, v.length() - 2)));
+        }
+        if (v.endsWith("s")) {
+            return Duration.ofSeconds(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        if (v.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(v.substring(0, v.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(v));
+    }
+
+    static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String part : value.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Formato de --mix inválido: " + part);
+            }
+            int weight = Integer.parseInt(kv[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Peso negativo en --mix: " + part);
+            }
+            mix.put(Endpoint.fromMixKey(kv[0].trim()), weight);
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,115 @@
+package com.microservices.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📋 LOAD TEST REPORT - Informe de percentiles y throughput
+ *
+ * Genera, para cada operación:
+ * - Tabla por consola (p50 / p90 / p99 / p999 / max en ms, req/s, errores)
+ * - report.json legible por máquina (para comparar ejecuciones)
+ * - <operación>.hgrm con la distribución completa de HdrHistogram
+ *   (se puede pintar con el HdrHistogram plotter)
+ */
+public class LoadTestReport {
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private final LoadTestOptions options;
+    private final Duration elapsed;
+    private final Map<Endpoint, Histogram> histograms = new LinkedHashMap<>();
+    private final Map<Endpoint, Long> errors = new LinkedHashMap<>();
+
+    public LoadTestReport(LoadTestOptions options, Duration elapsed, Map<Endpoint, EndpointStats> stats) {
+        this.options = options;
+        this.elapsed = elapsed;
+        stats.forEach((endpoint, s) -> {
+            Histogram histogram = s.histogram();
+            if (histogram.getTotalCount() > 0) {
+                histograms.put(endpoint, histogram);
+                errors.put(endpoint, s.errors());
+            }
+        });
+    }
+
+    public void print(PrintStream out) {
+        out.println();
+        out.printf("Carga: %d req/s durante %d s (warmup %d s, semilla %d)%n",
+            options.rate(), options.duration().toSeconds(), options.warmup().toSeconds(), options.seed());
+        out.printf("%-28s %9s %9s %9s %9s %9s %9s %9s %7s%n",
+            "Operación", "count", "req/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms", "errors");
+        for (Map.Entry<Endpoint, Histogram> entry : histograms.entrySet()) {
+            Histogram h = entry.getValue();
+            out.printf("%-28s %9d %9.1f %9.3f %9.3f %9.3f %9.3f %9.3f %7d%n",
+                entry.getKey().label(), h.getTotalCount(), throughput(h),
+                millis(h, 50), millis(h, 90), millis(h, 99), millis(h, 99.9),
+                h.getMaxValue() / MICROS_PER_MILLI, errors.get(entry.getKey()));
+        }
+        out.println();
+    }
+
+    public void write(Path dir) throws IOException {
+        Files.createDirectories(dir);
+
+        List<Map<String, Object>> endpoints = new ArrayList<>();
+        for (Map.Entry<Endpoint, Histogram> entry : histograms.entrySet()) {
+            Histogram h = entry.getValue();
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("endpoint", entry.getKey().label());
+            json.put("count", h.getTotalCount());
+            json.put("errors", errors.get(entry.getKey()));
+            json.put("throughputPerSecond", throughput(h));
+            json.put("p50Ms", millis(h, 50));
+            json.put("p90Ms", millis(h, 90));
+            json.put("p99Ms", millis(h, 99));
+            json.put("p999Ms", millis(h, 99.9));
+            json.put("maxMs", h.getMaxValue() / MICROS_PER_MILLI);
+            endpoints.add(json);
+
+            try (PrintStream hgrm = new PrintStream(
+                    Files.newOutputStream(dir.resolve(entry.getKey().mixKey() + ".hgrm")))) {
+                h.outputPercentileDistribution(hgrm, MICROS_PER_MILLI);
+            }
+        }
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("rate", options.rate());
+        config.put("durationSeconds", options.duration().toSeconds());
+        config.put("warmupSeconds", options.warmup().toSeconds());
+        config.put("seed", options.seed());
+        config.put("users", options.users());
+        config.put("orders", options.orders());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        options.mix().forEach((endpoint, weight) -> mix.put(endpoint.mixKey(), weight));
+        config.put("mix", mix);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("elapsedSeconds", elapsed.toMillis() / 1_000.0);
+        report.put("endpoints", endpoints);
+
+        new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .writeValue(dir.resolve("report.json").toFile(), report);
+    }
+
+    private double throughput(Histogram h) {
+        return h.getTotalCount() / (elapsed.toNanos() / 1_000_000_000.0);
+    }
+
+    private static double millis(Histogram h, double percentile) {
+        return h.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,48 @@
+package com.microservices.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * 🚀 LOAD TEST RUNNER - Punto de entrada de las pruebas de carga
+ *
+ * 1. Arranca Kafka embebido + user-service + order-service + notification-service
+ * 2. Crea los datos iniciales (usuarios y órdenes)
+ * 3. Lanza la carga con tasa de llegada fija (calentamiento + medición)
+ * 4. Imprime los percentiles y escribe el informe en target/loadtest/
+ *
+ * Uso (desde la raíz, tras mvn install -DskipTests):
+ *   cd load-tests
+ *   mvn exec:java -Dexec.args="--rate=300 --duration=60s --mix=create:30,find:40,update:20,list:10"
+ */
+public final class LoadTestRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+
+        try (LocalEnvironment environment = LocalEnvironment.start(options.springArgs())) {
+            log.info("✅ Entorno listo: user-service {} | order-service {}",
+                environment.userServiceUrl(), environment.orderServiceUrl());
+
+            WorkloadGenerator generator = new WorkloadGenerator(options,
+                environment.userServiceUrl(), environment.orderServiceUrl());
+            generator.seed();
+            Duration elapsed = generator.run();
+
+            LoadTestReport report = new LoadTestReport(options, elapsed, generator.stats());
+            report.print(System.out);
+            report.write(options.reportDir());
+            log.info("📋 Informe escrito en {}", options.reportDir().toAbsolutePath());
+        }
+
+        // Los hilos de Kafka/Tomcat no siempre son daemon
+        System.exit(0);
+    }
+}
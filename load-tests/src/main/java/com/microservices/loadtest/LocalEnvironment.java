@@ -0,0 +1,100 @@
+package com.microservices.loadtest;
+
+import com.microservices.notification.NotificationServiceApplication;
+import com.microservices.order.OrderServiceApplication;
+import com.microservices.user.UserServiceApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 🏗️ LOCAL ENVIRONMENT - Todo el sistema dentro de un solo proceso
+ *
+ * Sustituye a docker-compose para poder medir en local:
+ * - Kafka embebido (KRaft) en lugar del broker de docker-compose
+ * - user-service con H2 en memoria
+ * - order-service apuntando al user-service y al Kafka anteriores
+ * - notification-service consumiendo los eventos (flujo end-to-end completo)
+ *
+ * Cada servicio es un ApplicationContext independiente con su propio
+ * Tomcat en un puerto aleatorio.
+ */
+public class LocalEnvironment implements AutoCloseable {
+
+    static final String ORDER_EVENTS_TOPIC = "order-events";
+    static final String ORDER_STATUS_EVENTS_TOPIC = "order-status-events";
+    static final int ORDER_EVENTS_PARTITIONS = 3;
+
+    private final EmbeddedKafkaBroker kafka;
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+    private final String userServiceUrl;
+    private final String orderServiceUrl;
+
+    private LocalEnvironment(List<String> springArgs) {
+        kafka = new EmbeddedKafkaKraftBroker(1, ORDER_EVENTS_PARTITIONS,
+            ORDER_EVENTS_TOPIC, ORDER_STATUS_EVENTS_TOPIC);
+        kafka.afterPropertiesSet();
+        String brokers = kafka.getBrokersAsString();
+
+        try {
+            ConfigurableApplicationContext user = start(UserServiceApplication.class, "loadtest-user",
+                springArgs, "--spring.kafka.bootstrap-servers=" + brokers);
+            userServiceUrl = "http://localhost:" + port(user);
+
+            ConfigurableApplicationContext order = start(OrderServiceApplication.class, "loadtest-order",
+                springArgs, "--spring.kafka.bootstrap-servers=" + brokers,
+                "--user-service.url=" + userServiceUrl);
+            orderServiceUrl = "http://localhost:" + port(order);
+
+            start(NotificationServiceApplication.class, "loadtest-notification",
+                springArgs, "--spring.kafka.bootstrap-servers=" + brokers);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    public static LocalEnvironment start(List<String> springArgs) {
+        return new LocalEnvironment(springArgs);
+    }
+
+    public String userServiceUrl() {
+        return userServiceUrl;
+    }
+
+    public String orderServiceUrl() {
+        return orderServiceUrl;
+    }
+
+    private ConfigurableApplicationContext start(Class<?> application, String configName,
+                                                 List<String> springArgs, String... args) {
+        List<String> all = new ArrayList<>();
+        all.add("--spring.config.name=loadtest-common," + configName);
+        all.addAll(List.of(args));
+        all.addAll(springArgs);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(application)
+            .run(all.toArray(String[]::new));
+        contexts.add(context);
+        return context;
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    @Override
+    public void close() {
+        // Parar en orden inverso: primero los consumidores, Kafka al final
+        for (int i = contexts.size() - 1; i >= 0; i--) {
+            contexts.get(i).close();
+        }
+        contexts.clear();
+        kafka.destroy();
+    }
+}
@@ -0,0 +1,248 @@
+package com.microservices.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏱️ STARTUP BENCHMARK - Tiempo hasta la primera petición (time-to-first-request)
+ *
+ * Para cada servicio y modo de arranque (ver StartupMode) lanza un JVM nuevo,
+ * hace peticiones a un endpoint real cada 10 ms y mide desde el lanzamiento
+ * del proceso hasta la primera respuesta HTTP. Es lo que ve el autoscaler:
+ * incluye el arranque del JVM, el contexto de Spring y la primera petición.
+ * Tras la primera respuesta lee también la memoria del proceso en Linux
+ * (/proc/<pid>/status): RSS actual y pico (VmHWM), para comparar JVM e imagen nativa.
+ *
+ * Uso (desde load-tests, tras mvn install -DskipTests):
+ *   mvn exec:java@startup -Dexec.args="--runs=5 --services=user,order --modes=baseline,lazy,aot-cds"
+ *
+ *   --services=user,order,notification        Servicios a medir
+ *   --modes=baseline,lazy,aot,aot-cds,native  Modos (los no construidos se omiten)
+ *   --runs=3                                  Arranques por servicio y modo
+ *   --timeout=180s                            Máximo por arranque
+ *   --report=target/startup                   Carpeta del informe
+ *
+ * No necesita Kafka: notification-service arranca aunque no haya broker.
+ */
+public final class StartupBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupBenchmark.class);
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    /**
+     * Servicio, módulo y endpoint de la primera petición
+     */
+    private record Service(String name, String module, String firstRequestPath) {
+    }
+
+    private static final Map<String, Service> SERVICES = Map.of(
+        "user", new Service("user-service", "user-service", "/api/users"),
+        "order", new Service("order-service", "order-service", "/orders"),
+        "notification", new Service("notification-service", "notification-service", "/api/actuator/health")
+    );
+
+    /**
+     * Un arranque: tiempo hasta la primera respuesta y memoria en ese momento
+     * (rssKb / peakRssKb = -1 si no hay /proc)
+     */
+    private record Sample(long millis, long rssKb, long peakRssKb) {
+    }
+
+    private record Run(String service, StartupMode mode, List<Sample> samples) {
+
+        List<Long> sorted(ToLongFunction<Sample> metric) {
+            return samples.stream().mapToLong(metric).sorted().boxed().toList();
+        }
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofMillis(200))
+        .build();
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> services = List.of("user", "order", "notification");
+        List<StartupMode> modes = Arrays.asList(StartupMode.values());
+        int runs = 3;
+        Duration timeout = Duration.ofSeconds(180);
+        Path reportDir = Path.of("target", "startup");
+
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String key = eq > 0 ? arg.substring(0, eq) : arg;
+            String value = eq > 0 ? arg.substring(eq + 1) : "";
+            switch (key) {
+                case "--services" -> services = List.of(value.split(","));
+                case "--modes" -> modes = Arrays.stream(value.split(",")).map(StartupMode::fromKey).toList();
+                case "--runs" -> runs = Integer.parseInt(value);
+                case "--timeout" -> timeout = LoadTestOptions.parseDuration(value);
+                case "--report" -> reportDir = Path.of(value);
+                default -> throw new IllegalArgumentException("Opción desconocida: " + arg);
+            }
+        }
+
+        Path projectDir = Path.of("..").toAbsolutePath().normalize();
+        Path java = Path.of(System.getProperty("java.home"), "bin", "java");
+        Files.createDirectories(reportDir);
+
+        StartupBenchmark benchmark = new StartupBenchmark();
+        List<Run> results = new ArrayList<>();
+        for (String key : services) {
+            Service service = SERVICES.get(key);
+            if (service == null) {
+                throw new IllegalArgumentException("Servicio desconocido: " + key + " (user, order, notification)");
+            }
+            Path moduleDir = projectDir.resolve(service.module());
+            for (StartupMode mode : modes) {
+                if (mode.artifact(moduleDir, service.name()) == null) {
+                    log.warn("⚠️ {} / {}: artefacto no construido, se omite", service.name(), mode.key());
+                    continue;
+                }
+                List<Sample> samples = new ArrayList<>();
+                for (int i = 1; i <= runs; i++) {
+                    Path logFile = reportDir.resolve(service.name() + "-" + mode.key() + "-" + i + ".log");
+                    Sample sample = benchmark.timeToFirstRequest(java, moduleDir, service, mode, timeout, logFile);
+                    log.info("⏱️ {} / {} #{}: {} ms, RSS {} MB", service.name(), mode.key(), i,
+                        sample.millis(), sample.rssKb() / 1024);
+                    samples.add(sample);
+                }
+                results.add(new Run(service.name(), mode, samples));
+            }
+        }
+
+        print(System.out, runs, results);
+        write(reportDir.resolve("startup-report.json"), runs, results);
+        log.info("📋 Informe escrito en {}", reportDir.toAbsolutePath());
+    }
+
+    private Sample timeToFirstRequest(Path java, Path moduleDir, Service service, StartupMode mode,
+                                    Duration timeout, Path logFile) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>(mode.command(java, moduleDir, service.name()));
+        command.add("--server.port=" + port);
+        command.add("--eureka.client.enabled=false");
+
+        HttpRequest request = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + port + service.firstRequestPath()))
+            .timeout(Duration.ofSeconds(5))
+            .GET()
+            .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+            .redirectErrorStream(true)
+            .redirectOutput(logFile.toFile())
+            .start();
+        try {
+            long deadline = start + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(service.name() + " terminó al arrancar, ver " + logFile);
+                }
+                try {
+                    client.send(request, HttpResponse.BodyHandlers.discarding());
+                    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    return new Sample(elapsed, memoryKb(process, "VmRSS:"), memoryKb(process, "VmHWM:"));
+                } catch (IOException notReadyYet) {
+                    Thread.sleep(POLL_INTERVAL.toMillis());
+                }
+            }
+            throw new IllegalStateException(service.name() + " no respondió en " + timeout + ", ver " + logFile);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /**
+     * Lee un campo de /proc/<pid>/status (en kB), o -1 fuera de Linux
+     */
+    private static long memoryKb(Process process, String field) {
+        Path status = Path.of("/proc", Long.toString(process.pid()), "status");
+        try {
+            for (String line : Files.readAllLines(status)) {
+                if (line.startsWith(field)) {
+                    return Long.parseLong(line.substring(field.length()).replace("kB", "").trim());
+                }
+            }
+        } catch (IOException | NumberFormatException notAvailable) {
+            // Sin /proc (macOS, Windows): solo se informa el tiempo
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void print(PrintStream out, int runs, List<Run> results) {
+        out.println();
+        out.printf("Time-to-first-request (%d arranques por modo)%n", runs);
+        out.printf("%-22s %-10s %10s %10s %10s %10s %10s%n",
+            "Servicio", "Modo", "min ms", "mediana ms", "max ms", "RSS MB", "pico MB");
+        for (Run run : results) {
+            List<Long> sorted = run.sorted(Sample::millis);
+            out.printf("%-22s %-10s %10d %10d %10d %10d %10d%n", run.service(), run.mode().key(),
+                sorted.get(0), median(sorted), sorted.get(sorted.size() - 1),
+                median(run.sorted(Sample::rssKb)) / 1024, median(run.sorted(Sample::peakRssKb)) / 1024);
+        }
+        out.println();
+    }
+
+    private static void write(Path file, int runs, List<Run> results) throws IOException {
+        List<Map<String, Object>> entries = new ArrayList<>();
+        for (Run run : results) {
+            List<Long> sorted = run.sorted(Sample::millis);
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("service", run.service());
+            json.put("mode", run.mode().key());
+            json.put("runsMs", run.samples().stream().map(Sample::millis).toList());
+            json.put("minMs", sorted.get(0));
+            json.put("medianMs", median(sorted));
+            json.put("maxMs", sorted.get(sorted.size() - 1));
+            json.put("medianRssKb", median(run.sorted(Sample::rssKb)));
+            json.put("medianPeakRssKb", median(run.sorted(Sample::peakRssKb)));
+            entries.add(json);
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("runs", runs);
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("results", entries);
+        new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .writeValue(file.toFile(), report);
+    }
+
+    private static long median(List<Long> sorted) {
+        int size = sorted.size();
+        return size % 2 == 1 ? sorted.get(size / 2) : (sorted.get(size / 2 - 1) + sorted.get(size / 2)) / 2;
+    }
+}
@@ -0,0 +1,95 @@
+package com.microservices.loadtest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 🚀 STARTUP MODE - Cómo se arranca cada servicio en StartupBenchmark
+ *
+ * - baseline : fat jar (-exec.jar), perfil dev
+ * - lazy     : fat jar + perfil fast-startup (lazy init, sin consola H2, sin JMX)
+ * - aot      : jar de target/fast-startup con -Dspring.aot.enabled=true
+ * - aot-cds  : lo anterior + archivo CDS (-XX:SharedArchiveFile)
+ * - native   : ejecutable GraalVM (target/<servicio>), sin JVM
+ *
+ * aot y aot-cds necesitan el build con el perfil Maven fast-startup:
+ *   mvn -B -Pfast-startup package -DskipTests -pl user-service,order-service,notification-service
+ * native necesita GraalVM y el perfil Maven native (de momento solo notification-service):
+ *   mvn -B -Pnative native:compile -DskipTests -pl notification-service
+ */
+public enum StartupMode {
+
+    BASELINE("baseline"),
+    LAZY("lazy"),
+    AOT("aot"),
+    AOT_CDS("aot-cds"),
+    NATIVE("native");
+
+    private final String key;
+
+    StartupMode(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    public static StartupMode fromKey(String key) {
+        for (StartupMode mode : values()) {
+            if (mode.key.equals(key)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Modo desconocido: " + key + " (baseline, lazy, aot, aot-cds, native)");
+    }
+
+    /**
+     * Artefacto que necesita el modo (null si no está construido)
+     */
+    public Path artifact(Path moduleDir, String service) {
+        Path target = moduleDir.resolve("target");
+        Path path = switch (this) {
+            case BASELINE, LAZY -> target.resolve(service + "-1.0.0-exec.jar");
+            case AOT -> target.resolve("fast-startup").resolve(service + "-1.0.0.jar");
+            case AOT_CDS -> target.resolve("fast-startup").resolve(service + ".jsa");
+            case NATIVE -> target.resolve(service);
+        };
+        return Files.exists(path) ? path : null;
+    }
+
+    /**
+     * Línea de comandos completa (sin los argumentos de Spring)
+     */
+    public List<String> command(Path java, Path moduleDir, String service) {
+        Path fastStartup = moduleDir.resolve("target").resolve("fast-startup");
+        List<String> command = new ArrayList<>();
+        if (this == NATIVE) {
+            // Mismos perfiles que en el build (-Dnative.profiles)
+            command.add(artifact(moduleDir, service).toString());
+            command.add("--spring.profiles.active=fast-startup");
+            return command;
+        }
+        command.add(java.toString());
+        switch (this) {
+            case BASELINE, LAZY -> {
+                command.add("-jar");
+                command.add(artifact(moduleDir, service).toString());
+                command.add(this == LAZY ? "--spring.profiles.active=dev,fast-startup" : "--spring.profiles.active=dev");
+            }
+            case AOT, AOT_CDS -> {
+                if (this == AOT_CDS) {
+                    command.add("-XX:SharedArchiveFile=" + fastStartup.resolve(service + ".jsa"));
+                }
+                command.add("-Dspring.aot.enabled=true");
+                command.add("-jar");
+                command.add(fastStartup.resolve(service + "-1.0.0.jar").toString());
+                command.add("--spring.profiles.active=dev,fast-startup");
+            }
+            default -> throw new IllegalStateException("Modo sin JVM: " + this);
+        }
+        return command;
+    }
+}
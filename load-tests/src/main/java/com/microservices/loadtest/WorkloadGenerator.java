@@ -0,0 +1,246 @@
+package com.microservices.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 🚦 WORKLOAD GENERATOR - Carga con tasa de llegada fija (modelo abierto)
+ *
+ * Las peticiones se lanzan en instantes fijos (start + i / rate) sin esperar
+ * a que terminen las anteriores, como haría el tráfico real. La latencia se
+ * mide desde el instante PLANIFICADO, no desde el envío real: si el generador
+ * o el servidor se retrasan, ese retraso aparece en los percentiles en lugar
+ * de ocultarse (corrección de "coordinated omission").
+ *
+ * La operación de cada petición sale de un Random con semilla fija, así
+ * que dos ejecuciones con la misma semilla lanzan la misma secuencia.
+ */
+public class WorkloadGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkloadGenerator.class);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final long DRAIN_TIMEOUT_MILLIS = 30_000;
+
+    private final LoadTestOptions options;
+    private final String userServiceUrl;
+    private final String orderServiceUrl;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Random random;
+
+    private final Endpoint[] endpoints;
+    private final int[] cumulativeWeights;
+
+    private final List<String> userIds = new ArrayList<>();
+    private final List<String> orderIds = Collections.synchronizedList(new ArrayList<>());
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public WorkloadGenerator(LoadTestOptions options, String userServiceUrl, String orderServiceUrl) {
+        this.options = options;
+        this.userServiceUrl = userServiceUrl;
+        this.orderServiceUrl = orderServiceUrl;
+        this.client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        this.random = new Random(options.seed());
+
+        List<Endpoint> selected = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<Endpoint, Integer> entry : options.mix().entrySet()) {
+            if (entry.getValue() > 0) {
+                total += entry.getValue();
+                selected.add(entry.getKey());
+                cumulative.add(total);
+            }
+        }
+        this.endpoints = selected.toArray(Endpoint[]::new);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    // ============================================
+    // PREPARACIÓN DE DATOS
+    // ============================================
+
+    /**
+     * Crea usuarios y órdenes de forma síncrona para que find/update/list
+     * tengan datos desde la primera petición.
+     */
+    public void seed() throws IOException, InterruptedException {
+        log.info("🌱 Creando {} usuarios y {} órdenes iniciales", options.users(), options.orders());
+        for (int i = 0; i < options.users(); i++) {
+            String body = objectMapper.writeValueAsString(Map.of(
+                "email", "loadtest-" + i + "@example.com",
+                "name", "Load Test " + i));
+            HttpResponse<String> response = client.send(post(userServiceUrl + "/api/users", body),
+                HttpResponse.BodyHandlers.ofString());
+            userIds.add(requireId(response));
+        }
+        for (int i = 0; i < options.orders(); i++) {
+            HttpResponse<String> response = client.send(createOrder(), HttpResponse.BodyHandlers.ofString());
+            orderIds.add(requireId(response));
+        }
+    }
+
+    // ============================================
+    // EJECUCIÓN
+    // ============================================
+
+    /**
+     * Ejecuta el calentamiento (descartado) y la medición.
+     *
+     * @return duración real de la fase medida
+     */
+    public Duration run() throws InterruptedException {
+        if (!options.warmup().isZero()) {
+            log.info("🔥 Calentamiento: {} s a {} req/s", options.warmup().toSeconds(), options.rate());
+            runPhase(options.warmup());
+            stats.values().forEach(EndpointStats::reset);
+        }
+
+        log.info("⏱️ Medición: {} s a {} req/s", options.duration().toSeconds(), options.rate());
+        long start = System.nanoTime();
+        runPhase(options.duration());
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+
+    public Map<Endpoint, EndpointStats> stats() {
+        return stats;
+    }
+
+    private void runPhase(Duration length) throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + length.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * 1_000_000_000L / options.rate();
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            fire(nextEndpoint(), intended);
+        }
+
+        awaitInFlight();
+    }
+
+    private void fire(Endpoint endpoint, long intendedStart) {
+        HttpRequest request = switch (endpoint) {
+            case CREATE -> createOrder();
+            case FIND -> HttpRequest.newBuilder(URI.create(orderServiceUrl + "/orders/" + randomOrderId()))
+                .timeout(REQUEST_TIMEOUT).GET().build();
+            case UPDATE -> HttpRequest.newBuilder(URI.create(
+                    orderServiceUrl + "/orders/" + randomOrderId() + "/status"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"status\":\"PAID\"}"))
+                .build();
+            case LIST -> HttpRequest.newBuilder(URI.create(orderServiceUrl + "/orders"))
+                .timeout(REQUEST_TIMEOUT).GET().build();
+            case HISTORY -> HttpRequest.newBuilder(URI.create(
+                    orderServiceUrl + "/orders?userId=" + userIds.get(random.nextInt(userIds.size())) + "&size=20"))
+                .timeout(REQUEST_TIMEOUT).GET().build();
+        };
+
+        inFlight.incrementAndGet();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+            .whenComplete((response, error) -> {
+                long latency = System.nanoTime() - intendedStart;
+                boolean success = error == null && response.statusCode() / 100 == 2;
+                stats.get(endpoint).record(latency, success);
+                if (success && endpoint == Endpoint.CREATE) {
+                    rememberOrder(response.body());
+                }
+                inFlight.decrementAndGet();
+            });
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MILLIS;
+        while (inFlight.get() > 0 && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        if (inFlight.get() > 0) {
+            log.warn("⚠️ {} peticiones siguen en curso tras {} ms", inFlight.get(), DRAIN_TIMEOUT_MILLIS);
+        }
+    }
+
+    // ============================================
+    // HELPERS
+    // ============================================
+
+    private Endpoint nextEndpoint() {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+
+    private HttpRequest createOrder() {
+        String userId = userIds.get(random.nextInt(userIds.size()));
+        BigDecimal total = BigDecimal.valueOf(1_000 + random.nextInt(49_000), 2);
+        return post(orderServiceUrl + "/orders",
+            "{\"userId\":\"" + userId + "\",\"totalAmount\":" + total.toPlainString() + "}");
+    }
+
+    private String randomOrderId() {
+        synchronized (orderIds) {
+            return orderIds.get(random.nextInt(orderIds.size()));
+        }
+    }
+
+    private void rememberOrder(String body) {
+        try {
+            orderIds.add(objectMapper.readTree(body).get("id").asText());
+        } catch (IOException | RuntimeException e) {
+            log.warn("⚠️ Respuesta de creación sin id: {}", body);
+        }
+    }
+
+    private static HttpRequest post(String url, String body) {
+        return HttpRequest.newBuilder(URI.create(url))
+            .timeout(REQUEST_TIMEOUT)
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    private String requireId(HttpResponse<String> response) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Error preparando datos (" + response.statusCode() + "): "
+                + response.body());
+        }
+        return objectMapper.readTree(response.body()).get("id").asText();
+    }
+}
@@ -1,8 +1,10 @@
 package com.microservices.notification;
 
+import com.microservices.notification.infrastructure.config.NotificationRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.ImportRuntimeHints;
 import org.springframework.kafka.annotation.EnableKafka;
 
 /**
@@ -13,10 +15,12 @@ import org.springframework.kafka.annotation.EnableKafka;
  * 
  * @EnableKafka: Activa el soporte para listeners de Kafka en Spring
  * @EnableDiscoveryClient: Se registra automáticamente en Eureka
+ * @ImportRuntimeHints: Reflexión necesaria en la imagen nativa (mvn -Pnative native:compile)
  */
 @SpringBootApplication
 @EnableKafka
 @EnableDiscoveryClient
+@ImportRuntimeHints(NotificationRuntimeHints.class)
 public class NotificationServiceApplication {
 
     public static void main(String[] args) {
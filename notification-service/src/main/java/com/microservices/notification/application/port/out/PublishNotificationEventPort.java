@@ -0,0 +1,25 @@
+package com.microservices.notification.application.port.out;
+
+import com.microservices.notification.domain.event.NotificationOutcomeEvent;
+
+/**
+ * Puerto de Salida: PublishNotificationEventPort
+ *
+ * Publica el resultado de cada notificación (NotificationSent /
+ * NotificationFailed) para otros servicios (facturación, analítica).
+ *
+ * 🏛️ El core no sabe que va a Kafka ni si la publicación es
+ *    transaccional: eso lo decide el adaptador.
+ */
+public interface PublishNotificationEventPort {
+
+    /**
+     * Publica el resultado de una notificación
+     *
+     * Si falla lanza una excepción: el evento de entrada no debe darse por
+     * procesado sin su resultado.
+     *
+     * @param event El resultado a publicar
+     */
+    void publishNotificationOutcome(NotificationOutcomeEvent event);
+}
@@ -1,7 +1,9 @@
 package com.microservices.notification.application.service;
 
 import com.microservices.notification.application.port.in.ProcessOrderEventUseCase;
+import com.microservices.notification.application.port.out.PublishNotificationEventPort;
 import com.microservices.notification.application.port.out.SendNotificationPort;
+import com.microservices.notification.domain.event.NotificationOutcomeEvent;
 import com.microservices.notification.domain.event.OrderCreatedEvent;
 import com.microservices.notification.domain.model.Notification;
 import lombok.AllArgsConstructor;
@@ -15,6 +17,7 @@ import org.springframework.stereotype.Service;
  * 1. Recibe un evento de orden creada (a través de un puerto de entrada)
  * 2. Crea una notificación (lógica de negocio)
  * 3. La envía (usando un puerto de salida)
+ * 4. Publica el resultado: NotificationSent o NotificationFailed
  * 
  * ✨ Lo genial: No sabe ni le importa de dónde vienen los eventos
  *    ni cómo se envían. Solo implementa la lógica de negocio.
@@ -22,6 +25,7 @@ import org.springframework.stereotype.Service;
  * 🔄 Flujo:
  *    Evento Kafka → KafkaConsumerAdapter → ProcessOrderEventUseCase (este servicio)
  *                                       → SendNotificationPort → EmailAdapter
+ *                                       → PublishNotificationEventPort → Kafka
  */
 @Service
 @AllArgsConstructor
@@ -35,33 +39,49 @@ public class NotificationService implements ProcessOrderEventUseCase {
     private final SendNotificationPort sendNotificationPort;
     
     /**
-     * Procesa un evento de orden creada y envía una notificación
+     * Puerto de salida para el resultado de cada notificación
+     */
+    private final PublishNotificationEventPort publishNotificationEventPort;
+    
+    /**
+     * Procesa un evento de orden creada, envía una notificación y publica
+     * el resultado
+     * 
+     * Un fallo de envío no es un error del procesamiento: se publica como
+     * NotificationFailed. Si falla la publicación, la excepción sube al
+     * listener y el evento no se da por procesado (se reintenta).
      */
     @Override
     public void processOrderCreatedEvent(OrderCreatedEvent event) {
         log.info("📩 Procesando evento de orden creada: {}", event.getOrderId());
         
+        // Lógica de negocio: crear la notificación
+        Notification notification = buildNotification(event);
+        
         try {
-            // Lógica de negocio: crear la notificación
-            Notification notification = buildNotification(event);
-            
             // Usar el puerto de salida para enviar
             boolean sent = sendNotificationPort.sendNotification(notification);
             
             if (sent) {
+                notification.markSent();
                 log.info("✅ Notificación enviada exitosamente para orden: {}", event.getOrderId());
             } else {
+                notification.markFailed(null);
                 log.warn("⚠️ Falló el envío de notificación para orden: {}", event.getOrderId());
             }
         } catch (Exception e) {
+            notification.markFailed(e.getMessage());
             log.error("❌ Error procesando evento de orden: {}", event.getOrderId(), e);
         }
+        
+        publishNotificationEventPort.publishNotificationOutcome(NotificationOutcomeEvent.of(notification));
     }
     
     /**
      * Construye una notificación a partir del evento de orden
+     * (package-private: la mide el módulo benchmarks)
      */
-    private Notification buildNotification(OrderCreatedEvent event) {
+    static Notification buildNotification(OrderCreatedEvent event) {
         Notification notification = new Notification();
         notification.setId(java.util.UUID.randomUUID().toString());
         notification.setOrderId(event.getOrderId());
@@ -0,0 +1,82 @@
+package com.microservices.notification.domain.event;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.microservices.notification.domain.model.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento: NotificationOutcomeEvent
+ *
+ * Resultado de procesar un OrderCreatedEvent. Lo PRODUCE notification-service
+ * en el topic "notification-events" (clave = orderId) para facturación y
+ * analítica:
+ * - eventType "NotificationSent":   la notificación se envió
+ * - eventType "NotificationFailed": no se pudo enviar (ver failureReason)
+ *
+ * En modo exactly-once sale en la misma transacción que el offset del
+ * evento consumido: por cada orden hay exactamente un resultado confirmado
+ * (leyendo con isolation.level=read_committed).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationOutcomeEvent {
+
+    public static final String NOTIFICATION_SENT = "NotificationSent";
+    public static final String NOTIFICATION_FAILED = "NotificationFailed";
+
+    /**
+     * ID de la notificación
+     */
+    @JsonProperty("notificationId")
+    private String notificationId;
+
+    /**
+     * ID de la orden que originó la notificación
+     */
+    @JsonProperty("orderId")
+    private String orderId;
+
+    /**
+     * Destinatario
+     */
+    @JsonProperty("recipientEmail")
+    private String recipientEmail;
+
+    /**
+     * Motivo del fallo (null si se envió)
+     */
+    @JsonProperty("failureReason")
+    private String failureReason;
+
+    /**
+     * Momento en que se decidió el resultado
+     */
+    @JsonProperty("occurredAt")
+    private LocalDateTime occurredAt;
+
+    /**
+     * NotificationSent o NotificationFailed
+     */
+    @JsonProperty("eventType")
+    private String eventType;
+
+    /**
+     * Resultado de una notificación ya enviada (SENT) o fallida (FAILED)
+     */
+    public static NotificationOutcomeEvent of(Notification notification) {
+        boolean sent = notification.getStatus() == Notification.NotificationStatus.SENT;
+        return new NotificationOutcomeEvent(
+            notification.getId(),
+            notification.getOrderId(),
+            notification.getRecipientEmail(),
+            sent ? null : notification.getFailureReason(),
+            LocalDateTime.now(),
+            sent ? NOTIFICATION_SENT : NOTIFICATION_FAILED
+        );
+    }
+}
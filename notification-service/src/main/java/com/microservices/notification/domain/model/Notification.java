@@ -35,6 +35,29 @@ public class Notification {
         FAILED
     }
     
+    /**
+     * Marca la notificación como enviada (si el adaptador no lo hizo ya)
+     */
+    public void markSent() {
+        this.status = NotificationStatus.SENT;
+        if (this.sentAt == null) {
+            this.sentAt = LocalDateTime.now();
+        }
+    }
+    
+    /**
+     * Marca la notificación como fallida. Sin motivo (reason null) se
+     * conserva el que haya dejado el adaptador, o uno genérico.
+     */
+    public void markFailed(String reason) {
+        this.status = NotificationStatus.FAILED;
+        if (reason != null) {
+            this.failureReason = reason;
+        } else if (this.failureReason == null) {
+            this.failureReason = "El proveedor no confirmó el envío";
+        }
+    }
+    
     /**
      * Factory method para crear una notificación a partir de un evento
      */
@@ -2,6 +2,7 @@ package com.microservices.notification.infrastructure.adapter.in.kafka;
 
 import com.microservices.notification.application.port.in.ProcessOrderEventUseCase;
 import com.microservices.notification.domain.event.OrderCreatedEvent;
+import com.microservices.notification.infrastructure.metrics.EventLatencyMetrics;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -24,6 +25,9 @@ import org.springframework.stereotype.Component;
  * - "order-events": Topic donde order-service produce eventos de órdenes creadas
  * - group-id: "notification-service-group": Permite que múltiples instancias
  *   trabajen juntas sin procesar el mismo mensaje dos veces
+ * 
+ * ⏳ Mide la latencia de cada evento (ver EventLatencyMetrics):
+ *    creación/publicación → recepción, y recepción → notificación enviada
  */
 @Component
 @AllArgsConstructor
@@ -35,6 +39,11 @@ public class KafkaConsumerAdapter {
      */
     private final ProcessOrderEventUseCase processOrderEventUseCase;
     
+    /**
+     * Histogramas de latencia de extremo a extremo
+     */
+    private final EventLatencyMetrics eventLatencyMetrics;
+    
     /**
      * Escucha el topic "order-events" de Kafka
      * 
@@ -46,6 +55,8 @@ public class KafkaConsumerAdapter {
      * @param event: El evento deserializado
      * @param partition: La partición de Kafka de donde vino el mensaje
      * @param offset: El offset del mensaje en la partición
+     * @param topic: El topic de donde vino el mensaje
+     * @param timestamp: Timestamp del registro (momento en que se produjo)
      */
     @KafkaListener(
         topics = "order-events",
@@ -55,12 +66,19 @@ public class KafkaConsumerAdapter {
     public void consumeOrderCreatedEvent(
         OrderCreatedEvent event,
         @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-        @Header(KafkaHeaders.OFFSET) long offset
+        @Header(KafkaHeaders.OFFSET) long offset,
+        @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+        @Header(KafkaHeaders.RECEIVED_TIMESTAMP) long timestamp
     ) {
-        log.info("🎧 Mensaje recibido de Kafka - Partición: {}, Offset: {}", partition, offset);
-        log.info("📨 Evento de orden recibido: {}", event.getOrderId());
+        long receivedAtNanos = System.nanoTime();
+        eventLatencyMetrics.recordReceived(topic, timestamp, event.getCreatedAt(), System.currentTimeMillis());
+        
+        log.info("🎧 Evento de orden {} recibido de Kafka - Partición: {}, Offset: {}",
+            event.getOrderId(), partition, offset);
         
         // Pasar el evento al caso de uso
         processOrderEventUseCase.processOrderCreatedEvent(event);
+        
+        eventLatencyMetrics.recordSent(topic, receivedAtNanos);
     }
 }
@@ -32,7 +32,7 @@ public class EmailAdapter implements SendNotificationPort {
     
     @Override
     public boolean sendNotification(Notification notification) {
-        log.info("📧 Enviando notificación por email a: {}", notification.getRecipientEmail());
+        log.debug("📧 Enviando notificación por email a: {}", notification.getRecipientEmail());
         
         try {
             // En un caso real, aquí conectarías con un servicio de email
@@ -45,7 +45,7 @@ public class EmailAdapter implements SendNotificationPort {
             if (result) {
                 notification.setStatus(Notification.NotificationStatus.SENT);
                 notification.setSentAt(LocalDateTime.now());
-                log.info("✅ Notificación enviada exitosamente para orden: {}", notification.getOrderId());
+                log.debug("✅ Notificación enviada exitosamente para orden: {}", notification.getOrderId());
             }
             
             return result;
@@ -60,15 +60,9 @@ public class EmailAdapter implements SendNotificationPort {
     @Override
     public boolean sendEmail(String email, String subject, String message) {
         try {
-            // Simular envío de email
-            log.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
-            log.info("📬 EMAIL ENVIADO (SIMULADO)");
-            log.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
-            log.info("Para: {}", email);
-            log.info("Asunto: {}", subject);
-            log.info("Mensaje:\n{}", message);
-            log.info("Timestamp: {}", LocalDateTime.now());
-            log.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+            // Simular envío de email: una sola línea por email (el cuerpo solo en DEBUG)
+            log.info("📬 Email enviado (simulado) a: {} - Asunto: {}", email, subject);
+            log.debug("📬 Mensaje:\n{}", message);
             
             // En un caso real, esto podría fallar
             return true;
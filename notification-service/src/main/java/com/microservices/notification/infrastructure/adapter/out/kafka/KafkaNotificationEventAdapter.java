@@ -0,0 +1,67 @@
+package com.microservices.notification.infrastructure.adapter.out.kafka;
+
+import com.microservices.notification.application.port.out.PublishNotificationEventPort;
+import com.microservices.notification.domain.event.NotificationOutcomeEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * KafkaNotificationEventAdapter - Adaptador de Salida para Kafka
+ *
+ * Implementa PublishNotificationEventPort publicando en "notification-events"
+ * (clave = orderId: los resultados de una orden van a la misma partición).
+ *
+ * 🔒 Garantías según el KafkaTemplate:
+ * - Transaccional (modo exactly-once): el envío entra en la transacción que
+ *   abrió el listener container para el evento consumido; el offset de ese
+ *   evento se confirma en la misma transacción. No se espera la
+ *   confirmación aquí: la espera el commit.
+ * - No transaccional: se espera la confirmación del broker antes de volver,
+ *   así el offset del evento consumido solo se confirma después
+ *   (at-least-once: tras un fallo puede haber resultados duplicados).
+ */
+@Slf4j
+public class KafkaNotificationEventAdapter implements PublishNotificationEventPort {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String topic;
+    private final Duration sendTimeout;
+
+    public KafkaNotificationEventAdapter(KafkaTemplate<String, Object> kafkaTemplate, String topic,
+                                         Duration sendTimeout) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.sendTimeout = sendTimeout;
+    }
+
+    @Override
+    public void publishNotificationOutcome(NotificationOutcomeEvent event) {
+        if (kafkaTemplate.isTransactional()) {
+            if (kafkaTemplate.inTransaction()) {
+                kafkaTemplate.send(topic, event.getOrderId(), event);
+            } else {
+                kafkaTemplate.executeInTransaction(template -> template.send(topic, event.getOrderId(), event));
+            }
+        } else {
+            awaitAck(event);
+        }
+        log.info("📤 Resultado {} publicado - Orden: {}", event.getEventType(), event.getOrderId());
+    }
+
+    private void awaitAck(NotificationOutcomeEvent event) {
+        try {
+            kafkaTemplate.send(topic, event.getOrderId(), event).get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KafkaException("Interrumpido publicando el resultado de la orden " + event.getOrderId(), e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new KafkaException("No se pudo publicar el resultado de la orden " + event.getOrderId(), e);
+        }
+    }
+}
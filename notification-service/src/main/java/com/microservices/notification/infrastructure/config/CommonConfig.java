@@ -0,0 +1,22 @@
+package com.microservices.notification.infrastructure.config;
+
+import com.microservices.common.infrastructure.config.FastStartupConfig;
+import com.microservices.common.infrastructure.config.MetricsConfig;
+import com.microservices.common.infrastructure.config.TracingConfig;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 🧩 COMMON CONFIG - Infraestructura del módulo common
+ *
+ * El escaneo de componentes solo cubre com.microservices.notification: las
+ * configuraciones compartidas que usa este servicio se registran aquí.
+ *
+ * - MetricsConfig: timers de los puertos del hexágono (hexagon.port)
+ * - TracingConfig: spans en local y /actuator/spans (tracing.local.*)
+ * - FastStartupConfig: beans eager con el perfil fast-startup
+ */
+@Configuration
+@Import({MetricsConfig.class, TracingConfig.class, FastStartupConfig.class})
+public class CommonConfig {
+}
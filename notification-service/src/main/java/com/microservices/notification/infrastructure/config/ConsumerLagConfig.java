@@ -0,0 +1,62 @@
+package com.microservices.notification.infrastructure.config;
+
+import com.microservices.notification.infrastructure.metrics.ConsumerLagEndpoint;
+import com.microservices.notification.infrastructure.metrics.ConsumerLagMonitor;
+import com.microservices.notification.infrastructure.metrics.EventLatencyMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.admin.Admin;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaAdmin;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 📉 Latencia de los eventos y lag del grupo de consumidores.
+ *
+ * Métricas en /actuator/prometheus:
+ * - notification_event_latency_seconds{topic, stage}  (timer + histograma)
+ * - kafka_consumer_group_lag{group, topic, partition}
+ * - kafka_consumer_group_lag_total{group}
+ * - kafka_consumer_group_lag_age_seconds{group}
+ *
+ * Alertas sugeridas: lag_total creciendo varios minutos seguidos, o
+ * p99 de produce-to-consume por encima del objetivo de entrega.
+ */
+@Configuration
+public class ConsumerLagConfig {
+
+    @Bean
+    public EventLatencyMetrics eventLatencyMetrics(MeterRegistry meterRegistry) {
+        return new EventLatencyMetrics(meterRegistry);
+    }
+
+    /**
+     * Usa la configuración de conexión de KafkaAdmin (la de spring.kafka.*).
+     * El monitor tiene su propio hilo: no se declara un TaskScheduler, que
+     * haría que Spring Boot no creara el suyo para el resto de la aplicación.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "consumer-lag.enabled", havingValue = "true", matchIfMissing = true)
+    public ConsumerLagMonitor consumerLagMonitor(
+            @Value("${spring.kafka.consumer.group-id}") String groupId,
+            @Value("${consumer-lag.topics:order-events}") List<String> topics,
+            @Value("${consumer-lag.interval:15s}") Duration interval,
+            KafkaAdmin kafkaAdmin,
+            MeterRegistry meterRegistry) {
+        ConsumerLagMonitor monitor = new ConsumerLagMonitor(groupId, topics,
+            () -> Admin.create(kafkaAdmin.getConfigurationProperties()), meterRegistry, Clock.systemUTC());
+        monitor.start(interval);
+        return monitor;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "consumer-lag.enabled", havingValue = "true", matchIfMissing = true)
+    public ConsumerLagEndpoint consumerLagEndpoint(ConsumerLagMonitor consumerLagMonitor) {
+        return new ConsumerLagEndpoint(consumerLagMonitor);
+    }
+}
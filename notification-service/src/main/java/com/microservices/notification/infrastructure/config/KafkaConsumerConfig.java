@@ -1,8 +1,11 @@
 package com.microservices.notification.infrastructure.config;
 
 import com.microservices.notification.domain.event.OrderCreatedEvent;
+import com.microservices.notification.infrastructure.metrics.RebalanceMetricsListener;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,10 +13,15 @@ import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerConsumerListener;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.transaction.KafkaTransactionManager;
 
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -26,6 +34,16 @@ import java.util.Map;
  *    - Dirección: bootstrap-servers (dónde vive el cartero)
  *    - Forma de abrir paquetes: Deserializer (cómo abrir el paquete)
  *    - A qué grupo perteneces: group-id (aceptas paquetes con nombre X)
+ * 
+ * 🔄 Rebalanceos (despliegues, reinicios, escalado):
+ *    - cooperative-sticky: en un rebalanceo solo se mueven las particiones
+ *      que cambian de dueño; el resto del grupo sigue consumiendo (con el
+ *      asignador eager por defecto se paraba todo el grupo)
+ *    - Pertenencia estática (group.instance.id = identidad del pod): un
+ *      pod que se reinicia dentro de session.timeout recupera sus
+ *      particiones sin rebalanceo
+ *    - RebalanceMetricsListener: vacía lo pendiente antes de ceder
+ *      particiones y mide la pausa de cada rebalanceo
  */
 @Configuration
 @EnableKafka
@@ -40,6 +58,30 @@ public class KafkaConsumerConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
     
+    /**
+     * Asignadores de particiones, en orden de preferencia. Para pasar un
+     * grupo en marcha de eager a cooperative-sticky hacen falta dos
+     * despliegues: primero "CooperativeStickyAssignor,RangeAssignor" y
+     * después solo CooperativeStickyAssignor
+     */
+    @Value("${notification.consumer.assignment-strategy:org.apache.kafka.clients.consumer.CooperativeStickyAssignor}")
+    private List<String> assignmentStrategy;
+    
+    /**
+     * Identidad estable del pod (p.ej. nombre del pod de un StatefulSet).
+     * Vacía → pertenencia dinámica. Debe ser única en el grupo: el
+     * container añade -0, -1... por hilo de concurrencia
+     */
+    @Value("${notification.consumer.group-instance-id:}")
+    private String groupInstanceId;
+    
+    /**
+     * Con pertenencia estática, lo que puede tardar un pod en volver sin
+     * que sus particiones se reasignen (y lo que quedan paradas si no vuelve)
+     */
+    @Value("${notification.consumer.session-timeout:45s}")
+    private Duration sessionTimeout;
+    
     /**
      * ConsumerFactory: Fábrica que crea instancias de KafkaConsumer
      * 
@@ -49,7 +91,7 @@ public class KafkaConsumerConfig {
      * - COMPORTAMIENTO (auto-offset-reset, group-id)
      */
     @Bean
-    public ConsumerFactory<String, OrderCreatedEvent> consumerFactory() {
+    public ConsumerFactory<String, OrderCreatedEvent> consumerFactory(ObjectProvider<MeterRegistry> meterRegistry) {
         Map<String, Object> props = new HashMap<>();
         
         // Broker de Kafka
@@ -78,13 +120,48 @@ public class KafkaConsumerConfig {
         // Permitir fallos de tipo y seguir (para evolucionar eventos)
         props.put(JsonDeserializer.USE_TYPE_INFO_HEADERS, false);
         
+        // Solo eventos de transacciones confirmadas: si order-service publica
+        // con el perfil exactly-once, un evento abortado no notifica a nadie
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        
+        // Los offsets los confirma el container (o la transacción), nunca el cliente
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        
         // Máximo de registros por poll
         props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 10);
         
         // Session timeout
-        props.put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, 30000);
+        props.put(ConsumerConfig.SESSION_TIMEOUT_MS_CONFIG, (int) sessionTimeout.toMillis());
+        
+        // Rebalanceo incremental: solo se mueven las particiones que cambian de dueño
+        props.put(ConsumerConfig.PARTITION_ASSIGNMENT_STRATEGY_CONFIG, assignmentStrategy);
         
-        return new DefaultKafkaConsumerFactory<>(props);
+        // Pertenencia estática: reiniciar el pod no provoca rebalanceo
+        if (!groupInstanceId.isBlank()) {
+            props.put(ConsumerConfig.GROUP_INSTANCE_ID_CONFIG, groupInstanceId);
+        }
+        
+        DefaultKafkaConsumerFactory<String, OrderCreatedEvent> factory = new DefaultKafkaConsumerFactory<>(props);
+        
+        // Métricas del cliente (kafka.consumer.*): rebalance-latency-avg/max,
+        // rebalance-total, last-rebalance-seconds-ago, failed-rebalance-total...
+        meterRegistry.ifAvailable(registry -> factory.addListener(new MicrometerConsumerListener<>(registry)));
+        return factory;
+    }
+    
+    /**
+     * Antes de ceder particiones: envíos pendientes del productor. Con
+     * transacciones no hace falta (y flush() fuera de una no está permitido):
+     * lo pendiente se confirma o se aborta con la transacción del evento
+     */
+    @Bean
+    public RebalanceMetricsListener rebalanceMetricsListener(MeterRegistry meterRegistry,
+                                                             KafkaTemplate<String, Object> kafkaTemplate) {
+        return new RebalanceMetricsListener(groupId, meterRegistry, () -> {
+            if (!kafkaTemplate.isTransactional()) {
+                kafkaTemplate.flush();
+            }
+        });
     }
     
     /**
@@ -94,15 +171,21 @@ public class KafkaConsumerConfig {
      * - Escucha múltiples particiones en paralelo
      * - Manage retries automáticamente
      * - Maneja confirmación de mensajes (acks)
+     * 
+     * Con KafkaTransactionManager (notification.outcomes.exactly-once, ver
+     * KafkaProducerConfig) cada evento se procesa en una transacción: el
+     * resultado publicado y el offset se confirman juntos.
      */
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, OrderCreatedEvent> 
-        kafkaListenerContainerFactory() {
+        kafkaListenerContainerFactory(ConsumerFactory<String, OrderCreatedEvent> consumerFactory,
+                                      RebalanceMetricsListener rebalanceMetricsListener,
+                                      ObjectProvider<KafkaTransactionManager<String, Object>> transactionManager) {
         
         ConcurrentKafkaListenerContainerFactory<String, OrderCreatedEvent> factory = 
             new ConcurrentKafkaListenerContainerFactory<>();
         
-        factory.setConsumerFactory(consumerFactory());
+        factory.setConsumerFactory(consumerFactory);
         
         // Número de threads para procesar mensajes en paralelo
         factory.setConcurrency(3);
@@ -112,6 +195,15 @@ public class KafkaConsumerConfig {
         // Es la más segura pero más lenta
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.RECORD);
         
+        // Exactly-once: el offset se envía a la transacción del productor
+        transactionManager.ifAvailable(factory.getContainerProperties()::setTransactionManager);
+        
+        // Vaciar lo pendiente al ceder particiones y medir los rebalanceos
+        factory.getContainerProperties().setConsumerRebalanceListener(rebalanceMetricsListener);
+        
+        // Observación: lee la cabecera traceparent y continúa la traza de order-service
+        factory.getContainerProperties().setObservationEnabled(true);
+        
         // Habilitar batch processing (procesar múltiples mensajes a la vez)
         // factory.setBatchListener(true);
         
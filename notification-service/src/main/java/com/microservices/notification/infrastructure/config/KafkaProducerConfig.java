@@ -0,0 +1,123 @@
+package com.microservices.notification.infrastructure.config;
+
+import com.microservices.notification.application.port.out.PublishNotificationEventPort;
+import com.microservices.notification.infrastructure.adapter.out.kafka.KafkaNotificationEventAdapter;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.transaction.KafkaTransactionManager;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * KafkaProducerConfig - Productor de los resultados de notificación
+ *
+ * notification-service publica NotificationSent / NotificationFailed en
+ * "notification-events" (ver KafkaNotificationEventAdapter).
+ *
+ * 🔒 notification.outcomes.exactly-once=true: consume-process-produce
+ *    exactly-once. El productor es transaccional y KafkaTransactionManager
+ *    se pasa al listener container (KafkaConsumerConfig): por cada evento
+ *    consumido el container abre una transacción, el resultado se envía
+ *    dentro y el offset del evento se confirma en la misma transacción
+ *    (sendOffsetsToTransaction). O se ven los dos o ninguno.
+ *
+ *    Tras un rebalanceo, el nuevo dueño de la partición relee desde el
+ *    último offset confirmado; el productor antiguo queda apartado por el
+ *    group metadata del consumidor (EOSMode.V2), así que no puede confirmar
+ *    una transacción a medias.
+ *
+ *    Lo que queda fuera de la transacción: el email. Si la transacción se
+ *    aborta, el evento se reprocesa y el email puede repetirse; el
+ *    resultado publicado no.
+ *
+ * Sin exactly-once: at-least-once (se espera el ack del resultado antes de
+ * confirmar el offset; tras un fallo puede haber resultados duplicados).
+ */
+@Configuration
+public class KafkaProducerConfig {
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${notification.outcomes.topic:notification-events}")
+    private String topic;
+
+    /**
+     * Prefijo de transactional.id: único por instancia (con EOSMode.V2 no
+     * hace falta que sea estable entre reinicios)
+     */
+    @Value("${notification.outcomes.transaction-id-prefix:notification-service-}")
+    private String transactionIdPrefix;
+
+    @Bean
+    public ProducerFactory<String, Object> producerFactory(
+            @Value("${notification.outcomes.exactly-once:false}") boolean exactlyOnce) {
+        Map<String, Object> configProps = new HashMap<>();
+
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+
+        // Sin cabeceras de tipo: los consumidores no comparten nuestras clases
+        configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
+
+        // Idempotente: los reintentos no duplican ni desordenan resultados
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+
+        DefaultKafkaProducerFactory<String, Object> factory = new DefaultKafkaProducerFactory<>(configProps);
+        if (exactlyOnce) {
+            factory.setTransactionIdPrefix(transactionIdPrefix);
+        }
+        return factory;
+    }
+
+    @Bean
+    public KafkaTemplate<String, Object> kafkaTemplate(ProducerFactory<String, Object> producerFactory) {
+        KafkaTemplate<String, Object> kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        kafkaTemplate.setObservationEnabled(true);
+        return kafkaTemplate;
+    }
+
+    /**
+     * Gestor de transacciones del listener container (solo exactly-once)
+     */
+    @Bean
+    @ConditionalOnProperty(name = "notification.outcomes.exactly-once", havingValue = "true")
+    public KafkaTransactionManager<String, Object> kafkaTransactionManager(
+            ProducerFactory<String, Object> producerFactory) {
+        return new KafkaTransactionManager<>(producerFactory);
+    }
+
+    @Bean
+    public PublishNotificationEventPort publishNotificationEventPort(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            @Value("${notification.outcomes.send-timeout:10s}") Duration sendTimeout) {
+        return new KafkaNotificationEventAdapter(kafkaTemplate, topic, sendTimeout);
+    }
+
+    /**
+     * Topic de resultados, creado al arrancar por KafkaAdmin
+     */
+    @Bean
+    public NewTopic notificationEventsTopic(
+            @Value("${notification.outcomes.partitions:3}") int partitions,
+            @Value("${notification.outcomes.replication-factor:1}") int replicationFactor) {
+        return TopicBuilder.name(topic)
+            .partitions(partitions)
+            .replicas(replicationFactor)
+            .build();
+    }
+}
@@ -0,0 +1,62 @@
+package com.microservices.notification.infrastructure.config;
+
+import com.microservices.common.infrastructure.logging.SamplingTurboFilter;
+import com.microservices.notification.domain.event.NotificationOutcomeEvent;
+import com.microservices.notification.domain.event.OrderCreatedEvent;
+import com.microservices.notification.infrastructure.metrics.ConsumerLagMonitor;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+/**
+ * 🧊 RUNTIME HINTS - Lo que la imagen nativa (GraalVM) no puede deducir sola
+ *
+ * En una imagen nativa solo existe la reflexión que se declara en el build.
+ * Spring AOT ya cubre los beans; aquí va lo que se crea por nombre o por
+ * reflexión fuera de Spring:
+ *
+ * 1. OrderCreatedEvent: JsonDeserializer (Jackson) crea el evento por
+ *    reflexión a partir de VALUE_DEFAULT_TYPE / spring.json.type.mapping.
+ *    BindingReflectionHintsRegistrar registra constructor, campos y los
+ *    getters/setters que genera Lombok (@Data), igual que haría Jackson.
+ * 2. ConsumerLagMonitor.PartitionLag: Jackson lo serializa en /actuator/consumerlag.
+ * 3. NotificationOutcomeEvent: JsonSerializer lo serializa por reflexión
+ *    (getters) al publicarlo en notification-events.
+ * 4. Clases que Logback instancia desde logback-spring.xml (Joran usa
+ *    reflexión para el constructor y los setters: setRules, setRingBufferSize...).
+ */
+public class NotificationRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final String[] LOGBACK_COMPONENTS = {
+        "net.logstash.logback.encoder.LogstashEncoder",
+        "net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender",
+        "net.logstash.logback.stacktrace.ShortenedThrowableConverter"
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+        bindingHints.registerReflectionHints(hints.reflection(),
+            OrderCreatedEvent.class, NotificationOutcomeEvent.class, ConsumerLagMonitor.PartitionLag.class);
+
+        hints.reflection().registerType(SamplingTurboFilter.class,
+            MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        for (String component : LOGBACK_COMPONENTS) {
+            hints.reflection().registerTypeIfPresent(classLoader, component,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+
+    /**
+     * Tipos que deben poder crearse por reflexión (para los tests)
+     */
+    static TypeReference[] logbackComponents() {
+        TypeReference[] types = new TypeReference[LOGBACK_COMPONENTS.length];
+        for (int i = 0; i < LOGBACK_COMPONENTS.length; i++) {
+            types[i] = TypeReference.of(LOGBACK_COMPONENTS[i]);
+        }
+        return types;
+    }
+}
@@ -0,0 +1,26 @@
+package com.microservices.notification.infrastructure.metrics;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+/**
+ * 📉 CONSUMER LAG ENDPOINT - /actuator/consumerlag
+ *
+ * Lag por partición del grupo de consumidores (última medición del monitor)
+ */
+@Endpoint(id = "consumerlag")
+public class ConsumerLagEndpoint {
+
+    private final ConsumerLagMonitor monitor;
+
+    public ConsumerLagEndpoint(ConsumerLagMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @ReadOperation
+    public Map<String, Object> lag() {
+        return monitor.snapshot();
+    }
+}
@@ -0,0 +1,221 @@
+package com.microservices.notification.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 📉 CONSUMER LAG MONITOR - Lag por partición del grupo de consumidores
+ *
+ * Cada cierto tiempo (consumer-lag.interval) pregunta al broker:
+ * - offset confirmado del grupo en cada partición de los topics vigilados
+ * - último offset (end offset) de cada partición
+ * lag = end offset - offset confirmado (sin offset confirmado: end - earliest)
+ *
+ * Gauges en /actuator/prometheus:
+ * - kafka_consumer_group_lag{group, topic, partition}
+ * - kafka_consumer_group_lag_total{group}
+ * - kafka_consumer_group_lag_age_seconds{group}: antigüedad de la última
+ *   medición correcta (si crece, el monitor no llega al broker y el lag
+ *   publicado ya no es fiable)
+ *
+ * El detalle se ve en /actuator/consumerlag.
+ *
+ * start() mide en un único hilo propio (no compite con los listeners de
+ * Kafka ni ocupa el TaskScheduler de la aplicación); close() lo detiene.
+ */
+@Slf4j
+public class ConsumerLagMonitor implements AutoCloseable {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final String groupId;
+    private final Collection<String> topics;
+    private final Supplier<Admin> adminFactory;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    private final Map<TopicPartition, PartitionLag> partitions = new ConcurrentHashMap<>();
+    private volatile Admin admin;
+    private volatile Instant lastUpdate;
+    private volatile String lastError;
+    private ScheduledExecutorService scheduler;
+
+    public ConsumerLagMonitor(String groupId, Collection<String> topics, Supplier<Admin> adminFactory,
+                              MeterRegistry meterRegistry, Clock clock) {
+        this.groupId = groupId;
+        this.topics = List.copyOf(topics);
+        this.adminFactory = adminFactory;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+
+        Gauge.builder("kafka.consumer.group.lag.total", this, ConsumerLagMonitor::totalLag)
+            .description("Suma del lag de todas las particiones vigiladas")
+            .tag("group", groupId)
+            .register(meterRegistry);
+        Gauge.builder("kafka.consumer.group.lag.age", this, ConsumerLagMonitor::ageSeconds)
+            .description("Segundos desde la última medición correcta del lag")
+            .tag("group", groupId)
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Mide cada interval, la primera vez de inmediato
+     */
+    public synchronized void start(Duration interval) {
+        if (scheduler != null) {
+            throw new IllegalStateException("El monitor de lag ya está en marcha");
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "consumer-lag");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Una medición (ver start())
+     */
+    public void refresh() {
+        try {
+            Admin client = admin();
+            Map<TopicPartition, OffsetAndMetadata> committed = client.listConsumerGroupOffsets(groupId)
+                .partitionsToOffsetAndMetadata()
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            List<TopicPartition> watched = new ArrayList<>();
+            for (TopicDescription topic : client.describeTopics(topics).allTopicNames()
+                    .get(TIMEOUT_SECONDS, TimeUnit.SECONDS).values()) {
+                topic.partitions().forEach(p -> watched.add(new TopicPartition(topic.name(), p.partition())));
+            }
+
+            Map<TopicPartition, ListOffsetsResultInfo> endOffsets = listOffsets(client, watched, OffsetSpec.latest());
+            List<TopicPartition> uncommitted = watched.stream()
+                .filter(tp -> committed.get(tp) == null)
+                .toList();
+            Map<TopicPartition, ListOffsetsResultInfo> startOffsets = uncommitted.isEmpty()
+                ? Map.of()
+                : listOffsets(client, uncommitted, OffsetSpec.earliest());
+
+            for (TopicPartition tp : watched) {
+                long end = endOffsets.get(tp).offset();
+                OffsetAndMetadata commit = committed.get(tp);
+                long position = commit != null ? commit.offset() : startOffsets.get(tp).offset();
+                update(tp, commit != null ? commit.offset() : null, end, Math.max(0, end - position));
+            }
+            lastUpdate = clock.instant();
+            lastError = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            lastError = e.getClass().getSimpleName() + ": " + e.getMessage();
+            log.warn("⚠️ No se pudo medir el lag del grupo {}: {}", groupId, lastError);
+        }
+    }
+
+    public long totalLag() {
+        return partitions.values().stream().mapToLong(PartitionLag::lag).sum();
+    }
+
+    /**
+     * Estado actual, para el endpoint de Actuator
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("group", groupId);
+        snapshot.put("topics", topics);
+        snapshot.put("updatedAt", lastUpdate);
+        snapshot.put("totalLag", totalLag());
+        snapshot.put("partitions", partitions.values().stream()
+            .sorted(Comparator.comparing(PartitionLag::topic).thenComparingInt(PartitionLag::partition))
+            .toList());
+        if (lastError != null) {
+            snapshot.put("error", lastError);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Detiene las mediciones y cierra el cliente Admin
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            try {
+                scheduler.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        Admin client = admin;
+        if (client != null) {
+            client.close(Duration.ofSeconds(TIMEOUT_SECONDS));
+        }
+    }
+
+    private void update(TopicPartition tp, Long committedOffset, long endOffset, long lag) {
+        if (partitions.put(tp, new PartitionLag(tp.topic(), tp.partition(), committedOffset, endOffset, lag)) == null) {
+            Gauge.builder("kafka.consumer.group.lag", partitions, map -> lagOf(map, tp))
+                .description("Mensajes pendientes de consumir por partición")
+                .tag("group", groupId)
+                .tag("topic", tp.topic())
+                .tag("partition", String.valueOf(tp.partition()))
+                .register(meterRegistry);
+        }
+    }
+
+    private static double lagOf(Map<TopicPartition, PartitionLag> partitions, TopicPartition tp) {
+        PartitionLag lag = partitions.get(tp);
+        return lag != null ? lag.lag() : Double.NaN;
+    }
+
+    private double ageSeconds() {
+        Instant updated = lastUpdate;
+        return updated == null ? Double.NaN : Duration.between(updated, clock.instant()).toMillis() / 1000.0;
+    }
+
+    private Admin admin() {
+        if (admin == null) {
+            admin = adminFactory.get();
+        }
+        return admin;
+    }
+
+    private static Map<TopicPartition, ListOffsetsResultInfo> listOffsets(
+            Admin client, List<TopicPartition> partitions, OffsetSpec spec) throws Exception {
+        Map<TopicPartition, OffsetSpec> request = new HashMap<>();
+        partitions.forEach(tp -> request.put(tp, spec));
+        return client.listOffsets(request).all().get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Lag de una partición (committedOffset null = el grupo aún no confirmó nada)
+     */
+    public record PartitionLag(String topic, int partition, Long committedOffset, long endOffset, long lag) {
+    }
+}
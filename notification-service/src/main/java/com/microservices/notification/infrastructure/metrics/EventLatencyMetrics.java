@@ -0,0 +1,81 @@
+package com.microservices.notification.infrastructure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏳ EVENT LATENCY METRICS - Latencia de extremo a extremo de los eventos
+ *
+ * Timer notification.event.latency{topic, stage} (con histograma, ver application.yml):
+ * - stage=created-to-consume : createdAt del evento → recibido aquí
+ *   (incluye lo que tarda order-service en publicar tras crear la orden)
+ * - stage=produce-to-consume : timestamp del registro Kafka → recibido aquí
+ *   (tiempo en el broker + cola del consumidor: crece con el lag)
+ * - stage=consume-to-sent    : recibido → caso de uso terminado (notificación enviada)
+ *
+ * Las dos primeras comparan relojes de máquinas distintas: un desfase
+ * negativo (reloj adelantado en el productor) se registra como 0.
+ * createdAt es un LocalDateTime sin zona: se interpreta en la zona del sistema,
+ * igual que la usa order-service al crearlo.
+ */
+public class EventLatencyMetrics {
+
+    public static final String TIMER_NAME = "notification.event.latency";
+
+    private final MeterRegistry meterRegistry;
+    private final ZoneId zone;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public EventLatencyMetrics(MeterRegistry meterRegistry) {
+        this(meterRegistry, ZoneId.systemDefault());
+    }
+
+    EventLatencyMetrics(MeterRegistry meterRegistry, ZoneId zone) {
+        this.meterRegistry = meterRegistry;
+        this.zone = zone;
+    }
+
+    /**
+     * Al recibir el registro (antes de procesarlo)
+     *
+     * @param recordTimestamp timestamp del registro Kafka (epoch ms)
+     * @param createdAt       createdAt del evento (puede ser null)
+     * @param receivedAt      momento de recepción (epoch ms)
+     */
+    public void recordReceived(String topic, long recordTimestamp, LocalDateTime createdAt, long receivedAt) {
+        if (recordTimestamp > 0) {
+            record(topic, "produce-to-consume", receivedAt - recordTimestamp);
+        }
+        if (createdAt != null) {
+            long createdAtMillis = createdAt.atZone(zone).toInstant().toEpochMilli();
+            record(topic, "created-to-consume", receivedAt - createdAtMillis);
+        }
+    }
+
+    /**
+     * Al terminar el caso de uso
+     *
+     * @param receivedAtNanos System.nanoTime() al recibir el registro
+     */
+    public void recordSent(String topic, long receivedAtNanos) {
+        timer(topic, "consume-to-sent").record(System.nanoTime() - receivedAtNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void record(String topic, String stage, long millis) {
+        timer(topic, stage).record(Math.max(0, millis), TimeUnit.MILLISECONDS);
+    }
+
+    private Timer timer(String topic, String stage) {
+        return timers.computeIfAbsent(topic + '|' + stage, key -> Timer.builder(TIMER_NAME)
+            .description("Latencia de los eventos consumidos por etapa")
+            .tag("topic", topic)
+            .tag("stage", stage)
+            .register(meterRegistry));
+    }
+}
@@ -0,0 +1,103 @@
+package com.microservices.notification.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * 🔄 REBALANCE METRICS LISTENER - Qué cuesta cada rebalanceo del grupo
+ *
+ * Métricas (tag group):
+ * - kafka.consumer.rebalance.pause: tiempo desde que este consumidor cede
+ *   particiones hasta que recibe su nueva asignación. Con el protocolo
+ *   eager lo cede todo en cada rebalanceo; con cooperative-sticky solo las
+ *   particiones que se mueven (y sigue consumiendo las demás)
+ * - kafka.consumer.rebalance.partitions{event=assigned|revoked|lost}
+ *   (lost: el consumidor salió del grupo sin ceder, p.ej. sesión caducada)
+ *
+ * Antes de ceder particiones se ejecuta flushInFlight (envíos pendientes
+ * del productor) y después el container confirma los offsets: el nuevo
+ * dueño empieza justo detrás de lo ya publicado.
+ *
+ * Los callbacks llegan en el hilo de cada consumidor (uno por hilo de
+ * concurrencia): el inicio de la pausa se guarda por hilo.
+ */
+@Slf4j
+public class RebalanceMetricsListener implements ConsumerAwareRebalanceListener {
+
+    private final Runnable flushInFlight;
+    private final LongSupplier nanoTime;
+    private final ThreadLocal<Long> revokedAt = new ThreadLocal<>();
+
+    private final Timer pause;
+    private final Counter assigned;
+    private final Counter revoked;
+    private final Counter lost;
+
+    public RebalanceMetricsListener(String group, MeterRegistry meterRegistry, Runnable flushInFlight) {
+        this(group, meterRegistry, flushInFlight, System::nanoTime);
+    }
+
+    RebalanceMetricsListener(String group, MeterRegistry meterRegistry, Runnable flushInFlight,
+                             LongSupplier nanoTime) {
+        this.flushInFlight = flushInFlight;
+        this.nanoTime = nanoTime;
+        this.pause = Timer.builder("kafka.consumer.rebalance.pause")
+            .description("Tiempo sin consumir las particiones cedidas en un rebalanceo")
+            .tag("group", group)
+            .register(meterRegistry);
+        this.assigned = partitions(meterRegistry, group, "assigned");
+        this.revoked = partitions(meterRegistry, group, "revoked");
+        this.lost = partitions(meterRegistry, group, "lost");
+    }
+
+    private static Counter partitions(MeterRegistry meterRegistry, String group, String event) {
+        return Counter.builder("kafka.consumer.rebalance.partitions")
+            .description("Particiones asignadas, cedidas o perdidas en rebalanceos")
+            .tag("group", group)
+            .tag("event", event)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        revokedAt.set(nanoTime.getAsLong());
+        revoked.increment(partitions.size());
+        flushInFlight.run();
+        log.info("🔄 Rebalanceo: cediendo particiones {}", partitions);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        revokedAt.set(nanoTime.getAsLong());
+        lost.increment(partitions.size());
+        log.warn("⚠️ Rebalanceo: particiones perdidas (ya no son de este consumidor) {}", partitions);
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        assigned.increment(partitions.size());
+        Long start = revokedAt.get();
+        if (start != null) {
+            revokedAt.remove();
+            pause.record(nanoTime.getAsLong() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!partitions.isEmpty()) {
+            log.info("🔄 Rebalanceo: particiones asignadas {}", partitions);
+        }
+    }
+}
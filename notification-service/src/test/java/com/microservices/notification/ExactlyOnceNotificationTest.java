@@ -0,0 +1,185 @@
+package com.microservices.notification;
+
+import com.microservices.notification.application.port.out.PublishNotificationEventPort;
+import com.microservices.notification.application.port.out.SendNotificationPort;
+import com.microservices.notification.domain.event.NotificationOutcomeEvent;
+import com.microservices.notification.domain.model.Notification;
+import com.microservices.notification.infrastructure.adapter.out.kafka.KafkaNotificationEventAdapter;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 EXACTLY-ONCE TEST - consume → procesa → produce en una transacción
+ *
+ * PROPÓSITO:
+ * - Verificar que cada OrderCreatedEvent produce exactamente un resultado
+ *   (NotificationSent / NotificationFailed) visible con read_committed,
+ *   aunque el procesamiento falle después de publicar y se repita
+ * - Verificar que el offset del evento consumido se confirma con el resultado
+ *
+ * El puerto de publicación falla una vez DESPUÉS de enviar el resultado de
+ * "order-retry": la transacción se aborta, el evento se reprocesa y el
+ * resultado abortado solo lo ve un consumidor read_uncommitted.
+ *
+ * Sin Mockito, como NotificationServiceSmokeTest (imagen nativa).
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "notification.outcomes.exactly-once=true",
+        "notification.outcomes.partitions=1",
+        "consumer-lag.enabled=false",
+        "logging.level.org.apache.kafka=WARN",
+        "logging.level.kafka=WARN",
+        "logging.level.state.change.logger=WARN"
+    }
+)
+@EmbeddedKafka(
+    partitions = 1,
+    topics = "order-events",
+    brokerProperties = {
+        "transaction.state.log.replication.factor=1",
+        "transaction.state.log.min.isr=1"
+    }
+)
+@DisplayName("🧪 Exactly-once consume-process-produce (Kafka embebido)")
+class ExactlyOnceNotificationTest {
+
+    private static final String OUTCOMES_TOPIC = "notification-events";
+    private static final String GROUP = "notification-service-group";
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Test
+    @DisplayName("Debe publicar un único resultado por evento y confirmar su offset en la misma transacción")
+    void shouldPublishExactlyOneOutcomePerEvent() throws Exception {
+        try (Producer<String, String> producer = new DefaultKafkaProducerFactory<>(
+                KafkaTestUtils.producerProps(broker), new StringSerializer(), new StringSerializer())
+                .createProducer()) {
+            producer.send(new ProducerRecord<>("order-events", "order-1", event("order-1", "ana@example.com")));
+            producer.send(new ProducerRecord<>("order-events", "order-2", event("order-2", "rebota@example.com")));
+            producer.send(new ProducerRecord<>("order-events", "order-retry", event("order-retry", "luis@example.com")))
+                .get(10, TimeUnit.SECONDS);
+        }
+
+        List<ConsumerRecord<String, String>> committed = readOutcomes("read_committed", 3);
+        List<ConsumerRecord<String, String>> uncommitted = readOutcomes("read_uncommitted", 4);
+
+        assertEquals(List.of("order-1", "order-2", "order-retry"),
+            committed.stream().map(ConsumerRecord::key).toList());
+        assertTrue(committed.get(0).value().contains(NotificationOutcomeEvent.NOTIFICATION_SENT));
+        assertTrue(committed.get(1).value().contains(NotificationOutcomeEvent.NOTIFICATION_FAILED));
+        assertTrue(committed.get(2).value().contains(NotificationOutcomeEvent.NOTIFICATION_SENT));
+        assertEquals(4, uncommitted.size(), "El resultado de la transacción abortada existe, pero no se ve");
+        assertEquals(3, committedOffset());
+    }
+
+    private static String event(String orderId, String email) {
+        return """
+            {"orderId":"%s","customerId":"user-456","customerEmail":"%s",
+             "totalAmount":150.0,"description":"Nueva orden creada",
+             "createdAt":"2024-01-15T10:30:00","eventType":"OrderCreated"}
+            """.formatted(orderId, email);
+    }
+
+    /**
+     * Lee notification-events desde el principio hasta tener expected
+     * resultados, y sigue 2 s más para detectar duplicados
+     */
+    private List<ConsumerRecord<String, String>> readOutcomes(String isolationLevel, int expected) {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("outcomes-" + isolationLevel, "false", broker);
+        props.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, isolationLevel);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        List<ConsumerRecord<String, String>> records = new ArrayList<>();
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(
+                props, new StringDeserializer(), new StringDeserializer()).createConsumer()) {
+            consumer.subscribe(List.of(OUTCOMES_TOPIC));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+            long settleUntil = Long.MAX_VALUE;
+            while (System.nanoTime() < Math.min(deadline, settleUntil)) {
+                consumer.poll(Duration.ofMillis(200)).forEach(records::add);
+                if (records.size() >= expected && settleUntil == Long.MAX_VALUE) {
+                    settleUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+                }
+            }
+        }
+        return records;
+    }
+
+    private long committedOffset() throws Exception {
+        return KafkaTestUtils.getCurrentOffset(broker.getBrokersAsString(), GROUP, "order-events", 0).offset();
+    }
+
+    @TestConfiguration
+    static class ExactlyOnceTestConfig {
+
+        /**
+         * Simula un proveedor de email que rechaza una dirección
+         */
+        @Bean
+        @Primary
+        SendNotificationPort bouncingNotificationPort() {
+            return new SendNotificationPort() {
+                @Override
+                public boolean sendNotification(Notification notification) {
+                    return !notification.getRecipientEmail().startsWith("rebota");
+                }
+
+                @Override
+                public boolean sendEmail(String email, String subject, String message) {
+                    return true;
+                }
+            };
+        }
+
+        /**
+         * Publica de verdad y falla una vez después de publicar "order-retry".
+         * flush() antes de fallar: el envío es asíncrono y, si el registro
+         * siguiera en el buffer del productor, abortar la transacción lo
+         * descartaría sin llegar al broker
+         */
+        @Bean
+        @Primary
+        PublishNotificationEventPort failingOncePublishPort(KafkaTemplate<String, Object> kafkaTemplate) {
+            PublishNotificationEventPort delegate =
+                new KafkaNotificationEventAdapter(kafkaTemplate, OUTCOMES_TOPIC, Duration.ofSeconds(10));
+            AtomicBoolean failed = new AtomicBoolean();
+            return event -> {
+                delegate.publishNotificationOutcome(event);
+                if ("order-retry".equals(event.getOrderId()) && failed.compareAndSet(false, true)) {
+                    kafkaTemplate.flush();
+                    throw new IllegalStateException("Fallo simulado después de publicar");
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.microservices.notification;
+
+import com.microservices.notification.application.port.out.SendNotificationPort;
+import com.microservices.notification.domain.model.Notification;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 SMOKE TEST - Arranque completo + evento real por Kafka
+ *
+ * PROPÓSITO:
+ * - Verificar que el contexto arranca (también en imagen nativa:
+ *   mvn -PnativeTest test, donde falta cualquier hint de reflexión)
+ * - Verificar el camino completo: Kafka → JsonDeserializer → caso de uso
+ *   → puerto de salida, y que se registra la latencia del evento
+ *
+ * Sin Mockito: los mocks generan clases en tiempo de ejecución y no
+ * funcionan en imagen nativa. El puerto de salida se sustituye por un
+ * bean que guarda las notificaciones.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.NONE,
+    properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "consumer-lag.enabled=false",
+        "logging.level.org.apache.kafka=WARN",
+        "logging.level.kafka=WARN",
+        "logging.level.state.change.logger=WARN"
+    }
+)
+@EmbeddedKafka(partitions = 1, topics = "order-events")
+@DisplayName("🧪 Notification Service Smoke Test (Kafka embebido)")
+class NotificationServiceSmokeTest {
+
+    private static final String EVENT = """
+        {"orderId":"order-123","customerId":"user-456","customerEmail":"john@example.com",
+         "totalAmount":150.0,"description":"Nueva orden creada",
+         "createdAt":"2024-01-15T10:30:00","eventType":"OrderCreated"}
+        """;
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @Autowired
+    private RecordingNotificationPort notificationPort;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Debe consumir OrderCreatedEvent y enviar la notificación")
+    void shouldConsumeEventAndSendNotification() throws Exception {
+        try (Producer<String, String> producer = new DefaultKafkaProducerFactory<>(
+                KafkaTestUtils.producerProps(broker), new StringSerializer(), new StringSerializer())
+                .createProducer()) {
+            producer.send(new ProducerRecord<>("order-events", "order-123", EVENT)).get(10, TimeUnit.SECONDS);
+        }
+
+        Notification notification = notificationPort.awaitNotification(30, TimeUnit.SECONDS);
+
+        assertNotNull(notification, "No llegó ninguna notificación en 30 s");
+        assertEquals("john@example.com", notification.getRecipientEmail());
+        assertEquals("order-123", notification.getOrderId());
+        assertTrue(meterRegistry.get("notification.event.latency").timers().stream()
+            .anyMatch(timer -> timer.count() > 0));
+    }
+
+    @TestConfiguration
+    static class SmokeTestConfig {
+
+        @Bean
+        @Primary
+        RecordingNotificationPort recordingNotificationPort() {
+            return new RecordingNotificationPort();
+        }
+    }
+
+    /**
+     * Puerto de salida que guarda las notificaciones en lugar de enviarlas
+     */
+    static class RecordingNotificationPort implements SendNotificationPort {
+
+        private final BlockingQueue<Notification> sent = new LinkedBlockingQueue<>();
+
+        @Override
+        public boolean sendNotification(Notification notification) {
+            return sent.add(notification);
+        }
+
+        @Override
+        public boolean sendEmail(String email, String subject, String message) {
+            return true;
+        }
+
+        /**
+         * Método y no acceso al campo: el bean es un proxy (HexagonPortObservationPostProcessor)
+         */
+        Notification awaitNotification(long timeout, TimeUnit unit) throws InterruptedException {
+            return sent.poll(timeout, unit);
+        }
+    }
+}
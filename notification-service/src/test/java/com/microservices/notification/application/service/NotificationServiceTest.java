@@ -1,6 +1,8 @@
 package com.microservices.notification.application.service;
 
+import com.microservices.notification.application.port.out.PublishNotificationEventPort;
 import com.microservices.notification.application.port.out.SendNotificationPort;
+import com.microservices.notification.domain.event.NotificationOutcomeEvent;
 import com.microservices.notification.domain.event.OrderCreatedEvent;
 import com.microservices.notification.domain.model.Notification;
 import org.junit.jupiter.api.*;
@@ -24,6 +26,7 @@ import static org.mockito.Mockito.*;
  * - Verificar que notificaciones se envían correctamente
  * - Validar manejo de errores en comunicación asincrónica
  * - Testear la arquitectura event-driven con mocks
+ * - Verificar el resultado publicado (NotificationSent / NotificationFailed)
  */
 @DisplayName("🧪 Notification Service (Event-Driven Layer) Tests")
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +35,9 @@ class NotificationServiceTest {
     @Mock
     private SendNotificationPort sendNotificationPort;
     
+    @Mock
+    private PublishNotificationEventPort publishNotificationEventPort;
+    
     @InjectMocks
     private NotificationService notificationService;
     
@@ -105,6 +111,71 @@ class NotificationServiceTest {
         }
     }
     
+    @Nested
+    @DisplayName("📤 Resultado de la notificación - NotificationSent / NotificationFailed")
+    class OutcomeTests {
+        
+        private NotificationOutcomeEvent publishedOutcome() {
+            ArgumentCaptor<NotificationOutcomeEvent> outcomeCaptor =
+                ArgumentCaptor.forClass(NotificationOutcomeEvent.class);
+            verify(publishNotificationEventPort).publishNotificationOutcome(outcomeCaptor.capture());
+            return outcomeCaptor.getValue();
+        }
+        
+        @Test
+        @DisplayName("Debe publicar NotificationSent si se envió")
+        void shouldPublishSentOutcome() {
+            when(sendNotificationPort.sendNotification(any(Notification.class)))
+                .thenReturn(true);
+            
+            notificationService.processOrderCreatedEvent(testEvent);
+            
+            NotificationOutcomeEvent outcome = publishedOutcome();
+            assertEquals(NotificationOutcomeEvent.NOTIFICATION_SENT, outcome.getEventType());
+            assertEquals("order-123", outcome.getOrderId());
+            assertEquals("john@example.com", outcome.getRecipientEmail());
+            assertNull(outcome.getFailureReason());
+        }
+        
+        @Test
+        @DisplayName("Debe publicar NotificationFailed si el envío no se confirmó")
+        void shouldPublishFailedOutcomeWhenNotSent() {
+            when(sendNotificationPort.sendNotification(any(Notification.class)))
+                .thenReturn(false);
+            
+            notificationService.processOrderCreatedEvent(testEvent);
+            
+            NotificationOutcomeEvent outcome = publishedOutcome();
+            assertEquals(NotificationOutcomeEvent.NOTIFICATION_FAILED, outcome.getEventType());
+            assertNotNull(outcome.getFailureReason());
+        }
+        
+        @Test
+        @DisplayName("Debe publicar NotificationFailed con el motivo si el envío lanza excepción")
+        void shouldPublishFailedOutcomeWithReasonOnException() {
+            when(sendNotificationPort.sendNotification(any(Notification.class)))
+                .thenThrow(new IllegalStateException("SMTP no disponible"));
+            
+            notificationService.processOrderCreatedEvent(testEvent);
+            
+            NotificationOutcomeEvent outcome = publishedOutcome();
+            assertEquals(NotificationOutcomeEvent.NOTIFICATION_FAILED, outcome.getEventType());
+            assertEquals("SMTP no disponible", outcome.getFailureReason());
+        }
+        
+        @Test
+        @DisplayName("Debe propagar el fallo de publicación (el evento no se da por procesado)")
+        void shouldPropagatePublishFailure() {
+            when(sendNotificationPort.sendNotification(any(Notification.class)))
+                .thenReturn(true);
+            doThrow(new IllegalStateException("Kafka no disponible"))
+                .when(publishNotificationEventPort).publishNotificationOutcome(any());
+            
+            assertThrows(IllegalStateException.class,
+                () -> notificationService.processOrderCreatedEvent(testEvent));
+        }
+    }
+    
     @Nested
     @DisplayName("⚠️ Validación de Datos - Entrada del Evento")
     class DataValidationTests {
@@ -0,0 +1,110 @@
+package com.microservices.notification.infrastructure.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.transaction.KafkaTransactionManager;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA KafkaProducerConfig (resultados de notificación)
+ *
+ * PROPÓSITO:
+ * - Verificar las propiedades del productor (acks=all, idempotente, sin
+ *   cabeceras de tipo) y que solo exactly-once es transaccional
+ * - Verificar el NewTopic de notification-events (nombre, particiones, réplicas)
+ *
+ * Contexto de Spring mínimo (solo esta configuración): no hace falta broker.
+ */
+@DisplayName("🧪 Kafka Producer Config Tests")
+class KafkaProducerConfigTest {
+
+    // Conversión de Spring Boot (send-timeout "10s" → Duration), como en la aplicación
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withInitializer(context -> context.getBeanFactory()
+            .setConversionService(ApplicationConversionService.getSharedInstance()))
+        .withUserConfiguration(KafkaProducerConfig.class)
+        .withPropertyValues("spring.kafka.bootstrap-servers=localhost:9092");
+
+    @Nested
+    @DisplayName("📤 Productor")
+    class ProducerTests {
+
+        @Test
+        @DisplayName("Por defecto: acks=all, idempotente, sin transacciones")
+        void shouldConfigureIdempotentProducer() {
+            contextRunner.run(context -> {
+                assertNull(context.getStartupFailure());
+                DefaultKafkaProducerFactory<?, ?> factory =
+                    (DefaultKafkaProducerFactory<?, ?>) context.getBean(ProducerFactory.class);
+                Map<String, Object> config = factory.getConfigurationProperties();
+
+                assertEquals("localhost:9092", config.get(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG));
+                assertEquals("all", config.get(ProducerConfig.ACKS_CONFIG));
+                assertEquals(true, config.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+                assertEquals(false, config.get(JsonSerializer.ADD_TYPE_INFO_HEADERS));
+                assertFalse(factory.transactionCapable());
+                assertTrue(context.getBeansOfType(KafkaTransactionManager.class).isEmpty());
+            });
+        }
+
+        @Test
+        @DisplayName("exactly-once: productor transaccional y KafkaTransactionManager sobre él")
+        void shouldConfigureTransactionsForExactlyOnce() {
+            contextRunner.withPropertyValues(
+                "notification.outcomes.exactly-once=true",
+                "notification.outcomes.transaction-id-prefix=notification-service-pod-1-"
+            ).run(context -> {
+                DefaultKafkaProducerFactory<?, ?> factory =
+                    (DefaultKafkaProducerFactory<?, ?>) context.getBean(ProducerFactory.class);
+
+                assertTrue(factory.transactionCapable());
+                assertEquals("notification-service-pod-1-", factory.getTransactionIdPrefix());
+                assertSame(factory, context.getBean(KafkaTransactionManager.class).getProducerFactory());
+            });
+        }
+    }
+
+    @Nested
+    @DisplayName("📬 Topic de resultados")
+    class TopicTests {
+
+        @Test
+        @DisplayName("Por defecto: notification-events con 3 particiones y 1 réplica")
+        void shouldDeclareTopicWithDefaults() {
+            contextRunner.run(context -> {
+                NewTopic topic = context.getBean(NewTopic.class);
+
+                assertEquals("notification-events", topic.name());
+                assertEquals(3, topic.numPartitions());
+                assertEquals((short) 1, topic.replicationFactor());
+            });
+        }
+
+        @Test
+        @DisplayName("Debe usar el nombre, las particiones y las réplicas configuradas")
+        void shouldApplyConfiguredValues() {
+            contextRunner.withPropertyValues(
+                "notification.outcomes.topic=notification-outcomes",
+                "notification.outcomes.partitions=6",
+                "notification.outcomes.replication-factor=3"
+            ).run(context -> {
+                NewTopic topic = context.getBean(NewTopic.class);
+
+                assertEquals("notification-outcomes", topic.name());
+                assertEquals(6, topic.numPartitions());
+                assertEquals((short) 3, topic.replicationFactor());
+            });
+        }
+    }
+}
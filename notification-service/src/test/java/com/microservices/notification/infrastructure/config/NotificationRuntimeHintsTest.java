@@ -0,0 +1,90 @@
+package com.microservices.notification.infrastructure.config;
+
+import com.microservices.common.infrastructure.logging.SamplingTurboFilter;
+import com.microservices.notification.domain.event.NotificationOutcomeEvent;
+import com.microservices.notification.domain.event.OrderCreatedEvent;
+import com.microservices.notification.infrastructure.metrics.ConsumerLagMonitor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 🧪 UNIT TESTS PARA NotificationRuntimeHints
+ *
+ * PROPÓSITO:
+ * - Verificar que la imagen nativa podrá deserializar OrderCreatedEvent
+ *   (constructor vacío + setters generados por Lombok) y serializar
+ *   NotificationOutcomeEvent
+ * - Verificar que Logback podrá instanciar los componentes de logback-spring.xml
+ */
+@DisplayName("🧪 Notification Runtime Hints Tests")
+class NotificationRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NotificationRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Nested
+    @DisplayName("📦 Eventos y respuestas JSON")
+    class JsonBindingTests {
+
+        @Test
+        @DisplayName("Debe registrar constructor, getters y setters de OrderCreatedEvent")
+        void shouldRegisterOrderCreatedEvent() throws Exception {
+            assertTrue(RuntimeHintsPredicates.reflection()
+                .onConstructor(OrderCreatedEvent.class.getConstructor()).test(hints));
+            assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(OrderCreatedEvent.class, "setCustomerEmail").test(hints));
+            assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(OrderCreatedEvent.class, "getCreatedAt").test(hints));
+        }
+
+        @Test
+        @DisplayName("Debe registrar los getters de NotificationOutcomeEvent")
+        void shouldRegisterNotificationOutcomeEvent() {
+            assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(NotificationOutcomeEvent.class, "getEventType").test(hints));
+            assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(NotificationOutcomeEvent.class, "getOccurredAt").test(hints));
+        }
+
+        @Test
+        @DisplayName("Debe registrar PartitionLag para /actuator/consumerlag")
+        void shouldRegisterPartitionLag() {
+            assertTrue(RuntimeHintsPredicates.reflection()
+                .onType(ConsumerLagMonitor.PartitionLag.class).test(hints));
+        }
+    }
+
+    @Nested
+    @DisplayName("📝 Componentes de Logback")
+    class LogbackTests {
+
+        @Test
+        @DisplayName("Debe permitir crear SamplingTurboFilter y llamar a setRules()")
+        void shouldRegisterTurboFilter() throws Exception {
+            assertTrue(RuntimeHintsPredicates.reflection()
+                .onConstructor(SamplingTurboFilter.class.getConstructor()).test(hints));
+            assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(SamplingTurboFilter.class.getMethod("setRules", String.class)).test(hints));
+        }
+
+        @Test
+        @DisplayName("Debe registrar el encoder y el appender asíncrono de logstash")
+        void shouldRegisterLogstashComponents() {
+            for (TypeReference type : NotificationRuntimeHints.logbackComponents()) {
+                assertTrue(RuntimeHintsPredicates.reflection().onType(type).test(hints), type.getName());
+            }
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.microservices.notification.infrastructure.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.DescribeTopicsResult;
+import org.apache.kafka.clients.admin.ListConsumerGroupOffsetsResult;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.ListOffsetsResult.ListOffsetsResultInfo;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 🧪 UNIT TESTS PARA LAS MÉTRICAS DE ENTREGA DE EVENTOS
+ *
+ * PROPÓSITO:
+ * - Verificar el cálculo del lag por partición (con y sin offset confirmado)
+ * - Verificar que un fallo del broker no rompe el monitor
+ * - Verificar que start() mide periódicamente y close() lo detiene
+ * - Verificar los histogramas de latencia por etapa
+ */
+@DisplayName("🧪 Consumer Lag & Event Latency Tests")
+@ExtendWith(MockitoExtension.class)
+class ConsumerLagMonitorTest {
+
+    private static final String GROUP = "notification-service-group";
+    private static final String TOPIC = "order-events";
+    private static final TopicPartition P0 = new TopicPartition(TOPIC, 0);
+    private static final TopicPartition P1 = new TopicPartition(TOPIC, 1);
+
+    @Mock
+    private Admin admin;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConsumerLagMonitor monitor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        monitor = new ConsumerLagMonitor(GROUP, List.of(TOPIC), () -> admin, meterRegistry,
+            Clock.fixed(Instant.parse("2026-01-01T00:00:00Z"), ZoneOffset.UTC));
+    }
+
+    private void givenTopicWithPartitions(int count) {
+        Node node = new Node(0, "localhost", 9092);
+        List<TopicPartitionInfo> partitions = java.util.stream.IntStream.range(0, count)
+            .mapToObj(p -> new TopicPartitionInfo(p, node, List.of(node), List.of(node)))
+            .toList();
+        DescribeTopicsResult describe = mock(DescribeTopicsResult.class);
+        when(describe.allTopicNames()).thenReturn(KafkaFuture.completedFuture(
+            Map.of(TOPIC, new TopicDescription(TOPIC, false, partitions))));
+        when(admin.describeTopics(anyCollection())).thenReturn(describe);
+    }
+
+    private void givenCommitted(Map<TopicPartition, OffsetAndMetadata> committed) {
+        ListConsumerGroupOffsetsResult result = mock(ListConsumerGroupOffsetsResult.class);
+        when(result.partitionsToOffsetAndMetadata()).thenReturn(KafkaFuture.completedFuture(committed));
+        when(admin.listConsumerGroupOffsets(GROUP)).thenReturn(result);
+    }
+
+    private static ListOffsetsResult offsets(Map<TopicPartition, Long> offsets) {
+        Map<TopicPartition, ListOffsetsResultInfo> infos = new java.util.HashMap<>();
+        offsets.forEach((tp, offset) -> infos.put(tp, new ListOffsetsResultInfo(offset, -1, Optional.empty())));
+        ListOffsetsResult result = mock(ListOffsetsResult.class);
+        when(result.all()).thenReturn(KafkaFuture.completedFuture(infos));
+        return result;
+    }
+
+    @Nested
+    @DisplayName("📉 refresh() - Cálculo del lag")
+    class RefreshTests {
+
+        @Test
+        @DisplayName("Debe calcular el lag como end offset - offset confirmado")
+        void shouldComputeLagFromCommittedOffsets() {
+            givenTopicWithPartitions(2);
+            givenCommitted(Map.of(P0, new OffsetAndMetadata(90), P1, new OffsetAndMetadata(40)));
+            ListOffsetsResult latest = offsets(Map.of(P0, 100L, P1, 40L));
+            when(admin.listOffsets(anyMap())).thenReturn(latest);
+
+            monitor.refresh();
+
+            assertEquals(10, monitor.totalLag());
+            assertEquals(10.0, meterRegistry.get("kafka.consumer.group.lag")
+                .tag("partition", "0").gauge().value());
+            assertEquals(0.0, meterRegistry.get("kafka.consumer.group.lag")
+                .tag("partition", "1").gauge().value());
+            assertEquals(10.0, meterRegistry.get("kafka.consumer.group.lag.total").gauge().value());
+            assertEquals(0.0, meterRegistry.get("kafka.consumer.group.lag.age").gauge().value());
+        }
+
+        @Test
+        @DisplayName("Sin offset confirmado debe contar desde el earliest offset")
+        void shouldUseEarliestOffsetWhenNothingCommitted() {
+            givenTopicWithPartitions(1);
+            givenCommitted(Map.of());
+            ListOffsetsResult latest = offsets(Map.of(P0, 25L));
+            ListOffsetsResult earliest = offsets(Map.of(P0, 5L));
+            when(admin.listOffsets(anyMap())).thenAnswer(invocation -> {
+                Map<TopicPartition, OffsetSpec> request = invocation.getArgument(0);
+                return request.get(P0) instanceof OffsetSpec.LatestSpec ? latest : earliest;
+            });
+
+            monitor.refresh();
+
+            assertEquals(20, monitor.totalLag());
+            @SuppressWarnings("unchecked")
+            List<ConsumerLagMonitor.PartitionLag> partitions =
+                (List<ConsumerLagMonitor.PartitionLag>) monitor.snapshot().get("partitions");
+            assertNull(partitions.get(0).committedOffset());
+        }
+
+        @Test
+        @DisplayName("Si el broker no responde debe conservar el estado y exponer el error")
+        void shouldKeepRunningWhenBrokerFails() {
+            ListConsumerGroupOffsetsResult result = mock(ListConsumerGroupOffsetsResult.class);
+            when(result.partitionsToOffsetAndMetadata()).thenReturn(failedFuture());
+            when(admin.listConsumerGroupOffsets(GROUP)).thenReturn(result);
+
+            assertDoesNotThrow(() -> monitor.refresh());
+
+            assertTrue(monitor.snapshot().containsKey("error"));
+            assertTrue(Double.isNaN(meterRegistry.get("kafka.consumer.group.lag.age").gauge().value()));
+        }
+
+        static <T> KafkaFuture<T> failedFuture() {
+            org.apache.kafka.common.internals.KafkaFutureImpl<T> future =
+                new org.apache.kafka.common.internals.KafkaFutureImpl<>();
+            future.completeExceptionally(new org.apache.kafka.common.errors.TimeoutException("broker caído"));
+            return future;
+        }
+    }
+
+    @Nested
+    @DisplayName("⏱️ start() / close() - Hilo propio")
+    class LifecycleTests {
+
+        @Test
+        @DisplayName("Debe medir periódicamente en su hilo y dejar de hacerlo al cerrarse")
+        void shouldRefreshPeriodicallyUntilClosed() throws Exception {
+            CountDownLatch refreshes = new CountDownLatch(3);
+            AtomicReference<String> thread = new AtomicReference<>();
+            AtomicInteger calls = new AtomicInteger();
+            ListConsumerGroupOffsetsResult result = mock(ListConsumerGroupOffsetsResult.class);
+            when(result.partitionsToOffsetAndMetadata()).thenReturn(RefreshTests.failedFuture());
+            when(admin.listConsumerGroupOffsets(GROUP)).thenAnswer(invocation -> {
+                thread.set(Thread.currentThread().getName());
+                calls.incrementAndGet();
+                refreshes.countDown();
+                return result;
+            });
+
+            monitor.start(Duration.ofMillis(10));
+
+            assertTrue(refreshes.await(5, TimeUnit.SECONDS));
+            monitor.close();
+            int afterClose = calls.get();
+            Thread.sleep(100);
+
+            assertEquals("consumer-lag", thread.get());
+            assertEquals(afterClose, calls.get());
+            verify(admin).close(any(Duration.class));
+        }
+
+        @Test
+        @DisplayName("No debe arrancarse dos veces")
+        void shouldRejectSecondStart() {
+            monitor.start(Duration.ofHours(1));
+            try {
+                assertThrows(IllegalStateException.class, () -> monitor.start(Duration.ofHours(1)));
+            } finally {
+                monitor.close();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("⏳ EventLatencyMetrics - Latencia por etapa")
+    class EventLatencyTests {
+
+        @Test
+        @DisplayName("Debe registrar produce-to-consume y created-to-consume")
+        void shouldRecordReceiveLatencies() {
+            EventLatencyMetrics metrics = new EventLatencyMetrics(meterRegistry, ZoneOffset.UTC);
+            long receivedAt = Instant.parse("2026-01-01T00:00:01Z").toEpochMilli();
+
+            metrics.recordReceived(TOPIC, receivedAt - 250, LocalDateTime.of(2026, 1, 1, 0, 0, 0), receivedAt);
+
+            assertEquals(250.0, meterRegistry.get(EventLatencyMetrics.TIMER_NAME)
+                .tag("stage", "produce-to-consume").timer().totalTime(TimeUnit.MILLISECONDS));
+            assertEquals(1000.0, meterRegistry.get(EventLatencyMetrics.TIMER_NAME)
+                .tag("stage", "created-to-consume").timer().totalTime(TimeUnit.MILLISECONDS));
+        }
+
+        @Test
+        @DisplayName("Un reloj adelantado en el productor debe registrarse como 0")
+        void shouldClampClockSkew() {
+            EventLatencyMetrics metrics = new EventLatencyMetrics(meterRegistry, ZoneOffset.UTC);
+
+            metrics.recordReceived(TOPIC, 2_000, null, 1_000);
+
+            assertEquals(0.0, meterRegistry.get(EventLatencyMetrics.TIMER_NAME)
+                .tag("stage", "produce-to-consume").timer().totalTime(TimeUnit.MILLISECONDS));
+            assertTrue(meterRegistry.find(EventLatencyMetrics.TIMER_NAME)
+                .tag("stage", "created-to-consume").timers().isEmpty());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.microservices.notification.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA RebalanceMetricsListener
+ *
+ * PROPÓSITO:
+ * - Verificar la pausa medida entre ceder y recibir particiones
+ * - Verificar que se vacía lo pendiente antes de ceder particiones
+ * - Verificar los contadores de particiones asignadas / cedidas / perdidas
+ *
+ * El tiempo lo controla el test (nanoTime inyectado).
+ */
+@DisplayName("🧪 Rebalance Metrics Listener Tests")
+class RebalanceMetricsListenerTest {
+
+    private static final String GROUP = "notification-service-group";
+    private static final List<TopicPartition> PARTITIONS = List.of(
+        new TopicPartition("order-events", 0), new TopicPartition("order-events", 1));
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicLong now;
+    private AtomicInteger flushes;
+    private RebalanceMetricsListener listener;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        now = new AtomicLong();
+        flushes = new AtomicInteger();
+        listener = new RebalanceMetricsListener(GROUP, meterRegistry, flushes::incrementAndGet, now::get);
+    }
+
+    private Timer pause() {
+        return meterRegistry.get("kafka.consumer.rebalance.pause").tag("group", GROUP).timer();
+    }
+
+    private double partitions(String event) {
+        return meterRegistry.get("kafka.consumer.rebalance.partitions").tag("event", event).counter().count();
+    }
+
+    @Nested
+    @DisplayName("⏱️ Pausa del rebalanceo")
+    class PauseTests {
+
+        @Test
+        @DisplayName("Debe medir desde que cede particiones hasta la nueva asignación")
+        void shouldRecordPauseFromRevokeToAssign() {
+            listener.onPartitionsRevokedBeforeCommit(null, PARTITIONS);
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+            listener.onPartitionsAssigned(null, PARTITIONS.subList(0, 1));
+
+            assertEquals(1, pause().count());
+            assertEquals(250, pause().totalTime(TimeUnit.MILLISECONDS), 0.001);
+            assertEquals(2, partitions("revoked"));
+            assertEquals(1, partitions("assigned"));
+        }
+
+        @Test
+        @DisplayName("No debe medir pausa en la primera asignación (no cedió nada)")
+        void shouldNotRecordPauseOnFirstAssignment() {
+            listener.onPartitionsAssigned(null, PARTITIONS);
+
+            assertEquals(0, pause().count());
+            assertEquals(2, partitions("assigned"));
+        }
+
+        @Test
+        @DisplayName("Debe medir también la pausa tras perder particiones, sin vaciar lo pendiente")
+        void shouldRecordPauseAfterLostPartitions() {
+            listener.onPartitionsLost(null, PARTITIONS);
+            now.addAndGet(TimeUnit.SECONDS.toNanos(3));
+            listener.onPartitionsAssigned(null, PARTITIONS);
+
+            assertEquals(3000, pause().totalTime(TimeUnit.MILLISECONDS), 0.001);
+            assertEquals(2, partitions("lost"));
+            assertEquals(0, flushes.get());
+        }
+    }
+
+    @Nested
+    @DisplayName("📤 Trabajo pendiente")
+    class FlushTests {
+
+        @Test
+        @DisplayName("Debe vaciar lo pendiente antes de ceder particiones")
+        void shouldFlushBeforeRevoke() {
+            listener.onPartitionsRevokedBeforeCommit(null, PARTITIONS);
+
+            assertEquals(1, flushes.get());
+        }
+
+        @Test
+        @DisplayName("No debe hacer nada si no cede particiones (rebalanceo cooperativo)")
+        void shouldIgnoreEmptyRevoke() {
+            listener.onPartitionsRevokedBeforeCommit(null, List.of());
+            listener.onPartitionsAssigned(null, List.of());
+
+            assertEquals(0, flushes.get());
+            assertEquals(0, pause().count());
+        }
+    }
+}
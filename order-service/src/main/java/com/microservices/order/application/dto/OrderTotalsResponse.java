@@ -0,0 +1,24 @@
+package com.microservices.order.application.dto;
+
+import com.microservices.order.domain.model.OrderTotals;
+
+import java.math.BigDecimal;
+
+/**
+ * 📊 ORDER TOTALS RESPONSE - DTO de Salida
+ * 
+ * Totales de un grupo de órdenes (GET /orders/stats).
+ * 
+ * @param group       estado, id de usuario o inicio de la hora/día ("2024-01-15T10:00")
+ * @param count       número de órdenes
+ * @param totalAmount suma de sus importes
+ */
+public record OrderTotalsResponse(
+        String group,
+        long count,
+        BigDecimal totalAmount
+) {
+    public static OrderTotalsResponse from(OrderTotals totals) {
+        return new OrderTotalsResponse(totals.group(), totals.count(), totals.totalAmount());
+    }
+}
@@ -0,0 +1,17 @@
+package com.microservices.order.application.exception;
+
+import java.time.Duration;
+
+/**
+ * ⏳ DEADLINE EXCEEDED EXCEPTION
+ * 
+ * Se lanza cuando una llamada remota (user-service.timeout) o los pasos de
+ * un caso de uso que se ejecutan en paralelo (p.ej. validar el usuario
+ * mientras se crea la orden) no terminan dentro de su plazo. Los pasos
+ * pendientes se cancelan y no se ha guardado nada.
+ */
+public class DeadlineExceededException extends RuntimeException {
+    public DeadlineExceededException(String operation, Duration deadline) {
+        super(operation + " no terminó en " + deadline.toMillis() + " ms");
+    }
+}
@@ -1,6 +1,7 @@
 package com.microservices.order.application.port.output;
 
 import com.microservices.order.domain.event.OrderCreatedEvent;
+import com.microservices.order.domain.event.OrderStatusChangedEvent;
 
 /**
  * PublishOrderEventPort - Puerto de Salida
@@ -20,4 +21,11 @@ public interface PublishOrderEventPort {
      * @param event El evento a publicar
      */
     void publishOrderCreatedEvent(OrderCreatedEvent event);
+    
+    /**
+     * Publica un cambio de estado de una orden
+     * 
+     * @param event El evento a publicar
+     */
+    void publishOrderStatusChangedEvent(OrderStatusChangedEvent event);
 }
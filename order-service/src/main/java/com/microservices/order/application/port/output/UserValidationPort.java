@@ -1,5 +1,7 @@
 package com.microservices.order.application.port.output;
 
+import java.util.Optional;
+
 /**
  * Puerto de salida para validar usuarios en sistemas externos.
  * La aplicación depende de esta interfaz y no de detalles de infraestructura.
@@ -7,9 +9,12 @@ package com.microservices.order.application.port.output;
 public interface UserValidationPort {
 
     /**
-     * Valida que el usuario exista en el servicio externo.
+     * Valida que el usuario exista en el servicio externo. La misma
+     * consulta trae el email para el evento OrderCreated (lo usa
+     * notification-service): una sola llamada por orden.
      * 
      * @param userId identificador del usuario a validar
+     * @return email del usuario, o vacío si no tiene
      */
-    void validateUserExists(String userId);
-}
\ No newline at end of file
+    Optional<String> validateUserExists(String userId);
+}
@@ -0,0 +1,151 @@
+package com.microservices.order.application.service;
+
+import com.microservices.order.application.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🔀 FAN-OUT - Pasos independientes de un caso de uso en paralelo
+ *
+ * Concurrencia estructurada al estilo de StructuredTaskScope (que en
+ * Java 17 no existe): los pasos se lanzan con fork() dentro de un Scope
+ * y join() espera a todos con UN plazo común.
+ *
+ * - El primer paso que falla cancela el resto (con interrupción) y su
+ *   excepción se relanza tal cual en el hilo que llamó a join()
+ * - Si vence el plazo se cancela todo y se lanza DeadlineExceededException
+ * - Cerrar el Scope (try-with-resources) cancela lo que siga pendiente,
+ *   p.ej. si el hilo que llama falla antes de join()
+ *
+ * Así ningún paso sobrevive a la petición que lo lanzó. El pool lo crea
+ * infraestructura (con propagación del contexto de tracing); si está
+ * lleno, el paso se ejecuta en el hilo que llama (como sin paralelismo).
+ */
+public final class FanOut implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final Duration deadline;
+
+    public FanOut(ExecutorService executor, Duration deadline) {
+        this.executor = executor;
+        this.deadline = deadline;
+    }
+
+    /**
+     * Abre un scope; el plazo empieza a contar ahora
+     *
+     * @param operation nombre de la operación (para el mensaje si vence el plazo)
+     */
+    Scope open(String operation) {
+        return new Scope(operation, System.nanoTime() + deadline.toNanos());
+    }
+
+    Duration deadline() {
+        return deadline;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    final class Scope implements AutoCloseable {
+
+        private final String operation;
+        private final long deadlineNanos;
+        private final List<Future<?>> forks = new ArrayList<>();
+        private final BlockingQueue<Future<?>> completed = new LinkedBlockingQueue<>();
+        private int joined;
+
+        private Scope(String operation, long deadlineNanos) {
+            this.operation = operation;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        <T> Future<T> fork(Callable<T> step) {
+            FutureTask<T> future = new FutureTask<>(step) {
+                @Override
+                protected void done() {
+                    completed.add(this);
+                }
+            };
+            forks.add(future);
+            executor.execute(future);
+            return future;
+        }
+
+        /**
+         * Espera a todos los pasos en orden de finalización: un fallo se
+         * detecta en cuanto ocurre, sin esperar a los pasos más lentos
+         */
+        void join() {
+            while (joined < forks.size()) {
+                Future<?> done;
+                try {
+                    done = completed.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    cancelAll();
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException(operation + " interrumpida");
+                }
+                if (done == null) {
+                    cancelAll();
+                    throw new DeadlineExceededException(operation, deadline);
+                }
+                joined++;
+                try {
+                    done.get();
+                } catch (ExecutionException e) {
+                    cancelAll();
+                    throw rethrow(e.getCause());
+                } catch (InterruptedException | CancellationException e) {
+                    // No ocurre: el paso ya terminó y nadie más lo cancela
+                    cancelAll();
+                    throw new CancellationException(operation + " cancelada");
+                }
+            }
+        }
+
+        private void cancelAll() {
+            forks.forEach(future -> future.cancel(true));
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+        }
+    }
+
+    /**
+     * Resultado de un paso tras join() (ya terminado, no bloquea)
+     */
+    static <T> T resultOf(Future<T> future) {
+        try {
+            return future.get(0, TimeUnit.NANOSECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("resultOf() antes de join()", e);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable failure) {
+        if (failure instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        return new CompletionException(failure);
+    }
+}
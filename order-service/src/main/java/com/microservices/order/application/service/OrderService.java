@@ -1,28 +1,41 @@
 package com.microservices.order.application.service;
 
+import com.microservices.common.application.ResourceVersion;
 import com.microservices.order.application.dto.CreateOrderRequest;
 import com.microservices.order.application.dto.OrderResponse;
+import com.microservices.order.application.dto.OrderTotalsResponse;
 import com.microservices.order.application.dto.UpdateOrderStatusRequest;
 import com.microservices.order.application.port.output.PublishOrderEventPort;
 import com.microservices.order.application.port.output.UserValidationPort;
+import com.microservices.order.application.usecase.AggregateOrdersUseCase;
 import com.microservices.order.application.usecase.CreateOrderUseCase;
 import com.microservices.order.application.usecase.DeleteOrderUseCase;
 import com.microservices.order.application.usecase.FindAllOrdersUseCase;
 import com.microservices.order.application.usecase.FindOrderByIdUseCase;
+import com.microservices.order.application.usecase.FindOrdersByUserUseCase;
 import com.microservices.order.application.usecase.UpdateOrderStatusUseCase;
 import com.microservices.order.domain.event.OrderCreatedEvent;
-import com.microservices.order.domain.exception.InvalidOrderStateException;
+import com.microservices.order.domain.event.OrderStatusChangedEvent;
+import com.microservices.order.domain.exception.ConcurrentOrderUpdateException;
 import com.microservices.order.domain.exception.OrderNotFoundException;
 import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderGrouping;
 import com.microservices.order.domain.model.OrderId;
 import com.microservices.order.domain.model.OrderStatus;
+import com.microservices.order.domain.model.OrderTotals;
+import com.microservices.order.domain.model.OrderTransition;
 import com.microservices.order.domain.repository.OrderRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -45,24 +58,53 @@ public class OrderService implements
         CreateOrderUseCase,
         FindOrderByIdUseCase,
         FindAllOrdersUseCase,
+        FindOrdersByUserUseCase,
+        AggregateOrdersUseCase,
         UpdateOrderStatusUseCase {
 
     private static final Logger log = LoggerFactory.getLogger(OrderService.class);
 
+    /**
+     * Intentos de un cambio de estado si otra petición guarda la orden a la vez
+     */
+    static final int MAX_STATUS_UPDATE_ATTEMPTS = 3;
+
     private final OrderRepository orderRepository;
     private final UserValidationPort userValidationPort;
     private final PublishOrderEventPort publishOrderEventPort;
 
+    /**
+     * null = alta de órdenes secuencial
+     */
+    private final FanOut createFanOut;
+
     public OrderService(OrderRepository orderRepository, UserValidationPort userValidationPort, PublishOrderEventPort publishOrderEventPort) {
+        this(orderRepository, userValidationPort, publishOrderEventPort, null);
+    }
+
+    /**
+     * @param createFanOut pool y plazo para los pasos independientes del alta
+     *                     de una orden (null = secuencial)
+     */
+    public OrderService(OrderRepository orderRepository, UserValidationPort userValidationPort,
+                        PublishOrderEventPort publishOrderEventPort, FanOut createFanOut) {
         this.orderRepository = orderRepository;
         this.userValidationPort = userValidationPort;
         this.publishOrderEventPort = publishOrderEventPort;
+        this.createFanOut = createFanOut;
     }
 
     // ============================================
     // CREATE ORDER
     // ============================================
 
+    /**
+     * Antes de guardar hay pasos que no dependen entre sí: validar el
+     * usuario (user-service, que devuelve también su email) y crear la
+     * orden (id y validación del importe). Con FanOut se solapan: la
+     * latencia es la del paso más lento y no la suma. Guardar y publicar
+     * siguen después: nunca se guarda una orden de un usuario que no existe.
+     */
     @Override
     public OrderResponse execute(CreateOrderRequest request) {
         log.info("🔹 Creando orden para userId {}", request.userId());
@@ -74,9 +116,21 @@ public class OrderService implements
         // COMUNICACIÓN INTER-MICROSERVICIOS
         // Validar que el usuario existe en user-service (vía puerto de salida)
         // ============================================
-        userValidationPort.validateUserExists(request.userId());
+        Order order;
+        Optional<String> customerEmail;
+        if (createFanOut == null) {
+            customerEmail = userValidationPort.validateUserExists(request.userId());
+            order = Order.create(userId, total);
+        } else {
+            try (FanOut.Scope scope = createFanOut.open("Alta de orden")) {
+                Future<Optional<String>> user = scope.fork(() -> userValidationPort.validateUserExists(request.userId()));
+                // Mientras tanto, en este hilo: id de la orden y validación del importe
+                order = Order.create(userId, total);
+                scope.join();
+                customerEmail = FanOut.resultOf(user);
+            }
+        }
 
-        Order order = Order.create(userId, total);
         Order saved = orderRepository.save(order);
 
         // ============================================
@@ -87,7 +141,7 @@ public class OrderService implements
         OrderCreatedEvent event = new OrderCreatedEvent(
             saved.getId().value().toString(),
             userId.toString(),
-            null, // El email se podría obtener del user-service si es necesario
+            customerEmail.orElse(null),
             total.doubleValue(),
             "Nueva orden creada",
             java.time.LocalDateTime.now(),
@@ -105,10 +159,34 @@ public class OrderService implements
 
     @Override
     public OrderResponse execute(String orderId) {
+        return OrderResponse.from(findExisting(orderId));
+    }
+
+    /**
+     * GET condicional: la versión se calcula sobre la entidad y, si el
+     * cliente ya la tiene, se evita el mapeo a DTO (y la serialización)
+     */
+    @Override
+    public Optional<OrderResponse> executeIfModified(String orderId, Predicate<String> alreadyKnown) {
+        Order order = findExisting(orderId);
+        if (alreadyKnown.test(versionOf(order, new ResourceVersion()).toString())) {
+            return Optional.empty();
+        }
+        return Optional.of(OrderResponse.from(order));
+    }
+
+    private Order findExisting(String orderId) {
         OrderId id = OrderId.of(orderId);
-        Order order = orderRepository.findById(id)
+        return orderRepository.findById(id)
                 .orElseThrow(() -> new OrderNotFoundException(orderId));
-        return OrderResponse.from(order);
+    }
+
+    /**
+     * Versión de una orden: updatedAt + estado (dos cambios dentro de la
+     * misma resolución del reloj siguen dando versiones distintas)
+     */
+    private static ResourceVersion versionOf(Order order, ResourceVersion version) {
+        return version.add(order.getUpdatedAt()).add(order.getStatus());
     }
 
     // ============================================
@@ -117,36 +195,112 @@ public class OrderService implements
 
     @Override
     public List<OrderResponse> execute() {
-        return orderRepository.findAll()
-                .stream()
+        return toResponses(orderRepository.findAll());
+    }
+
+    @Override
+    public Optional<List<OrderResponse>> executeIfModified(Predicate<String> alreadyKnown) {
+        List<Order> orders = orderRepository.findAll();
+        ResourceVersion version = new ResourceVersion();
+        for (Order order : orders) {
+            versionOf(order, version.add(order.getId().value()));
+        }
+        if (alreadyKnown.test(version.toString())) {
+            return Optional.empty();
+        }
+        return Optional.of(toResponses(orders));
+    }
+
+    private static List<OrderResponse> toResponses(List<Order> orders) {
+        return orders.stream()
                 .map(OrderResponse::from)
                 .collect(Collectors.toList());
     }
 
+    // ============================================
+    // FIND ORDERS BY USER
+    // ============================================
+
+    /**
+     * El repositorio pagina con su índice por (usuario, fecha): no se
+     * cargan las órdenes de otros usuarios ni las de otras páginas
+     */
+    @Override
+    public List<OrderResponse> execute(UUID userId, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Paginación no válida: page=" + page + ", size=" + size);
+        }
+        long offset = (long) page * size;
+        if (offset > Integer.MAX_VALUE) {
+            return List.of();
+        }
+        return toResponses(orderRepository.findByUserId(userId, (int) offset, size));
+    }
+
+    // ============================================
+    // AGGREGATE ORDERS
+    // ============================================
+
+    /**
+     * La agregación la hace el repositorio (GROUP BY o totales acumulados):
+     * aquí solo se ordena y se mapea un elemento por grupo
+     */
+    @Override
+    public List<OrderTotalsResponse> execute(OrderGrouping grouping) {
+        return orderRepository.aggregate(grouping).stream()
+                .sorted(Comparator.comparing(OrderTotals::group))
+                .map(OrderTotalsResponse::from)
+                .collect(Collectors.toList());
+    }
+
     // ============================================
     // UPDATE ORDER STATUS
     // ============================================
 
+    /**
+     * Las reglas están en OrderStatus (tabla de transiciones) y el cambio lo
+     * aplica el repositorio de forma atómica sobre el estado guardado.
+     * 
+     * Concurrencia optimista: si el repositorio detecta que otra petición
+     * guardó la orden a la vez, se reintenta (las reglas se validan contra
+     * el estado nuevo). Tras MAX_STATUS_UPDATE_ATTEMPTS conflictos se lanza
+     * ConcurrentOrderUpdateException.
+     */
     @Override
     public OrderResponse execute(String orderId, UpdateOrderStatusRequest request) {
         OrderId id = OrderId.of(orderId);
-        Order order = orderRepository.findById(id)
-                .orElseThrow(() -> new OrderNotFoundException(orderId));
-
         OrderStatus target = request.status();
-        OrderStatus current = order.getStatus();
 
-        if (current == OrderStatus.CANCELLED) {
-            throw new InvalidOrderStateException(current, target);
+        for (int attempt = 1; ; attempt++) {
+            OrderTransition transition;
+            try {
+                transition = orderRepository.transitionStatus(id, target)
+                        .orElseThrow(() -> new OrderNotFoundException(orderId));
+            } catch (ConcurrentOrderUpdateException e) {
+                if (attempt >= MAX_STATUS_UPDATE_ATTEMPTS) {
+                    log.warn("⚠️ Orden {}: conflicto de concurrencia tras {} intentos", orderId, attempt);
+                    throw e;
+                }
+                log.debug("🔁 Orden {} modificada por otra petición, reintento {}", orderId, attempt);
+                continue;
+            }
+            return statusUpdated(transition);
         }
+    }
 
-        switch (target) {
-            case PAID -> order.markPaid();
-            case CANCELLED -> order.cancel();
-            case CREATED -> order.setStatus(OrderStatus.CREATED);
+    private OrderResponse statusUpdated(OrderTransition transition) {
+        Order updated = transition.order();
+        // Los clientes que observan la orden reciben el cambio (sin polling)
+        if (transition.changed()) {
+            publishOrderEventPort.publishOrderStatusChangedEvent(new OrderStatusChangedEvent(
+                updated.getId().toString(),
+                updated.getUserId().toString(),
+                transition.previousStatus(),
+                updated.getStatus(),
+                updated.getUpdatedAt() != null ? updated.getUpdatedAt() : LocalDateTime.now(),
+                "OrderStatusChanged"
+            ));
         }
-
-        Order updated = orderRepository.save(order);
         return OrderResponse.from(updated);
     }
 
@@ -0,0 +1,22 @@
+package com.microservices.order.application.usecase;
+
+import com.microservices.order.application.dto.OrderTotalsResponse;
+import com.microservices.order.domain.model.OrderGrouping;
+
+import java.util.List;
+
+/**
+ * 📊 AGGREGATE ORDERS USE CASE - Puerto de Entrada
+ * 
+ * Define el contrato para obtener número de órdenes e importe total
+ * agrupados por estado, usuario u hora/día de creación (dashboards).
+ */
+public interface AggregateOrdersUseCase {
+    /**
+     * Totales por grupo, ordenados por la clave del grupo
+     * 
+     * @param grouping criterio de agrupación
+     * @return Un elemento por grupo con al menos una orden
+     */
+    List<OrderTotalsResponse> execute(OrderGrouping grouping);
+}
@@ -3,6 +3,8 @@ package com.microservices.order.application.usecase;
 import com.microservices.order.application.dto.OrderResponse;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * 📋 FIND ALL ORDERS USE CASE - Puerto de Entrada
@@ -16,4 +18,13 @@ public interface FindAllOrdersUseCase {
      * @return Lista de órdenes
      */
     List<OrderResponse> execute();
+
+    /**
+     * GET condicional: la versión de la lista cambia con cualquier alta,
+     * baja o modificación. Si el cliente ya la tiene no se mapea a DTOs.
+     * 
+     * @param alreadyKnown recibe la versión actual; true si el cliente ya la tiene
+     * @return Lista de órdenes, o vacío si el cliente ya tiene esta versión
+     */
+    Optional<List<OrderResponse>> executeIfModified(Predicate<String> alreadyKnown);
 }
@@ -2,6 +2,9 @@ package com.microservices.order.application.usecase;
 
 import com.microservices.order.application.dto.OrderResponse;
 
+import java.util.Optional;
+import java.util.function.Predicate;
+
 /**
  * 🔍 FIND ORDER BY ID USE CASE - Puerto de Entrada
  * 
@@ -16,4 +19,15 @@ public interface FindOrderByIdUseCase {
      * @throws com.microservices.order.domain.exception.OrderNotFoundException si no existe
      */
     OrderResponse execute(String orderId);
+
+    /**
+     * GET condicional: busca la orden y calcula su versión (cambia con cada
+     * modificación). Si el cliente ya la tiene no se mapea a DTO.
+     * 
+     * @param orderId ID de la orden a buscar
+     * @param alreadyKnown recibe la versión actual; true si el cliente ya la tiene
+     * @return Orden encontrada, o vacío si el cliente ya tiene esta versión
+     * @throws com.microservices.order.domain.exception.OrderNotFoundException si no existe
+     */
+    Optional<OrderResponse> executeIfModified(String orderId, Predicate<String> alreadyKnown);
 }
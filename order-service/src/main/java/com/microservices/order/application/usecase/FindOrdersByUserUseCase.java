@@ -0,0 +1,30 @@
+package com.microservices.order.application.usecase;
+
+import com.microservices.order.application.dto.OrderResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 👤 FIND ORDERS BY USER USE CASE - Puerto de Entrada
+ * 
+ * Define el contrato para obtener el historial de órdenes de un usuario,
+ * de la más reciente a la más antigua y paginado.
+ */
+public interface FindOrdersByUserUseCase {
+
+    /**
+     * Tamaño máximo de página
+     */
+    int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Obtiene una página del historial de órdenes de un usuario
+     * 
+     * @param userId ID del usuario
+     * @param page número de página (desde 0)
+     * @param size órdenes por página (1..MAX_PAGE_SIZE)
+     * @return Órdenes de la página, más recientes primero (vacía al pasar del final)
+     */
+    List<OrderResponse> execute(UUID userId, int page, int size);
+}
@@ -0,0 +1,42 @@
+package com.microservices.order.domain.event;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.microservices.order.domain.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * OrderStatusChangedEvent - Evento de Dominio
+ * 
+ * Se produce cuando una orden cambia de estado (PAID, CANCELLED...).
+ * Se publica en su propio topic (order-status-events) y también se
+ * reparte en memoria a los clientes que observan la orden por SSE.
+ * 
+ * previousStatus es null cuando la orden se acaba de crear.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusChangedEvent {
+    
+    @JsonProperty("orderId")
+    private String orderId;
+    
+    @JsonProperty("customerId")
+    private String customerId;
+    
+    @JsonProperty("previousStatus")
+    private OrderStatus previousStatus;
+    
+    @JsonProperty("status")
+    private OrderStatus status;
+    
+    @JsonProperty("changedAt")
+    private LocalDateTime changedAt;
+    
+    @JsonProperty("eventType")
+    private String eventType = "OrderStatusChanged";
+}
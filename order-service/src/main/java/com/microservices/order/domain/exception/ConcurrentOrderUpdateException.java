@@ -0,0 +1,10 @@
+package com.microservices.order.domain.exception;
+
+/**
+ * La orden cambió entre la lectura y el guardado (otra petición guardó antes)
+ */
+public class ConcurrentOrderUpdateException extends RuntimeException {
+    public ConcurrentOrderUpdateException(String orderId, long expectedVersion) {
+        super("La orden " + orderId + " fue modificada por otra petición (versión leída: " + expectedVersion + ")");
+    }
+}
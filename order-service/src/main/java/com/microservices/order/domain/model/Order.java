@@ -1,5 +1,7 @@
 package com.microservices.order.domain.model;
 
+import com.microservices.order.domain.exception.InvalidOrderStateException;
+
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -17,7 +19,11 @@ import java.util.UUID;
  * Reglas de negocio:
  * - Una orden siempre se crea en estado CREATED
  * - El total debe ser siempre mayor que cero
- * - Una orden cancelada no puede cambiar de estado
+ * - Los cambios de estado siguen la tabla de OrderStatus (transitionTo)
+ * 
+ * Concurrencia optimista: version cuenta las veces que se ha guardado
+ * (0 = nunca guardada). El repositorio solo guarda si la versión
+ * almacenada sigue siendo la que se leyó; si no, otra petición ganó.
  */
 public class Order {
 
@@ -27,18 +33,25 @@ public class Order {
     private OrderStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private long version;
 
     public Order() {
     }
 
     public Order(OrderId id, UUID userId, BigDecimal totalAmount, OrderStatus status,
                  LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, userId, totalAmount, status, createdAt, updatedAt, 0);
+    }
+
+    public Order(OrderId id, UUID userId, BigDecimal totalAmount, OrderStatus status,
+                 LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
         this.id = id;
         this.userId = userId;
         this.totalAmount = totalAmount;
         this.status = status;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
     }
 
     // ============================================
@@ -66,7 +79,7 @@ public class Order {
         order.setId(OrderId.generate());
         order.setUserId(userId);
         order.setTotalAmount(totalAmount);
-        order.setStatus(OrderStatus.CREATED);
+        order.status = OrderStatus.CREATED;
         order.setCreatedAt(LocalDateTime.now());
         order.setUpdatedAt(LocalDateTime.now());
         return order;
@@ -81,8 +94,7 @@ public class Order {
      * Solo órdenes en estado CREATED pueden ser pagadas.
      */
     public void markPaid() {
-        this.status = OrderStatus.PAID;
-        this.updatedAt = LocalDateTime.now();
+        transitionTo(OrderStatus.PAID);
     }
 
     /**
@@ -90,8 +102,25 @@ public class Order {
      * Una orden cancelada no puede volver a cambiar de estado.
      */
     public void cancel() {
-        this.status = OrderStatus.CANCELLED;
+        transitionTo(OrderStatus.CANCELLED);
+    }
+
+    /**
+     * Cambia el estado según la tabla de OrderStatus.
+     * 
+     * @return false si ya estaba en ese estado (no cambia updatedAt)
+     * @throws InvalidOrderStateException si la transición no está permitida
+     */
+    public boolean transitionTo(OrderStatus target) {
+        if (status == target) {
+            return false;
+        }
+        if (!status.canTransitionTo(target)) {
+            throw new InvalidOrderStateException(status, target);
+        }
+        this.status = target;
         this.updatedAt = LocalDateTime.now();
+        return true;
     }
 
     /**
@@ -135,10 +164,6 @@ public class Order {
         return status;
     }
 
-    public void setStatus(OrderStatus status) {
-        this.status = status;
-    }
-
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -154,4 +179,12 @@ public class Order {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
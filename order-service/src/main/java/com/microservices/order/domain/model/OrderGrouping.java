@@ -0,0 +1,30 @@
+package com.microservices.order.domain.model;
+
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 📊 ORDER GROUPING - Criterio de agregación de órdenes
+ *
+ * - STATUS: por estado
+ * - USER:   por usuario
+ * - HOUR / DAY: por hora o día de creación (inicio del tramo, p.ej.
+ *   "2024-01-15T10:00")
+ */
+public enum OrderGrouping {
+    STATUS,
+    USER,
+    HOUR,
+    DAY;
+
+    /**
+     * Grupo al que pertenece una orden
+     */
+    public String groupOf(Order order) {
+        return switch (this) {
+            case STATUS -> order.getStatus().name();
+            case USER -> order.getUserId().toString();
+            case HOUR -> String.valueOf(order.getCreatedAt().truncatedTo(ChronoUnit.HOURS));
+            case DAY -> String.valueOf(order.getCreatedAt().truncatedTo(ChronoUnit.DAYS));
+        };
+    }
+}
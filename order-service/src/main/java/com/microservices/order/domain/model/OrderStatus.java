@@ -10,8 +10,15 @@ package com.microservices.order.domain.model;
  * 
  * Flujo de cancelación:
  * CREATED → CANCELLED
+ * PAID → CANCELLED
  * 
  * Nota: Una orden CANCELLED no puede cambiar de estado.
+ * Pedir el estado en el que ya está no es un cambio: siempre se permite
+ * (los webhooks de pago se reintentan y llegan repetidos).
+ * 
+ * ⚡ Las transiciones son una tabla precalculada: un bit por estado
+ * destino en cada estado origen. canTransitionTo() es un AND, sin
+ * if/switch repartidos por los servicios.
  */
 public enum OrderStatus {
     /** Orden creada pero no pagada */
@@ -21,5 +28,34 @@ public enum OrderStatus {
     PAID,
     
     /** Orden cancelada */
-    CANCELLED
+    CANCELLED;
+
+    /**
+     * TRANSITIONS[origen] = máscara de destinos permitidos (1 << ordinal)
+     */
+    private static final int[] TRANSITIONS = new int[values().length];
+
+    static {
+        allow(CREATED, PAID);
+        allow(CREATED, CANCELLED);
+        allow(PAID, CANCELLED);
+    }
+
+    private static void allow(OrderStatus from, OrderStatus to) {
+        TRANSITIONS[from.ordinal()] |= 1 << to.ordinal();
+    }
+
+    /**
+     * ¿Se puede pasar de este estado a target? (mismo estado: sí, sin cambio)
+     */
+    public boolean canTransitionTo(OrderStatus target) {
+        return this == target || (TRANSITIONS[ordinal()] & (1 << target.ordinal())) != 0;
+    }
+
+    /**
+     * Estado final: ya no admite ningún cambio
+     */
+    public boolean isFinal() {
+        return TRANSITIONS[ordinal()] == 0;
+    }
 }
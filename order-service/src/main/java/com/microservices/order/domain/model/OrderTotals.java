@@ -0,0 +1,28 @@
+package com.microservices.order.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * 📊 ORDER TOTALS - Número de órdenes e importe total de un grupo
+ *
+ * @param group       clave del grupo (ver OrderGrouping)
+ * @param count       número de órdenes
+ * @param totalAmount suma de sus importes
+ */
+public record OrderTotals(String group, long count, BigDecimal totalAmount) {
+
+    public static OrderTotals of(String group, Order order) {
+        return new OrderTotals(group, 1, order.getTotalAmount());
+    }
+
+    /**
+     * Para restar una orden de unos totales acumulados
+     */
+    public OrderTotals negate() {
+        return new OrderTotals(group, -count, totalAmount.negate());
+    }
+
+    public OrderTotals plus(OrderTotals other) {
+        return new OrderTotals(group, count + other.count, totalAmount.add(other.totalAmount));
+    }
+}
@@ -0,0 +1,17 @@
+package com.microservices.order.domain.model;
+
+/**
+ * 🔄 ORDER TRANSITION - Resultado de un cambio de estado
+ *
+ * @param previousStatus estado antes del cambio
+ * @param order          la orden tal como quedó guardada
+ */
+public record OrderTransition(OrderStatus previousStatus, Order order) {
+
+    /**
+     * false si la orden ya estaba en el estado pedido (no se guardó nada)
+     */
+    public boolean changed() {
+        return previousStatus != order.getStatus();
+    }
+}
@@ -1,14 +1,84 @@
 package com.microservices.order.domain.repository;
 
 import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderGrouping;
 import com.microservices.order.domain.model.OrderId;
 import com.microservices.order.domain.model.OrderStatus;
+import com.microservices.order.domain.model.OrderTotals;
+import com.microservices.order.domain.model.OrderTransition;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public interface OrderRepository {
+
+    /**
+     * Guarda la orden solo si nadie la ha guardado desde que se leyó
+     * (compare-and-set sobre Order.getVersion(); 0 = orden nueva)
+     *
+     * @return la orden guardada, con la versión incrementada
+     * @throws com.microservices.order.domain.exception.ConcurrentOrderUpdateException
+     *         si la versión almacenada ya no es la de la orden
+     */
     Order save(Order order);
+
+    /**
+     * Cambia el estado de una orden (Order.transitionTo) sobre el estado
+     * guardado más reciente, de forma atómica por orden
+     *
+     * Por defecto: lectura + save() con compare-and-set, así que otra
+     * petición concurrente provoca ConcurrentOrderUpdateException. Las
+     * implementaciones que puedan hacerlo de forma atómica lo sobrescriben.
+     *
+     * @return vacío si la orden no existe
+     * @throws com.microservices.order.domain.exception.InvalidOrderStateException
+     *         si la transición no está permitida
+     */
+    default Optional<OrderTransition> transitionStatus(OrderId id, OrderStatus target) {
+        return findById(id).map(order -> {
+            OrderStatus previous = order.getStatus();
+            return new OrderTransition(previous, order.transitionTo(target) ? save(order) : order);
+        });
+    }
+
+    /**
+     * Número de órdenes e importe total por grupo (sin orden definido)
+     *
+     * Por defecto: reducción en paralelo (fork-join) sobre findAll(). Las
+     * implementaciones lo sobrescriben con GROUP BY o totales acumulados.
+     */
+    default List<OrderTotals> aggregate(OrderGrouping grouping) {
+        return new ArrayList<>(findAll().parallelStream()
+                .map(order -> OrderTotals.of(grouping.groupOf(order), order))
+                .collect(Collectors.toConcurrentMap(OrderTotals::group, Function.identity(), OrderTotals::plus))
+                .values());
+    }
+
+    /**
+     * Historial de un usuario: las órdenes más recientes primero
+     * (createdAt descendente; a igual fecha, por id), paginado
+     *
+     * Por defecto: filtra y ordena findAll(). Las implementaciones lo
+     * sobrescriben con un índice por (usuario, fecha de creación).
+     *
+     * @param offset órdenes a saltar
+     * @param limit máximo de órdenes a devolver
+     */
+    default List<Order> findByUserId(UUID userId, int offset, int limit) {
+        return findAll().stream()
+                .filter(order -> userId.equals(order.getUserId()))
+                .sorted(Comparator.comparing(Order::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                        .thenComparing(order -> order.getId().value()))
+                .skip(offset)
+                .limit(limit)
+                .toList();
+    }
+
     Optional<Order> findById(OrderId id);
     List<Order> findAll();
     List<Order> findByStatus(OrderStatus status);
@@ -1,5 +1,7 @@
 package com.microservices.order.infrastructure.adapter.input.rest;
 
+import com.microservices.order.application.exception.DeadlineExceededException;
+import com.microservices.order.domain.exception.ConcurrentOrderUpdateException;
 import com.microservices.order.domain.exception.InvalidOrderStateException;
 import com.microservices.order.domain.exception.OrderNotFoundException;
 import com.microservices.order.domain.exception.UserNotFoundException;
@@ -58,6 +60,40 @@ public class GlobalExceptionHandler {
                 "User Not Found", ex.getMessage());
         return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(error);
     }
+    /**
+     * Maneja InvalidOrderStateException (transición no permitida, p.ej. CANCELLED → PAID)
+     * HTTP 409 Conflict: el estado actual de la orden no admite el cambio
+     */
+    @ExceptionHandler(InvalidOrderStateException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidState(InvalidOrderStateException ex) {
+        ErrorResponse error = new ErrorResponse(LocalDateTime.now(), HttpStatus.CONFLICT.value(),
+                "Invalid State Transition", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    /**
+     * Maneja ConcurrentOrderUpdateException (ya se reintentó sin éxito)
+     * HTTP 409 Conflict: el cliente puede volver a intentarlo
+     */
+    @ExceptionHandler(ConcurrentOrderUpdateException.class)
+    public ResponseEntity<ErrorResponse> handleConflict(ConcurrentOrderUpdateException ex) {
+        ErrorResponse error = new ErrorResponse(LocalDateTime.now(), HttpStatus.CONFLICT.value(),
+                "Conflict", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    /**
+     * Maneja DeadlineExceededException (user-service no respondió a tiempo)
+     * HTTP 504 Gateway Timeout: la orden no se ha creado, se puede reintentar
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ErrorResponse> handleDeadlineExceeded(DeadlineExceededException ex) {
+        log.warn("⏳ {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(LocalDateTime.now(), HttpStatus.GATEWAY_TIMEOUT.value(),
+                "Gateway Timeout", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(error);
+    }
+
     /**
      * Maneja errores de validación (@Valid)
      * HTTP 400 Bad Request
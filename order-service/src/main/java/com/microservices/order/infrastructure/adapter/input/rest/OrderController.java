@@ -2,14 +2,22 @@ package com.microservices.order.infrastructure.adapter.input.rest;
 
 import com.microservices.order.application.dto.CreateOrderRequest;
 import com.microservices.order.application.dto.OrderResponse;
+import com.microservices.order.application.dto.OrderTotalsResponse;
 import com.microservices.order.application.dto.UpdateOrderStatusRequest;
+import com.microservices.order.application.usecase.AggregateOrdersUseCase;
 import com.microservices.order.application.usecase.CreateOrderUseCase;
 import com.microservices.order.application.usecase.DeleteOrderUseCase;
 import com.microservices.order.application.usecase.FindAllOrdersUseCase;
 import com.microservices.order.application.usecase.FindOrderByIdUseCase;
+import com.microservices.order.application.usecase.FindOrdersByUserUseCase;
 import com.microservices.order.application.usecase.UpdateOrderStatusUseCase;
+import com.microservices.order.domain.event.OrderStatusChangedEvent;
+import com.microservices.order.domain.exception.OrderNotFoundException;
+import com.microservices.order.domain.model.OrderGrouping;
+import com.microservices.order.infrastructure.adapter.out.watch.OrderStatusHub;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -18,9 +26,15 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * 🌐 ORDER CONTROLLER - Adaptador de Entrada REST
@@ -33,6 +47,24 @@ import java.util.List;
  * - Gestiona códigos de estado HTTP
  * - Valida datos de entrada con @Valid
  * 
+ * 🏷️ GETs condicionales: las lecturas devuelven ETag (débil) y, si el
+ * cliente envía If-None-Match con la versión actual, responden 304 sin
+ * cuerpo, sin mapear a DTO. Pensado para el polling del estado de una
+ * orden desde la UI. ETag débil porque la respuesta puede ir comprimida
+ * (server.compression) y Tomcat no comprime respuestas con ETag fuerte.
+ * 
+ * 📡 Para no tener que hacer polling, GET /orders/{orderId}/events y
+ * GET /orders/events?userId= mantienen abierta una conexión SSE y envían
+ * un evento "status" en cada cambio de estado (ver OrderStatusHub).
+ * 
+ * 👤 GET /orders?userId=&page=&size= devuelve el historial de un usuario,
+ * más recientes primero, paginado en el repositorio (índice por usuario
+ * y fecha) en lugar de filtrar la lista completa en el cliente.
+ * 
+ * 📊 GET /orders/stats?groupBy=status|user|hour|day devuelve solo los
+ * totales por grupo (número de órdenes e importe), calculados en el
+ * repositorio, en lugar de la lista completa.
+ * 
  * Base URL: /orders
  */
 @RestController
@@ -42,19 +74,28 @@ public class OrderController {
     private final CreateOrderUseCase createOrderUseCase;
     private final FindOrderByIdUseCase findOrderByIdUseCase;
     private final FindAllOrdersUseCase findAllOrdersUseCase;
+    private final FindOrdersByUserUseCase findOrdersByUserUseCase;
     private final UpdateOrderStatusUseCase updateOrderStatusUseCase;
     private final DeleteOrderUseCase deleteOrderUseCase;
+    private final AggregateOrdersUseCase aggregateOrdersUseCase;
+    private final OrderStatusHub orderStatusHub;
 
     public OrderController(CreateOrderUseCase createOrderUseCase,
                            FindOrderByIdUseCase findOrderByIdUseCase,
                            FindAllOrdersUseCase findAllOrdersUseCase,
+                           FindOrdersByUserUseCase findOrdersByUserUseCase,
                            UpdateOrderStatusUseCase updateOrderStatusUseCase,
-                           DeleteOrderUseCase deleteOrderUseCase) {
+                           DeleteOrderUseCase deleteOrderUseCase,
+                           AggregateOrdersUseCase aggregateOrdersUseCase,
+                           OrderStatusHub orderStatusHub) {
         this.createOrderUseCase = createOrderUseCase;
         this.findOrderByIdUseCase = findOrderByIdUseCase;
         this.findAllOrdersUseCase = findAllOrdersUseCase;
+        this.findOrdersByUserUseCase = findOrdersByUserUseCase;
         this.updateOrderStatusUseCase = updateOrderStatusUseCase;
         this.deleteOrderUseCase = deleteOrderUseCase;
+        this.aggregateOrdersUseCase = aggregateOrdersUseCase;
+        this.orderStatusHub = orderStatusHub;
     }
 
     /**
@@ -69,21 +110,59 @@ public class OrderController {
 
     /**
      * Obtiene una orden por ID
-     * GET /orders/{orderId}
+     * GET /orders/{orderId} (304 si If-None-Match coincide)
      */
     @GetMapping("/{orderId}")
-    public ResponseEntity<OrderResponse> findById(@PathVariable String orderId) {
-        OrderResponse response = findOrderByIdUseCase.execute(orderId);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<OrderResponse> findById(@PathVariable String orderId, WebRequest webRequest) {
+        return findOrderByIdUseCase.executeIfModified(orderId, version -> webRequest.checkNotModified(etag(version)))
+                .map(ResponseEntity::ok)
+                .orElseGet(OrderController::notModified);
     }
 
     /**
      * Obtiene todas las órdenes
-     * GET /orders
+     * GET /orders (304 si If-None-Match coincide)
      */
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> findAll() {
-        return ResponseEntity.ok(findAllOrdersUseCase.execute());
+    public ResponseEntity<List<OrderResponse>> findAll(WebRequest webRequest) {
+        return findAllOrdersUseCase.executeIfModified(version -> webRequest.checkNotModified(etag(version)))
+                .map(ResponseEntity::ok)
+                .orElseGet(OrderController::notModified);
+    }
+
+    /**
+     * Historial de órdenes de un usuario, más recientes primero
+     * GET /orders?userId=&page=0&size=20 (size máximo 100)
+     */
+    @GetMapping(params = "userId")
+    public ResponseEntity<List<OrderResponse>> findByUser(@RequestParam String userId,
+                                                          @RequestParam(defaultValue = "0") int page,
+                                                          @RequestParam(defaultValue = "20") int size) {
+        UUID user;
+        try {
+            user = UUID.fromString(userId);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (page < 0 || size < 1 || size > FindOrdersByUserUseCase.MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(findOrdersByUserUseCase.execute(user, page, size));
+    }
+
+    /**
+     * Número de órdenes e importe total por grupo
+     * GET /orders/stats?groupBy=status (también user, hour, day)
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<List<OrderTotalsResponse>> stats(@RequestParam(defaultValue = "status") String groupBy) {
+        OrderGrouping grouping;
+        try {
+            grouping = OrderGrouping.valueOf(groupBy.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(aggregateOrdersUseCase.execute(grouping));
     }
 
     /**
@@ -97,6 +176,62 @@ public class OrderController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Observa el estado de una orden (Server-Sent Events)
+     * GET /orders/{orderId}/events
+     * 
+     * El primer evento es el estado actual; después, uno por cambio.
+     * Se suscribe ANTES de leer la orden para no perder un cambio
+     * intermedio (el hub descarta el estado leído si ya es antiguo).
+     */
+    @GetMapping(path = "/{orderId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> watch(@PathVariable String orderId) {
+        SseEmitter emitter = new SseEmitter(orderStatusHub.timeout().toMillis());
+        Optional<OrderStatusHub.Subscription> subscription =
+                orderStatusHub.subscribe(OrderStatusHub.Scope.ORDER, orderId, new SseOrderStatusSink(emitter));
+        if (subscription.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+
+        OrderResponse order;
+        try {
+            order = findOrderByIdUseCase.execute(orderId);
+        } catch (OrderNotFoundException | IllegalArgumentException e) {
+            // Sin cuerpo: el cliente pidió text/event-stream, no JSON
+            subscription.get().close();
+            return ResponseEntity.notFound().build();
+        }
+        subscription.get().offer(new OrderStatusChangedEvent(
+                order.id(),
+                order.userId().toString(),
+                null,
+                order.status(),
+                order.updatedAt(),
+                "OrderStatusChanged"
+        ));
+        return ResponseEntity.ok(bind(emitter, subscription.get()));
+    }
+
+    /**
+     * Observa las órdenes de un usuario (Server-Sent Events)
+     * GET /orders/events?userId=
+     * 
+     * Envía un evento por cada orden creada o cambio de estado.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> watchUser(@RequestParam String userId) {
+        String normalized;
+        try {
+            normalized = UUID.fromString(userId).toString();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        SseEmitter emitter = new SseEmitter(orderStatusHub.timeout().toMillis());
+        return orderStatusHub.subscribe(OrderStatusHub.Scope.USER, normalized, new SseOrderStatusSink(emitter))
+                .map(subscription -> ResponseEntity.ok(bind(emitter, subscription)))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+    }
+
     /**
      * Elimina una orden
      * DELETE /orders/{orderId}
@@ -106,4 +241,28 @@ public class OrderController {
         deleteOrderUseCase.execute(orderId);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * La suscripción se da de baja cuando la conexión termina por cualquier motivo
+     */
+    private static SseEmitter bind(SseEmitter emitter, OrderStatusHub.Subscription subscription) {
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> subscription.close());
+        return emitter;
+    }
+
+    /**
+     * ETag débil a partir de la versión del recurso
+     */
+    private static String etag(String version) {
+        return "W/\"" + version + "\"";
+    }
+
+    /**
+     * checkNotModified() ya añadió la cabecera ETag a la respuesta
+     */
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+    }
 }
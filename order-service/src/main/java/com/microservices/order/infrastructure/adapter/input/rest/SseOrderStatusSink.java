@@ -0,0 +1,38 @@
+package com.microservices.order.infrastructure.adapter.input.rest;
+
+import com.microservices.order.domain.event.OrderStatusChangedEvent;
+import com.microservices.order.infrastructure.adapter.out.watch.OrderStatusHub;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Envía los cambios de estado del hub a un cliente SSE
+ *
+ * Cada evento es "event: status" con el OrderStatusChangedEvent en JSON;
+ * el latido es un comentario (": ping") que el navegador ignora.
+ */
+class SseOrderStatusSink implements OrderStatusHub.Sink {
+
+    private final SseEmitter emitter;
+
+    SseOrderStatusSink(SseEmitter emitter) {
+        this.emitter = emitter;
+    }
+
+    @Override
+    public void send(OrderStatusChangedEvent event) throws Exception {
+        emitter.send(SseEmitter.event()
+            .name("status")
+            .data(event, MediaType.APPLICATION_JSON));
+    }
+
+    @Override
+    public void heartbeat() throws Exception {
+        emitter.send(SseEmitter.event().comment("ping"));
+    }
+
+    @Override
+    public void close() {
+        emitter.complete();
+    }
+}
@@ -0,0 +1,49 @@
+package com.microservices.order.infrastructure.adapter.out.events;
+
+import com.microservices.order.application.port.output.PublishOrderEventPort;
+import com.microservices.order.domain.event.OrderCreatedEvent;
+import com.microservices.order.domain.event.OrderStatusChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+
+/**
+ * 🔀 COMPOSITE ORDER EVENT PUBLISHER
+ *
+ * Implementa PublishOrderEventPort repartiendo cada evento entre varios
+ * adaptadores (Kafka + reparto en memoria a los clientes SSE). OrderService
+ * sigue viendo un único puerto.
+ *
+ * Un adaptador que falla no impide que los demás reciban el evento.
+ */
+@Slf4j
+public class CompositeOrderEventPublisher implements PublishOrderEventPort {
+
+    private final List<PublishOrderEventPort> delegates;
+
+    public CompositeOrderEventPublisher(List<PublishOrderEventPort> delegates) {
+        this.delegates = List.copyOf(delegates);
+    }
+
+    @Override
+    public void publishOrderCreatedEvent(OrderCreatedEvent event) {
+        for (PublishOrderEventPort delegate : delegates) {
+            try {
+                delegate.publishOrderCreatedEvent(event);
+            } catch (RuntimeException e) {
+                log.error("❌ Error publicando OrderCreated en {}: {}", delegate.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+    }
+
+    @Override
+    public void publishOrderStatusChangedEvent(OrderStatusChangedEvent event) {
+        for (PublishOrderEventPort delegate : delegates) {
+            try {
+                delegate.publishOrderStatusChangedEvent(event);
+            } catch (RuntimeException e) {
+                log.error("❌ Error publicando OrderStatusChanged en {}: {}", delegate.getClass().getSimpleName(), e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.microservices.order.infrastructure.adapter.out.kafka;
 
 import com.microservices.order.application.port.output.PublishOrderEventPort;
 import com.microservices.order.domain.event.OrderCreatedEvent;
+import com.microservices.order.domain.event.OrderStatusChangedEvent;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
@@ -19,6 +20,11 @@ import org.springframework.stereotype.Component;
  * 
  * 🔄 Flujo:
  *    OrderService → PublishOrderEventPort → KafkaProducerAdapter → Kafka Broker
+ * 
+ * 📬 Topics:
+ *    - order-events:        OrderCreatedEvent (lo consume notification-service)
+ *    - order-status-events: OrderStatusChangedEvent (topic aparte para que los
+ *      consumidores de order-events no reciban eventos de otro tipo)
  */
 @Component
 @AllArgsConstructor
@@ -31,12 +37,17 @@ public class KafkaProducerAdapter implements PublishOrderEventPort {
      * Spring inyecta automáticamente una instancia configurada
      * según application.yml
      */
-    private final KafkaTemplate<String, OrderCreatedEvent> kafkaTemplate;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
     
     /**
      * Topic de Kafka donde se publican los eventos
      */
-    private static final String TOPIC = "order-events";
+    public static final String TOPIC = "order-events";
+    
+    /**
+     * Topic de los cambios de estado
+     */
+    public static final String STATUS_TOPIC = "order-status-events";
     
     @Override
     public void publishOrderCreatedEvent(OrderCreatedEvent event) {
@@ -45,7 +56,7 @@ public class KafkaProducerAdapter implements PublishOrderEventPort {
             
             // Enviar a Kafka usando el orderId como clave (para particionamiento)
             // KafkaTemplate maneja automáticamente la serialización JSON
-            kafkaTemplate.send(TOPIC, event.getOrderId(), event);
+            send(TOPIC, event.getOrderId(), event);
             
             log.info("✅ Evento publicado exitosamente - Orden: {}", event.getOrderId());
         } catch (Exception e) {
@@ -53,4 +64,29 @@ public class KafkaProducerAdapter implements PublishOrderEventPort {
             // En producción, podrías reintentar, alertar, etc.
         }
     }
+    
+    @Override
+    public void publishOrderStatusChangedEvent(OrderStatusChangedEvent event) {
+        try {
+            // Misma clave que order-events: los cambios de una orden llegan en orden
+            send(STATUS_TOPIC, event.getOrderId(), event);
+            log.info("📤 Evento OrderStatusChanged publicado - Orden: {} ({} → {})",
+                event.getOrderId(), event.getPreviousStatus(), event.getStatus());
+        } catch (Exception e) {
+            log.error("❌ Error publicando evento a Kafka: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Con el perfil exactly-once el productor es transaccional y KafkaTemplate
+     * no admite envíos fuera de una transacción: cada evento va en la suya
+     * (commit al enviarlo), salvo que ya haya una en curso.
+     */
+    private void send(String topic, String key, Object event) {
+        if (kafkaTemplate.isTransactional() && !kafkaTemplate.inTransaction()) {
+            kafkaTemplate.executeInTransaction(template -> template.send(topic, key, event));
+        } else {
+            kafkaTemplate.send(topic, key, event);
+        }
+    }
 }
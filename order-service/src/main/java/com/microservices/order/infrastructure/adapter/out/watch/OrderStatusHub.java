@@ -0,0 +1,351 @@
+package com.microservices.order.infrastructure.adapter.out.watch;
+
+import com.microservices.order.application.port.output.PublishOrderEventPort;
+import com.microservices.order.domain.event.OrderCreatedEvent;
+import com.microservices.order.domain.event.OrderStatusChangedEvent;
+import com.microservices.order.domain.model.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 📡 ORDER STATUS HUB - Reparto en memoria de cambios de estado
+ *
+ * Adaptador de salida más de PublishOrderEventPort: en lugar de enviar el
+ * evento a un broker se lo entrega a los clientes conectados que observan
+ * la orden (o todas las órdenes de un usuario), p.ej. por SSE. Así la
+ * tienda deja de hacer polling de GET /orders/{id}.
+ *
+ * Cada suscriptor tiene un buffer acotado (bufferSize) y agrupado por orden:
+ * de una orden solo interesa el último estado, así que un cliente lento
+ * recibe directamente el más reciente. Si aun así se llena se descarta el
+ * más antiguo (droppedEvents). Quien publica nunca espera a los clientes:
+ * la entrega se hace en un pool de hilos propio (deliveryThreads), y un
+ * latido periódico (heartbeat) mantiene viva la conexión y detecta clientes
+ * desconectados.
+ *
+ * Solo ve los cambios hechos en esta instancia: con varias réplicas cada
+ * una tendría que alimentarse del topic order-status-events.
+ */
+@Slf4j
+public class OrderStatusHub implements PublishOrderEventPort, AutoCloseable {
+
+    /**
+     * Qué observa un suscriptor
+     */
+    public enum Scope {
+        ORDER,
+        USER
+    }
+
+    /**
+     * Destino de los eventos de un suscriptor (p.ej. un SseEmitter)
+     *
+     * send() y heartbeat() se llaman siempre desde un único hilo a la vez;
+     * si lanzan una excepción la suscripción se cierra y se llama a close().
+     */
+    public interface Sink {
+
+        void send(OrderStatusChangedEvent event) throws Exception;
+
+        void heartbeat() throws Exception;
+
+        void close();
+    }
+
+    private final Map<String, Set<Subscription>> subscriptions;
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final LongAdder droppedEvents = new LongAdder();
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final ExecutorService delivery;
+    private final ScheduledExecutorService heartbeats;
+
+    public OrderStatusHub(int bufferSize, int maxSubscribers, int deliveryThreads,
+                          Duration heartbeat, Duration timeout) {
+        this(bufferSize, maxSubscribers, deliveryThreads, heartbeat, timeout, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Para tests: permite intercalar operaciones sobre el mapa de suscripciones
+     */
+    OrderStatusHub(int bufferSize, int maxSubscribers, int deliveryThreads,
+                   Duration heartbeat, Duration timeout,
+                   ConcurrentHashMap<String, Set<Subscription>> subscriptions) {
+        this.subscriptions = subscriptions;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.delivery = Executors.newFixedThreadPool(deliveryThreads, runnable -> {
+            Thread thread = new Thread(runnable, "order-watch-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-watch-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = heartbeat.toMillis();
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // ============================================
+    // SUSCRIPCIONES
+    // ============================================
+
+    /**
+     * Registra un suscriptor para una orden o para las órdenes de un usuario
+     *
+     * @return vacío si ya se alcanzó maxSubscribers
+     */
+    public Optional<Subscription> subscribe(Scope scope, String id, Sink sink) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            log.warn("⚠️ Límite de suscriptores alcanzado ({}), se rechaza {} {}", maxSubscribers, scope, id);
+            return Optional.empty();
+        }
+        Subscription subscription = new Subscription(key(scope, id), scope, sink);
+        // Alta dentro de compute: un close() simultáneo (computeIfPresent
+        // sobre la misma clave) no puede quitar el conjunto vacío entre que
+        // se obtiene y se añade el suscriptor, dejándolo huérfano
+        subscriptions.compute(subscription.key, (k, watchers) -> {
+            Set<Subscription> set = watchers != null ? watchers : ConcurrentHashMap.newKeySet();
+            set.add(subscription);
+            return set;
+        });
+        return Optional.of(subscription);
+    }
+
+    public int subscribers() {
+        return subscriberCount.get();
+    }
+
+    public long droppedEvents() {
+        return droppedEvents.sum();
+    }
+
+    /**
+     * Tiempo máximo de una conexión (el cliente vuelve a conectarse)
+     */
+    public Duration timeout() {
+        return timeout;
+    }
+
+    // ============================================
+    // PUBLICACIÓN (puerto de salida)
+    // ============================================
+
+    /**
+     * Una orden nueva solo puede interesar a quien observa al usuario
+     */
+    @Override
+    public void publishOrderCreatedEvent(OrderCreatedEvent event) {
+        OrderStatusChangedEvent created = new OrderStatusChangedEvent(
+            event.getOrderId(),
+            event.getCustomerId(),
+            null,
+            OrderStatus.CREATED,
+            event.getCreatedAt(),
+            "OrderStatusChanged"
+        );
+        offer(key(Scope.USER, created.getCustomerId()), created);
+    }
+
+    @Override
+    public void publishOrderStatusChangedEvent(OrderStatusChangedEvent event) {
+        offer(key(Scope.ORDER, event.getOrderId()), event);
+        offer(key(Scope.USER, event.getCustomerId()), event);
+    }
+
+    private void offer(String key, OrderStatusChangedEvent event) {
+        Set<Subscription> watchers = subscriptions.get(key);
+        if (watchers != null) {
+            for (Subscription subscription : watchers) {
+                subscription.offer(event);
+            }
+        }
+    }
+
+    private void heartbeat() {
+        for (Set<Subscription> watchers : subscriptions.values()) {
+            for (Subscription subscription : watchers) {
+                subscription.requestHeartbeat();
+            }
+        }
+    }
+
+    private static String key(Scope scope, String id) {
+        return scope.name() + ":" + id;
+    }
+
+    @Override
+    public void close() {
+        heartbeats.shutdownNow();
+        delivery.shutdown();
+        subscriptions.values().forEach(watchers -> List.copyOf(watchers).forEach(Subscription::closeWithSink));
+    }
+
+    // ============================================
+    // SUSCRIPCIÓN: buffer acotado + entrega en el pool
+    // ============================================
+
+    public final class Subscription implements AutoCloseable {
+
+        private final String key;
+        private final Scope scope;
+        private final Sink sink;
+
+        /**
+         * Pendientes de entregar, uno por orden (el último estado)
+         */
+        private final LinkedHashMap<String, OrderStatusChangedEvent> pending = new LinkedHashMap<>();
+        private boolean heartbeatPending;
+        private boolean scheduled;
+        private boolean closed;
+
+        /**
+         * Solo en Scope.ORDER: el instante más reciente recibido, para que
+         * el estado inicial (leído de la BD) no pise un cambio posterior
+         */
+        private LocalDateTime newest;
+
+        private Subscription(String key, Scope scope, Sink sink) {
+            this.key = key;
+            this.scope = scope;
+            this.sink = sink;
+        }
+
+        /**
+         * Encola un evento para este suscriptor (también el estado inicial)
+         */
+        public void offer(OrderStatusChangedEvent event) {
+            synchronized (this) {
+                if (closed || isOutdated(event)) {
+                    return;
+                }
+                // Se reinserta al final: el orden de entrega sigue al de los cambios
+                pending.remove(event.getOrderId());
+                pending.put(event.getOrderId(), event);
+                if (pending.size() > bufferSize) {
+                    Iterator<String> eldest = pending.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                    droppedEvents.increment();
+                }
+                schedule();
+            }
+        }
+
+        private boolean isOutdated(OrderStatusChangedEvent event) {
+            if (scope != Scope.ORDER || event.getChangedAt() == null) {
+                return false;
+            }
+            if (newest != null && event.getChangedAt().isBefore(newest)) {
+                return true;
+            }
+            newest = event.getChangedAt();
+            return false;
+        }
+
+        private void requestHeartbeat() {
+            synchronized (this) {
+                if (!closed) {
+                    heartbeatPending = true;
+                    schedule();
+                }
+            }
+        }
+
+        /**
+         * Como mucho una entrega en curso por suscriptor (Sink no necesita ser thread-safe)
+         */
+        private void schedule() {
+            if (scheduled) {
+                return;
+            }
+            scheduled = true;
+            try {
+                delivery.execute(this::drain);
+            } catch (RejectedExecutionException shuttingDown) {
+                scheduled = false;
+                closed = true;
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                List<OrderStatusChangedEvent> batch;
+                boolean sendHeartbeat;
+                synchronized (this) {
+                    if (closed || (pending.isEmpty() && !heartbeatPending)) {
+                        scheduled = false;
+                        return;
+                    }
+                    batch = new ArrayList<>(pending.values());
+                    pending.clear();
+                    sendHeartbeat = heartbeatPending && batch.isEmpty();
+                    heartbeatPending = false;
+                }
+                try {
+                    for (OrderStatusChangedEvent event : batch) {
+                        sink.send(event);
+                    }
+                    if (sendHeartbeat) {
+                        sink.heartbeat();
+                    }
+                } catch (Exception e) {
+                    log.debug("📴 Suscriptor {} desconectado: {}", key, e.getMessage());
+                    synchronized (this) {
+                        scheduled = false;
+                    }
+                    closeWithSink();
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Baja del suscriptor (p.ej. el cliente cerró la conexión)
+         */
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                pending.clear();
+            }
+            subscriptions.computeIfPresent(key, (k, watchers) -> {
+                watchers.remove(this);
+                return watchers.isEmpty() ? null : watchers;
+            });
+            subscriberCount.decrementAndGet();
+        }
+
+        private void closeWithSink() {
+            close();
+            sink.close();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.microservices.order.infrastructure.adapter.output.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 🏷️ ETAG CACHE FILTER - GETs condicionales desde el WebClient
+ *
+ * order-service consulta el mismo usuario en cada orden que crea. Este
+ * filtro guarda la última respuesta de cada URL junto con su ETag y, en la
+ * siguiente petición, envía If-None-Match:
+ * - 304 Not Modified → se devuelve el cuerpo guardado como un 200 normal
+ *   (user-service no mapea ni serializa, y no viaja el cuerpo)
+ * - 200 con ETag     → se actualiza la copia
+ * - 404 / 410        → se elimina la copia
+ *
+ * Para quien usa el WebClient (UserServiceClient) es transparente.
+ * LRU acotado por número de entradas.
+ */
+public class EtagCacheFilter implements ExchangeFilterFunction {
+
+    private static final Logger log = LoggerFactory.getLogger(EtagCacheFilter.class);
+
+    private record Entry(String etag, MediaType contentType, byte[] body) {
+    }
+
+    private final Map<String, Entry> cache;
+
+    public EtagCacheFilter(int maxEntries) {
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!HttpMethod.GET.equals(request.method())) {
+            return next.exchange(request);
+        }
+
+        String key = request.url().toString();
+        Entry cached = get(key);
+        ClientRequest conditional = cached == null ? request
+            : ClientRequest.from(request).headers(headers -> headers.setIfNoneMatch(cached.etag())).build();
+
+        return next.exchange(conditional).map(response -> {
+            int status = response.statusCode().value();
+            if (cached != null && status == HttpStatus.NOT_MODIFIED.value()) {
+                log.debug("🏷️ 304 para {}: se usa la copia local", key);
+                return response.mutate()
+                    .statusCode(HttpStatus.OK)
+                    .headers(headers -> {
+                        headers.setContentType(cached.contentType());
+                        headers.setContentLength(cached.body().length);
+                    })
+                    .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(cached.body())))
+                    .build();
+            }
+            if (status == HttpStatus.NOT_FOUND.value() || status == HttpStatus.GONE.value()) {
+                remove(key);
+                return response;
+            }
+
+            String etag = response.headers().asHttpHeaders().getETag();
+            if (!response.statusCode().is2xxSuccessful() || etag == null) {
+                return response;
+            }
+            MediaType contentType = response.headers().contentType().orElse(null);
+            // Se copia el cuerpo al pasar, sin consumirlo dos veces
+            return response.mutate()
+                .body(body -> DataBufferUtils.join(body)
+                    .map(buffer -> {
+                        byte[] bytes = new byte[buffer.readableByteCount()];
+                        buffer.read(bytes);
+                        DataBufferUtils.release(buffer);
+                        put(key, new Entry(etag, contentType, bytes));
+                        return (DataBuffer) DefaultDataBufferFactory.sharedInstance.wrap(bytes);
+                    })
+                    .flux())
+                .build();
+        });
+    }
+
+    int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private Entry get(String key) {
+        synchronized (cache) {
+            return cache.get(key);
+        }
+    }
+
+    private void put(String key, Entry entry) {
+        synchronized (cache) {
+            cache.put(key, entry);
+        }
+    }
+
+    private void remove(String key) {
+        synchronized (cache) {
+            cache.remove(key);
+        }
+    }
+}
@@ -1,36 +1,57 @@
 package com.microservices.order.infrastructure.adapter.output.client;
 
+import com.microservices.common.application.SingleFlight;
+import com.microservices.order.application.exception.DeadlineExceededException;
 import com.microservices.order.application.port.output.UserValidationPort;
 import com.microservices.order.domain.exception.UserNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.client.HttpClientErrorException;
 
+import java.util.Optional;
+
 /**
  * Adaptador de infraestructura que valida usuarios usando HTTP Interfaces.
  * Implementa el puerto de salida {@link UserValidationPort} para mantener la arquitectura hexagonal.
+ *
+ * Las consultas simultáneas del mismo usuario (muchas órdenes a la vez del
+ * mismo cliente) comparten una sola llamada a user-service (SingleFlight).
  */
 public class UserValidationAdapter implements UserValidationPort {
 
     private static final Logger log = LoggerFactory.getLogger(UserValidationAdapter.class);
 
     private final UserServiceClient userServiceClient;
+    private final SingleFlight<String, UserResponse> userLookups;
 
     public UserValidationAdapter(UserServiceClient userServiceClient) {
+        this(userServiceClient, new SingleFlight<>());
+    }
+
+    public UserValidationAdapter(UserServiceClient userServiceClient, SingleFlight<String, UserResponse> userLookups) {
         this.userServiceClient = userServiceClient;
+        this.userLookups = userLookups;
     }
 
     @Override
-    public void validateUserExists(String userId) {
+    public Optional<String> validateUserExists(String userId) {
         try {
-            var user = userServiceClient.getUserById(userId);
+            var user = getUser(userId);
             log.info("Usuario validado en user-service: {} ({})", user.name(), user.email());
+            return Optional.ofNullable(user.email());
         } catch (HttpClientErrorException.NotFound ex) {
             log.warn("Usuario no encontrado en user-service: {}", userId);
             throw new UserNotFoundException(userId);
+        } catch (DeadlineExceededException ex) {
+            log.warn("user-service no respondió a tiempo: {}", ex.getMessage());
+            throw ex;
         } catch (Exception ex) {
             log.error("Error al validar usuario en user-service", ex);
             throw new RuntimeException("Error comunicándose con user-service. Intenta más tarde.", ex);
         }
     }
-}
\ No newline at end of file
+
+    private UserResponse getUser(String userId) {
+        return userLookups.execute(userId, () -> userServiceClient.getUserById(userId));
+    }
+}
@@ -0,0 +1,165 @@
+package com.microservices.order.infrastructure.adapter.output.persistence.inmemory;
+
+import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderId;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 👤 COMPACT ORDER HISTORY - Historial por usuario en arrays de longs
+ *
+ * El índice de CompactOrderRepository para findByUserId(). Mismo orden que
+ * OrderHistoryIndex (más recientes primero, a igual fecha por id), pero
+ * sin un objeto por orden: cada usuario tiene un long[] con tripletas
+ * (createdAt en microsegundos, id alto, id bajo), 24 bytes por orden que
+ * el GC no recorre.
+ *
+ * Las tripletas se guardan de la más antigua a la más reciente: las
+ * órdenes nuevas suelen ir al final (sin desplazar nada) y una página se
+ * lee desde el final. La posición se busca por bisección.
+ *
+ * Como OrderHistoryIndex, el repositorio llama a replaced() dentro del
+ * bloqueo de la orden. Los cambios de un usuario se serializan con
+ * compute() sobre su entrada; las lecturas se sincronizan con el
+ * historial del usuario.
+ */
+final class CompactOrderHistory {
+
+    private static final int FIELDS = 3;
+    private static final int INITIAL_CAPACITY = 1;
+
+    private final Map<UUID, UserHistory> byUser = new ConcurrentHashMap<>();
+
+    /**
+     * @param previous orden guardada antes (null si es nueva)
+     * @param current  orden guardada ahora (null si se borró)
+     */
+    void replaced(Order previous, Order current) {
+        if (previous != null && current != null
+                && previous.getUserId().equals(current.getUserId())
+                && previous.getId().equals(current.getId())
+                && OrderTable.toMicros(previous.getCreatedAt()) == OrderTable.toMicros(current.getCreatedAt())) {
+            // Cambios de estado o importe: la posición no cambia
+            return;
+        }
+        if (previous != null) {
+            byUser.computeIfPresent(previous.getUserId(), (user, history) -> {
+                history.remove(previous);
+                return history.isEmpty() ? null : history;
+            });
+        }
+        if (current != null) {
+            byUser.compute(current.getUserId(), (user, history) -> {
+                UserHistory result = history == null ? new UserHistory() : history;
+                result.add(current);
+                return result;
+            });
+        }
+    }
+
+    /**
+     * Ids de una página del historial del usuario, más recientes primero
+     */
+    List<OrderId> page(UUID userId, int offset, int limit) {
+        UserHistory history = byUser.get(userId);
+        if (history == null || limit <= 0) {
+            return List.of();
+        }
+        return history.page(offset, limit);
+    }
+
+    // ============================================
+    // HISTORIAL DE UN USUARIO
+    // ============================================
+
+    /**
+     * Tripletas ordenadas por (createdAt ascendente, id descendente): leídas
+     * al revés quedan más recientes primero y, a igual fecha, por id
+     * ascendente. createdAt null (Long.MIN_VALUE) queda como la más antigua.
+     */
+    private static final class UserHistory {
+
+        private long[] entries = new long[INITIAL_CAPACITY * FIELDS];
+        private int size;
+
+        synchronized void add(Order order) {
+            long created = OrderTable.toMicros(order.getCreatedAt());
+            UUID id = order.getId().value();
+            int index = -search(created, id.getMostSignificantBits(), id.getLeastSignificantBits()) - 1;
+            if (index < 0) {
+                return;
+            }
+            if (size * FIELDS == entries.length) {
+                entries = Arrays.copyOf(entries, entries.length * 2);
+            }
+            System.arraycopy(entries, index * FIELDS, entries, (index + 1) * FIELDS, (size - index) * FIELDS);
+            entries[index * FIELDS] = created;
+            entries[index * FIELDS + 1] = id.getMostSignificantBits();
+            entries[index * FIELDS + 2] = id.getLeastSignificantBits();
+            size++;
+        }
+
+        synchronized void remove(Order order) {
+            UUID id = order.getId().value();
+            int index = search(OrderTable.toMicros(order.getCreatedAt()),
+                    id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(entries, (index + 1) * FIELDS, entries, index * FIELDS, (size - index - 1) * FIELDS);
+            size--;
+        }
+
+        synchronized boolean isEmpty() {
+            return size == 0;
+        }
+
+        synchronized List<OrderId> page(int offset, int limit) {
+            int from = size - 1 - Math.max(offset, 0);
+            int count = Math.max(0, Math.min(limit, from + 1));
+            List<OrderId> ids = new ArrayList<>(count);
+            for (int i = from; i > from - count; i--) {
+                ids.add(new OrderId(new UUID(entries[i * FIELDS + 1], entries[i * FIELDS + 2])));
+            }
+            return ids;
+        }
+
+        /**
+         * Posición de la tripleta, o -(punto de inserción) - 1 si no está
+         */
+        private int search(long created, long idHi, long idLo) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = compare(mid, created, idHi, idLo);
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        /**
+         * Como UUID.compareTo (con signo), pero con el id en orden inverso
+         */
+        private int compare(int index, long created, long idHi, long idLo) {
+            int base = index * FIELDS;
+            int cmp = Long.compare(entries[base], created);
+            if (cmp != 0) {
+                return cmp;
+            }
+            cmp = Long.compare(idHi, entries[base + 1]);
+            return cmp != 0 ? cmp : Long.compare(idLo, entries[base + 2]);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.microservices.order.infrastructure.adapter.output.persistence.inmemory;
+
+import com.microservices.order.domain.exception.ConcurrentOrderUpdateException;
+import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderGrouping;
+import com.microservices.order.domain.model.OrderId;
+import com.microservices.order.domain.model.OrderStatus;
+import com.microservices.order.domain.model.OrderTotals;
+import com.microservices.order.domain.model.OrderTransition;
+import com.microservices.order.domain.repository.OrderRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * 🗜️ COMPACT ORDER REPOSITORY - Repositorio en memoria compacto
+ *
+ * Alternativa a InMemoryOrderRepository para guardar muchas órdenes en
+ * memoria (perfil 'dev' con order-store.layout=compact).
+ *
+ * Un Map<OrderId, Order> cuesta por orden: entrada del mapa, OrderId, dos
+ * UUID, BigDecimal (+ BigInteger), dos LocalDateTime (+ LocalDate y
+ * LocalTime) y el propio Order, unos 350 bytes de objetos en el heap. Aquí
+ * cada orden son 64 bytes de longs en un buffer directo (OrderTable) y
+ * el GC no tiene nada que recorrer: la Order se crea solo al leerla.
+ *
+ * Las órdenes se reparten en SEGMENTS tablas según el hash del id, cada
+ * una con su ReentrantReadWriteLock: las lecturas de un segmento no se
+ * esperan entre sí y las escrituras de segmentos distintos tampoco.
+ * save() es el mismo compare-and-set sobre la versión que en
+ * InMemoryOrderRepository, y transitionStatus() es atómico por orden.
+ *
+ * aggregate() usa los mismos totales acumulados (OrderTotalsIndex): un
+ * objeto por grupo (estado, usuario, hora), no por orden. findByUserId()
+ * usa CompactOrderHistory: un long[] por usuario con 24 bytes por orden,
+ * sin objetos por orden (no OrderHistoryIndex, que sí los tiene).
+ *
+ * Diferencias con el mapa: las fechas se guardan con precisión de
+ * microsegundos y el importe debe caber en un long sin escala.
+ * Compatible con el journal (order-store.durability.enabled).
+ */
+@Repository
+@Profile("dev")
+@ConditionalOnProperty(prefix = "order-store", name = "layout", havingValue = "compact")
+public class CompactOrderRepository implements OrderRepository {
+
+    private static final int SEGMENT_BITS = 6;
+    private static final int SEGMENTS = 1 << SEGMENT_BITS;
+    private static final int INITIAL_SEGMENT_CAPACITY = 64;
+
+    private final OrderTable[] tables = new OrderTable[SEGMENTS];
+    private final ReentrantReadWriteLock[] locks = new ReentrantReadWriteLock[SEGMENTS];
+    private final OrderTotalsIndex totals = new OrderTotalsIndex();
+    private final CompactOrderHistory history = new CompactOrderHistory();
+
+    /**
+     * null = solo memoria
+     */
+    private final OrderJournal journal;
+
+    public CompactOrderRepository() {
+        this((OrderJournal) null);
+    }
+
+    @Autowired
+    public CompactOrderRepository(ObjectProvider<OrderJournal> journal) {
+        this(journal.getIfAvailable());
+    }
+
+    private CompactOrderRepository(OrderJournal journal) {
+        for (int i = 0; i < SEGMENTS; i++) {
+            tables[i] = new OrderTable(INITIAL_SEGMENT_CAPACITY);
+            locks[i] = new ReentrantReadWriteLock();
+        }
+        this.journal = journal;
+        if (journal != null) {
+            journal.recover(new JournalView());
+            findAll().forEach(order -> {
+                totals.replaced(null, order);
+                history.replaced(null, order);
+            });
+        }
+    }
+
+    @Override
+    public Order save(Order order) {
+        UUID id = order.getId().value();
+        long hash = OrderTable.hash(id);
+        int segment = segment(hash);
+        return journaled(() -> writing(segment, () -> {
+            OrderTable table = tables[segment];
+            int slot = table.find(id, hash);
+            long current = slot < 0 ? 0 : table.version(slot);
+            if (current != order.getVersion()) {
+                throw new ConcurrentOrderUpdateException(order.getId().toString(), order.getVersion());
+            }
+            Order previous = slot < 0 ? null : table.read(slot, order.getId());
+            Order saved = table.read(table.put(order, hash, current + 1), order.getId());
+            record(saved);
+            totals.replaced(previous, saved);
+            history.replaced(previous, saved);
+            return saved;
+        }));
+    }
+
+    @Override
+    public Optional<OrderTransition> transitionStatus(OrderId id, OrderStatus target) {
+        UUID uuid = id.value();
+        long hash = OrderTable.hash(uuid);
+        int segment = segment(hash);
+        return journaled(() -> writing(segment, () -> {
+            OrderTable table = tables[segment];
+            int slot = table.find(uuid, hash);
+            if (slot < 0) {
+                return Optional.empty();
+            }
+            Order order = table.read(slot, id);
+            OrderStatus previous = order.getStatus();
+            if (previous == target) {
+                return Optional.of(new OrderTransition(previous, order));
+            }
+            Order before = table.read(slot, id);
+            order.transitionTo(target);
+            Order saved = table.read(table.put(order, hash, order.getVersion() + 1), id);
+            record(saved);
+            totals.replaced(before, saved);
+            history.replaced(before, saved);
+            return Optional.of(new OrderTransition(previous, saved));
+        }));
+    }
+
+    @Override
+    public List<OrderTotals> aggregate(OrderGrouping grouping) {
+        return totals.totals(grouping);
+    }
+
+    @Override
+    public List<Order> findByUserId(UUID userId, int offset, int limit) {
+        List<Order> orders = new ArrayList<>();
+        for (OrderId id : history.page(userId, offset, limit)) {
+            findById(id).ifPresent(orders::add);
+        }
+        return orders;
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId id) {
+        UUID uuid = id.value();
+        long hash = OrderTable.hash(uuid);
+        int segment = segment(hash);
+        return reading(segment, () -> {
+            int slot = tables[segment].find(uuid, hash);
+            return slot < 0 ? Optional.empty() : Optional.of(tables[segment].read(slot, id));
+        });
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return collect(null);
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return collect(status);
+    }
+
+    @Override
+    public void deleteById(OrderId id) {
+        UUID uuid = id.value();
+        long hash = OrderTable.hash(uuid);
+        int segment = segment(hash);
+        journaled(() -> writing(segment, () -> {
+            OrderTable table = tables[segment];
+            int slot = table.find(uuid, hash);
+            if (slot < 0) {
+                return false;
+            }
+            Order removed = table.read(slot, id);
+            table.remove(uuid, hash);
+            if (journal != null) {
+                journal.recordDelete(id);
+            }
+            totals.replaced(removed, null);
+            history.replaced(removed, null);
+            return true;
+        }));
+    }
+
+    @Override
+    public boolean existsById(OrderId id) {
+        UUID uuid = id.value();
+        long hash = OrderTable.hash(uuid);
+        int segment = segment(hash);
+        return reading(segment, () -> tables[segment].find(uuid, hash) >= 0);
+    }
+
+    /**
+     * Número de órdenes guardadas
+     */
+    public int size() {
+        int size = 0;
+        for (int segment = 0; segment < SEGMENTS; segment++) {
+            int current = segment;
+            size += reading(segment, () -> tables[current].size());
+        }
+        return size;
+    }
+
+    /**
+     * Memoria reservada fuera del heap por las tablas
+     */
+    public long offHeapBytes() {
+        long bytes = 0;
+        for (int segment = 0; segment < SEGMENTS; segment++) {
+            int current = segment;
+            bytes += reading(segment, () -> tables[current].offHeapBytes());
+        }
+        return bytes;
+    }
+
+    private List<Order> collect(OrderStatus status) {
+        List<Order> orders = new ArrayList<>();
+        for (int segment = 0; segment < SEGMENTS; segment++) {
+            int current = segment;
+            reading(segment, () -> {
+                tables[current].collect(status, orders);
+                return null;
+            });
+        }
+        return orders;
+    }
+
+    // ============================================
+    // BLOQUEO POR SEGMENTO
+    // ============================================
+
+    /**
+     * Los bits altos del hash eligen segmento; OrderTable usa los bajos
+     */
+    private static int segment(long hash) {
+        return (int) (hash >>> (Long.SIZE - SEGMENT_BITS));
+    }
+
+    private <T> T reading(int segment, Supplier<T> action) {
+        return locked(locks[segment].readLock(), action);
+    }
+
+    private <T> T writing(int segment, Supplier<T> action) {
+        return locked(locks[segment].writeLock(), action);
+    }
+
+    private static <T> T locked(Lock lock, Supplier<T> action) {
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> T journaled(Supplier<T> mutation) {
+        return journal == null ? mutation.get() : journal.write(mutation);
+    }
+
+    private void record(Order order) {
+        if (journal != null) {
+            journal.recordSave(order);
+        }
+    }
+
+    // ============================================
+    // VISTA PARA EL JOURNAL
+    // ============================================
+
+    /**
+     * OrderJournal trabaja sobre un Map: put()/remove() al recuperar y
+     * values() al hacer un snapshot. Escribe directamente en las tablas,
+     * sin comprobar versiones ni volver a registrar en el WAL.
+     */
+    private final class JournalView extends AbstractMap<OrderId, Order> {
+
+        @Override
+        public Order put(OrderId id, Order order) {
+            long hash = OrderTable.hash(id.value());
+            int segment = segment(hash);
+            writing(segment, () -> tables[segment].put(order, hash, order.getVersion()));
+            return null;
+        }
+
+        @Override
+        public Order remove(Object key) {
+            UUID uuid = ((OrderId) key).value();
+            long hash = OrderTable.hash(uuid);
+            int segment = segment(hash);
+            writing(segment, () -> tables[segment].remove(uuid, hash));
+            return null;
+        }
+
+        @Override
+        public int size() {
+            return CompactOrderRepository.this.size();
+        }
+
+        @Override
+        public Set<Entry<OrderId, Order>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<OrderId, Order>> iterator() {
+                    Iterator<Order> orders = findAll().iterator();
+                    return new Iterator<>() {
+                        @Override
+                        public boolean hasNext() {
+                            return orders.hasNext();
+                        }
+
+                        @Override
+                        public Entry<OrderId, Order> next() {
+                            Order order = orders.next();
+                            return new SimpleImmutableEntry<>(order.getId(), order);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return CompactOrderRepository.this.size();
+                }
+            };
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.microservices.order.infrastructure.adapter.output.persistence.inmemory;
 
+import com.microservices.order.domain.exception.ConcurrentOrderUpdateException;
 import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderGrouping;
 import com.microservices.order.domain.model.OrderId;
 import com.microservices.order.domain.model.OrderStatus;
+import com.microservices.order.domain.model.OrderTotals;
+import com.microservices.order.domain.model.OrderTransition;
 import com.microservices.order.domain.repository.OrderRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
@@ -11,7 +18,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -21,48 +30,171 @@ import java.util.stream.Collectors;
  * 
  * Características:
  * - Usa un ConcurrentHashMap para almacenamiento thread-safe
- * - Solo activo en perfil 'dev'
- * - Los datos se pierden al reiniciar la aplicación
+ * - Solo activo en perfil 'dev' (con order-store.layout=compact se usa
+ *   CompactOrderRepository, que ocupa mucha menos memoria)
+ * - Los datos se pierden al reiniciar la aplicación, salvo que se active
+ *   el journal (order-store.durability.enabled, ver OrderJournal)
  * - Útil para pruebas rápidas sin base de datos
  * 
+ * Concurrencia optimista: save() es un compare-and-set sobre la versión
+ * con ConcurrentHashMap.compute() (atómico por orden). Se guardan y se
+ * devuelven COPIAS: si no, quien modifica una orden leída estaría
+ * modificando la almacenada y la comprobación de versión no serviría.
+ * 
+ * transitionStatus() aplica el cambio dentro de computeIfPresent(): el
+ * mapa bloquea solo el bucket de esa orden, así que los cambios de una
+ * misma orden se serializan sin conflictos ni reintentos y los de órdenes
+ * distintas no se esperan entre sí.
+ * 
+ * aggregate() responde con totales acumulados en cada escritura
+ * (OrderTotalsIndex), sin recorrer las órdenes. findByUserId() lee del
+ * índice por usuario y fecha (OrderHistoryIndex) solo las órdenes de la
+ * página.
+ * 
+ * Con journal, cada escritura se registra en el WAL dentro del mismo
+ * compute() que la aplica, y al arrancar el mapa se reconstruye con el
+ * último snapshot + WAL antes de atender ninguna petición.
+ * 
  * En producción, reemplazar por implementación JPA con PostgreSQL.
  */
 @Repository
 @Profile("dev")
+@ConditionalOnProperty(prefix = "order-store", name = "layout", havingValue = "map", matchIfMissing = true)
 public class InMemoryOrderRepository implements OrderRepository {
 
     private final Map<OrderId, Order> store = new ConcurrentHashMap<>();
+    private final OrderTotalsIndex totals = new OrderTotalsIndex();
+    private final OrderHistoryIndex history = new OrderHistoryIndex();
+
+    /**
+     * null = solo memoria
+     */
+    private final OrderJournal journal;
+
+    public InMemoryOrderRepository() {
+        this.journal = null;
+    }
+
+    @Autowired
+    public InMemoryOrderRepository(ObjectProvider<OrderJournal> journal) {
+        this.journal = journal.getIfAvailable();
+        if (this.journal != null) {
+            this.journal.recover(store);
+            store.values().forEach(order -> {
+                totals.replaced(null, order);
+                history.replaced(null, order);
+            });
+        }
+    }
 
     @Override
     public Order save(Order order) {
-        store.put(order.getId(), order);
-        return order;
+        Order saved = journaled(() -> store.compute(order.getId(), (id, stored) -> {
+            long current = stored == null ? 0 : stored.getVersion();
+            if (current != order.getVersion()) {
+                throw new ConcurrentOrderUpdateException(id.toString(), order.getVersion());
+            }
+            Order copy = copyOf(order);
+            copy.setVersion(current + 1);
+            record(copy);
+            totals.replaced(stored, copy);
+            history.replaced(stored, copy);
+            return copy;
+        }));
+        return copyOf(saved);
+    }
+
+    @Override
+    public Optional<OrderTransition> transitionStatus(OrderId id, OrderStatus target) {
+        OrderStatus[] previous = new OrderStatus[1];
+        Order result = journaled(() -> store.computeIfPresent(id, (key, stored) -> {
+            previous[0] = stored.getStatus();
+            if (stored.getStatus() == target) {
+                return stored;
+            }
+            Order copy = copyOf(stored);
+            copy.transitionTo(target);
+            copy.setVersion(stored.getVersion() + 1);
+            record(copy);
+            totals.replaced(stored, copy);
+            history.replaced(stored, copy);
+            return copy;
+        }));
+        return result == null ? Optional.empty() : Optional.of(new OrderTransition(previous[0], copyOf(result)));
+    }
+
+    @Override
+    public List<OrderTotals> aggregate(OrderGrouping grouping) {
+        return totals.totals(grouping);
+    }
+
+    /**
+     * Una orden borrada entre la lectura del índice y la del mapa no
+     * aparece (la página sale con una orden menos)
+     */
+    @Override
+    public List<Order> findByUserId(UUID userId, int offset, int limit) {
+        List<Order> orders = new ArrayList<>();
+        for (OrderId id : history.page(userId, offset, limit)) {
+            Order order = store.get(id);
+            if (order != null) {
+                orders.add(copyOf(order));
+            }
+        }
+        return orders;
     }
 
     @Override
     public Optional<Order> findById(OrderId id) {
-        return Optional.ofNullable(store.get(id));
+        return Optional.ofNullable(store.get(id)).map(InMemoryOrderRepository::copyOf);
     }
 
     @Override
     public List<Order> findAll() {
-        return new ArrayList<>(store.values());
+        List<Order> orders = new ArrayList<>(store.size());
+        for (Order order : store.values()) {
+            orders.add(copyOf(order));
+        }
+        return orders;
     }
 
     @Override
     public List<Order> findByStatus(OrderStatus status) {
         return store.values().stream()
                 .filter(order -> order.getStatus() == status)
+                .map(InMemoryOrderRepository::copyOf)
                 .collect(Collectors.toList());
     }
 
     @Override
     public void deleteById(OrderId id) {
-        store.remove(id);
+        journaled(() -> store.computeIfPresent(id, (key, stored) -> {
+            if (journal != null) {
+                journal.recordDelete(key);
+            }
+            totals.replaced(stored, null);
+            history.replaced(stored, null);
+            return null;
+        }));
     }
 
     @Override
     public boolean existsById(OrderId id) {
         return store.containsKey(id);
     }
+
+    private <T> T journaled(Supplier<T> mutation) {
+        return journal == null ? mutation.get() : journal.write(mutation);
+    }
+
+    private void record(Order order) {
+        if (journal != null) {
+            journal.recordSave(order);
+        }
+    }
+
+    private static Order copyOf(Order order) {
+        return new Order(order.getId(), order.getUserId(), order.getTotalAmount(), order.getStatus(),
+                order.getCreatedAt(), order.getUpdatedAt(), order.getVersion());
+    }
 }
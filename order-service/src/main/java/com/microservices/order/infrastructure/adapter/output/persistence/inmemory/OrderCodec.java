@@ -0,0 +1,100 @@
+package com.microservices.order.infrastructure.adapter.output.persistence.inmemory;
+
+import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderId;
+import com.microservices.order.domain.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * 🧬 ORDER CODEC - Formato binario de una orden (WAL y snapshots)
+ *
+ * id(16) userId(16) status(1) scale(4) unscaledLength(1) unscaled(n)
+ * createdAt(1 + 12) updatedAt(1 + 12) version(8)
+ *
+ * Las fechas van como segundos UTC + nanos: sin zona horaria, igual que
+ * LocalDateTime. Un BigDecimal de un importe ocupa pocos bytes.
+ */
+final class OrderCodec {
+
+    /**
+     * Tamaño máximo de una orden codificada (unscaled ≤ 127 bytes)
+     */
+    static final int MAX_SIZE = 16 + 16 + 1 + 4 + 1 + 127 + 13 + 13 + 8;
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private OrderCodec() {
+    }
+
+    static void write(ByteBuffer buffer, Order order) {
+        writeId(buffer, order.getId());
+        writeUuid(buffer, order.getUserId());
+        buffer.put((byte) order.getStatus().ordinal());
+        BigDecimal amount = order.getTotalAmount();
+        byte[] unscaled = amount.unscaledValue().toByteArray();
+        if (unscaled.length > 127) {
+            throw new IllegalArgumentException("Importe demasiado grande para el journal: " + amount);
+        }
+        buffer.putInt(amount.scale());
+        buffer.put((byte) unscaled.length);
+        buffer.put(unscaled);
+        writeTimestamp(buffer, order.getCreatedAt());
+        writeTimestamp(buffer, order.getUpdatedAt());
+        buffer.putLong(order.getVersion());
+    }
+
+    static Order read(ByteBuffer buffer) {
+        OrderId id = readId(buffer);
+        UUID userId = readUuid(buffer);
+        OrderStatus status = STATUSES[buffer.get()];
+        int scale = buffer.getInt();
+        byte[] unscaled = new byte[buffer.get()];
+        buffer.get(unscaled);
+        LocalDateTime createdAt = readTimestamp(buffer);
+        LocalDateTime updatedAt = readTimestamp(buffer);
+        long version = buffer.getLong();
+        return new Order(id, userId, new BigDecimal(new BigInteger(unscaled), scale), status,
+                createdAt, updatedAt, version);
+    }
+
+    static void writeId(ByteBuffer buffer, OrderId id) {
+        writeUuid(buffer, id.value());
+    }
+
+    static OrderId readId(ByteBuffer buffer) {
+        return new OrderId(readUuid(buffer));
+    }
+
+    private static void writeUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits());
+        buffer.putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    /**
+     * Byte de presencia + segundos + nanos (las fechas pueden ser null)
+     */
+    private static void writeTimestamp(ByteBuffer buffer, LocalDateTime timestamp) {
+        buffer.put((byte) (timestamp == null ? 0 : 1));
+        if (timestamp != null) {
+            buffer.putLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+            buffer.putInt(timestamp.getNano());
+        }
+    }
+
+    private static LocalDateTime readTimestamp(ByteBuffer buffer) {
+        if (buffer.get() == 0) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,87 @@
+package com.microservices.order.infrastructure.adapter.output.persistence.inmemory;
+
+import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderId;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * 👤 ORDER HISTORY INDEX - Órdenes de cada usuario ordenadas por fecha
+ *
+ * Para cada usuario, un ConcurrentSkipListSet con (createdAt, id) de sus
+ * órdenes, de la más reciente a la más antigua (mismo orden que
+ * OrderRepository.findByUserId()). Una página cuesta lo que mide el
+ * historial hasta esa página, no el total de órdenes del almacén.
+ *
+ * Como OrderTotalsIndex, el repositorio llama a replaced() dentro del
+ * compute()/bloqueo de la orden. Los cambios de un mismo usuario se
+ * serializan con compute() sobre su entrada, así que un conjunto vacío se
+ * puede quitar del mapa sin perder un alta concurrente. Las lecturas no
+ * bloquean (iterador débilmente consistente).
+ */
+final class OrderHistoryIndex {
+
+    private static final Comparator<Entry> NEWEST_FIRST =
+            Comparator.comparing(Entry::createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(entry -> entry.id().value());
+
+    private final Map<UUID, NavigableSet<Entry>> byUser = new ConcurrentHashMap<>();
+
+    private record Entry(LocalDateTime createdAt, OrderId id) {
+    }
+
+    /**
+     * @param previous orden guardada antes (null si es nueva)
+     * @param current  orden guardada ahora (null si se borró)
+     */
+    void replaced(Order previous, Order current) {
+        Entry before = previous == null ? null : new Entry(previous.getCreatedAt(), previous.getId());
+        Entry after = current == null ? null : new Entry(current.getCreatedAt(), current.getId());
+        if (before != null && before.equals(after) && previous.getUserId().equals(current.getUserId())) {
+            // Cambios de estado o importe: la posición no cambia
+            return;
+        }
+        if (before != null) {
+            byUser.computeIfPresent(previous.getUserId(), (user, entries) -> {
+                entries.remove(before);
+                return entries.isEmpty() ? null : entries;
+            });
+        }
+        if (after != null) {
+            byUser.compute(current.getUserId(), (user, entries) -> {
+                NavigableSet<Entry> result = entries == null ? new ConcurrentSkipListSet<>(NEWEST_FIRST) : entries;
+                result.add(after);
+                return result;
+            });
+        }
+    }
+
+    /**
+     * Ids de una página del historial del usuario, más recientes primero
+     */
+    List<OrderId> page(UUID userId, int offset, int limit) {
+        NavigableSet<Entry> entries = byUser.get(userId);
+        if (entries == null || limit <= 0) {
+            return List.of();
+        }
+        List<OrderId> ids = new ArrayList<>(Math.min(limit, 64));
+        Iterator<Entry> iterator = entries.iterator();
+        for (int skipped = 0; skipped < offset && iterator.hasNext(); skipped++) {
+            iterator.next();
+        }
+        while (ids.size() < limit && iterator.hasNext()) {
+            ids.add(iterator.next().id());
+        }
+        return ids;
+    }
+
+}
@@ -0,0 +1,558 @@
+package com.microservices.order.infrastructure.adapter.output.persistence.inmemory;
+
+import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderId;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 📒 ORDER JOURNAL - Durabilidad opcional de InMemoryOrderRepository
+ *
+ * Write-ahead log + snapshots para un único nodo: las lecturas siguen
+ * siendo del mapa en memoria y, tras un reinicio o una caída, el mapa se
+ * reconstruye con el último snapshot y los registros escritos después.
+ *
+ * WAL (wal-NNNN.log): segmentos de tamaño fijo mapeados en memoria
+ * (MappedByteBuffer). Cada registro es [longitud][crc32c][tipo][orden]:
+ * SAVE lleva la orden completa y DELETE solo el id, así que reaplicar un
+ * registro es idempotente. La longitud se escribe la última; un registro
+ * a medias (caída) se detecta por CRC y se descarta en la recuperación.
+ *
+ * fsync (FsyncPolicy):
+ * - ALWAYS: cada escritura espera a que sus bytes estén en disco. Group
+ *   commit: un solo force() cubre a todos los hilos que esperaban.
+ * - INTERVAL: force() periódico; se pueden perder los últimos milisegundos.
+ * - NEVER: lo decide el sistema operativo (sobrevive a un reinicio de la
+ *   JVM, no a una caída de la máquina).
+ *
+ * Snapshots (snapshot-NNNN.bin): copia binaria compacta de todas las
+ * órdenes, periódica y al cerrar. NNNN es el primer segmento del WAL que
+ * hay que aplicar después; los segmentos y snapshots anteriores se borran.
+ * Se escribe en un fichero temporal y se renombra: o está entero o no está.
+ *
+ * Las escrituras del repositorio se registran DENTRO de compute(), así el
+ * orden del WAL para una orden es el mismo que el del mapa. Un snapshot
+ * bloquea un instante las escrituras (write()) para cambiar de segmento
+ * y copiar las referencias: las órdenes guardadas no se modifican nunca.
+ */
+@Slf4j
+public class OrderJournal implements AutoCloseable {
+
+    public enum FsyncPolicy {
+        ALWAYS,
+        INTERVAL,
+        NEVER
+    }
+
+    private static final byte SAVE = 1;
+    private static final byte DELETE = 2;
+
+    /**
+     * longitud (4) + crc (4)
+     */
+    private static final int RECORD_HEADER = 8;
+    private static final int MAX_RECORD = 1 + OrderCodec.MAX_SIZE;
+
+    private static final int SNAPSHOT_MAGIC = 0x4F52444A; // "ORDJ"
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final int SNAPSHOT_BUFFER = 1 << 20;
+
+    private static final Pattern SEGMENT_FILE = Pattern.compile("wal-(\\d+)\\.log");
+    private static final Pattern SNAPSHOT_FILE = Pattern.compile("snapshot-(\\d+)\\.bin");
+
+    private final Path directory;
+    private final FsyncPolicy fsyncPolicy;
+    private final int segmentSize;
+    private final Duration fsyncInterval;
+    private final Duration snapshotInterval;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Escrituras del repositorio: lectura (compartido); snapshot: escritura
+     */
+    private final ReentrantReadWriteLock snapshotLock = new ReentrantReadWriteLock();
+    private final Object flushLock = new Object();
+
+    // Segmento actual: solo se modifica con el monitor de this
+    private final ByteBuffer record = ByteBuffer.allocate(MAX_RECORD);
+    private final CRC32C crc = new CRC32C();
+    private long segmentId;
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private volatile long appended;
+    private final AtomicLong flushed = new AtomicLong();
+
+    private Map<OrderId, Order> store;
+    private boolean closed;
+
+    // Métricas
+    private final LongAdder fsyncCount = new LongAdder();
+    private final LongAdder fsyncNanos = new LongAdder();
+    private final LongAdder snapshots = new LongAdder();
+    private volatile long recoveryNanos;
+    private volatile long recoveredOrders;
+
+    public OrderJournal(Path directory, FsyncPolicy fsyncPolicy, Duration fsyncInterval,
+                        int segmentSize, Duration snapshotInterval) {
+        if (segmentSize < RECORD_HEADER + MAX_RECORD + 4) {
+            throw new IllegalArgumentException("segmentSize demasiado pequeño: " + segmentSize);
+        }
+        this.directory = directory;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncInterval = fsyncInterval;
+        this.segmentSize = segmentSize;
+        this.snapshotInterval = snapshotInterval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // ============================================
+    // RECUPERACIÓN
+    // ============================================
+
+    /**
+     * Carga el último snapshot y aplica el WAL sobre store; a partir de
+     * aquí el journal hace snapshots de ese mismo mapa
+     * 
+     * Se llama una vez, al arrancar y antes de cualquier escritura.
+     */
+    public void recover(Map<OrderId, Order> store) {
+        long start = System.nanoTime();
+        boolean intact = true;
+        try {
+            Files.createDirectories(directory);
+
+            long firstSegment = 0;
+            List<Long> snapshotIds = fileIds(SNAPSHOT_FILE);
+            Path snapshot = snapshotIds.isEmpty() ? null : snapshotPath(snapshotIds.get(snapshotIds.size() - 1));
+            if (snapshot != null) {
+                firstSegment = loadSnapshot(snapshot, store);
+            }
+
+            List<Long> segments = fileIds(SEGMENT_FILE);
+            long next = firstSegment;
+            int replayed = 0;
+            for (long id : segments) {
+                if (id < firstSegment) {
+                    Files.deleteIfExists(segmentPath(id));
+                    continue;
+                }
+                next = id + 1;
+                if (!intact) {
+                    // Después de un registro dañado nada es fiable: se aparta, no se aplica
+                    Files.move(segmentPath(id), directory.resolve(segmentPath(id).getFileName() + ".discarded"),
+                            StandardCopyOption.REPLACE_EXISTING);
+                    log.warn("⚠️ Segmento {} descartado (posterior a un registro dañado)", id);
+                    continue;
+                }
+                intact = replay(id, store);
+                replayed++;
+            }
+
+            synchronized (this) {
+                this.store = store;
+                openSegment(next);
+            }
+            recoveredOrders = store.size();
+            recoveryNanos = System.nanoTime() - start;
+            log.info("📒 Journal recuperado: {} órdenes en {} ms (snapshot: {}, segmentos aplicados: {}, fsync: {})",
+                    recoveredOrders, TimeUnit.NANOSECONDS.toMillis(recoveryNanos),
+                    snapshot == null ? "ninguno" : snapshot.getFileName(), replayed, fsyncPolicy);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo recuperar el journal de órdenes en " + directory, e);
+        }
+
+        if (!intact) {
+            // El segmento dañado no puede quedarse: en el siguiente arranque
+            // haría descartar los segmentos escritos a partir de ahora
+            snapshot();
+        }
+
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            long period = fsyncInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(() -> flush(appended), period, period, TimeUnit.MILLISECONDS);
+        }
+        long period = snapshotInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::scheduledSnapshot, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private long loadSnapshot(Path path, Map<OrderId, Order> store) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+            if (buffer.remaining() < 24 || buffer.getInt() != SNAPSHOT_MAGIC || buffer.getInt() != SNAPSHOT_FORMAT) {
+                throw new IllegalStateException("Snapshot no válido: " + path);
+            }
+            long firstSegment = buffer.getLong();
+            int count = buffer.getInt();
+
+            ByteBuffer body = buffer.slice(buffer.position(), buffer.limit() - buffer.position() - 4);
+            CRC32C checksum = new CRC32C();
+            checksum.update(body.duplicate());
+            if ((int) checksum.getValue() != buffer.getInt(buffer.limit() - 4)) {
+                // No se sigue: aplicar el WAL sobre un snapshot dañado perdería órdenes sin avisar
+                throw new IllegalStateException("Snapshot dañado (CRC): " + path);
+            }
+            for (int i = 0; i < count; i++) {
+                Order order = OrderCodec.read(body);
+                store.put(order.getId(), order);
+            }
+            return firstSegment;
+        }
+    }
+
+    /**
+     * @return false si el segmento termina en un registro dañado
+     */
+    private boolean replay(long id, Map<OrderId, Order> store) throws IOException {
+        try (FileChannel file = FileChannel.open(segmentPath(id), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = file.map(FileChannel.MapMode.READ_ONLY, 0, file.size());
+            CRC32C checksum = new CRC32C();
+            while (buffer.remaining() >= RECORD_HEADER) {
+                int position = buffer.position();
+                int length = buffer.getInt();
+                if (length == 0) {
+                    return true;
+                }
+                int expected = buffer.getInt();
+                if (length < 0 || length > buffer.remaining()) {
+                    log.warn("⚠️ Registro incompleto en el segmento {} (posición {}): se ignora el resto", id, position);
+                    return false;
+                }
+                ByteBuffer entry = buffer.slice(buffer.position(), length);
+                checksum.reset();
+                checksum.update(entry.duplicate());
+                if ((int) checksum.getValue() != expected) {
+                    log.warn("⚠️ Registro dañado en el segmento {} (posición {}): se ignora el resto", id, position);
+                    return false;
+                }
+                apply(entry, store);
+                buffer.position(buffer.position() + length);
+            }
+            return true;
+        }
+    }
+
+    private static void apply(ByteBuffer entry, Map<OrderId, Order> store) {
+        byte type = entry.get();
+        if (type == SAVE) {
+            Order order = OrderCodec.read(entry);
+            store.put(order.getId(), order);
+        } else if (type == DELETE) {
+            store.remove(OrderCodec.readId(entry));
+        }
+    }
+
+    // ============================================
+    // ESCRITURA (la usa InMemoryOrderRepository)
+    // ============================================
+
+    /**
+     * Ejecuta una escritura del repositorio (que llama a recordSave() /
+     * recordDelete() dentro de su compute()) y, con FsyncPolicy.ALWAYS,
+     * espera a que esté en disco
+     */
+    public <T> T write(Supplier<T> mutation) {
+        T result;
+        ReentrantReadWriteLock.ReadLock lock = snapshotLock.readLock();
+        lock.lock();
+        try {
+            result = mutation.get();
+        } finally {
+            lock.unlock();
+        }
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+            flush(appended);
+        }
+        return result;
+    }
+
+    public void recordSave(Order order) {
+        append(SAVE, order, null);
+    }
+
+    public void recordDelete(OrderId id) {
+        append(DELETE, null, id);
+    }
+
+    private synchronized void append(byte type, Order order, OrderId id) {
+        if (closed) {
+            throw new IllegalStateException("El journal de órdenes está cerrado");
+        }
+        record.clear();
+        record.put(type);
+        if (order != null) {
+            OrderCodec.write(record, order);
+        } else {
+            OrderCodec.writeId(record, id);
+        }
+        record.flip();
+        int length = record.remaining();
+
+        // Siempre quedan 4 bytes a cero al final: marcan el fin del segmento
+        if (segment.remaining() < RECORD_HEADER + length + 4) {
+            rotate();
+        }
+        crc.reset();
+        crc.update(record.duplicate());
+
+        int position = segment.position();
+        segment.position(position + RECORD_HEADER);
+        segment.put(record);
+        segment.putInt(position + 4, (int) crc.getValue());
+        segment.putInt(position, length);
+        appended += RECORD_HEADER + length;
+    }
+
+    /**
+     * Group commit: si otro hilo ya hizo force() de estos bytes no se repite
+     */
+    private void flush(long upTo) {
+        if (flushed.get() >= upTo) {
+            return;
+        }
+        synchronized (flushLock) {
+            if (flushed.get() >= upTo) {
+                return;
+            }
+            MappedByteBuffer current;
+            long written;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                current = segment;
+                written = appended;
+            }
+            force(current);
+            flushed.accumulateAndGet(written, Math::max);
+        }
+    }
+
+    private void force(MappedByteBuffer buffer) {
+        long start = System.nanoTime();
+        buffer.force();
+        fsyncNanos.add(System.nanoTime() - start);
+        fsyncCount.increment();
+    }
+
+    private synchronized void rotate() {
+        try {
+            if (fsyncPolicy != FsyncPolicy.NEVER) {
+                force(segment);
+                flushed.accumulateAndGet(appended, Math::max);
+            }
+            channel.close();
+            openSegment(segmentId + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir un nuevo segmento del journal", e);
+        }
+    }
+
+    private void openSegment(long id) throws IOException {
+        segmentId = id;
+        channel = FileChannel.open(segmentPath(id),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+    }
+
+    // ============================================
+    // SNAPSHOTS
+    // ============================================
+
+    private void scheduledSnapshot() {
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.error("❌ Error creando el snapshot de órdenes", e);
+        }
+    }
+
+    /**
+     * Escribe todas las órdenes en un snapshot y borra el WAL anterior
+     */
+    public void snapshot() {
+        List<Order> orders;
+        long firstSegment;
+        ReentrantReadWriteLock.WriteLock lock = snapshotLock.writeLock();
+        lock.lock();
+        try {
+            synchronized (this) {
+                if (closed || store == null) {
+                    return;
+                }
+                rotate();
+                firstSegment = segmentId;
+            }
+            orders = new ArrayList<>(store.values());
+        } finally {
+            lock.unlock();
+        }
+
+        long start = System.nanoTime();
+        try {
+            Path target = snapshotPath(firstSegment);
+            Path temp = directory.resolve(target.getFileName() + ".tmp");
+            writeSnapshot(temp, orders, firstSegment);
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            deleteBefore(firstSegment);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el snapshot de órdenes", e);
+        }
+        snapshots.increment();
+        log.info("📒 Snapshot de {} órdenes en {} ms", orders.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * magic(4) formato(4) primerSegmento(8) número(4) | órdenes | crc32c(4) de las órdenes
+     */
+    private static void writeSnapshot(Path path, List<Order> orders, long firstSegment) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(SNAPSHOT_BUFFER);
+            CRC32C checksum = new CRC32C();
+            buffer.putInt(SNAPSHOT_MAGIC).putInt(SNAPSHOT_FORMAT).putLong(firstSegment).putInt(orders.size());
+            drain(file, buffer, null);
+
+            for (Order order : orders) {
+                if (buffer.remaining() < OrderCodec.MAX_SIZE) {
+                    drain(file, buffer, checksum);
+                }
+                OrderCodec.write(buffer, order);
+            }
+            drain(file, buffer, checksum);
+
+            buffer.putInt((int) checksum.getValue());
+            drain(file, buffer, null);
+            file.force(true);
+        }
+    }
+
+    private static void drain(FileChannel file, ByteBuffer buffer, CRC32C checksum) throws IOException {
+        buffer.flip();
+        if (checksum != null) {
+            checksum.update(buffer.duplicate());
+        }
+        while (buffer.hasRemaining()) {
+            file.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void deleteBefore(long firstSegment) throws IOException {
+        for (long id : fileIds(SEGMENT_FILE)) {
+            if (id < firstSegment) {
+                Files.deleteIfExists(segmentPath(id));
+            }
+        }
+        for (long id : fileIds(SNAPSHOT_FILE)) {
+            if (id < firstSegment) {
+                Files.deleteIfExists(snapshotPath(id));
+            }
+        }
+    }
+
+    // ============================================
+    // FICHEROS
+    // ============================================
+
+    private Path segmentPath(long id) {
+        return directory.resolve(String.format("wal-%016d.log", id));
+    }
+
+    private Path snapshotPath(long firstSegment) {
+        return directory.resolve(String.format("snapshot-%016d.bin", firstSegment));
+    }
+
+    private List<Long> fileIds(Pattern pattern) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .map(path -> pattern.matcher(path.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // ============================================
+    // MÉTRICAS
+    // ============================================
+
+    public FsyncPolicy fsyncPolicy() {
+        return fsyncPolicy;
+    }
+
+    public long fsyncCount() {
+        return fsyncCount.sum();
+    }
+
+    public double fsyncTotalTime(TimeUnit unit) {
+        return (double) fsyncNanos.sum() / unit.toNanos(1);
+    }
+
+    public double recoveryTime(TimeUnit unit) {
+        return (double) recoveryNanos / unit.toNanos(1);
+    }
+
+    public long recoveredOrders() {
+        return recoveredOrders;
+    }
+
+    public long snapshotCount() {
+        return snapshots.sum();
+    }
+
+    /**
+     * Snapshot final (el próximo arranque solo lee el snapshot) y cierre del WAL
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        if (store != null) {
+            snapshot();
+        }
+        synchronized (this) {
+            if (closed || channel == null) {
+                closed = true;
+                return;
+            }
+            closed = true;
+            try {
+                if (fsyncPolicy != FsyncPolicy.NEVER) {
+                    force(segment);
+                }
+                channel.close();
+            } catch (IOException e) {
+                log.warn("⚠️ Error cerrando el journal de órdenes: {}", e.getMessage());
+            }
+        }
+    }
+}
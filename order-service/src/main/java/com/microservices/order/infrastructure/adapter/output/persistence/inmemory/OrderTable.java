@@ -0,0 +1,314 @@
+package com.microservices.order.infrastructure.adapter.output.persistence.inmemory;
+
+import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderId;
+import com.microservices.order.domain.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 🧮 ORDER TABLE - Tabla hash de órdenes en memoria fuera del heap
+ *
+ * Direccionamiento abierto con sondeo lineal sobre un buffer directo (no
+ * lo recorre el GC). Cada orden es un slot de 8 longs, 64 bytes, una
+ * línea de caché: buscar y materializar una orden toca una sola línea.
+ *
+ *   idHi | idLo | userHi | userLo | importe | createdAt | updatedAt | meta
+ *   meta = version (48 bits) | escala del importe (8) | estado (8, 0 = libre)
+ *
+ * El importe es el valor sin escala (p.ej. céntimos con escala 2), así que
+ * BigDecimal sale idéntico; las fechas son microsegundos UTC desde epoch
+ * (la precisión de un TIMESTAMP de PostgreSQL).
+ *
+ * El borrado desplaza hacia atrás los slots siguientes (sin tombstones): la
+ * tabla no se degrada con altas y bajas. Al superar el 75 % de ocupación
+ * dobla su capacidad.
+ *
+ * No es thread-safe: CompactOrderRepository bloquea por segmento.
+ */
+final class OrderTable {
+
+    private static final int ID_HI = 0;
+    private static final int ID_LO = 8;
+    private static final int USER_HI = 16;
+    private static final int USER_LO = 24;
+    private static final int AMOUNT = 32;
+    private static final int CREATED = 40;
+    private static final int UPDATED = 48;
+    private static final int META = 56;
+
+    static final int BYTES_PER_SLOT = 64;
+    private static final int SLOT_SHIFT = 6;
+
+    private static final long MAX_VERSION = (1L << 48) - 1;
+
+    /**
+     * 2^24 slots de 64 bytes = 1 GB, el máximo de un ByteBuffer redondeado
+     */
+    private static final int MAX_CAPACITY = 1 << 24;
+
+    private static final long NULL_TIME = Long.MIN_VALUE;
+    private static final long MICROS_PER_SECOND = 1_000_000;
+    private static final long MICROS_PER_DAY = 86_400 * MICROS_PER_SECOND;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    /**
+     * Última fecha decodificada (compartida entre tablas e hilos: una
+     * carrera solo hace que se vuelva a calcular)
+     */
+    private static LocalDate lastDate = LocalDate.EPOCH;
+
+    private ByteBuffer slots;
+    private int capacity;
+    private int mask;
+    private int size;
+
+    OrderTable(int capacity) {
+        if (Integer.bitCount(capacity) != 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("La capacidad debe ser potencia de 2 (≤ 2^24): " + capacity);
+        }
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        // Alineado a 64 para que cada slot sea exactamente una línea de caché
+        this.slots = ByteBuffer.allocateDirect((capacity << SLOT_SHIFT) + BYTES_PER_SLOT)
+                .alignedSlice(BYTES_PER_SLOT)
+                .order(ByteOrder.nativeOrder());
+    }
+
+    static long hash(UUID id) {
+        return hash(id.getMostSignificantBits(), id.getLeastSignificantBits());
+    }
+
+    private static long hash(long hi, long lo) {
+        return mix(hi ^ mix(lo));
+    }
+
+    /**
+     * Finalizador de MurmurHash3
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // ============================================
+    // BÚSQUEDA Y ESCRITURA
+    // ============================================
+
+    /**
+     * @return el slot de la orden o -1 si no está
+     */
+    int find(UUID id, long hash) {
+        long hi = id.getMostSignificantBits();
+        long lo = id.getLeastSignificantBits();
+        for (int slot = (int) hash & mask; status(slot) != 0; slot = (slot + 1) & mask) {
+            if (getLong(ID_HI, slot) == hi && getLong(ID_LO, slot) == lo) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Inserta o sobrescribe la orden con la versión indicada
+     *
+     * @return el slot en el que quedó
+     */
+    int put(Order order, long hash, long version) {
+        // Se valida antes de ocupar el slot: si no cabe, la tabla no cambia
+        checkStorable(order, version);
+        UUID id = order.getId().value();
+        int slot = find(id, hash);
+        if (slot < 0) {
+            if (size + 1 > capacity - (capacity >>> 2)) {
+                grow();
+            }
+            slot = (int) hash & mask;
+            while (status(slot) != 0) {
+                slot = (slot + 1) & mask;
+            }
+            putLong(ID_HI, slot, id.getMostSignificantBits());
+            putLong(ID_LO, slot, id.getLeastSignificantBits());
+            size++;
+        }
+
+        BigDecimal amount = order.getTotalAmount();
+        putLong(USER_HI, slot, order.getUserId().getMostSignificantBits());
+        putLong(USER_LO, slot, order.getUserId().getLeastSignificantBits());
+        putLong(AMOUNT, slot, amount.unscaledValue().longValue());
+        putLong(CREATED, slot, toMicros(order.getCreatedAt()));
+        putLong(UPDATED, slot, toMicros(order.getUpdatedAt()));
+        putLong(META, slot, version << 16 | (amount.scale() & 0xFFL) << 8 | (order.getStatus().ordinal() + 1));
+        return slot;
+    }
+
+    private static void checkStorable(Order order, long version) {
+        if (order.getUserId() == null || order.getTotalAmount() == null || order.getStatus() == null) {
+            throw new IllegalArgumentException("Orden incompleta (userId, totalAmount y status son obligatorios): "
+                    + order.getId());
+        }
+        BigDecimal amount = order.getTotalAmount();
+        if (amount.unscaledValue().bitLength() > 63 || amount.scale() != (byte) amount.scale()) {
+            throw new IllegalArgumentException("Importe no representable en el almacén compacto: " + amount);
+        }
+        if (version < 0 || version > MAX_VERSION) {
+            throw new IllegalArgumentException("Versión fuera de rango: " + version);
+        }
+    }
+
+    /**
+     * Borrado con desplazamiento hacia atrás: los slots siguientes del mismo
+     * tramo que pueden acercarse a su posición ideal ocupan el hueco
+     */
+    boolean remove(UUID id, long hash) {
+        int hole = find(id, hash);
+        if (hole < 0) {
+            return false;
+        }
+        for (int next = (hole + 1) & mask; status(next) != 0; next = (next + 1) & mask) {
+            int home = (int) hash(getLong(ID_HI, next), getLong(ID_LO, next)) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                copySlot(slots, next, hole);
+                hole = next;
+            }
+        }
+        putLong(META, hole, 0);
+        size--;
+        return true;
+    }
+
+    private void grow() {
+        if (capacity == MAX_CAPACITY) {
+            throw new IllegalStateException("Segmento de órdenes lleno (" + size + " órdenes)");
+        }
+        ByteBuffer old = slots;
+        int oldCapacity = capacity;
+        allocate(capacity << 1);
+        for (int from = 0; from < oldCapacity; from++) {
+            int base = from << SLOT_SHIFT;
+            if ((old.getLong(base + META) & 0xFF) == 0) {
+                continue;
+            }
+            int to = (int) hash(old.getLong(base + ID_HI), old.getLong(base + ID_LO)) & mask;
+            while (status(to) != 0) {
+                to = (to + 1) & mask;
+            }
+            copySlot(old, from, to);
+        }
+    }
+
+    private void copySlot(ByteBuffer from, int fromSlot, int toSlot) {
+        int source = fromSlot << SLOT_SHIFT;
+        int target = toSlot << SLOT_SHIFT;
+        for (int offset = 0; offset < BYTES_PER_SLOT; offset += Long.BYTES) {
+            slots.putLong(target + offset, from.getLong(source + offset));
+        }
+    }
+
+    // ============================================
+    // LECTURA: la orden se materializa aquí
+    // ============================================
+
+    Order read(int slot) {
+        return read(slot, new OrderId(new UUID(getLong(ID_HI, slot), getLong(ID_LO, slot))));
+    }
+
+    /**
+     * Para quien ya tiene el id de la orden (búsquedas por id)
+     */
+    Order read(int slot, OrderId id) {
+        long meta = getLong(META, slot);
+        return new Order(
+                id,
+                new UUID(getLong(USER_HI, slot), getLong(USER_LO, slot)),
+                BigDecimal.valueOf(getLong(AMOUNT, slot), (byte) (meta >>> 8)),
+                STATUSES[(int) (meta & 0xFF) - 1],
+                fromMicros(getLong(CREATED, slot)),
+                fromMicros(getLong(UPDATED, slot)),
+                meta >>> 16
+        );
+    }
+
+    long version(int slot) {
+        return getLong(META, slot) >>> 16;
+    }
+
+    /**
+     * Añade a out las órdenes de la tabla (todas si status es null); el
+     * filtro mira solo el estado, sin materializar
+     */
+    void collect(OrderStatus status, List<Order> out) {
+        int wanted = status == null ? 0 : status.ordinal() + 1;
+        for (int slot = 0; slot < capacity; slot++) {
+            int stored = status(slot);
+            if (stored != 0 && (wanted == 0 || stored == wanted)) {
+                out.add(read(slot));
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    long offHeapBytes() {
+        return slots.capacity();
+    }
+
+    // ============================================
+    // CAMPOS
+    // ============================================
+
+    private int status(int slot) {
+        return (int) (getLong(META, slot) & 0xFF);
+    }
+
+    private long getLong(int field, int slot) {
+        return slots.getLong((slot << SLOT_SHIFT) + field);
+    }
+
+    private void putLong(int field, int slot, long value) {
+        slots.putLong((slot << SLOT_SHIFT) + field, value);
+    }
+
+    /**
+     * Precisión con la que se guardan las fechas (NULL_TIME si es null)
+     */
+    static long toMicros(LocalDateTime time) {
+        if (time == null) {
+            return NULL_TIME;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        if (micros == NULL_TIME) {
+            return null;
+        }
+        long day = Math.floorDiv(micros, MICROS_PER_DAY);
+        // Casi todas las lecturas son de órdenes de los mismos días: se
+        // reutiliza la fecha ya calculada (LocalDate es inmutable)
+        LocalDate date = lastDate;
+        if (date.toEpochDay() != day) {
+            date = LocalDate.ofEpochDay(day);
+            lastDate = date;
+        }
+        return LocalDateTime.of(date, LocalTime.ofNanoOfDay(Math.floorMod(micros, MICROS_PER_DAY) * 1_000));
+    }
+}
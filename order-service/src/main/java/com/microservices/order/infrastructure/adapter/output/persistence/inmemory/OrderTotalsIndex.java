@@ -0,0 +1,83 @@
+package com.microservices.order.infrastructure.adapter.output.persistence.inmemory;
+
+import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderGrouping;
+import com.microservices.order.domain.model.OrderTotals;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📊 ORDER TOTALS INDEX - Totales acumulados de los repositorios en memoria
+ *
+ * Número de órdenes e importe por estado, por usuario y por hora de
+ * creación, actualizados en cada escritura con la diferencia entre la
+ * orden guardada antes y después. aggregate() no recorre las órdenes:
+ * su coste depende del número de grupos. Los días se obtienen sumando
+ * sus horas.
+ *
+ * El repositorio llama a replaced() dentro del compute()/bloqueo de la
+ * orden, así que los cambios de una misma orden llegan en orden. Un grupo
+ * sin órdenes desaparece.
+ */
+final class OrderTotalsIndex {
+
+    private final Map<String, OrderTotals> byStatus = new ConcurrentHashMap<>();
+    private final Map<String, OrderTotals> byUser = new ConcurrentHashMap<>();
+    private final Map<String, OrderTotals> byHour = new ConcurrentHashMap<>();
+
+    /**
+     * @param previous orden guardada antes (null si es nueva)
+     * @param current  orden guardada ahora (null si se borró)
+     */
+    void replaced(Order previous, Order current) {
+        update(byStatus, OrderGrouping.STATUS, previous, current);
+        update(byUser, OrderGrouping.USER, previous, current);
+        update(byHour, OrderGrouping.HOUR, previous, current);
+    }
+
+    private static void update(Map<String, OrderTotals> totals, OrderGrouping grouping,
+                               Order previous, Order current) {
+        String before = previous == null ? null : grouping.groupOf(previous);
+        String after = current == null ? null : grouping.groupOf(current);
+        if (before != null && before.equals(after)
+                && previous.getTotalAmount().compareTo(current.getTotalAmount()) == 0) {
+            // p.ej. un cambio de estado no toca los totales por usuario
+            return;
+        }
+        if (before != null) {
+            add(totals, OrderTotals.of(before, previous).negate());
+        }
+        if (after != null) {
+            add(totals, OrderTotals.of(after, current));
+        }
+    }
+
+    private static void add(Map<String, OrderTotals> totals, OrderTotals delta) {
+        totals.compute(delta.group(), (group, stored) -> {
+            OrderTotals result = stored == null ? delta : stored.plus(delta);
+            return result.count() == 0 ? null : result;
+        });
+    }
+
+    List<OrderTotals> totals(OrderGrouping grouping) {
+        return switch (grouping) {
+            case STATUS -> new ArrayList<>(byStatus.values());
+            case USER -> new ArrayList<>(byUser.values());
+            case HOUR -> new ArrayList<>(byHour.values());
+            case DAY -> {
+                Map<String, OrderTotals> byDay = new HashMap<>();
+                for (OrderTotals hour : byHour.values()) {
+                    String day = LocalDateTime.parse(hour.group()).truncatedTo(ChronoUnit.DAYS).toString();
+                    byDay.merge(day, new OrderTotals(day, hour.count(), hour.totalAmount()), OrderTotals::plus);
+                }
+                yield new ArrayList<>(byDay.values());
+            }
+        };
+    }
+}
@@ -0,0 +1,183 @@
+package com.microservices.order.infrastructure.adapter.output.persistence.jdbc;
+
+import com.microservices.order.domain.exception.ConcurrentOrderUpdateException;
+import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderGrouping;
+import com.microservices.order.domain.model.OrderId;
+import com.microservices.order.domain.model.OrderStatus;
+import com.microservices.order.domain.model.OrderTotals;
+import com.microservices.order.domain.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 🔌 JDBC ORDER REPOSITORY ADAPTER - Adaptador de Salida
+ *
+ * Implementación del repositorio con PostgreSQL/H2 para todos los perfiles
+ * salvo 'dev' (que usa InMemoryOrderRepository). Tabla: db/order-schema.sql
+ *
+ * Concurrencia optimista sin bloqueos:
+ * - Orden nueva (versión 0) → INSERT con versión 1 (si el id ya existe, conflicto)
+ * - Orden existente → UPDATE ... SET version = version + 1 WHERE id = ? AND version = ?
+ *   Si no se actualiza ninguna fila, otra petición (o réplica) guardó antes.
+ *
+ * aggregate() es un GROUP BY en la base de datos: solo viajan los totales.
+ * findByUserId() recorre el índice idx_orders_user_created, que incluye
+ * todas las columnas que se leen (sin acceder a la tabla).
+ *
+ * JdbcTemplate en lugar de JPA: cada lectura va a la base de datos. Con JPA
+ * un reintento dentro de la misma transacción volvería a leer la entidad
+ * de la caché de primer nivel, con la versión antigua.
+ */
+@Repository
+@Profile("!dev")
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcOrderRepositoryAdapter implements OrderRepository {
+
+    private static final String COLUMNS = "id, user_id, total_amount, status, created_at, updated_at, version";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO orders (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE orders SET total_amount = ?, status = ?, updated_at = ?, version = version + 1 "
+            + "WHERE id = ? AND version = ?";
+
+    private static final RowMapper<Order> ORDER_MAPPER = JdbcOrderRepositoryAdapter::toDomain;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Order save(Order order) {
+        log.debug("💾 Guardando orden {} (versión {})", order.getId(), order.getVersion());
+
+        if (order.getVersion() == 0) {
+            try {
+                jdbcTemplate.update(INSERT_SQL,
+                        order.getId().value(),
+                        order.getUserId(),
+                        order.getTotalAmount(),
+                        order.getStatus().name(),
+                        order.getCreatedAt(),
+                        order.getUpdatedAt(),
+                        1L);
+            } catch (DuplicateKeyException e) {
+                throw new ConcurrentOrderUpdateException(order.getId().toString(), 0);
+            }
+        } else {
+            int updated = jdbcTemplate.update(UPDATE_SQL,
+                    order.getTotalAmount(),
+                    order.getStatus().name(),
+                    order.getUpdatedAt(),
+                    order.getId().value(),
+                    order.getVersion());
+            if (updated == 0) {
+                throw new ConcurrentOrderUpdateException(order.getId().toString(), order.getVersion());
+            }
+        }
+
+        return new Order(order.getId(), order.getUserId(), order.getTotalAmount(), order.getStatus(),
+                order.getCreatedAt(), order.getUpdatedAt(), order.getVersion() + 1);
+    }
+
+    @Override
+    public List<OrderTotals> aggregate(OrderGrouping grouping) {
+        log.debug("📊 Agregando órdenes por {}", grouping);
+
+        String group = switch (grouping) {
+            case STATUS -> "status";
+            case USER -> "user_id";
+            case HOUR -> "DATE_TRUNC('HOUR', created_at)";
+            case DAY -> "DATE_TRUNC('DAY', created_at)";
+        };
+        return jdbcTemplate.query(
+                "SELECT " + group + " AS grp, COUNT(*) AS cnt, SUM(total_amount) AS total FROM orders GROUP BY " + group,
+                (rs, rowNum) -> new OrderTotals(
+                        groupKey(grouping, rs),
+                        rs.getLong("cnt"),
+                        rs.getBigDecimal("total")));
+    }
+
+    /**
+     * Misma clave que OrderGrouping.groupOf() (p.ej. "2024-01-15T10:00")
+     */
+    private static String groupKey(OrderGrouping grouping, ResultSet rs) throws SQLException {
+        return switch (grouping) {
+            case STATUS -> rs.getString("grp");
+            case USER -> rs.getObject("grp", UUID.class).toString();
+            case HOUR, DAY -> rs.getObject("grp", LocalDateTime.class).toString();
+        };
+    }
+
+    @Override
+    public List<Order> findByUserId(UUID userId, int offset, int limit) {
+        log.debug("👤 Obteniendo órdenes del usuario {} (offset {}, limit {})", userId, offset, limit);
+
+        return jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM orders WHERE user_id = ? ORDER BY created_at DESC, id LIMIT ? OFFSET ?",
+                ORDER_MAPPER, userId, limit, offset);
+    }
+
+    @Override
+    public Optional<Order> findById(OrderId id) {
+        log.debug("🔍 Buscando orden por ID: {}", id);
+
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM orders WHERE id = ?", ORDER_MAPPER, id.value())
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<Order> findAll() {
+        log.debug("📋 Obteniendo todas las órdenes");
+
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM orders", ORDER_MAPPER);
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        log.debug("📋 Obteniendo órdenes en estado {}", status);
+
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM orders WHERE status = ?", ORDER_MAPPER, status.name());
+    }
+
+    @Override
+    public void deleteById(OrderId id) {
+        log.debug("🗑️ Eliminando orden: {}", id);
+
+        jdbcTemplate.update("DELETE FROM orders WHERE id = ?", id.value());
+    }
+
+    @Override
+    public boolean existsById(OrderId id) {
+        return !jdbcTemplate.queryForList("SELECT 1 FROM orders WHERE id = ?", Integer.class, id.value()).isEmpty();
+    }
+
+    /**
+     * Fila de la tabla orders → Order (dominio)
+     */
+    private static Order toDomain(ResultSet rs, int rowNum) throws SQLException {
+        return new Order(
+                new OrderId(rs.getObject("id", UUID.class)),
+                rs.getObject("user_id", UUID.class),
+                rs.getBigDecimal("total_amount"),
+                OrderStatus.valueOf(rs.getString("status")),
+                rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class),
+                rs.getLong("version")
+        );
+    }
+}
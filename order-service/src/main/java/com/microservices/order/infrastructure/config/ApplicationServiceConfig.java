@@ -1,20 +1,42 @@
 package com.microservices.order.infrastructure.config;
 
+import com.microservices.common.application.SingleFlight;
+import com.microservices.order.application.dto.OrderResponse;
 import com.microservices.order.application.port.output.PublishOrderEventPort;
 import com.microservices.order.application.port.output.UserValidationPort;
+import com.microservices.order.application.service.FanOut;
 import com.microservices.order.application.service.OrderService;
+import com.microservices.order.application.usecase.AggregateOrdersUseCase;
 import com.microservices.order.application.usecase.CreateOrderUseCase;
 import com.microservices.order.application.usecase.DeleteOrderUseCase;
 import com.microservices.order.application.usecase.FindAllOrdersUseCase;
 import com.microservices.order.application.usecase.FindOrderByIdUseCase;
+import com.microservices.order.application.usecase.FindOrdersByUserUseCase;
 import com.microservices.order.application.usecase.UpdateOrderStatusUseCase;
 import com.microservices.order.domain.repository.OrderRepository;
+import com.microservices.order.infrastructure.adapter.output.client.UserResponse;
 import com.microservices.order.infrastructure.adapter.output.client.UserServiceClient;
 import com.microservices.order.infrastructure.adapter.output.client.UserValidationAdapter;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
 /**
  * ⚙️ APPLICATION SERVICE CONFIG
  * 
@@ -40,9 +62,27 @@ import org.springframework.transaction.annotation.Transactional;
 @Configuration
 public class ApplicationServiceConfig {
 
+    /**
+     * Consultas simultáneas del mismo usuario → una llamada a user-service
+     * 
+     * Métricas: single_flight_calls_total{name="user-service", outcome}
+     * (executed = llamadas hechas, coalesced = las que esperaron a otra)
+     */
     @Bean
-    public UserValidationPort userValidationPort(UserServiceClient userServiceClient) {
-        return new UserValidationAdapter(userServiceClient);
+    public UserValidationPort userValidationPort(UserServiceClient userServiceClient,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        SingleFlight<String, UserResponse> userLookups = new SingleFlight<>();
+        meterRegistry.ifAvailable(registry -> {
+            FunctionCounter.builder("single.flight.calls", userLookups, SingleFlight::executions)
+                .description("Consultas de usuarios: ejecutadas o agrupadas con otra en curso")
+                .tags("name", "user-service", "outcome", "executed")
+                .register(registry);
+            FunctionCounter.builder("single.flight.calls", userLookups, SingleFlight::coalesced)
+                .description("Consultas de usuarios: ejecutadas o agrupadas con otra en curso")
+                .tags("name", "user-service", "outcome", "coalesced")
+                .register(registry);
+        });
+        return new UserValidationAdapter(userServiceClient, userLookups);
     }
 
     /**
@@ -56,8 +96,46 @@ public class ApplicationServiceConfig {
     public OrderService orderService(
             OrderRepository orderRepository,
             UserValidationPort userValidationPort,
-            PublishOrderEventPort publishOrderEventPort) {
-        return new OrderService(orderRepository, userValidationPort, publishOrderEventPort);
+            PublishOrderEventPort publishOrderEventPort,
+            ObjectProvider<FanOut> createOrderFanOut) {
+        return new OrderService(orderRepository, userValidationPort, publishOrderEventPort,
+                createOrderFanOut.getIfAvailable());
+    }
+
+    /**
+     * Pool para los pasos independientes del alta de una orden (la consulta
+     * a user-service mientras se crea la orden, con un plazo común).
+     * 
+     * Solo con order-create.parallel=true: hoy el alta tiene una única
+     * llamada remota y el salto de hilo cuesta más de lo que solapa
+     * (CreateOrderLatencyBenchmark). Sin él, el plazo de la consulta lo
+     * pone user-service.timeout (HttpClientConfig).
+     * 
+     * - ContextExecutorService: los pasos heredan el contexto de tracing de
+     *   la petición (el span de user-service cuelga de POST /orders)
+     * - Cola acotada + CallerRunsPolicy: si el pool se satura, el paso se
+     *   ejecuta en el hilo de la petición (como el alta secuencial)
+     * 
+     * No es un bean Executor para no sustituir el applicationTaskExecutor
+     * de Spring Boot.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "order-create", name = "parallel", havingValue = "true")
+    public FanOut createOrderFanOut(
+            @Value("${order-create.threads:16}") int threads,
+            @Value("${order-create.deadline:5s}") Duration deadline) {
+        AtomicInteger counter = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 8),
+                task -> {
+                    Thread thread = new Thread(task, "order-create-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        ContextSnapshotFactory snapshots = ContextSnapshotFactory.builder().build();
+        return new FanOut(ContextExecutorService.wrap(pool, snapshots::captureAll), deadline);
     }
 
     // Exponer OrderService mediante sus interfaces para que los controllers inyecten interfaces
@@ -73,13 +151,45 @@ public class ApplicationServiceConfig {
     @Bean
     @Transactional(readOnly = true)  // Lectura: transacción de solo lectura
     public FindOrderByIdUseCase findOrderByIdUseCase(OrderService orderService) {
-        return orderId -> orderService.execute(orderId);
+        return new FindOrderByIdUseCase() {
+            @Override
+            public OrderResponse execute(String orderId) {
+                return orderService.execute(orderId);
+            }
+
+            @Override
+            public Optional<OrderResponse> executeIfModified(String orderId, Predicate<String> alreadyKnown) {
+                return orderService.executeIfModified(orderId, alreadyKnown);
+            }
+        };
     }
 
     @Bean
     @Transactional(readOnly = true)  // Lectura: transacción de solo lectura
     public FindAllOrdersUseCase findAllOrdersUseCase(OrderService orderService) {
-        return () -> orderService.execute();
+        return new FindAllOrdersUseCase() {
+            @Override
+            public List<OrderResponse> execute() {
+                return orderService.execute();
+            }
+
+            @Override
+            public Optional<List<OrderResponse>> executeIfModified(Predicate<String> alreadyKnown) {
+                return orderService.executeIfModified(alreadyKnown);
+            }
+        };
+    }
+
+    @Bean
+    @Transactional(readOnly = true)  // Lectura: transacción de solo lectura
+    public FindOrdersByUserUseCase findOrdersByUserUseCase(OrderService orderService) {
+        return (userId, page, size) -> orderService.execute(userId, page, size);
+    }
+
+    @Bean
+    @Transactional(readOnly = true)  // Lectura: transacción de solo lectura
+    public AggregateOrdersUseCase aggregateOrdersUseCase(OrderService orderService) {
+        return grouping -> orderService.execute(grouping);
     }
 
     @Bean
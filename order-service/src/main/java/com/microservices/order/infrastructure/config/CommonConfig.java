@@ -0,0 +1,34 @@
+package com.microservices.order.infrastructure.config;
+
+import com.microservices.common.infrastructure.config.FastStartupConfig;
+import com.microservices.common.infrastructure.config.IdempotencyConfig;
+import com.microservices.common.infrastructure.config.MetricsConfig;
+import com.microservices.common.infrastructure.config.OverloadProtectionConfig;
+import com.microservices.common.infrastructure.config.TracingConfig;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 🧩 COMMON CONFIG - Infraestructura del módulo common
+ *
+ * El escaneo de componentes solo cubre com.microservices.order: las
+ * configuraciones compartidas que usa este servicio se registran aquí.
+ * Lo propio del servicio (rutas, exclusiones) está en application.yml:
+ *
+ * - IdempotencyConfig: Idempotency-Key en POST /orders (idempotency.*)
+ * - OverloadProtectionConfig: rate limit y límite de concurrencia sobre
+ *   /orders (overload.*)
+ * - MetricsConfig: timers de los puertos del hexágono (hexagon.port)
+ * - TracingConfig: spans en local y /actuator/spans (tracing.local.*)
+ * - FastStartupConfig: beans eager con el perfil fast-startup
+ */
+@Configuration
+@Import({
+    OverloadProtectionConfig.class,
+    IdempotencyConfig.class,
+    MetricsConfig.class,
+    TracingConfig.class,
+    FastStartupConfig.class
+})
+public class CommonConfig {
+}
@@ -1,13 +1,19 @@
 package com.microservices.order.infrastructure.config;
 
+import com.microservices.order.application.exception.DeadlineExceededException;
+import com.microservices.order.infrastructure.adapter.output.client.EtagCacheFilter;
 import com.microservices.order.infrastructure.adapter.output.client.UserServiceClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.support.WebClientAdapter;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
 
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
 /**
  * 🔧 HTTP CLIENT CONFIG - Configuración de Clientes HTTP
  * 
@@ -55,6 +61,28 @@ public class HttpClientConfig {
     @Value("${user-service.url:http://localhost:8081}")
     private String userServiceUrl;
 
+    /**
+     * Respuestas de user-service guardadas para GETs condicionales
+     * (If-None-Match → 304). 0 desactiva la caché.
+     */
+    @Value("${user-service.etag-cache.max-entries:10000}")
+    private int etagCacheMaxEntries;
+
+    /**
+     * API key con la que order-service se identifica ante user-service
+     * (X-API-Key). user-service la tiene como de confianza y no aplica
+     * su rate limit a las validaciones de órdenes. Vacía → no se envía.
+     */
+    @Value("${user-service.api-key:}")
+    private String userServiceApiKey;
+
+    /**
+     * Plazo de cada llamada a user-service hasta la respuesta. Es el plazo
+     * del alta de órdenes sin FanOut: si vence → 504 y no se guarda nada.
+     */
+    @Value("${user-service.timeout:5s}")
+    private Duration userServiceTimeout;
+
     /**
      * Registra el cliente HTTP para acceder a User Service
      * 
@@ -64,13 +92,29 @@ public class HttpClientConfig {
      * 3. Genera un proxy automáticamente basado en UserServiceClient
      * 4. El proxy implementa la interface y hace las llamadas HTTP reales
      * 
+     * Se parte del WebClient.Builder de Spring Boot (no de WebClient.builder())
+     * porque ese builder ya trae la ObservationRegistry: cada llamada crea un
+     * span de cliente y propaga la cabecera traceparent a user-service.
+     * 
+     * EtagCacheFilter: validar el mismo usuario en cada orden acaba en un
+     * 304 sin cuerpo en lugar de un 200 con el usuario serializado.
+     * 
+     * El plazo (timeoutFilter) va primero para cubrir también la caché.
+     * 
      * @return Bean de UserServiceClient listo para inyectar
      */
     @Bean
-    public UserServiceClient userServiceClient() {
-        WebClient webClient = WebClient.builder()
+    public UserServiceClient userServiceClient(WebClient.Builder webClientBuilder) {
+        WebClient.Builder builder = webClientBuilder.clone()
                 .baseUrl(userServiceUrl)
-                .build();
+                .filter(timeoutFilter(userServiceTimeout));
+        if (!userServiceApiKey.isBlank()) {
+            builder.defaultHeader("X-API-Key", userServiceApiKey);
+        }
+        if (etagCacheMaxEntries > 0) {
+            builder.filter(new EtagCacheFilter(etagCacheMaxEntries));
+        }
+        WebClient webClient = builder.build();
 
         HttpServiceProxyFactory factory = HttpServiceProxyFactory
                 .builder(WebClientAdapter.create(webClient))
@@ -78,4 +122,15 @@ public class HttpClientConfig {
 
         return factory.createClient(UserServiceClient.class);
     }
+
+    /**
+     * Corta la llamada si user-service no responde dentro del plazo y la
+     * convierte en DeadlineExceededException (→ 504).
+     */
+    static ExchangeFilterFunction timeoutFilter(Duration timeout) {
+        return (request, next) -> next.exchange(request)
+                .timeout(timeout)
+                .onErrorMap(TimeoutException.class,
+                        ex -> new DeadlineExceededException("Consulta a user-service", timeout));
+    }
 }
@@ -1,13 +1,16 @@
 package com.microservices.order.infrastructure.config;
 
-import com.microservices.order.domain.event.OrderCreatedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.MicrometerProducerListener;
 import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 
@@ -23,6 +26,11 @@ import java.util.Map;
  *    - Correo: Kafka broker (bootstrap-servers)
  *    - Empaque: Serializer (cómo empacar el evento)
  *    - Garantías: acks = "all" (confirmar que llegó)
+ * 
+ * 🎛️ Los ajustes (acks, lotes, compresión, idempotencia, transacciones)
+ * salen de un perfil con nombre (KafkaProducerProfile), no de valores
+ * sueltos. Para un ajuste puntual: spring.kafka.producer.properties.*
+ * (se aplica encima del perfil).
  */
 @Configuration
 public class KafkaProducerConfig {
@@ -30,16 +38,53 @@ public class KafkaProducerConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
     
+    /**
+     * Perfil del productor: low-latency, balanced, high-throughput o
+     * exactly-once (ver KafkaProducerProfile)
+     */
+    @Value("${kafka.producer.profile:balanced}")
+    private String profile;
+    
+    /**
+     * Prefijo de transactional.id (solo perfil exactly-once). Debe ser
+     * estable por instancia y distinto entre instancias: con el mismo id
+     * el broker aparta ("fencing") al productor antiguo de una instancia
+     * reiniciada.
+     */
+    @Value("${kafka.producer.transaction-id-prefix:order-service-}")
+    private String transactionIdPrefix;
+    
     /**
      * ProducerFactory: Fábrica que crea productores de Kafka
      * 
      * Configura:
      * - DÓNDE enviar (bootstrap-servers)
      * - CÓMO empacar (serializers)
-     * - GARANTÍAS de entrega (acks, retries)
+     * - GARANTÍAS y rendimiento: el perfil elegido
+     * 
+     * Con MeterRegistry, las métricas del cliente (kafka.producer.*:
+     * batch-size-avg, record-queue-time-avg, compression-rate-avg...)
+     * salen en /actuator/prometheus para ajustar el perfil con datos.
      */
     @Bean
-    public ProducerFactory<String, OrderCreatedEvent> producerFactory() {
+    public ProducerFactory<String, Object> producerFactory(KafkaProperties kafkaProperties,
+                                                           ObjectProvider<MeterRegistry> meterRegistry) {
+        DefaultKafkaProducerFactory<String, Object> factory = createProducerFactory(
+            bootstrapServers, KafkaProducerProfile.of(profile), transactionIdPrefix,
+            kafkaProperties.getProducer().getProperties());
+        meterRegistry.ifAvailable(registry -> factory.addListener(new MicrometerProducerListener<>(registry)));
+        return factory;
+    }
+    
+    /**
+     * Crea la fábrica de productores de un perfil (también la usa
+     * KafkaProducerBenchmark para comparar perfiles)
+     * 
+     * @param overrides propiedades que se aplican encima del perfil
+     */
+    public static DefaultKafkaProducerFactory<String, Object> createProducerFactory(
+            String bootstrapServers, KafkaProducerProfile profile, String transactionIdPrefix,
+            Map<String, String> overrides) {
         Map<String, Object> configProps = new HashMap<>();
         
         // Broker de Kafka
@@ -48,32 +93,21 @@ public class KafkaProducerConfig {
         // Serializer de la clave (ID de la orden)
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
         
-        // Serializer del valor (el evento OrderCreatedEvent a JSON)
+        // Serializer del valor (los eventos de la orden a JSON)
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         
-        // Garantía de entrega: "all" = esperar a que se replique en todos los brokers
-        // Opciones:
-        // - "0" (acks=0): No esperar confirmación (rápido pero risky)
-        // - "1" (acks=1): Leader confirma (balanc entre velocidad y seguridad)
-        // - "all" (acks=-1): Todos los replicas confirman (seguro pero lento)
-        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
-        
-        // Reintentos si falla el envío
-        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
-        
         // Esperar máximo 30 segundos para confirmar
         configProps.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, 30000);
         
-        // Compresión de mensajes (reduce ancho de banda)
-        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "snappy");
-        
-        // Batch size: acumular mensajes antes de enviar (mejora throughput)
-        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384);
+        // acks, lotes, compresión, idempotencia (ver KafkaProducerProfile)
+        configProps.putAll(profile.properties());
+        configProps.putAll(overrides);
         
-        // Linger: esperar hasta X ms para acumular mensajes (mejora throughput)
-        configProps.put(ProducerConfig.LINGER_MS_CONFIG, 10);
-        
-        return new DefaultKafkaProducerFactory<>(configProps);
+        DefaultKafkaProducerFactory<String, Object> factory = new DefaultKafkaProducerFactory<>(configProps);
+        if (profile.transactional()) {
+            factory.setTransactionIdPrefix(transactionIdPrefix);
+        }
+        return factory;
     }
     
     /**
@@ -81,9 +115,14 @@ public class KafkaProducerConfig {
      * 
      * Lo inyectamos en los adaptadores y usamos:
      * kafkaTemplate.send("topic", message)
+     * 
+     * Con la observación activada cada envío crea un span de productor y
+     * añade la cabecera traceparent al mensaje (la traza sigue en el consumidor)
      */
     @Bean
-    public KafkaTemplate<String, OrderCreatedEvent> kafkaTemplate() {
-        return new KafkaTemplate<>(producerFactory());
+    public KafkaTemplate<String, Object> kafkaTemplate(ProducerFactory<String, Object> producerFactory) {
+        KafkaTemplate<String, Object> kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        kafkaTemplate.setObservationEnabled(true);
+        return kafkaTemplate;
     }
 }
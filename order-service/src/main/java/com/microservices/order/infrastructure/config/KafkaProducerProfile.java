@@ -0,0 +1,100 @@
+package com.microservices.order.infrastructure.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 🎛️ KAFKA PRODUCER PROFILE - Ajustes del productor con nombre
+ *
+ * Cada perfil es un conjunto coherente de propiedades del productor: se
+ * elige con kafka.producer.profile y se compara con KafkaProducerBenchmark
+ * (módulo benchmarks) en lugar de ajustar valores sueltos a ojo.
+ *
+ * - LOW_LATENCY:     sin espera ni compresión, acks=1 (confirma solo el
+ *                    líder: si cae antes de replicar se pierde el evento)
+ * - BALANCED:        los valores de siempre (acks=all, snappy, lotes de
+ *                    16 KB, linger 10 ms) con productor idempotente
+ * - HIGH_THROUGHPUT: lotes grandes (128 KB, linger 25 ms) y lz4;
+ *                    idempotente
+ * - EXACTLY_ONCE:    idempotente y transaccional (transaction-id-prefix):
+ *                    los consumidores con isolation.level=read_committed
+ *                    no ven eventos de transacciones abortadas.
+ *                    Un evento suelto va en su propia transacción (commit =
+ *                    escrituras extra en el broker): mucho más lento, compensa
+ *                    cuando varios envíos deben ser atómicos
+ *
+ * Idempotente (enable.idempotence): el broker descarta los duplicados de
+ * los reintentos y mantiene el orden por partición con hasta 5 envíos en
+ * vuelo. Requiere acks=all.
+ */
+public enum KafkaProducerProfile {
+
+    LOW_LATENCY(Map.of(
+        ProducerConfig.ACKS_CONFIG, "1",
+        ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false,
+        ProducerConfig.LINGER_MS_CONFIG, 0,
+        ProducerConfig.BATCH_SIZE_CONFIG, 16384,
+        ProducerConfig.COMPRESSION_TYPE_CONFIG, "none",
+        ProducerConfig.RETRIES_CONFIG, 3
+    ), false),
+
+    BALANCED(Map.of(
+        ProducerConfig.ACKS_CONFIG, "all",
+        ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+        ProducerConfig.LINGER_MS_CONFIG, 10,
+        ProducerConfig.BATCH_SIZE_CONFIG, 16384,
+        ProducerConfig.COMPRESSION_TYPE_CONFIG, "snappy",
+        ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5
+    ), false),
+
+    HIGH_THROUGHPUT(Map.of(
+        ProducerConfig.ACKS_CONFIG, "all",
+        ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+        ProducerConfig.LINGER_MS_CONFIG, 25,
+        ProducerConfig.BATCH_SIZE_CONFIG, 131072,
+        ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4",
+        ProducerConfig.BUFFER_MEMORY_CONFIG, 67108864L,
+        ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5
+    ), false),
+
+    EXACTLY_ONCE(Map.of(
+        ProducerConfig.ACKS_CONFIG, "all",
+        ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true,
+        ProducerConfig.LINGER_MS_CONFIG, 5,
+        ProducerConfig.BATCH_SIZE_CONFIG, 16384,
+        ProducerConfig.COMPRESSION_TYPE_CONFIG, "snappy",
+        ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5
+    ), true);
+
+    private final Map<String, Object> properties;
+    private final boolean transactional;
+
+    KafkaProducerProfile(Map<String, Object> properties, boolean transactional) {
+        this.properties = properties;
+        this.transactional = transactional;
+    }
+
+    /**
+     * Propiedades del productor de este perfil (sin broker ni serializers)
+     */
+    public Map<String, Object> properties() {
+        return properties;
+    }
+
+    /**
+     * true si el productor necesita transaction-id-prefix
+     */
+    public boolean transactional() {
+        return transactional;
+    }
+
+    /**
+     * Acepta el nombre del perfil en minúsculas y con guiones
+     * (high-throughput) además del nombre de la constante
+     */
+    public static KafkaProducerProfile of(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+}
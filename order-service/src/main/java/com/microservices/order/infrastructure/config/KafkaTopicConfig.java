@@ -0,0 +1,63 @@
+package com.microservices.order.infrastructure.config;
+
+import com.microservices.order.infrastructure.adapter.out.kafka.KafkaProducerAdapter;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+/**
+ * 📬 KAFKA TOPIC CONFIG - Topics de order-service creados al arrancar
+ *
+ * Antes los creaba el broker al primer envío (auto-creación) con las
+ * particiones por defecto del broker. Ahora KafkaAdmin (Spring Boot) los
+ * crea con las particiones de la configuración; si ya existen con menos,
+ * añade particiones (nunca las quita).
+ *
+ * Particionado: la clave es el orderId en los dos topics, así todos los
+ * eventos de una orden van a la misma partición y se consumen en orden.
+ * Las particiones limitan el paralelismo del consumidor: notification-service
+ * escucha order-events con 3 hilos, por eso 3 por defecto.
+ *
+ * OJO: añadir particiones cambia la partición de las claves existentes
+ * (hash % particiones); los eventos nuevos de una orden antigua pueden
+ * adelantar a los que aún están en la partición anterior.
+ *
+ * kafka.topics.provision=false desactiva la creación (p.ej. si los topics
+ * se gestionan fuera de la aplicación).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "kafka.topics", name = "provision", havingValue = "true", matchIfMissing = true)
+public class KafkaTopicConfig {
+
+    @Value("${kafka.topics.replication-factor:1}")
+    private int replicationFactor;
+
+    /**
+     * Réplicas que deben confirmar un envío con acks=all. Con 1 réplica no
+     * puede ser más de 1; en producción, replication-factor 3 y 2 aquí.
+     */
+    @Value("${kafka.topics.min-insync-replicas:1}")
+    private int minInsyncReplicas;
+
+    @Bean
+    public NewTopic orderEventsTopic(@Value("${kafka.topics.order-events.partitions:3}") int partitions) {
+        return topic(KafkaProducerAdapter.TOPIC, partitions);
+    }
+
+    @Bean
+    public NewTopic orderStatusEventsTopic(@Value("${kafka.topics.order-status-events.partitions:3}") int partitions) {
+        return topic(KafkaProducerAdapter.STATUS_TOPIC, partitions);
+    }
+
+    private NewTopic topic(String name, int partitions) {
+        return TopicBuilder.name(name)
+            .partitions(partitions)
+            .replicas(replicationFactor)
+            .config(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG, Integer.toString(minInsyncReplicas))
+            .build();
+    }
+}
@@ -0,0 +1,74 @@
+package com.microservices.order.infrastructure.config;
+
+import com.microservices.order.infrastructure.adapter.output.persistence.inmemory.OrderJournal;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📒 ORDER STORE DURABILITY CONFIG - Journal del repositorio en memoria
+ *
+ * Solo en perfil 'dev' (InMemoryOrderRepository) y si se activa
+ * order-store.durability.enabled. Sin él, el repositorio sigue siendo
+ * solo memoria.
+ *
+ * Métricas:
+ * - order_store_recovery_duration_seconds   tiempo de la última recuperación
+ * - order_store_recovered_orders            órdenes recuperadas al arrancar
+ * - order_store_wal_fsync_seconds           force() del WAL (tag policy)
+ * - order_store_snapshots_total             snapshots escritos
+ */
+@Configuration
+@Profile("dev")
+@ConditionalOnProperty(prefix = "order-store.durability", name = "enabled", havingValue = "true")
+public class OrderStoreDurabilityConfig {
+
+    @Bean(destroyMethod = "close")
+    public OrderJournal orderJournal(
+            @Value("${order-store.durability.directory:./data/order-store}") String directory,
+            @Value("${order-store.durability.fsync:interval}") String fsync,
+            @Value("${order-store.durability.fsync-interval:50ms}") Duration fsyncInterval,
+            @Value("${order-store.durability.segment-size:64MB}") DataSize segmentSize,
+            @Value("${order-store.durability.snapshot-interval:5m}") Duration snapshotInterval,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        OrderJournal journal = new OrderJournal(
+            Path.of(directory),
+            OrderJournal.FsyncPolicy.valueOf(fsync.trim().toUpperCase(Locale.ROOT)),
+            fsyncInterval,
+            Math.toIntExact(segmentSize.toBytes()),
+            snapshotInterval
+        );
+        meterRegistry.ifAvailable(registry -> {
+            TimeGauge.builder("order.store.recovery.duration", journal, TimeUnit.SECONDS,
+                    j -> j.recoveryTime(TimeUnit.SECONDS))
+                .description("Tiempo de la última recuperación (snapshot + WAL)")
+                .register(registry);
+            Gauge.builder("order.store.recovered.orders", journal, OrderJournal::recoveredOrders)
+                .description("Órdenes recuperadas del journal al arrancar")
+                .register(registry);
+            FunctionTimer.builder("order.store.wal.fsync", journal,
+                    OrderJournal::fsyncCount, j -> j.fsyncTotalTime(TimeUnit.SECONDS), TimeUnit.SECONDS)
+                .tag("policy", journal.fsyncPolicy().name().toLowerCase(Locale.ROOT))
+                .description("force() del WAL de órdenes")
+                .register(registry);
+            FunctionCounter.builder("order.store.snapshots", journal, OrderJournal::snapshotCount)
+                .description("Snapshots del repositorio de órdenes escritos")
+                .register(registry);
+        });
+        return journal;
+    }
+}
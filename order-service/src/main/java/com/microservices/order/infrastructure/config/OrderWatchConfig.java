@@ -0,0 +1,60 @@
+package com.microservices.order.infrastructure.config;
+
+import com.microservices.order.application.port.output.PublishOrderEventPort;
+import com.microservices.order.infrastructure.adapter.out.events.CompositeOrderEventPublisher;
+import com.microservices.order.infrastructure.adapter.out.kafka.KafkaProducerAdapter;
+import com.microservices.order.infrastructure.adapter.out.watch.OrderStatusHub;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 📡 ORDER WATCH CONFIG - Cambios de estado en tiempo real
+ *
+ * - OrderStatusHub: reparto en memoria a los clientes conectados por SSE
+ *   (GET /orders/{orderId}/events y GET /orders/events?userId=...)
+ * - PublishOrderEventPort (@Primary): Kafka + hub, así OrderService
+ *   publica una sola vez y llega a los dos sitios
+ *
+ * Métricas:
+ * - order_watch_subscribers             clientes conectados
+ * - order_watch_dropped_events_total    eventos descartados por buffer lleno
+ */
+@Configuration
+public class OrderWatchConfig {
+
+    @Bean(destroyMethod = "close")
+    public OrderStatusHub orderStatusHub(
+            @Value("${order-watch.buffer-size:64}") int bufferSize,
+            @Value("${order-watch.max-subscribers:10000}") int maxSubscribers,
+            @Value("${order-watch.delivery-threads:4}") int deliveryThreads,
+            @Value("${order-watch.heartbeat:15s}") Duration heartbeat,
+            @Value("${order-watch.timeout:30m}") Duration timeout,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        OrderStatusHub hub = new OrderStatusHub(bufferSize, maxSubscribers, deliveryThreads, heartbeat, timeout);
+        meterRegistry.ifAvailable(registry -> {
+            Gauge.builder("order.watch.subscribers", hub, OrderStatusHub::subscribers)
+                .description("Clientes observando cambios de estado de órdenes")
+                .register(registry);
+            FunctionCounter.builder("order.watch.dropped.events", hub, OrderStatusHub::droppedEvents)
+                .description("Eventos descartados porque el buffer del suscriptor estaba lleno")
+                .register(registry);
+        });
+        return hub;
+    }
+
+    @Bean
+    @Primary
+    public PublishOrderEventPort publishOrderEventPort(KafkaProducerAdapter kafkaProducerAdapter,
+                                                       OrderStatusHub orderStatusHub) {
+        return new CompositeOrderEventPublisher(List.of(kafkaProducerAdapter, orderStatusHub));
+    }
+}
@@ -0,0 +1,24 @@
+-- ============================================
+-- TABLA DE ÓRDENES (JdbcOrderRepositoryAdapter)
+-- ============================================
+-- version: concurrencia optimista. Cada UPDATE comprueba la versión
+-- leída (WHERE version = ?) y la incrementa.
+-- Idempotente: se ejecuta en cada arranque (spring.sql.init).
+
+CREATE TABLE IF NOT EXISTS orders (
+    id           UUID           PRIMARY KEY,
+    user_id      UUID           NOT NULL,
+    total_amount NUMERIC(19, 2) NOT NULL,
+    status       VARCHAR(20)    NOT NULL,
+    created_at   TIMESTAMP      NOT NULL,
+    updated_at   TIMESTAMP,
+    version      BIGINT         NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_orders_status ON orders (status);
+
+-- Historial de un usuario (findByUserId): WHERE user_id = ? ORDER BY
+-- created_at DESC, id. Incluye el resto de columnas para que la consulta
+-- se resuelva solo con el índice (index-only scan en PostgreSQL)
+CREATE INDEX IF NOT EXISTS idx_orders_user_created
+    ON orders (user_id, created_at DESC, id, total_amount, status, updated_at, version);
@@ -0,0 +1,155 @@
+package com.microservices.order.application.service;
+
+import com.microservices.order.application.exception.DeadlineExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA FanOut
+ *
+ * PROPÓSITO:
+ * - Verificar que los pasos se ejecutan a la vez
+ * - Verificar que el primer fallo cancela el resto y se relanza tal cual
+ * - Verificar el plazo común y la cancelación al cerrar el scope
+ */
+@DisplayName("🧪 FanOut Tests")
+class FanOutTest {
+
+    private FanOut fanOut = new FanOut(Executors.newFixedThreadPool(4), Duration.ofSeconds(5));
+
+    @AfterEach
+    void tearDown() {
+        fanOut.close();
+    }
+
+    @Nested
+    @DisplayName("🔀 fork() / join()")
+    class JoinTests {
+
+        @Test
+        @DisplayName("Debe ejecutar los pasos en paralelo y devolver sus resultados")
+        void shouldRunStepsConcurrently() {
+            // Cada paso espera a que el otro haya empezado: en serie no terminarían
+            CountDownLatch started = new CountDownLatch(2);
+            try (FanOut.Scope scope = fanOut.open("Prueba")) {
+                Future<String> first = scope.fork(() -> {
+                    started.countDown();
+                    assertTrue(started.await(2, TimeUnit.SECONDS));
+                    return "a";
+                });
+                Future<String> second = scope.fork(() -> {
+                    started.countDown();
+                    assertTrue(started.await(2, TimeUnit.SECONDS));
+                    return "b";
+                });
+                scope.join();
+
+                assertEquals("a", FanOut.resultOf(first));
+                assertEquals("b", FanOut.resultOf(second));
+            }
+        }
+
+        @Test
+        @DisplayName("El primer fallo cancela (interrumpe) los demás pasos y se relanza")
+        void shouldCancelSiblingsOnFailure() throws Exception {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch interrupted = new CountDownLatch(1);
+            IllegalStateException failure = new IllegalStateException("usuario no válido");
+
+            try (FanOut.Scope scope = fanOut.open("Prueba")) {
+                Future<Object> slow = scope.fork(() -> {
+                    started.countDown();
+                    try {
+                        Thread.sleep(10_000);
+                    } catch (InterruptedException e) {
+                        interrupted.countDown();
+                    }
+                    return null;
+                });
+                // Falla con el paso lento ya en marcha: si se cancelara antes
+                // de empezar no habría nada que interrumpir
+                scope.fork(() -> {
+                    started.await(5, TimeUnit.SECONDS);
+                    throw failure;
+                });
+
+                long start = System.nanoTime();
+                IllegalStateException thrown = assertThrows(IllegalStateException.class, scope::join);
+
+                assertSame(failure, thrown);
+                assertTrue(slow.isCancelled());
+                assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "no espera al paso lento");
+            }
+            assertTrue(interrupted.await(2, TimeUnit.SECONDS));
+        }
+
+        @Test
+        @DisplayName("Si vence el plazo se cancela todo y se lanza DeadlineExceededException")
+        void shouldFailAfterDeadline() {
+            fanOut.close();
+            fanOut = new FanOut(Executors.newFixedThreadPool(2), Duration.ofMillis(50));
+
+            try (FanOut.Scope scope = fanOut.open("Alta de orden")) {
+                Future<Object> stuck = scope.fork(() -> {
+                    Thread.sleep(10_000);
+                    return null;
+                });
+
+                DeadlineExceededException thrown = assertThrows(DeadlineExceededException.class, scope::join);
+
+                assertTrue(thrown.getMessage().contains("Alta de orden"));
+                assertTrue(stuck.isCancelled());
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("🔒 close() y pool lleno")
+    class LifecycleTests {
+
+        @Test
+        @DisplayName("Cerrar el scope sin join() cancela los pasos pendientes")
+        void shouldCancelOnClose() {
+            Future<Object> pending;
+            try (FanOut.Scope scope = fanOut.open("Prueba")) {
+                pending = scope.fork(() -> {
+                    Thread.sleep(10_000);
+                    return null;
+                });
+            }
+            assertTrue(pending.isCancelled());
+        }
+
+        @Test
+        @DisplayName("Con el pool lleno el paso se ejecuta en el hilo que llama")
+        void shouldRunOnCallerWhenSaturated() {
+            fanOut.close();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(0, 1, 1, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+            fanOut = new FanOut(pool, Duration.ofSeconds(5));
+            Thread caller = Thread.currentThread();
+
+            try (FanOut.Scope scope = fanOut.open("Prueba")) {
+                CountDownLatch release = new CountDownLatch(1);
+                scope.fork(() -> release.await(2, TimeUnit.SECONDS));
+                Future<Thread> inline = scope.fork(Thread::currentThread);
+                release.countDown();
+                scope.join();
+
+                assertSame(caller, FanOut.resultOf(inline));
+            }
+        }
+    }
+}
@@ -1,18 +1,28 @@
 package com.microservices.order.application.service;
 
 import com.microservices.order.application.dto.CreateOrderRequest;
+import com.microservices.order.application.exception.DeadlineExceededException;
 import com.microservices.order.application.dto.OrderResponse;
+import com.microservices.order.application.dto.OrderTotalsResponse;
 import com.microservices.order.application.dto.UpdateOrderStatusRequest;
 import com.microservices.order.application.port.output.PublishOrderEventPort;
 import com.microservices.order.application.port.output.UserValidationPort;
+import com.microservices.order.application.usecase.FindOrdersByUserUseCase;
 import com.microservices.order.domain.event.OrderCreatedEvent;
+import com.microservices.order.domain.event.OrderStatusChangedEvent;
+import com.microservices.order.domain.exception.ConcurrentOrderUpdateException;
+import com.microservices.order.domain.exception.InvalidOrderStateException;
 import com.microservices.order.domain.exception.OrderNotFoundException;
+import com.microservices.order.domain.exception.UserNotFoundException;
 import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderGrouping;
 import com.microservices.order.domain.model.OrderId;
 import com.microservices.order.domain.model.OrderStatus;
+import com.microservices.order.domain.model.OrderTotals;
 import com.microservices.order.domain.repository.OrderRepository;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 import org.mockito.InjectMocks;
@@ -20,11 +30,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -58,7 +70,9 @@ class OrderServiceTest {
     // MOCKS DE PUERTOS (Depedencias de Salida)
     // ============================================
     
-    @Mock
+    // CALLS_REAL_METHODS: los métodos default del puerto (transitionStatus)
+    // se ejecutan de verdad sobre findById/save, que sí se mockean
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
     private OrderRepository orderRepository;
     
     @Mock
@@ -117,8 +131,8 @@ class OrderServiceTest {
             );
             
             // Mock 1: User Validation Port (validar que usuario existe)
-            doNothing().when(userValidationPort)
-                .validateUserExists(testUserId.toString());
+            when(userValidationPort.validateUserExists(testUserId.toString()))
+                .thenReturn(Optional.empty());
             
             // Mock 2: Order Repository (guardar orden)
             when(orderRepository.save(any(Order.class)))
@@ -143,6 +157,7 @@ class OrderServiceTest {
             
             // Verify: Verificar que todos los mocks fueron llamados en orden correcto
             verify(userValidationPort).validateUserExists(testUserId.toString());
+            verifyNoMoreInteractions(userValidationPort); // una sola llamada a user-service
             verify(orderRepository).save(any(Order.class));
             verify(publishOrderEventPort).publishOrderCreatedEvent(any(OrderCreatedEvent.class));
         }
@@ -198,8 +213,8 @@ class OrderServiceTest {
                 testAmount
             );
             
-            doNothing().when(userValidationPort)
-                .validateUserExists(testUserId.toString());
+            when(userValidationPort.validateUserExists(testUserId.toString()))
+                .thenReturn(Optional.empty());
             
             when(orderRepository.save(any(Order.class)))
                 .thenAnswer(invocation -> {
@@ -229,6 +244,87 @@ class OrderServiceTest {
         }
     }
     
+    // ============================================
+    // CREATE ORDER (PARALLEL) TESTS
+    // ============================================
+    
+    @Nested
+    @DisplayName("🔀 execute(CreateOrderRequest) - Alta con pasos en paralelo")
+    class ParallelCreateOrderTests {
+        
+        private FanOut fanOut;
+        private OrderService parallelService;
+        
+        @BeforeEach
+        void setUpFanOut() {
+            fanOut = new FanOut(Executors.newFixedThreadPool(2), Duration.ofSeconds(5));
+            parallelService = new OrderService(orderRepository, userValidationPort, publishOrderEventPort, fanOut);
+        }
+        
+        @AfterEach
+        void tearDownFanOut() {
+            fanOut.close();
+        }
+        
+        @Test
+        @DisplayName("Debe consultar el usuario una sola vez, fuera del hilo de la petición, y publicar su email")
+        void shouldLookUpUserOnceOffThreadAndPublishEmail() {
+            // Arrange
+            Thread caller = Thread.currentThread();
+            when(userValidationPort.validateUserExists(testUserId.toString())).thenAnswer(invocation -> {
+                assertNotSame(caller, Thread.currentThread(), "la consulta no se solapó con Order.create");
+                return Optional.of("ana@example.com");
+            });
+            when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            ArgumentCaptor<OrderCreatedEvent> event = ArgumentCaptor.forClass(OrderCreatedEvent.class);
+            
+            // Act
+            OrderResponse response = parallelService.execute(new CreateOrderRequest(testUserId.toString(), testAmount));
+            
+            // Assert: una sola llamada a user-service (existencia + email)
+            assertEquals(testUserId, response.userId());
+            verify(userValidationPort, times(1)).validateUserExists(testUserId.toString());
+            verifyNoMoreInteractions(userValidationPort);
+            verify(publishOrderEventPort).publishOrderCreatedEvent(event.capture());
+            assertEquals("ana@example.com", event.getValue().getCustomerEmail());
+            assertEquals(response.id(), event.getValue().getOrderId());
+        }
+        
+        @Test
+        @DisplayName("Si el usuario no existe no se guarda ni se publica nada")
+        void shouldNotSaveIfUserNotFound() {
+            // Arrange
+            doThrow(new UserNotFoundException(testUserId.toString()))
+                .when(userValidationPort).validateUserExists(testUserId.toString());
+            
+            // Act & Assert: la excepción del paso llega tal cual
+            assertThrows(UserNotFoundException.class,
+                () -> parallelService.execute(new CreateOrderRequest(testUserId.toString(), testAmount)));
+            
+            verify(orderRepository, never()).save(any(Order.class));
+            verify(publishOrderEventPort, never()).publishOrderCreatedEvent(any());
+        }
+        
+        @Test
+        @DisplayName("Si user-service no responde a tiempo falla con DeadlineExceededException")
+        void shouldFailAfterDeadline() {
+            // Arrange
+            fanOut.close();
+            fanOut = new FanOut(Executors.newFixedThreadPool(2), Duration.ofMillis(50));
+            parallelService = new OrderService(orderRepository, userValidationPort, publishOrderEventPort, fanOut);
+            doAnswer(invocation -> {
+                Thread.sleep(10_000);
+                return Optional.empty();
+            }).when(userValidationPort).validateUserExists(testUserId.toString());
+            
+            // Act & Assert
+            assertThrows(DeadlineExceededException.class,
+                () -> parallelService.execute(new CreateOrderRequest(testUserId.toString(), testAmount)));
+            
+            verify(orderRepository, never()).save(any(Order.class));
+        }
+    }
+    
     // ============================================
     // FIND ORDER TESTS
     // ============================================
@@ -336,6 +432,82 @@ class OrderServiceTest {
         }
     }
     
+    // ============================================
+    // FIND ORDERS BY USER TESTS
+    // ============================================
+    
+    @Nested
+    @DisplayName("👤 execute(UUID, page, size) - Historial de un Usuario")
+    class FindOrdersByUserTests {
+        
+        @Test
+        @DisplayName("Debe pedir al repositorio solo la página solicitada")
+        void shouldRequestPageFromRepository() {
+            // Arrange
+            when(orderRepository.findByUserId(testUserId, 40, 20))
+                .thenReturn(List.of(testOrder));
+            
+            // Act
+            List<OrderResponse> response = orderService.execute(testUserId, 2, 20);
+            
+            // Assert
+            assertEquals(1, response.size());
+            assertEquals(testOrder.getId().toString(), response.get(0).id());
+            
+            // Verify: no se cargan todas las órdenes
+            verify(orderRepository, never()).findAll();
+        }
+        
+        @Test
+        @DisplayName("Debe rechazar paginación no válida")
+        void shouldRejectInvalidPage() {
+            assertThrows(IllegalArgumentException.class, () -> orderService.execute(testUserId, -1, 20));
+            assertThrows(IllegalArgumentException.class, () -> orderService.execute(testUserId, 0, 0));
+            assertThrows(IllegalArgumentException.class,
+                () -> orderService.execute(testUserId, 0, FindOrdersByUserUseCase.MAX_PAGE_SIZE + 1));
+            verifyNoInteractions(orderRepository);
+        }
+        
+        @Test
+        @DisplayName("Una página más allá de Integer.MAX_VALUE órdenes está vacía")
+        void shouldReturnEmptyBeyondIntRange() {
+            assertTrue(orderService.execute(testUserId, Integer.MAX_VALUE, 100).isEmpty());
+            verifyNoInteractions(orderRepository);
+        }
+    }
+    
+    // ============================================
+    // AGGREGATE ORDERS TESTS
+    // ============================================
+    
+    @Nested
+    @DisplayName("📊 execute(OrderGrouping) - Totales por Grupo")
+    class AggregateOrdersTests {
+        
+        @Test
+        @DisplayName("Debe retornar los totales del repositorio ordenados por grupo")
+        void shouldReturnSortedTotals() {
+            // Arrange
+            when(orderRepository.aggregate(OrderGrouping.STATUS))
+                .thenReturn(List.of(
+                    new OrderTotals("PAID", 2, new BigDecimal("30.00")),
+                    new OrderTotals("CANCELLED", 1, new BigDecimal("5.00"))
+                ));
+            
+            // Act
+            List<OrderTotalsResponse> response = orderService.execute(OrderGrouping.STATUS);
+            
+            // Assert
+            assertEquals(List.of(
+                new OrderTotalsResponse("CANCELLED", 1, new BigDecimal("5.00")),
+                new OrderTotalsResponse("PAID", 2, new BigDecimal("30.00"))
+            ), response);
+            
+            // Verify: no se recorren las órdenes en el servicio
+            verify(orderRepository, never()).findAll();
+        }
+    }
+    
     // ============================================
     // UPDATE ORDER STATUS TESTS
     // ============================================
@@ -389,6 +561,138 @@ class OrderServiceTest {
             // Verify
             verify(orderRepository, never()).save(any(Order.class));
         }
+        
+        @Test
+        @DisplayName("Debe publicar OrderStatusChangedEvent con el estado anterior y el nuevo")
+        void shouldPublishStatusChangedEvent() {
+            // Arrange
+            String orderId = testOrderId.value().toString();
+            when(orderRepository.findById(OrderId.of(orderId)))
+                .thenReturn(Optional.of(testOrder));
+            when(orderRepository.save(any(Order.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+            
+            // Act
+            orderService.execute(orderId, new UpdateOrderStatusRequest(OrderStatus.PAID));
+            
+            // Assert
+            ArgumentCaptor<OrderStatusChangedEvent> captor =
+                ArgumentCaptor.forClass(OrderStatusChangedEvent.class);
+            verify(publishOrderEventPort).publishOrderStatusChangedEvent(captor.capture());
+            OrderStatusChangedEvent event = captor.getValue();
+            assertEquals(orderId, event.getOrderId());
+            assertEquals(testUserId.toString(), event.getCustomerId());
+            assertEquals(OrderStatus.CREATED, event.getPreviousStatus());
+            assertEquals(OrderStatus.PAID, event.getStatus());
+            assertEquals(testOrder.getUpdatedAt(), event.getChangedAt());
+            assertEquals("OrderStatusChanged", event.getEventType());
+        }
+        
+        @Test
+        @DisplayName("No debe publicar evento si el estado no cambia")
+        void shouldNotPublishWhenStatusUnchanged() {
+            // Arrange
+            String orderId = testOrderId.value().toString();
+            when(orderRepository.findById(OrderId.of(orderId)))
+                .thenReturn(Optional.of(testOrder));
+            
+            // Act
+            orderService.execute(orderId, new UpdateOrderStatusRequest(OrderStatus.CREATED));
+            
+            // Verify
+            verify(orderRepository, never()).save(any(Order.class));
+            verify(publishOrderEventPort, never()).publishOrderStatusChangedEvent(any());
+        }
+        
+        @Test
+        @DisplayName("Debe releer y reintentar si otra petición guardó la orden antes")
+        void shouldRetryOnConcurrentUpdate() {
+            // Arrange: la primera lectura está obsoleta, otra petición ya la pagó
+            String orderId = testOrderId.value().toString();
+            Order stale = new Order(testOrderId, testUserId, testAmount, OrderStatus.CREATED,
+                testOrder.getCreatedAt(), testOrder.getUpdatedAt(), 1);
+            Order paid = new Order(testOrderId, testUserId, testAmount, OrderStatus.PAID,
+                testOrder.getCreatedAt(), testOrder.getUpdatedAt(), 2);
+            when(orderRepository.findById(OrderId.of(orderId)))
+                .thenReturn(Optional.of(stale))
+                .thenReturn(Optional.of(paid));
+            when(orderRepository.save(any(Order.class)))
+                .thenThrow(new ConcurrentOrderUpdateException(orderId, 1))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+            
+            // Act
+            OrderResponse response = orderService.execute(orderId, new UpdateOrderStatusRequest(OrderStatus.CANCELLED));
+            
+            // Assert: el cambio se aplicó sobre el estado releído (PAID → CANCELLED)
+            assertEquals(OrderStatus.CANCELLED, response.status());
+            verify(orderRepository, times(2)).save(any(Order.class));
+            ArgumentCaptor<OrderStatusChangedEvent> captor =
+                ArgumentCaptor.forClass(OrderStatusChangedEvent.class);
+            verify(publishOrderEventPort).publishOrderStatusChangedEvent(captor.capture());
+            assertEquals(OrderStatus.PAID, captor.getValue().getPreviousStatus());
+        }
+        
+        @Test
+        @DisplayName("Debe lanzar ConcurrentOrderUpdateException tras agotar los reintentos")
+        void shouldGiveUpAfterMaxAttempts() {
+            // Arrange
+            String orderId = testOrderId.value().toString();
+            when(orderRepository.findById(OrderId.of(orderId)))
+                .thenAnswer(invocation -> Optional.of(new Order(testOrderId, testUserId, testAmount,
+                    OrderStatus.CREATED, testOrder.getCreatedAt(), testOrder.getUpdatedAt(), 1)));
+            when(orderRepository.save(any(Order.class)))
+                .thenThrow(new ConcurrentOrderUpdateException(orderId, 1));
+            
+            // Act & Assert
+            assertThrows(ConcurrentOrderUpdateException.class,
+                () -> orderService.execute(orderId, new UpdateOrderStatusRequest(OrderStatus.PAID)));
+            
+            // Verify
+            verify(orderRepository, times(OrderService.MAX_STATUS_UPDATE_ATTEMPTS)).save(any(Order.class));
+            verify(publishOrderEventPort, never()).publishOrderStatusChangedEvent(any());
+        }
+        
+        @Test
+        @DisplayName("Debe rechazar transiciones no permitidas sin guardar (CANCELLED → PAID, PAID → CREATED)")
+        void shouldRejectInvalidTransitions() {
+            // Arrange
+            String orderId = testOrderId.value().toString();
+            Order cancelled = new Order(testOrderId, testUserId, testAmount, OrderStatus.CANCELLED,
+                testOrder.getCreatedAt(), testOrder.getUpdatedAt(), 2);
+            Order paid = new Order(testOrderId, testUserId, testAmount, OrderStatus.PAID,
+                testOrder.getCreatedAt(), testOrder.getUpdatedAt(), 2);
+            when(orderRepository.findById(OrderId.of(orderId)))
+                .thenReturn(Optional.of(cancelled))
+                .thenReturn(Optional.of(paid));
+            
+            // Act & Assert
+            assertThrows(InvalidOrderStateException.class,
+                () -> orderService.execute(orderId, new UpdateOrderStatusRequest(OrderStatus.PAID)));
+            assertThrows(InvalidOrderStateException.class,
+                () -> orderService.execute(orderId, new UpdateOrderStatusRequest(OrderStatus.CREATED)));
+            
+            // Verify
+            verify(orderRepository, never()).save(any(Order.class));
+            verify(publishOrderEventPort, never()).publishOrderStatusChangedEvent(any());
+        }
+        
+        @Test
+        @DisplayName("Repetir el estado actual no es un error (webhooks repetidos)")
+        void shouldTreatRepeatedStatusAsNoOp() {
+            // Arrange
+            String orderId = testOrderId.value().toString();
+            Order cancelled = new Order(testOrderId, testUserId, testAmount, OrderStatus.CANCELLED,
+                testOrder.getCreatedAt(), testOrder.getUpdatedAt(), 2);
+            when(orderRepository.findById(OrderId.of(orderId))).thenReturn(Optional.of(cancelled));
+            
+            // Act
+            OrderResponse response = orderService.execute(orderId, new UpdateOrderStatusRequest(OrderStatus.CANCELLED));
+            
+            // Assert
+            assertEquals(OrderStatus.CANCELLED, response.status());
+            verify(orderRepository, never()).save(any(Order.class));
+            verify(publishOrderEventPort, never()).publishOrderStatusChangedEvent(any());
+        }
     }
     
     // ============================================
@@ -442,6 +746,90 @@ class OrderServiceTest {
     // INTER-MICROSERVICES COMMUNICATION TESTS
     // ============================================
     
+    // ============================================
+    // CONDITIONAL GET TESTS
+    // ============================================
+    
+    @Nested
+    @DisplayName("🏷️ executeIfModified() - GET condicional (ETag)")
+    class ConditionalGetTests {
+        
+        private String currentVersion(Order order) {
+            when(orderRepository.findById(order.getId())).thenReturn(Optional.of(order));
+            List<String> seen = new ArrayList<>();
+            orderService.executeIfModified(order.getId().toString(), version -> {
+                seen.add(version);
+                return false;
+            });
+            return seen.get(0);
+        }
+        
+        @Test
+        @DisplayName("Debe devolver la orden si el cliente no tiene la versión actual")
+        void shouldReturnOrderWhenVersionIsUnknown() {
+            when(orderRepository.findById(testOrderId)).thenReturn(Optional.of(testOrder));
+            
+            Optional<OrderResponse> response = orderService.executeIfModified(testOrderId.toString(), version -> false);
+            
+            assertTrue(response.isPresent());
+            assertEquals(testOrderId.toString(), response.get().id());
+        }
+        
+        @Test
+        @DisplayName("Debe devolver vacío (304) si el cliente ya tiene la versión actual")
+        void shouldReturnEmptyWhenVersionIsKnown() {
+            String version = currentVersion(testOrder);
+            
+            Optional<OrderResponse> response = orderService.executeIfModified(
+                testOrderId.toString(), version::equals);
+            
+            assertTrue(response.isEmpty());
+        }
+        
+        @Test
+        @DisplayName("Debe cambiar la versión al cambiar el estado o updatedAt")
+        void shouldChangeVersionWhenOrderChanges() {
+            String initial = currentVersion(testOrder);
+            
+            // Mismo updatedAt, otro estado
+            Order paid = new Order(testOrder.getId(), testOrder.getUserId(), testOrder.getTotalAmount(),
+                OrderStatus.PAID, testOrder.getCreatedAt(), testOrder.getUpdatedAt());
+            String afterStatus = currentVersion(paid);
+            paid.setUpdatedAt(paid.getUpdatedAt().plusNanos(1000));
+            String afterUpdate = currentVersion(paid);
+            
+            assertNotEquals(initial, afterStatus);
+            assertNotEquals(afterStatus, afterUpdate);
+        }
+        
+        @Test
+        @DisplayName("Debe lanzar OrderNotFoundException si la orden no existe")
+        void shouldThrowWhenOrderNotFound() {
+            when(orderRepository.findById(any(OrderId.class))).thenReturn(Optional.empty());
+            
+            assertThrows(OrderNotFoundException.class,
+                () -> orderService.executeIfModified(OrderId.generate().toString(), version -> false));
+        }
+        
+        @Test
+        @DisplayName("Debe cambiar la versión de la lista al eliminar una orden")
+        void shouldChangeListVersionWhenOrderIsRemoved() {
+            Order other = Order.create(testUserId, BigDecimal.TEN);
+            List<String> versions = new ArrayList<>();
+            
+            when(orderRepository.findAll())
+                .thenReturn(List.of(testOrder, other))
+                .thenReturn(List.of(testOrder, other))
+                .thenReturn(List.of(testOrder));
+            orderService.executeIfModified(versions::add);
+            Optional<List<OrderResponse>> unchanged = orderService.executeIfModified(versions.get(0)::equals);
+            orderService.executeIfModified(versions::add);
+            
+            assertTrue(unchanged.isEmpty());
+            assertNotEquals(versions.get(0), versions.get(1));
+        }
+    }
+    
     @Nested
     @DisplayName("🌐 Comunicación Inter-Microservicios")
     class InterMicroservicesCommunicationTests {
@@ -458,8 +846,8 @@ class OrderServiceTest {
             // Track call order
             InOrder inOrder = inOrder(userValidationPort, orderRepository);
             
-            doNothing().when(userValidationPort)
-                .validateUserExists(testUserId.toString());
+            when(userValidationPort.validateUserExists(testUserId.toString()))
+                .thenReturn(Optional.empty());
             
             when(orderRepository.save(any(Order.class)))
                 .thenAnswer(invocation -> {
@@ -488,8 +876,8 @@ class OrderServiceTest {
                 testAmount
             );
             
-            doNothing().when(userValidationPort)
-                .validateUserExists(testUserId.toString());
+            when(userValidationPort.validateUserExists(testUserId.toString()))
+                .thenReturn(Optional.empty());
             
             when(orderRepository.save(any(Order.class)))
                 .thenAnswer(invocation -> {
@@ -532,8 +920,8 @@ class OrderServiceTest {
                 new BigDecimal("999999999.99")
             );
             
-            doNothing().when(userValidationPort)
-                .validateUserExists(testUserId.toString());
+            when(userValidationPort.validateUserExists(testUserId.toString()))
+                .thenReturn(Optional.empty());
             
             when(orderRepository.save(any(Order.class)))
                 .thenAnswer(invocation -> {
@@ -564,8 +952,8 @@ class OrderServiceTest {
                 new BigDecimal("0.01")
             );
             
-            doNothing().when(userValidationPort)
-                .validateUserExists(testUserId.toString());
+            when(userValidationPort.validateUserExists(testUserId.toString()))
+                .thenReturn(Optional.empty());
             
             when(orderRepository.save(any(Order.class)))
                 .thenAnswer(invocation -> {
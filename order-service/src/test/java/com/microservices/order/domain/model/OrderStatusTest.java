@@ -0,0 +1,93 @@
+package com.microservices.order.domain.model;
+
+import com.microservices.order.domain.exception.InvalidOrderStateException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA OrderStatus y Order.transitionTo()
+ *
+ * PROPÓSITO:
+ * - Verificar la tabla de transiciones completa (origen × destino)
+ * - Verificar que Order aplica la tabla (y que repetir estado no cambia nada)
+ */
+@DisplayName("🧪 Order Status Transitions Tests")
+class OrderStatusTest {
+
+    @Nested
+    @DisplayName("📊 Tabla de transiciones")
+    class TransitionTableTests {
+
+        @ParameterizedTest(name = "{0} → {1}: {2}")
+        @CsvSource({
+            "CREATED,   CREATED,   true",
+            "CREATED,   PAID,      true",
+            "CREATED,   CANCELLED, true",
+            "PAID,      CREATED,   false",
+            "PAID,      PAID,      true",
+            "PAID,      CANCELLED, true",
+            "CANCELLED, CREATED,   false",
+            "CANCELLED, PAID,      false",
+            "CANCELLED, CANCELLED, true"
+        })
+        @DisplayName("Debe permitir exactamente las transiciones del flujo")
+        void shouldMatchTransitionTable(OrderStatus from, OrderStatus to, boolean allowed) {
+            assertEquals(allowed, from.canTransitionTo(to));
+        }
+
+        @Test
+        @DisplayName("Solo CANCELLED es un estado final")
+        void shouldOnlyHaveCancelledAsFinal() {
+            assertFalse(OrderStatus.CREATED.isFinal());
+            assertFalse(OrderStatus.PAID.isFinal());
+            assertTrue(OrderStatus.CANCELLED.isFinal());
+        }
+    }
+
+    @Nested
+    @DisplayName("🛒 Order.transitionTo()")
+    class OrderTransitionTests {
+
+        @Test
+        @DisplayName("Debe cambiar estado y updatedAt en una transición válida")
+        void shouldApplyValidTransition() {
+            Order order = Order.create(UUID.randomUUID(), BigDecimal.TEN);
+            order.setUpdatedAt(order.getUpdatedAt().minusMinutes(1));
+            var before = order.getUpdatedAt();
+
+            assertTrue(order.transitionTo(OrderStatus.PAID));
+
+            assertEquals(OrderStatus.PAID, order.getStatus());
+            assertTrue(order.getUpdatedAt().isAfter(before));
+        }
+
+        @Test
+        @DisplayName("Repetir el estado actual no debe cambiar nada")
+        void shouldIgnoreSameStatus() {
+            Order order = Order.create(UUID.randomUUID(), BigDecimal.TEN);
+            var before = order.getUpdatedAt();
+
+            assertFalse(order.transitionTo(OrderStatus.CREATED));
+
+            assertEquals(before, order.getUpdatedAt());
+        }
+
+        @Test
+        @DisplayName("markPaid() sobre una orden cancelada debe lanzar excepción")
+        void shouldRejectPayingCancelledOrder() {
+            Order order = Order.create(UUID.randomUUID(), BigDecimal.TEN);
+            order.cancel();
+
+            assertThrows(InvalidOrderStateException.class, order::markPaid);
+            assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        }
+    }
+}
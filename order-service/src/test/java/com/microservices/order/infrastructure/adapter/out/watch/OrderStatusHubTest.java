@@ -0,0 +1,362 @@
+package com.microservices.order.infrastructure.adapter.out.watch;
+
+import com.microservices.order.domain.event.OrderCreatedEvent;
+import com.microservices.order.domain.event.OrderStatusChangedEvent;
+import com.microservices.order.domain.model.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA OrderStatusHub
+ *
+ * PROPÓSITO:
+ * - Verificar el reparto por orden y por usuario
+ * - Verificar el buffer acotado y agrupado por orden (clientes lentos)
+ * - Verificar altas, bajas (también simultáneas), límite de suscriptores
+ *   y latido
+ */
+@DisplayName("🧪 Order Status Hub Tests")
+class OrderStatusHubTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private OrderStatusHub hub;
+
+    @AfterEach
+    void tearDown() {
+        hub.close();
+    }
+
+    private static OrderStatusChangedEvent changed(String orderId, String userId,
+                                                   OrderStatus status, LocalDateTime at) {
+        return new OrderStatusChangedEvent(orderId, userId, null, status, at, "OrderStatusChanged");
+    }
+
+    /**
+     * Sink que guarda lo recibido; opcionalmente bloquea el primer envío
+     */
+    private static class RecordingSink implements OrderStatusHub.Sink {
+
+        final BlockingQueue<OrderStatusChangedEvent> events = new LinkedBlockingQueue<>();
+        final CountDownLatch heartbeats = new CountDownLatch(1);
+        final CountDownLatch closed = new CountDownLatch(1);
+        final CountDownLatch firstSendStarted = new CountDownLatch(1);
+        final CountDownLatch release;
+        volatile boolean fail;
+
+        RecordingSink() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingSink(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(OrderStatusChangedEvent event) throws Exception {
+            firstSendStarted.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            if (fail) {
+                throw new IllegalStateException("cliente desconectado");
+            }
+            events.add(event);
+        }
+
+        @Override
+        public void heartbeat() {
+            heartbeats.countDown();
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+
+        OrderStatusChangedEvent next() throws InterruptedException {
+            OrderStatusChangedEvent event = events.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "no llegó ningún evento");
+            return event;
+        }
+    }
+
+    @Nested
+    @DisplayName("📡 Reparto de eventos")
+    class FanOutTests {
+
+        @Test
+        @DisplayName("Un suscriptor de orden solo recibe los cambios de esa orden")
+        void shouldDeliverOnlyWatchedOrder() throws Exception {
+            hub = new OrderStatusHub(8, 10, 2, Duration.ofHours(1), Duration.ofMinutes(1));
+            RecordingSink sink = new RecordingSink();
+            hub.subscribe(OrderStatusHub.Scope.ORDER, "o1", sink).orElseThrow();
+
+            hub.publishOrderStatusChangedEvent(changed("o2", "u1", OrderStatus.PAID, T0));
+            hub.publishOrderStatusChangedEvent(changed("o1", "u1", OrderStatus.PAID, T0));
+
+            OrderStatusChangedEvent event = sink.next();
+            assertEquals("o1", event.getOrderId());
+            assertEquals(OrderStatus.PAID, event.getStatus());
+            assertNull(sink.events.poll(100, TimeUnit.MILLISECONDS));
+        }
+
+        @Test
+        @DisplayName("Un suscriptor de usuario recibe órdenes nuevas y cambios de sus órdenes")
+        void shouldDeliverUserOrders() throws Exception {
+            hub = new OrderStatusHub(8, 10, 2, Duration.ofHours(1), Duration.ofMinutes(1));
+            RecordingSink sink = new RecordingSink();
+            hub.subscribe(OrderStatusHub.Scope.USER, "u1", sink).orElseThrow();
+
+            hub.publishOrderCreatedEvent(new OrderCreatedEvent("o1", "u1", "u1@example.com", 10.0, "orden", T0, "OrderCreated"));
+            OrderStatusChangedEvent created = sink.next();
+            assertEquals(OrderStatus.CREATED, created.getStatus());
+            assertEquals("o1", created.getOrderId());
+
+            hub.publishOrderStatusChangedEvent(changed("o9", "u2", OrderStatus.PAID, T0));
+            hub.publishOrderStatusChangedEvent(changed("o1", "u1", OrderStatus.CANCELLED, T0.plusSeconds(1)));
+
+            assertEquals(OrderStatus.CANCELLED, sink.next().getStatus());
+            assertNull(sink.events.poll(100, TimeUnit.MILLISECONDS));
+        }
+
+        @Test
+        @DisplayName("En una orden se ignora un estado más antiguo que el último recibido")
+        void shouldIgnoreOutdatedSnapshot() throws Exception {
+            hub = new OrderStatusHub(8, 10, 2, Duration.ofHours(1), Duration.ofMinutes(1));
+            RecordingSink sink = new RecordingSink();
+            OrderStatusHub.Subscription subscription =
+                hub.subscribe(OrderStatusHub.Scope.ORDER, "o1", sink).orElseThrow();
+
+            hub.publishOrderStatusChangedEvent(changed("o1", "u1", OrderStatus.PAID, T0.plusSeconds(1)));
+            subscription.offer(changed("o1", "u1", OrderStatus.CREATED, T0));
+
+            assertEquals(OrderStatus.PAID, sink.next().getStatus());
+            assertNull(sink.events.poll(100, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Nested
+    @DisplayName("🐢 Clientes lentos")
+    class SlowConsumerTests {
+
+        @Test
+        @DisplayName("Debe agrupar los cambios pendientes de una orden en el último estado")
+        void shouldCoalescePerOrder() throws Exception {
+            hub = new OrderStatusHub(8, 10, 1, Duration.ofHours(1), Duration.ofMinutes(1));
+            CountDownLatch release = new CountDownLatch(1);
+            RecordingSink sink = new RecordingSink(release);
+            hub.subscribe(OrderStatusHub.Scope.USER, "u1", sink).orElseThrow();
+
+            hub.publishOrderStatusChangedEvent(changed("o1", "u1", OrderStatus.CREATED, T0));
+            assertTrue(sink.firstSendStarted.await(5, TimeUnit.SECONDS));
+            hub.publishOrderStatusChangedEvent(changed("o1", "u1", OrderStatus.PAID, T0.plusSeconds(1)));
+            hub.publishOrderStatusChangedEvent(changed("o1", "u1", OrderStatus.CANCELLED, T0.plusSeconds(2)));
+            release.countDown();
+
+            assertEquals(OrderStatus.CREATED, sink.next().getStatus());
+            assertEquals(OrderStatus.CANCELLED, sink.next().getStatus());
+            assertNull(sink.events.poll(100, TimeUnit.MILLISECONDS));
+            assertEquals(0, hub.droppedEvents());
+        }
+
+        @Test
+        @DisplayName("Con el buffer lleno debe descartar el evento más antiguo")
+        void shouldDropEldestWhenFull() throws Exception {
+            hub = new OrderStatusHub(2, 10, 1, Duration.ofHours(1), Duration.ofMinutes(1));
+            CountDownLatch release = new CountDownLatch(1);
+            RecordingSink sink = new RecordingSink(release);
+            hub.subscribe(OrderStatusHub.Scope.USER, "u1", sink).orElseThrow();
+
+            hub.publishOrderStatusChangedEvent(changed("o0", "u1", OrderStatus.PAID, T0));
+            assertTrue(sink.firstSendStarted.await(5, TimeUnit.SECONDS));
+            for (String orderId : List.of("o1", "o2", "o3")) {
+                hub.publishOrderStatusChangedEvent(changed(orderId, "u1", OrderStatus.PAID, T0));
+            }
+            release.countDown();
+
+            assertEquals("o0", sink.next().getOrderId());
+            assertEquals("o2", sink.next().getOrderId());
+            assertEquals("o3", sink.next().getOrderId());
+            assertEquals(1, hub.droppedEvents());
+        }
+    }
+
+    @Nested
+    @DisplayName("🔌 Altas y bajas")
+    class LifecycleTests {
+
+        @Test
+        @DisplayName("Debe rechazar suscripciones por encima del límite")
+        void shouldEnforceMaxSubscribers() {
+            hub = new OrderStatusHub(8, 1, 1, Duration.ofHours(1), Duration.ofMinutes(1));
+
+            OrderStatusHub.Subscription first =
+                hub.subscribe(OrderStatusHub.Scope.ORDER, "o1", new RecordingSink()).orElseThrow();
+            assertTrue(hub.subscribe(OrderStatusHub.Scope.ORDER, "o2", new RecordingSink()).isEmpty());
+            assertEquals(1, hub.subscribers());
+
+            first.close();
+            first.close();
+
+            assertEquals(0, hub.subscribers());
+            assertTrue(hub.subscribe(OrderStatusHub.Scope.ORDER, "o2", new RecordingSink()).isPresent());
+        }
+
+        @Test
+        @DisplayName("No debe entregar nada tras darse de baja")
+        void shouldStopAfterClose() throws Exception {
+            hub = new OrderStatusHub(8, 10, 1, Duration.ofHours(1), Duration.ofMinutes(1));
+            RecordingSink sink = new RecordingSink();
+            hub.subscribe(OrderStatusHub.Scope.ORDER, "o1", sink).orElseThrow().close();
+
+            hub.publishOrderStatusChangedEvent(changed("o1", "u1", OrderStatus.PAID, T0));
+
+            assertNull(sink.events.poll(100, TimeUnit.MILLISECONDS));
+            assertEquals(0, hub.subscribers());
+        }
+
+        @Test
+        @DisplayName("Si el envío falla debe cerrar la suscripción y el sink")
+        void shouldCloseOnSinkFailure() throws Exception {
+            hub = new OrderStatusHub(8, 10, 1, Duration.ofHours(1), Duration.ofMinutes(1));
+            RecordingSink sink = new RecordingSink();
+            sink.fail = true;
+            hub.subscribe(OrderStatusHub.Scope.ORDER, "o1", sink).orElseThrow();
+
+            hub.publishOrderStatusChangedEvent(changed("o1", "u1", OrderStatus.PAID, T0));
+
+            assertTrue(sink.closed.await(5, TimeUnit.SECONDS));
+            assertEquals(0, hub.subscribers());
+        }
+
+        @Test
+        @DisplayName("Una baja que vacía la clave justo tras obtener su conjunto no debe dejar huérfana el alta")
+        void shouldNotOrphanSubscriberWhenKeyEmptiesDuringSubscribe() throws Exception {
+            AtomicReference<Runnable> afterLookup = new AtomicReference<>();
+            // Ejecuta el hook (una vez) en cuanto subscribe() obtiene el
+            // conjunto de la clave, antes de devolverle el control
+            ConcurrentHashMap<String, Set<OrderStatusHub.Subscription>> subscriptions = new ConcurrentHashMap<>() {
+                @Override
+                public Set<OrderStatusHub.Subscription> computeIfAbsent(
+                        String key, Function<? super String, ? extends Set<OrderStatusHub.Subscription>> mapping) {
+                    return runHook(super.computeIfAbsent(key, mapping));
+                }
+
+                @Override
+                public Set<OrderStatusHub.Subscription> compute(
+                        String key, BiFunction<? super String, ? super Set<OrderStatusHub.Subscription>,
+                        ? extends Set<OrderStatusHub.Subscription>> remapping) {
+                    return runHook(super.compute(key, remapping));
+                }
+
+                private Set<OrderStatusHub.Subscription> runHook(Set<OrderStatusHub.Subscription> watchers) {
+                    Runnable hook = afterLookup.getAndSet(null);
+                    if (hook != null) {
+                        hook.run();
+                    }
+                    return watchers;
+                }
+            };
+            hub = new OrderStatusHub(8, 10, 1, Duration.ofHours(1), Duration.ofMinutes(1), subscriptions);
+            OrderStatusHub.Subscription leaving =
+                hub.subscribe(OrderStatusHub.Scope.ORDER, "o1", new RecordingSink()).orElseThrow();
+            // El último suscriptor de o1 se da de baja desde otro hilo
+            afterLookup.set(() -> {
+                Thread closer = new Thread(leaving::close);
+                closer.start();
+                try {
+                    closer.join(5_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            RecordingSink sink = new RecordingSink();
+
+            hub.subscribe(OrderStatusHub.Scope.ORDER, "o1", sink).orElseThrow();
+            hub.publishOrderStatusChangedEvent(changed("o1", "u1", OrderStatus.PAID, T0));
+
+            assertEquals("o1", sink.next().getOrderId());
+            assertEquals(1, hub.subscribers());
+        }
+
+        @Test
+        @DisplayName("Un alta simultánea a la baja del último suscriptor de la clave no debe quedar huérfana")
+        void shouldNotOrphanSubscriberOnConcurrentClose() throws Exception {
+            hub = new OrderStatusHub(8, 100, 2, Duration.ofHours(1), Duration.ofMinutes(1));
+            AtomicReference<String> orderId = new AtomicReference<>("o0");
+            AtomicBoolean running = new AtomicBoolean(true);
+            ExecutorService churn = Executors.newFixedThreadPool(4);
+            try {
+                // Altas y bajas continuas sobre la orden observada: el conjunto
+                // de la clave se vacía (y se quita) una y otra vez
+                for (int t = 0; t < 4; t++) {
+                    churn.submit(() -> {
+                        while (running.get()) {
+                            hub.subscribe(OrderStatusHub.Scope.ORDER, orderId.get(), new RecordingSink())
+                                .ifPresent(OrderStatusHub.Subscription::close);
+                        }
+                    });
+                }
+                for (int round = 0; round < 500; round++) {
+                    String id = "o" + round;
+                    orderId.set(id);
+                    RecordingSink sink = new RecordingSink();
+                    OrderStatusHub.Subscription joined =
+                        hub.subscribe(OrderStatusHub.Scope.ORDER, id, sink).orElseThrow();
+
+                    hub.publishOrderStatusChangedEvent(changed(id, "u1", OrderStatus.PAID, T0));
+
+                    assertEquals(id, sink.next().getOrderId(), "suscriptor huérfano en la ronda " + round);
+                    joined.close();
+                }
+            } finally {
+                running.set(false);
+                churn.shutdown();
+                assertTrue(churn.awaitTermination(5, TimeUnit.SECONDS));
+            }
+            assertEquals(0, hub.subscribers());
+        }
+
+        @Test
+        @DisplayName("Debe enviar latidos periódicos a los suscriptores")
+        void shouldSendHeartbeats() throws Exception {
+            hub = new OrderStatusHub(8, 10, 1, Duration.ofMillis(20), Duration.ofMinutes(1));
+            RecordingSink sink = new RecordingSink();
+            hub.subscribe(OrderStatusHub.Scope.USER, "u1", sink).orElseThrow();
+
+            assertTrue(sink.heartbeats.await(5, TimeUnit.SECONDS));
+        }
+
+        @Test
+        @DisplayName("close() del hub debe cerrar todos los sinks")
+        void shouldCloseSinksOnShutdown() throws Exception {
+            hub = new OrderStatusHub(8, 10, 1, Duration.ofHours(1), Duration.ofMinutes(1));
+            RecordingSink sink = new RecordingSink();
+            hub.subscribe(OrderStatusHub.Scope.USER, "u1", sink).orElseThrow();
+
+            hub.close();
+
+            assertTrue(sink.closed.await(1, TimeUnit.SECONDS));
+            assertEquals(0, hub.subscribers());
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.microservices.order.infrastructure.adapter.output.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA EtagCacheFilter
+ *
+ * PROPÓSITO:
+ * - Verificar que se envía If-None-Match con el ETag guardado
+ * - Verificar que un 304 se convierte en un 200 con el cuerpo guardado
+ * - Verificar que un 404 elimina la copia y que la caché está acotada
+ *
+ * Sin servidor: el ExchangeFunction devuelve las respuestas preparadas
+ * y guarda las peticiones que recibe.
+ */
+@DisplayName("🧪 ETag Cache Filter Tests")
+class EtagCacheFilterTest {
+
+    private static final String USER_JSON = "{\"id\":\"u-1\",\"email\":\"john@example.com\",\"name\":\"John\"}";
+    private static final String ETAG = "W/\"2-abc\"";
+
+    private EtagCacheFilter filter;
+    private List<ClientRequest> requests;
+    private Deque<ClientResponse> responses;
+    private ExchangeFunction server;
+
+    @BeforeEach
+    void setUp() {
+        filter = new EtagCacheFilter(2);
+        requests = new ArrayList<>();
+        responses = new ArrayDeque<>();
+        server = request -> {
+            requests.add(request);
+            return Mono.just(responses.removeFirst());
+        };
+    }
+
+    private String get(String path) {
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://user-service" + path)).build();
+        ClientResponse response = filter.filter(request, server).block();
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.statusCode());
+        return response.bodyToMono(String.class).block();
+    }
+
+    private static ClientResponse ok(String body, String etag) {
+        return ClientResponse.create(HttpStatus.OK)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .header(HttpHeaders.ETAG, etag)
+            .body(body)
+            .build();
+    }
+
+    private String lastIfNoneMatch() {
+        return requests.get(requests.size() - 1).headers().getFirst(HttpHeaders.IF_NONE_MATCH);
+    }
+
+    @Nested
+    @DisplayName("🏷️ GET condicional")
+    class ConditionalGetTests {
+
+        @Test
+        @DisplayName("Debe guardar la respuesta y enviar If-None-Match en la siguiente petición")
+        void shouldSendIfNoneMatchAfterFirstResponse() {
+            responses.add(ok(USER_JSON, ETAG));
+            responses.add(ClientResponse.create(HttpStatus.NOT_MODIFIED).build());
+
+            assertEquals(USER_JSON, get("/api/users/u-1"));
+            assertNull(lastIfNoneMatch());
+
+            assertEquals(USER_JSON, get("/api/users/u-1"));
+            assertEquals(ETAG, lastIfNoneMatch());
+        }
+
+        @Test
+        @DisplayName("Debe reemplazar la copia cuando el recurso cambia")
+        void shouldReplaceCopyWhenResourceChanges() {
+            String updated = USER_JSON.replace("John", "Johnny");
+            responses.add(ok(USER_JSON, ETAG));
+            responses.add(ok(updated, "W/\"2-def\""));
+            responses.add(ClientResponse.create(HttpStatus.NOT_MODIFIED).build());
+
+            get("/api/users/u-1");
+            assertEquals(updated, get("/api/users/u-1"));
+            assertEquals(updated, get("/api/users/u-1"));
+            assertEquals("W/\"2-def\"", lastIfNoneMatch());
+        }
+
+        @Test
+        @DisplayName("No debe guardar respuestas sin ETag ni tocar otros métodos")
+        void shouldIgnoreResponsesWithoutEtagAndOtherMethods() {
+            responses.add(ClientResponse.create(HttpStatus.OK).body(USER_JSON).build());
+            responses.add(ClientResponse.create(HttpStatus.CREATED).build());
+
+            get("/api/users/u-1");
+            ClientRequest post = ClientRequest.create(HttpMethod.POST, URI.create("http://user-service/api/users")).build();
+            filter.filter(post, server).block();
+
+            assertEquals(0, filter.size());
+            assertNull(lastIfNoneMatch());
+        }
+    }
+
+    @Nested
+    @DisplayName("🧹 Invalidación y límite")
+    class EvictionTests {
+
+        @Test
+        @DisplayName("Debe eliminar la copia si el recurso ya no existe (404)")
+        void shouldEvictOnNotFound() {
+            responses.add(ok(USER_JSON, ETAG));
+            responses.add(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+
+            get("/api/users/u-1");
+            ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://user-service/api/users/u-1")).build();
+            ClientResponse notFound = filter.filter(request, server).block();
+
+            assertNotNull(notFound);
+            assertEquals(HttpStatus.NOT_FOUND, notFound.statusCode());
+            assertEquals(0, filter.size());
+        }
+
+        @Test
+        @DisplayName("Debe descartar la entrada menos usada al superar el máximo")
+        void shouldEvictLeastRecentlyUsed() {
+            responses.add(ok(USER_JSON, ETAG));
+            responses.add(ok(USER_JSON, ETAG));
+            responses.add(ok(USER_JSON, ETAG));
+            responses.add(ok(USER_JSON, ETAG));
+
+            get("/api/users/u-1");
+            get("/api/users/u-2");
+            get("/api/users/u-3");
+            get("/api/users/u-1");
+
+            assertEquals(2, filter.size());
+            assertNull(lastIfNoneMatch());
+        }
+    }
+}
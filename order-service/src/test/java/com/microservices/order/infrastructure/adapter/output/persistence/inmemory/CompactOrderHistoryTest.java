@@ -0,0 +1,146 @@
+package com.microservices.order.infrastructure.adapter.output.persistence.inmemory;
+
+import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderId;
+import com.microservices.order.domain.model.OrderStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA CompactOrderHistory
+ *
+ * PROPÓSITO:
+ * - Verificar el orden de las páginas (más recientes primero, a igual
+ *   fecha por id, sin fecha al final) igual que OrderHistoryIndex
+ * - Verificar que mover, borrar y cambiar de usuario actualizan el índice
+ */
+@DisplayName("🧪 Compact Order History Tests")
+class CompactOrderHistoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 15, 10, 0);
+
+    private CompactOrderHistory history;
+    private UUID userId;
+
+    @BeforeEach
+    void setUp() {
+        history = new CompactOrderHistory();
+        userId = UUID.randomUUID();
+    }
+
+    private static Order order(OrderId id, UUID userId, LocalDateTime createdAt) {
+        return new Order(id, userId, BigDecimal.ONE, OrderStatus.CREATED, createdAt, createdAt, 1);
+    }
+
+    private Order add(LocalDateTime createdAt) {
+        Order order = order(OrderId.generate(), userId, createdAt);
+        history.replaced(null, order);
+        return order;
+    }
+
+    @Nested
+    @DisplayName("📄 Páginas")
+    class PageTests {
+
+        @Test
+        @DisplayName("Debe devolver primero las más recientes, a igual fecha por id y sin fecha al final")
+        void shouldOrderNewestFirst() {
+            Order undated = add(null);
+            Order oldest = add(BASE);
+            Order tieB = add(BASE.plusSeconds(1));
+            Order tieA = add(BASE.plusSeconds(1));
+            Order newest = add(BASE.plusSeconds(2));
+            List<Order> ties = new ArrayList<>(List.of(tieA, tieB));
+            ties.sort((a, b) -> a.getId().value().compareTo(b.getId().value()));
+
+            assertEquals(List.of(newest.getId(), ties.get(0).getId(), ties.get(1).getId(), oldest.getId(), undated.getId()),
+                    history.page(userId, 0, 10));
+            assertEquals(List.of(ties.get(1).getId(), oldest.getId()), history.page(userId, 2, 2));
+            assertTrue(history.page(userId, 5, 10).isEmpty());
+            assertTrue(history.page(userId, 0, 0).isEmpty());
+            assertTrue(history.page(UUID.randomUUID(), 0, 10).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Debe coincidir con OrderHistoryIndex en altas, cambios y bajas aleatorias")
+        void shouldMatchOrderHistoryIndex() {
+            OrderHistoryIndex reference = new OrderHistoryIndex();
+            Random random = new Random(42);
+            List<Order> saved = new ArrayList<>();
+            for (int i = 0; i < 500; i++) {
+                int action = saved.isEmpty() ? 0 : random.nextInt(3);
+                if (action == 0) {
+                    // Fechas repetidas a propósito para probar los empates
+                    Order order = order(OrderId.generate(), userId, BASE.plusSeconds(random.nextInt(50)));
+                    history.replaced(null, order);
+                    reference.replaced(null, order);
+                    saved.add(order);
+                } else {
+                    Order previous = saved.remove(random.nextInt(saved.size()));
+                    Order current = action == 1
+                            ? order(previous.getId(), userId, BASE.plusSeconds(random.nextInt(50)))
+                            : null;
+                    history.replaced(previous, current);
+                    reference.replaced(previous, current);
+                    if (current != null) {
+                        saved.add(current);
+                    }
+                }
+            }
+
+            assertEquals(reference.page(userId, 0, 1000), history.page(userId, 0, 1000));
+            assertEquals(reference.page(userId, 7, 13), history.page(userId, 7, 13));
+        }
+    }
+
+    @Nested
+    @DisplayName("🔁 Cambios")
+    class ReplaceTests {
+
+        @Test
+        @DisplayName("Un cambio de estado no debe duplicar la orden")
+        void shouldKeepPositionOnStatusChange() {
+            Order created = add(BASE);
+            Order paid = new Order(created.getId(), userId, BigDecimal.TEN, OrderStatus.PAID,
+                    BASE, BASE.plusSeconds(5), 2);
+
+            history.replaced(created, paid);
+
+            assertEquals(List.of(created.getId()), history.page(userId, 0, 10));
+        }
+
+        @Test
+        @DisplayName("Debe mover la orden de usuario y olvidar al usuario sin órdenes")
+        void shouldMoveOrderBetweenUsers() {
+            Order order = add(BASE);
+            UUID otherUser = UUID.randomUUID();
+
+            history.replaced(order, order(order.getId(), otherUser, BASE));
+
+            assertTrue(history.page(userId, 0, 10).isEmpty());
+            assertEquals(List.of(order.getId()), history.page(otherUser, 0, 10));
+        }
+
+        @Test
+        @DisplayName("Debe quitar la orden borrada")
+        void shouldRemoveDeletedOrder() {
+            Order kept = add(BASE);
+            Order deleted = add(BASE.plusSeconds(1));
+
+            history.replaced(deleted, null);
+
+            assertEquals(List.of(kept.getId()), history.page(userId, 0, 10));
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.microservices.order.infrastructure.adapter.output.persistence.inmemory;
+
+import com.microservices.order.domain.exception.ConcurrentOrderUpdateException;
+import com.microservices.order.domain.exception.InvalidOrderStateException;
+import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderGrouping;
+import com.microservices.order.domain.model.OrderId;
+import com.microservices.order.domain.model.OrderStatus;
+import com.microservices.order.domain.model.OrderTotals;
+import com.microservices.order.domain.model.OrderTransition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 🧪 UNIT TESTS PARA CompactOrderRepository
+ *
+ * PROPÓSITO:
+ * - Verificar que una orden sale de las columnas igual que entró
+ * - Verificar altas, bajas y crecimiento de la tabla hash (sin tombstones)
+ * - Verificar el mismo compare-and-set y transitionStatus() que el mapa
+ * - Verificar que funciona con el journal
+ */
+@DisplayName("🧪 Compact Order Repository Tests")
+class CompactOrderRepositoryTest {
+
+    private CompactOrderRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CompactOrderRepository();
+    }
+
+    @Nested
+    @DisplayName("🧮 Columnas - Ida y vuelta")
+    class RoundTripTests {
+
+        @Test
+        @DisplayName("Debe materializar la orden con todos sus campos")
+        void shouldMaterializeOrder() {
+            LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 10, 30, 45, 123_456_789);
+            Order order = new Order(OrderId.generate(), UUID.randomUUID(), new BigDecimal("1234.50"),
+                    OrderStatus.PAID, createdAt, null, 0);
+
+            repository.save(order);
+            Order stored = repository.findById(order.getId()).orElseThrow();
+
+            assertEquals(order.getId(), stored.getId());
+            assertEquals(order.getUserId(), stored.getUserId());
+            // Mismo valor y misma escala: equals() de BigDecimal
+            assertEquals(new BigDecimal("1234.50"), stored.getTotalAmount());
+            assertEquals(OrderStatus.PAID, stored.getStatus());
+            assertEquals(LocalDateTime.of(2024, 1, 15, 10, 30, 45, 123_456_000), stored.getCreatedAt());
+            assertNull(stored.getUpdatedAt());
+            assertEquals(1, stored.getVersion());
+        }
+
+        @Test
+        @DisplayName("Debe rechazar importes que no caben en un long")
+        void shouldRejectHugeAmount() {
+            Order order = Order.create(UUID.randomUUID(), new BigDecimal("123456789012345678901234567890"));
+
+            assertThrows(IllegalArgumentException.class, () -> repository.save(order));
+            assertFalse(repository.existsById(order.getId()));
+        }
+    }
+
+    @Nested
+    @DisplayName("🗂️ Tabla hash")
+    class HashTableTests {
+
+        @Test
+        @DisplayName("Debe encontrar todas las órdenes tras crecer y borrar la mitad")
+        void shouldSurviveGrowthAndDeletes() {
+            List<Order> orders = new ArrayList<>();
+            for (int i = 0; i < 20_000; i++) {
+                orders.add(repository.save(Order.create(UUID.randomUUID(), BigDecimal.valueOf(i + 1, 2))));
+            }
+            for (int i = 0; i < orders.size(); i += 2) {
+                repository.deleteById(orders.get(i).getId());
+            }
+
+            assertEquals(10_000, repository.size());
+            assertEquals(10_000, repository.findAll().size());
+            for (int i = 0; i < orders.size(); i++) {
+                Order order = orders.get(i);
+                if (i % 2 == 0) {
+                    assertFalse(repository.existsById(order.getId()));
+                } else {
+                    assertEquals(order.getTotalAmount(), repository.findById(order.getId()).orElseThrow().getTotalAmount());
+                }
+            }
+            assertTrue(repository.offHeapBytes() >= 10_000L * OrderTable.BYTES_PER_SLOT);
+        }
+
+        @Test
+        @DisplayName("Debe filtrar por estado sobre la columna")
+        void shouldFindByStatus() {
+            Order paid = repository.save(Order.create(UUID.randomUUID(), BigDecimal.TEN));
+            repository.save(Order.create(UUID.randomUUID(), BigDecimal.ONE));
+            repository.transitionStatus(paid.getId(), OrderStatus.PAID);
+
+            List<Order> result = repository.findByStatus(OrderStatus.PAID);
+
+            assertEquals(1, result.size());
+            assertEquals(paid.getId(), result.get(0).getId());
+            assertEquals(1, repository.findByStatus(OrderStatus.CREATED).size());
+            assertTrue(repository.findByStatus(OrderStatus.CANCELLED).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("💾 save() y transitionStatus()")
+    class WriteTests {
+
+        @Test
+        @DisplayName("Debe rechazar el guardado de una lectura obsoleta")
+        void shouldRejectStaleVersion() {
+            Order created = repository.save(Order.create(UUID.randomUUID(), BigDecimal.TEN));
+            Order first = repository.findById(created.getId()).orElseThrow();
+            Order second = repository.findById(created.getId()).orElseThrow();
+
+            first.markPaid();
+            assertEquals(2, repository.save(first).getVersion());
+            second.cancel();
+
+            assertThrows(ConcurrentOrderUpdateException.class, () -> repository.save(second));
+        }
+
+        @Test
+        @DisplayName("Debe mantener los totales por estado al escribir")
+        void shouldMaintainTotals() {
+            Order paid = repository.save(Order.create(UUID.randomUUID(), new BigDecimal("10.00")));
+            Order deleted = repository.save(Order.create(UUID.randomUUID(), new BigDecimal("3.00")));
+            repository.save(Order.create(UUID.randomUUID(), new BigDecimal("1.50")));
+            repository.transitionStatus(paid.getId(), OrderStatus.PAID);
+            repository.deleteById(deleted.getId());
+
+            List<OrderTotals> totals = repository.aggregate(OrderGrouping.STATUS);
+
+            assertEquals(2, totals.size());
+            assertTrue(totals.contains(new OrderTotals("PAID", 1, new BigDecimal("10.00"))));
+            assertTrue(totals.contains(new OrderTotals("CREATED", 1, new BigDecimal("1.50"))));
+        }
+
+        @Test
+        @DisplayName("Debe paginar el historial de un usuario por fecha de creación")
+        void shouldFindByUserId() {
+            UUID userId = UUID.randomUUID();
+            LocalDateTime base = LocalDateTime.of(2024, 1, 15, 10, 0);
+            List<OrderId> newestFirst = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Order order = new Order(OrderId.generate(), userId, BigDecimal.ONE, OrderStatus.CREATED,
+                        base.plusSeconds(i), null, 0);
+                newestFirst.add(0, repository.save(order).getId());
+            }
+            repository.save(Order.create(UUID.randomUUID(), BigDecimal.ONE));
+            repository.deleteById(newestFirst.remove(1));
+
+            assertEquals(newestFirst, repository.findByUserId(userId, 0, 10).stream().map(Order::getId).toList());
+            assertEquals(newestFirst.subList(1, 2),
+                    repository.findByUserId(userId, 1, 1).stream().map(Order::getId).toList());
+        }
+
+        @Test
+        @DisplayName("Debe devolver el estado anterior y validar la transición")
+        void shouldTransition() {
+            Order created = repository.save(Order.create(UUID.randomUUID(), BigDecimal.TEN));
+
+            OrderTransition transition = repository.transitionStatus(created.getId(), OrderStatus.CANCELLED).orElseThrow();
+
+            assertEquals(OrderStatus.CREATED, transition.previousStatus());
+            assertEquals(OrderStatus.CANCELLED, transition.order().getStatus());
+            assertEquals(2, transition.order().getVersion());
+            assertFalse(repository.transitionStatus(created.getId(), OrderStatus.CANCELLED).orElseThrow().changed());
+            assertThrows(InvalidOrderStateException.class,
+                    () -> repository.transitionStatus(created.getId(), OrderStatus.PAID));
+            assertEquals(2, repository.findById(created.getId()).orElseThrow().getVersion());
+            assertTrue(repository.transitionStatus(OrderId.generate(), OrderStatus.PAID).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("📒 Con journal")
+    class JournalTests {
+
+        @TempDir
+        Path directory;
+
+        @SuppressWarnings("unchecked")
+        private CompactOrderRepository open(OrderJournal journal) {
+            ObjectProvider<OrderJournal> provider = mock(ObjectProvider.class);
+            when(provider.getIfAvailable()).thenReturn(journal);
+            return new CompactOrderRepository(provider);
+        }
+
+        private OrderJournal journal() {
+            return new OrderJournal(directory, OrderJournal.FsyncPolicy.NEVER, Duration.ofMillis(10),
+                    1 << 16, Duration.ofHours(1));
+        }
+
+        @Test
+        @DisplayName("Debe recuperar las órdenes del snapshot y del WAL")
+        void shouldRecover() {
+            OrderJournal first = journal();
+            CompactOrderRepository repository = open(first);
+            Order kept = repository.save(Order.create(UUID.randomUUID(), new BigDecimal("19.99")));
+            Order deleted = repository.save(Order.create(UUID.randomUUID(), BigDecimal.ONE));
+            first.snapshot();
+            repository.transitionStatus(kept.getId(), OrderStatus.PAID);
+            repository.deleteById(deleted.getId());
+            first.close();
+
+            OrderJournal second = journal();
+            CompactOrderRepository recovered = open(second);
+
+            Order order = recovered.findById(kept.getId()).orElseThrow();
+            assertEquals(OrderStatus.PAID, order.getStatus());
+            assertEquals(new BigDecimal("19.99"), order.getTotalAmount());
+            assertEquals(2, order.getVersion());
+            assertFalse(recovered.existsById(deleted.getId()));
+            assertEquals(1, second.recoveredOrders());
+            second.close();
+        }
+    }
+}
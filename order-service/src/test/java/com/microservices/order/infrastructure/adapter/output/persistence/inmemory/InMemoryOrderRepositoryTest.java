@@ -0,0 +1,306 @@
+package com.microservices.order.infrastructure.adapter.output.persistence.inmemory;
+
+import com.microservices.order.domain.exception.ConcurrentOrderUpdateException;
+import com.microservices.order.domain.exception.InvalidOrderStateException;
+import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderGrouping;
+import com.microservices.order.domain.model.OrderId;
+import com.microservices.order.domain.model.OrderStatus;
+import com.microservices.order.domain.model.OrderTotals;
+import com.microservices.order.domain.model.OrderTransition;
+import com.microservices.order.domain.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * 🧪 UNIT TESTS PARA InMemoryOrderRepository
+ *
+ * PROPÓSITO:
+ * - Verificar el compare-and-set de save() y que se guardan copias
+ * - Verificar transitionStatus() atómico con muchas peticiones a la vez
+ * - Verificar que los totales acumulados de aggregate() coinciden con
+ *   recorrer todas las órdenes (método default del puerto)
+ * - Verificar la paginación de findByUserId() con el índice por usuario
+ */
+@DisplayName("🧪 In-Memory Order Repository Tests")
+class InMemoryOrderRepositoryTest {
+
+    private InMemoryOrderRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryOrderRepository();
+    }
+
+    @Nested
+    @DisplayName("💾 save() - Concurrencia optimista")
+    class SaveTests {
+
+        @Test
+        @DisplayName("Debe rechazar el guardado de una lectura obsoleta")
+        void shouldRejectStaleVersion() {
+            Order created = repository.save(Order.create(UUID.randomUUID(), BigDecimal.TEN));
+            Order first = repository.findById(created.getId()).orElseThrow();
+            Order second = repository.findById(created.getId()).orElseThrow();
+
+            first.markPaid();
+            assertEquals(2, repository.save(first).getVersion());
+            second.cancel();
+
+            assertThrows(ConcurrentOrderUpdateException.class, () -> repository.save(second));
+        }
+
+        @Test
+        @DisplayName("Modificar una orden leída no debe modificar la guardada")
+        void shouldReturnCopies() {
+            Order created = repository.save(Order.create(UUID.randomUUID(), BigDecimal.TEN));
+
+            repository.findById(created.getId()).orElseThrow().markPaid();
+
+            assertEquals(OrderStatus.CREATED, repository.findById(created.getId()).orElseThrow().getStatus());
+        }
+    }
+
+    @Nested
+    @DisplayName("🔄 transitionStatus()")
+    class TransitionTests {
+
+        @Test
+        @DisplayName("Debe devolver el estado anterior y la orden guardada")
+        void shouldReturnTransition() {
+            Order created = repository.save(Order.create(UUID.randomUUID(), BigDecimal.TEN));
+
+            OrderTransition transition = repository.transitionStatus(created.getId(), OrderStatus.PAID).orElseThrow();
+
+            assertEquals(OrderStatus.CREATED, transition.previousStatus());
+            assertEquals(OrderStatus.PAID, transition.order().getStatus());
+            assertEquals(2, transition.order().getVersion());
+            assertTrue(transition.changed());
+            assertFalse(repository.transitionStatus(created.getId(), OrderStatus.PAID).orElseThrow().changed());
+            assertTrue(repository.transitionStatus(OrderId.generate(), OrderStatus.PAID).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Con peticiones concurrentes cada cambio se valida contra el estado más reciente")
+        void shouldSerializeConcurrentTransitions() throws Exception {
+            Order created = repository.save(Order.create(UUID.randomUUID(), BigDecimal.TEN));
+            int threads = 8;
+            int perThread = 500;
+            AtomicInteger changes = new AtomicInteger();
+            AtomicInteger rejected = new AtomicInteger();
+            CountDownLatch start = new CountDownLatch(1);
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int t = 0; t < threads; t++) {
+                OrderStatus target = t % 2 == 0 ? OrderStatus.PAID : OrderStatus.CANCELLED;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        try {
+                            if (repository.transitionStatus(created.getId(), target).orElseThrow().changed()) {
+                                changes.incrementAndGet();
+                            }
+                        } catch (InvalidOrderStateException e) {
+                            rejected.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+
+            Order result = repository.findById(created.getId()).orElseThrow();
+            // Como mucho CREATED → PAID → CANCELLED: nunca se pierde ni se repite un cambio
+            assertEquals(OrderStatus.CANCELLED, result.getStatus());
+            assertTrue(changes.get() == 1 || changes.get() == 2);
+            assertEquals(1 + changes.get(), result.getVersion());
+            assertTrue(rejected.get() > 0);
+        }
+    }
+
+    @Nested
+    @DisplayName("📊 aggregate() - Totales acumulados")
+    class AggregateTests {
+
+        /**
+         * El método default del puerto (reducción sobre findAll()) como referencia
+         */
+        private Map<String, OrderTotals> expected(OrderGrouping grouping) {
+            OrderRepository reference = mock(OrderRepository.class, CALLS_REAL_METHODS);
+            doAnswer(invocation -> repository.findAll()).when(reference).findAll();
+            return byGroup(reference.aggregate(grouping));
+        }
+
+        private Map<String, OrderTotals> byGroup(List<OrderTotals> totals) {
+            return totals.stream().collect(Collectors.toMap(OrderTotals::group, t -> t));
+        }
+
+        private void assertMatchesFullScan() {
+            for (OrderGrouping grouping : OrderGrouping.values()) {
+                Map<String, OrderTotals> expected = expected(grouping);
+                Map<String, OrderTotals> actual = byGroup(repository.aggregate(grouping));
+                assertEquals(expected.keySet(), actual.keySet(), grouping.name());
+                expected.forEach((group, totals) -> {
+                    assertEquals(totals.count(), actual.get(group).count(), group);
+                    assertEquals(0, totals.totalAmount().compareTo(actual.get(group).totalAmount()), group);
+                });
+            }
+        }
+
+        @Test
+        @DisplayName("Debe actualizar los totales al guardar, cambiar de estado y borrar")
+        void shouldMaintainRunningTotals() {
+            UUID userId = UUID.randomUUID();
+            Order first = repository.save(Order.create(userId, new BigDecimal("10.00")));
+            Order second = repository.save(Order.create(userId, new BigDecimal("2.50")));
+            repository.transitionStatus(first.getId(), OrderStatus.PAID);
+
+            Map<String, OrderTotals> byStatus = byGroup(repository.aggregate(OrderGrouping.STATUS));
+            assertEquals(1, byStatus.get("PAID").count());
+            assertEquals(new BigDecimal("10.00"), byStatus.get("PAID").totalAmount());
+            assertEquals(new BigDecimal("12.50"), byGroup(repository.aggregate(OrderGrouping.USER))
+                    .get(userId.toString()).totalAmount());
+
+            repository.deleteById(second.getId());
+
+            // Un grupo sin órdenes desaparece
+            assertFalse(byGroup(repository.aggregate(OrderGrouping.STATUS)).containsKey("CREATED"));
+            assertMatchesFullScan();
+        }
+
+        @Test
+        @DisplayName("Con escrituras concurrentes los totales coinciden con recorrer todas las órdenes")
+        void shouldStayConsistentUnderConcurrency() throws Exception {
+            UUID[] users = {UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()};
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    List<OrderId> mine = new ArrayList<>();
+                    for (int i = 0; i < 500; i++) {
+                        int action = random.nextInt(4);
+                        if (action == 0 || mine.isEmpty()) {
+                            mine.add(repository.save(Order.create(users[random.nextInt(users.length)],
+                                    BigDecimal.valueOf(random.nextLong(1, 10_000), 2))).getId());
+                        } else if (action == 3) {
+                            repository.deleteById(mine.remove(random.nextInt(mine.size())));
+                        } else {
+                            try {
+                                repository.transitionStatus(mine.get(random.nextInt(mine.size())),
+                                        action == 1 ? OrderStatus.PAID : OrderStatus.CANCELLED);
+                            } catch (InvalidOrderStateException ignored) {
+                                // CANCELLED → PAID: no cambia nada
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+            executor.shutdown();
+
+            assertMatchesFullScan();
+        }
+    }
+
+    @Nested
+    @DisplayName("👤 findByUserId() - Historial por usuario")
+    class FindByUserIdTests {
+
+        private final UUID userId = UUID.randomUUID();
+
+        private Order saveAt(UUID user, LocalDateTime createdAt) {
+            return repository.save(new Order(OrderId.generate(), user, BigDecimal.TEN, OrderStatus.CREATED,
+                    createdAt, createdAt));
+        }
+
+        @Test
+        @DisplayName("Debe paginar las órdenes del usuario de la más reciente a la más antigua")
+        void shouldPageNewestFirst() {
+            LocalDateTime base = LocalDateTime.of(2024, 1, 15, 10, 0);
+            List<OrderId> expected = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                expected.add(0, saveAt(userId, base.plusMinutes(i)).getId());
+            }
+            saveAt(UUID.randomUUID(), base.plusHours(1));
+
+            List<Order> first = repository.findByUserId(userId, 0, 2);
+            List<Order> last = repository.findByUserId(userId, 4, 2);
+
+            assertEquals(expected.subList(0, 2), first.stream().map(Order::getId).toList());
+            assertEquals(expected.subList(4, 5), last.stream().map(Order::getId).toList());
+            assertTrue(repository.findByUserId(userId, 5, 2).isEmpty());
+            assertTrue(repository.findByUserId(UUID.randomUUID(), 0, 10).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Debe reflejar cambios de estado y borrados")
+        void shouldFollowUpdatesAndDeletes() {
+            LocalDateTime base = LocalDateTime.of(2024, 1, 15, 10, 0);
+            Order older = saveAt(userId, base);
+            Order newer = saveAt(userId, base.plusMinutes(1));
+            repository.transitionStatus(older.getId(), OrderStatus.PAID);
+            repository.deleteById(newer.getId());
+
+            List<Order> history = repository.findByUserId(userId, 0, 10);
+
+            assertEquals(1, history.size());
+            assertEquals(older.getId(), history.get(0).getId());
+            assertEquals(OrderStatus.PAID, history.get(0).getStatus());
+        }
+
+        @Test
+        @DisplayName("Debe devolver lo mismo que filtrar y ordenar todas las órdenes")
+        void shouldMatchFullScan() {
+            OrderRepository reference = mock(OrderRepository.class, CALLS_REAL_METHODS);
+            doAnswer(invocation -> repository.findAll()).when(reference).findAll();
+            UUID[] users = {userId, UUID.randomUUID()};
+            LocalDateTime base = LocalDateTime.of(2024, 1, 15, 10, 0);
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            List<OrderId> saved = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                // Fechas repetidas: el desempate por id también debe coincidir
+                saved.add(saveAt(users[random.nextInt(users.length)], base.plusMinutes(random.nextInt(50))).getId());
+            }
+            for (int i = 0; i < 40; i++) {
+                repository.deleteById(saved.get(random.nextInt(saved.size())));
+            }
+
+            for (int offset = 0; offset < 120; offset += 7) {
+                assertEquals(
+                        reference.findByUserId(userId, offset, 7).stream().map(Order::getId).toList(),
+                        repository.findByUserId(userId, offset, 7).stream().map(Order::getId).toList());
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.microservices.order.infrastructure.adapter.output.persistence.inmemory;
+
+import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderId;
+import com.microservices.order.domain.model.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 🧪 UNIT TESTS PARA OrderJournal
+ *
+ * PROPÓSITO:
+ * - Verificar que InMemoryOrderRepository recupera su estado tras un
+ *   cierre ordenado (snapshot) y tras una caída (WAL)
+ * - Verificar que un registro a medias se descarta sin perder los anteriores
+ * - Verificar la rotación de segmentos y el borrado tras un snapshot
+ */
+@DisplayName("🧪 Order Journal Tests")
+class OrderJournalTest {
+
+    private static final int SMALL_SEGMENT = 4096;
+
+    @TempDir
+    Path directory;
+
+    private final List<OrderJournal> journals = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        journals.forEach(OrderJournal::close);
+    }
+
+    private OrderJournal journal(OrderJournal.FsyncPolicy policy, int segmentSize) {
+        OrderJournal journal = new OrderJournal(directory, policy, Duration.ofMillis(10),
+                segmentSize, Duration.ofHours(1));
+        journals.add(journal);
+        return journal;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static InMemoryOrderRepository repository(OrderJournal journal) {
+        ObjectProvider<OrderJournal> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(journal);
+        return new InMemoryOrderRepository(provider);
+    }
+
+    private static Order newOrder(String amount) {
+        return Order.create(UUID.randomUUID(), new BigDecimal(amount));
+    }
+
+    private List<Path> files(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(suffix)).sorted().toList();
+        }
+    }
+
+    @Nested
+    @DisplayName("🔁 Recuperación")
+    class RecoveryTests {
+
+        @Test
+        @DisplayName("Debe recuperar guardados, cambios de estado y borrados tras un cierre ordenado")
+        void shouldRecoverAfterClose() {
+            OrderJournal first = journal(OrderJournal.FsyncPolicy.INTERVAL, SMALL_SEGMENT);
+            InMemoryOrderRepository repository = repository(first);
+            Order paid = repository.save(newOrder("99.99"));
+            Order deleted = repository.save(newOrder("10.00"));
+            repository.transitionStatus(paid.getId(), OrderStatus.PAID);
+            repository.deleteById(deleted.getId());
+            first.close();
+
+            OrderJournal second = journal(OrderJournal.FsyncPolicy.INTERVAL, SMALL_SEGMENT);
+            InMemoryOrderRepository recovered = repository(second);
+
+            Order order = recovered.findById(paid.getId()).orElseThrow();
+            assertEquals(OrderStatus.PAID, order.getStatus());
+            assertEquals(new BigDecimal("99.99"), order.getTotalAmount());
+            assertEquals(paid.getUserId(), order.getUserId());
+            assertEquals(paid.getCreatedAt(), order.getCreatedAt());
+            assertEquals(2, order.getVersion());
+            assertFalse(recovered.existsById(deleted.getId()));
+            assertEquals(1, second.recoveredOrders());
+            assertTrue(second.recoveryTime(TimeUnit.NANOSECONDS) > 0);
+        }
+
+        @Test
+        @DisplayName("Debe recuperar del WAL sin snapshot final (caída), rotando segmentos")
+        void shouldReplayWalAfterCrash() throws IOException {
+            InMemoryOrderRepository repository = repository(journal(OrderJournal.FsyncPolicy.NEVER, SMALL_SEGMENT));
+            List<OrderId> ids = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                ids.add(repository.save(newOrder(i + ".50")).getId());
+            }
+            repository.transitionStatus(ids.get(0), OrderStatus.CANCELLED);
+            assertTrue(files(".log").size() > 1, "100 órdenes no caben en un segmento de 4 KB");
+
+            // Sin close(): lo escrito en el segmento mapeado es lo único que queda
+            InMemoryOrderRepository recovered = repository(journal(OrderJournal.FsyncPolicy.NEVER, SMALL_SEGMENT));
+
+            assertEquals(100, recovered.findAll().size());
+            assertEquals(OrderStatus.CANCELLED, recovered.findById(ids.get(0)).orElseThrow().getStatus());
+            assertEquals(new BigDecimal("99.50"), recovered.findById(ids.get(99)).orElseThrow().getTotalAmount());
+        }
+
+        @Test
+        @DisplayName("Debe descartar un registro dañado al final y conservar los anteriores")
+        void shouldIgnoreTornRecord() throws IOException {
+            InMemoryOrderRepository repository = repository(journal(OrderJournal.FsyncPolicy.NEVER, SMALL_SEGMENT));
+            Order kept = repository.save(newOrder("1.00"));
+            Order torn = repository.save(newOrder("2.00"));
+            corruptLastRecord(files(".log").get(0));
+
+            OrderJournal second = journal(OrderJournal.FsyncPolicy.NEVER, SMALL_SEGMENT);
+            InMemoryOrderRepository recovered = repository(second);
+
+            assertTrue(recovered.existsById(kept.getId()));
+            assertFalse(recovered.existsById(torn.getId()));
+            // El segmento dañado se sustituye por un snapshot
+            assertEquals(1, second.snapshotCount());
+
+            Order later = recovered.save(newOrder("3.00"));
+            InMemoryOrderRepository third = repository(journal(OrderJournal.FsyncPolicy.NEVER, SMALL_SEGMENT));
+            assertTrue(third.existsById(kept.getId()));
+            assertTrue(third.existsById(later.getId()));
+        }
+
+        private void corruptLastRecord(Path segment) throws IOException {
+            try (FileChannel file = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = file.map(FileChannel.MapMode.READ_WRITE, 0, file.size());
+                int position = 0;
+                int last = -1;
+                while (buffer.getInt(position) != 0) {
+                    last = position;
+                    position += 8 + buffer.getInt(position);
+                }
+                int payload = last + 8 + 1;
+                buffer.put(payload, (byte) (buffer.get(payload) ^ 0xFF));
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("📸 Snapshots")
+    class SnapshotTests {
+
+        @Test
+        @DisplayName("Debe borrar el WAL anterior al snapshot y aplicar el posterior")
+        void shouldCompactWal() throws IOException {
+            OrderJournal journal = journal(OrderJournal.FsyncPolicy.INTERVAL, SMALL_SEGMENT);
+            InMemoryOrderRepository repository = repository(journal);
+            for (int i = 0; i < 50; i++) {
+                repository.save(newOrder("5.00"));
+            }
+
+            journal.snapshot();
+            Order afterSnapshot = repository.save(newOrder("7.00"));
+
+            assertEquals(1, files(".bin").size());
+            assertEquals(1, files(".log").size());
+            assertEquals(1, journal.snapshotCount());
+
+            InMemoryOrderRepository recovered = repository(journal(OrderJournal.FsyncPolicy.INTERVAL, SMALL_SEGMENT));
+            assertEquals(51, recovered.findAll().size());
+            assertTrue(recovered.existsById(afterSnapshot.getId()));
+        }
+    }
+
+    @Nested
+    @DisplayName("💽 fsync")
+    class FsyncTests {
+
+        @Test
+        @DisplayName("ALWAYS debe hacer force() antes de devolver cada escritura")
+        void shouldForceEveryWrite() {
+            OrderJournal journal = journal(OrderJournal.FsyncPolicy.ALWAYS, SMALL_SEGMENT);
+            InMemoryOrderRepository repository = repository(journal);
+
+            repository.save(newOrder("1.00"));
+            repository.save(newOrder("2.00"));
+
+            assertEquals(2, journal.fsyncCount());
+            assertEquals(OrderJournal.FsyncPolicy.ALWAYS, journal.fsyncPolicy());
+        }
+
+        @Test
+        @DisplayName("NEVER no debe hacer force() al escribir")
+        void shouldNotForceWithNever() {
+            OrderJournal journal = journal(OrderJournal.FsyncPolicy.NEVER, SMALL_SEGMENT);
+            repository(journal).save(newOrder("1.00"));
+
+            assertEquals(0, journal.fsyncCount());
+        }
+
+        @Test
+        @DisplayName("Debe rechazar segmentos en los que no cabe una orden")
+        void shouldRejectTinySegment() {
+            assertThrows(IllegalArgumentException.class, () -> journal(OrderJournal.FsyncPolicy.NEVER, 64));
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.microservices.order.infrastructure.adapter.output.persistence.jdbc;
+
+import com.microservices.order.domain.exception.ConcurrentOrderUpdateException;
+import com.microservices.order.domain.model.Order;
+import com.microservices.order.domain.model.OrderGrouping;
+import com.microservices.order.domain.model.OrderId;
+import com.microservices.order.domain.model.OrderStatus;
+import com.microservices.order.domain.model.OrderTotals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA JdbcOrderRepositoryAdapter (H2 en memoria)
+ *
+ * PROPÓSITO:
+ * - Verificar el compare-and-set de save() (WHERE version = ?)
+ * - Verificar el mapeo fila ↔ Order con el esquema db/order-schema.sql
+ * - Verificar aggregate() con GROUP BY (mismas claves que OrderGrouping)
+ * - Verificar el historial paginado de findByUserId()
+ */
+@DisplayName("🧪 JDBC Order Repository Adapter Tests")
+class JdbcOrderRepositoryAdapterTest {
+
+    private EmbeddedDatabase database;
+    private JdbcOrderRepositoryAdapter repository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .addScript("db/order-schema.sql")
+            .build();
+        repository = new JdbcOrderRepositoryAdapter(new JdbcTemplate(database));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Nested
+    @DisplayName("💾 save() - Concurrencia optimista")
+    class SaveTests {
+
+        @Test
+        @DisplayName("Debe insertar una orden nueva con versión 1 y leerla igual")
+        void shouldInsertNewOrder() {
+            Order order = Order.create(UUID.randomUUID(), new BigDecimal("99.90"));
+
+            Order saved = repository.save(order);
+            Order found = repository.findById(order.getId()).orElseThrow();
+
+            assertEquals(1, saved.getVersion());
+            assertEquals(1, found.getVersion());
+            assertEquals(order.getUserId(), found.getUserId());
+            assertEquals(0, order.getTotalAmount().compareTo(found.getTotalAmount()));
+            assertEquals(OrderStatus.CREATED, found.getStatus());
+            assertTrue(repository.existsById(order.getId()));
+        }
+
+        @Test
+        @DisplayName("Debe actualizar si la versión coincide e incrementarla")
+        void shouldUpdateWithCurrentVersion() {
+            Order order = repository.save(Order.create(UUID.randomUUID(), BigDecimal.TEN));
+
+            order.markPaid();
+            Order saved = repository.save(order);
+
+            assertEquals(2, saved.getVersion());
+            Order found = repository.findById(order.getId()).orElseThrow();
+            assertEquals(OrderStatus.PAID, found.getStatus());
+            assertEquals(2, found.getVersion());
+        }
+
+        @Test
+        @DisplayName("Debe rechazar el guardado de una lectura obsoleta")
+        void shouldRejectStaleVersion() {
+            Order created = repository.save(Order.create(UUID.randomUUID(), BigDecimal.TEN));
+            Order first = repository.findById(created.getId()).orElseThrow();
+            Order second = repository.findById(created.getId()).orElseThrow();
+
+            first.markPaid();
+            repository.save(first);
+            second.cancel();
+
+            assertThrows(ConcurrentOrderUpdateException.class, () -> repository.save(second));
+            assertEquals(OrderStatus.PAID, repository.findById(created.getId()).orElseThrow().getStatus());
+        }
+
+        @Test
+        @DisplayName("Debe rechazar insertar dos veces la misma orden nueva")
+        void shouldRejectDuplicateInsert() {
+            Order order = Order.create(UUID.randomUUID(), BigDecimal.TEN);
+            repository.save(order);
+
+            assertThrows(ConcurrentOrderUpdateException.class, () -> repository.save(order));
+        }
+    }
+
+    @Nested
+    @DisplayName("🔍 Consultas")
+    class QueryTests {
+
+        @Test
+        @DisplayName("Debe filtrar por estado y eliminar")
+        void shouldFindByStatusAndDelete() {
+            Order paid = repository.save(Order.create(UUID.randomUUID(), BigDecimal.ONE));
+            paid.markPaid();
+            repository.save(paid);
+            Order created = repository.save(Order.create(UUID.randomUUID(), BigDecimal.ONE));
+
+            assertEquals(2, repository.findAll().size());
+            assertEquals(paid.getId(), repository.findByStatus(OrderStatus.PAID).get(0).getId());
+
+            repository.deleteById(created.getId());
+
+            assertFalse(repository.existsById(created.getId()));
+            assertTrue(repository.findById(created.getId()).isEmpty());
+        }
+    }
+
+    @Nested
+    @DisplayName("📊 aggregate() - GROUP BY")
+    class AggregateTests {
+
+        private final UUID alice = UUID.randomUUID();
+        private final UUID bob = UUID.randomUUID();
+
+        private void insert(UUID userId, String amount, OrderStatus status, LocalDateTime createdAt) {
+            repository.save(new Order(OrderId.generate(), userId, new BigDecimal(amount), status,
+                    createdAt, createdAt));
+        }
+
+        private Map<String, OrderTotals> aggregate(OrderGrouping grouping) {
+            return repository.aggregate(grouping).stream()
+                    .collect(Collectors.toMap(OrderTotals::group, totals -> totals));
+        }
+
+        @BeforeEach
+        void insertOrders() {
+            insert(alice, "10.00", OrderStatus.PAID, LocalDateTime.of(2024, 1, 15, 10, 5));
+            insert(alice, "20.50", OrderStatus.CREATED, LocalDateTime.of(2024, 1, 15, 10, 55, 30));
+            insert(bob, "5.25", OrderStatus.PAID, LocalDateTime.of(2024, 1, 15, 11, 0));
+            insert(bob, "1.00", OrderStatus.CANCELLED, LocalDateTime.of(2024, 1, 16, 9, 30));
+        }
+
+        @Test
+        @DisplayName("Debe agrupar por estado y por usuario")
+        void shouldGroupByStatusAndUser() {
+            Map<String, OrderTotals> byStatus = aggregate(OrderGrouping.STATUS);
+            Map<String, OrderTotals> byUser = aggregate(OrderGrouping.USER);
+
+            assertEquals(3, byStatus.size());
+            assertEquals(2, byStatus.get("PAID").count());
+            assertEquals(0, new BigDecimal("15.25").compareTo(byStatus.get("PAID").totalAmount()));
+            assertEquals(2, byUser.get(alice.toString()).count());
+            assertEquals(0, new BigDecimal("30.50").compareTo(byUser.get(alice.toString()).totalAmount()));
+            assertEquals(0, new BigDecimal("6.25").compareTo(byUser.get(bob.toString()).totalAmount()));
+        }
+
+        @Test
+        @DisplayName("Debe agrupar por hora y por día con las claves de OrderGrouping")
+        void shouldGroupByTimeBucket() {
+            Map<String, OrderTotals> byHour = aggregate(OrderGrouping.HOUR);
+            Map<String, OrderTotals> byDay = aggregate(OrderGrouping.DAY);
+
+            assertEquals(3, byHour.size());
+            assertEquals(2, byHour.get("2024-01-15T10:00").count());
+            assertEquals(0, new BigDecimal("30.50").compareTo(byHour.get("2024-01-15T10:00").totalAmount()));
+            assertEquals(1, byHour.get("2024-01-16T09:00").count());
+            assertEquals(3, byDay.get("2024-01-15T00:00").count());
+            assertEquals(1, byDay.get("2024-01-16T00:00").count());
+        }
+    }
+
+    @Nested
+    @DisplayName("👤 findByUserId() - Historial paginado")
+    class FindByUserIdTests {
+
+        @Test
+        @DisplayName("Debe devolver las órdenes del usuario más recientes primero, por páginas")
+        void shouldPageNewestFirst() {
+            UUID userId = UUID.randomUUID();
+            LocalDateTime base = LocalDateTime.of(2024, 1, 15, 10, 0);
+            List<OrderId> newestFirst = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                Order order = new Order(OrderId.generate(), userId, BigDecimal.TEN, OrderStatus.CREATED,
+                        base.plusMinutes(i), base.plusMinutes(i));
+                repository.save(order);
+                newestFirst.add(0, order.getId());
+            }
+            repository.save(Order.create(UUID.randomUUID(), BigDecimal.ONE));
+
+            List<Order> first = repository.findByUserId(userId, 0, 2);
+            List<Order> third = repository.findByUserId(userId, 4, 2);
+
+            assertEquals(newestFirst.subList(0, 2), first.stream().map(Order::getId).toList());
+            assertEquals(newestFirst.subList(4, 5), third.stream().map(Order::getId).toList());
+            assertEquals(userId, first.get(0).getUserId());
+            assertEquals(1, first.get(0).getVersion());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.microservices.order.infrastructure.config;
+
+import com.microservices.order.application.exception.DeadlineExceededException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA HttpClientConfig (plazo de user-service)
+ *
+ * PROPÓSITO:
+ * - Verificar que una respuesta dentro de user-service.timeout pasa tal cual
+ * - Verificar que si vence el plazo la llamada acaba en DeadlineExceededException
+ *
+ * Sin servidor: el ExchangeFunction devuelve la respuesta preparada o no
+ * responde nunca.
+ */
+@DisplayName("🧪 HTTP Client Config Tests")
+class HttpClientConfigTest {
+
+    private static final ClientRequest REQUEST =
+        ClientRequest.create(HttpMethod.GET, URI.create("http://user-service/users/u-1")).build();
+
+    @Nested
+    @DisplayName("⏳ user-service.timeout")
+    class TimeoutTests {
+
+        @Test
+        @DisplayName("Debe dejar pasar la respuesta que llega a tiempo")
+        void shouldPassResponseWithinTimeout() {
+            ExchangeFilterFunction filter = HttpClientConfig.timeoutFilter(Duration.ofSeconds(5));
+
+            ClientResponse response = filter
+                .filter(REQUEST, request -> Mono.just(ClientResponse.create(HttpStatus.OK).build()))
+                .block();
+
+            assertNotNull(response);
+            assertEquals(HttpStatus.OK, response.statusCode());
+        }
+
+        @Test
+        @DisplayName("Debe lanzar DeadlineExceededException si user-service no responde")
+        void shouldFailWithDeadlineExceeded() {
+            ExchangeFilterFunction filter = HttpClientConfig.timeoutFilter(Duration.ofMillis(50));
+
+            Mono<ClientResponse> response = filter.filter(REQUEST, request -> Mono.never());
+
+            DeadlineExceededException ex = assertThrows(DeadlineExceededException.class, response::block);
+            assertTrue(ex.getMessage().contains("50 ms"));
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.microservices.order.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA KafkaProducerConfig
+ *
+ * PROPÓSITO:
+ * - Verificar que kafka.producer.profile llega a las propiedades del
+ *   productor (acks, linger, lotes, compresión, idempotencia)
+ * - Verificar que solo exactly-once es transaccional
+ * - Verificar que spring.kafka.producer.properties.* se aplica encima
+ *
+ * Contexto de Spring mínimo (solo esta configuración): no hace falta broker.
+ */
+@DisplayName("🧪 Kafka Producer Config Tests")
+class KafkaProducerConfigTest {
+
+    @Configuration
+    @EnableConfigurationProperties(KafkaProperties.class)
+    static class KafkaPropertiesConfig {
+    }
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(KafkaPropertiesConfig.class, KafkaProducerConfig.class)
+        .withPropertyValues("spring.kafka.bootstrap-servers=localhost:9092");
+
+    private void withProducerFactory(String[] properties, ProducerFactoryAssertion assertion) {
+        contextRunner.withPropertyValues(properties).run(context -> {
+            assertNull(context.getStartupFailure());
+            assertion.check((DefaultKafkaProducerFactory<?, ?>) context.getBean(ProducerFactory.class));
+        });
+    }
+
+    @FunctionalInterface
+    private interface ProducerFactoryAssertion {
+        void check(DefaultKafkaProducerFactory<?, ?> factory);
+    }
+
+    @Nested
+    @DisplayName("🎛️ Perfiles")
+    class ProfileTests {
+
+        @Test
+        @DisplayName("Sin perfil debe usar balanced: acks=all, idempotente, snappy, linger 10 ms")
+        void shouldDefaultToBalanced() {
+            withProducerFactory(new String[0], factory -> {
+                Map<String, Object> config = factory.getConfigurationProperties();
+                assertEquals("localhost:9092", config.get(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG));
+                assertEquals(StringSerializer.class, config.get(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG));
+                assertEquals(JsonSerializer.class, config.get(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG));
+                assertEquals("all", config.get(ProducerConfig.ACKS_CONFIG));
+                assertEquals(true, config.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+                assertEquals(10, config.get(ProducerConfig.LINGER_MS_CONFIG));
+                assertEquals(16384, config.get(ProducerConfig.BATCH_SIZE_CONFIG));
+                assertEquals("snappy", config.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+                assertFalse(factory.transactionCapable());
+            });
+        }
+
+        @ParameterizedTest
+        @EnumSource(KafkaProducerProfile.class)
+        @DisplayName("Cada perfil debe llegar completo a las propiedades del productor")
+        void shouldApplyEveryProfileProperty(KafkaProducerProfile profile) {
+            String name = profile.name().toLowerCase(Locale.ROOT).replace('_', '-');
+            withProducerFactory(new String[] {"kafka.producer.profile=" + name}, factory -> {
+                Map<String, Object> config = factory.getConfigurationProperties();
+                profile.properties().forEach((key, value) -> assertEquals(value, config.get(key), key));
+                assertEquals(profile.transactional(), factory.transactionCapable());
+            });
+        }
+
+        @Test
+        @DisplayName("low-latency: acks=1, sin idempotencia, sin espera ni compresión")
+        void shouldConfigureLowLatency() {
+            withProducerFactory(new String[] {"kafka.producer.profile=low-latency"}, factory -> {
+                Map<String, Object> config = factory.getConfigurationProperties();
+                assertEquals("1", config.get(ProducerConfig.ACKS_CONFIG));
+                assertEquals(false, config.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+                assertEquals(0, config.get(ProducerConfig.LINGER_MS_CONFIG));
+                assertEquals("none", config.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+            });
+        }
+
+        @Test
+        @DisplayName("high-throughput: lotes de 128 KB, linger 25 ms y lz4")
+        void shouldConfigureHighThroughput() {
+            withProducerFactory(new String[] {"kafka.producer.profile=HIGH_THROUGHPUT"}, factory -> {
+                Map<String, Object> config = factory.getConfigurationProperties();
+                assertEquals("all", config.get(ProducerConfig.ACKS_CONFIG));
+                assertEquals(true, config.get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+                assertEquals(25, config.get(ProducerConfig.LINGER_MS_CONFIG));
+                assertEquals(131072, config.get(ProducerConfig.BATCH_SIZE_CONFIG));
+                assertEquals("lz4", config.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+            });
+        }
+
+        @Test
+        @DisplayName("exactly-once: transaccional con el transaction-id-prefix configurado")
+        void shouldConfigureExactlyOnce() {
+            withProducerFactory(new String[] {
+                "kafka.producer.profile=exactly-once",
+                "kafka.producer.transaction-id-prefix=order-service-pod-1-"
+            }, factory -> {
+                assertTrue(factory.transactionCapable());
+                assertEquals("order-service-pod-1-", factory.getTransactionIdPrefix());
+                assertEquals(true, factory.getConfigurationProperties().get(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG));
+            });
+        }
+    }
+
+    @Nested
+    @DisplayName("🔧 Ajustes sueltos y métricas")
+    class OverrideTests {
+
+        @Test
+        @DisplayName("spring.kafka.producer.properties.* debe aplicarse encima del perfil")
+        void shouldApplyOverridesOnTopOfProfile() {
+            withProducerFactory(new String[] {
+                "kafka.producer.profile=balanced",
+                "spring.kafka.producer.properties.linger.ms=50"
+            }, factory -> {
+                Map<String, Object> config = factory.getConfigurationProperties();
+                assertEquals("50", config.get(ProducerConfig.LINGER_MS_CONFIG));
+                assertEquals("snappy", config.get(ProducerConfig.COMPRESSION_TYPE_CONFIG));
+            });
+        }
+
+        @Test
+        @DisplayName("Con MeterRegistry debe exportar las métricas del cliente")
+        void shouldAddMicrometerListener() {
+            contextRunner.withBean(MeterRegistry.class, SimpleMeterRegistry::new).run(context -> {
+                DefaultKafkaProducerFactory<?, ?> factory =
+                    (DefaultKafkaProducerFactory<?, ?>) context.getBean(ProducerFactory.class);
+                assertEquals(1, factory.getListeners().size());
+            });
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.microservices.order.infrastructure.config;
+
+import com.microservices.order.infrastructure.adapter.out.kafka.KafkaProducerAdapter;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA KafkaTopicConfig
+ *
+ * PROPÓSITO:
+ * - Verificar los NewTopic que crea KafkaAdmin al arrancar: nombre,
+ *   particiones, réplicas y min.insync.replicas
+ * - Verificar que kafka.topics.provision=false no declara ninguno
+ */
+@DisplayName("🧪 Kafka Topic Config Tests")
+class KafkaTopicConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(KafkaTopicConfig.class);
+
+    private static Map<String, NewTopic> byName(Map<String, NewTopic> beans) {
+        return beans.values().stream().collect(Collectors.toMap(NewTopic::name, topic -> topic));
+    }
+
+    @Nested
+    @DisplayName("📬 Topics provisionados")
+    class ProvisionTests {
+
+        @Test
+        @DisplayName("Por defecto: order-events y order-status-events con 3 particiones, 1 réplica")
+        void shouldDeclareTopicsWithDefaults() {
+            contextRunner.run(context -> {
+                Map<String, NewTopic> topics = byName(context.getBeansOfType(NewTopic.class));
+
+                assertEquals(2, topics.size());
+                for (String name : new String[] {KafkaProducerAdapter.TOPIC, KafkaProducerAdapter.STATUS_TOPIC}) {
+                    NewTopic topic = topics.get(name);
+                    assertNotNull(topic, name);
+                    assertEquals(3, topic.numPartitions());
+                    assertEquals((short) 1, topic.replicationFactor());
+                    assertEquals("1", topic.configs().get(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG));
+                }
+            });
+        }
+
+        @Test
+        @DisplayName("Debe usar las particiones de cada topic y las réplicas configuradas")
+        void shouldApplyConfiguredValues() {
+            contextRunner.withPropertyValues(
+                "kafka.topics.order-events.partitions=12",
+                "kafka.topics.order-status-events.partitions=6",
+                "kafka.topics.replication-factor=3",
+                "kafka.topics.min-insync-replicas=2"
+            ).run(context -> {
+                Map<String, NewTopic> topics = byName(context.getBeansOfType(NewTopic.class));
+
+                NewTopic orderEvents = topics.get(KafkaProducerAdapter.TOPIC);
+                assertEquals(12, orderEvents.numPartitions());
+                assertEquals((short) 3, orderEvents.replicationFactor());
+                assertEquals("2", orderEvents.configs().get(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG));
+                NewTopic statusEvents = topics.get(KafkaProducerAdapter.STATUS_TOPIC);
+                assertEquals(6, statusEvents.numPartitions());
+                assertEquals((short) 3, statusEvents.replicationFactor());
+                assertEquals("2", statusEvents.configs().get(TopicConfig.MIN_IN_SYNC_REPLICAS_CONFIG));
+            });
+        }
+
+        @Test
+        @DisplayName("Con provision=false no debe declarar topics")
+        void shouldNotDeclareTopicsWhenProvisioningIsOff() {
+            contextRunner.withPropertyValues("kafka.topics.provision=false").run(context -> {
+                assertNull(context.getStartupFailure());
+                assertTrue(context.getBeansOfType(NewTopic.class).isEmpty());
+            });
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.microservices.user.application.dto;
+
+/**
+ * 📤 IMPORT USER RESULT - Resultado por Línea
+ * 
+ * Cada línea del fichero de importación produce exactamente un resultado,
+ * que se devuelve al cliente en streaming (una línea NDJSON por resultado).
+ */
+public record ImportUserResult(
+    long line,
+    Status status,
+    String email,
+    String userId,
+    String message
+) {
+    
+    public enum Status {
+        /** Usuario creado */
+        CREATED,
+        /** El email aparece repetido dentro del mismo lote */
+        DUPLICATE,
+        /** Ya existía un usuario con ese email */
+        ALREADY_EXISTS,
+        /** Datos inválidos (email, nombre o línea mal formada) */
+        INVALID,
+        /** Error inesperado al persistir el lote */
+        FAILED
+    }
+    
+    public static ImportUserResult created(long line, String email, String userId) {
+        return new ImportUserResult(line, Status.CREATED, email, userId, null);
+    }
+    
+    public static ImportUserResult rejected(long line, Status status, String email, String message) {
+        return new ImportUserResult(line, status, email, null, message);
+    }
+}
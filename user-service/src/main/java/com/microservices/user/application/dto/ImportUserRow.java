@@ -0,0 +1,31 @@
+package com.microservices.user.application.dto;
+
+/**
+ * 📄 IMPORT USER ROW - Fila de Importación
+ * 
+ * Representa una línea ya parseada del fichero de importación
+ * (NDJSON o CSV). El parseo es responsabilidad del adaptador de
+ * entrada; la aplicación solo recibe filas.
+ * 
+ * Si la línea no se pudo parsear, {@code error} contiene el motivo
+ * y {@code email}/{@code name} vienen a null.
+ */
+public record ImportUserRow(
+    long line,
+    String email,
+    String name,
+    String error
+) {
+    
+    public static ImportUserRow of(long line, String email, String name) {
+        return new ImportUserRow(line, email, name, null);
+    }
+    
+    public static ImportUserRow malformed(long line, String error) {
+        return new ImportUserRow(line, null, null, error);
+    }
+    
+    public boolean isMalformed() {
+        return error != null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.microservices.user.application.dto;
+
+/**
+ * 📊 IMPORT USERS SUMMARY - Resumen de una Importación
+ * 
+ * Totales por estado al terminar de procesar todas las líneas.
+ */
+public record ImportUsersSummary(
+    long total,
+    long created,
+    long duplicated,
+    long alreadyExisting,
+    long invalid,
+    long failed
+) { }
@@ -0,0 +1,176 @@
+package com.microservices.user.application.service;
+
+import com.microservices.user.application.dto.ImportUserResult;
+import com.microservices.user.application.dto.ImportUserResult.Status;
+import com.microservices.user.application.dto.ImportUserRow;
+import com.microservices.user.application.dto.ImportUsersSummary;
+import com.microservices.user.domain.model.Email;
+import com.microservices.user.domain.model.User;
+import com.microservices.user.domain.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * 📥 IMPORT USERS SERVICE - Implementación de la importación masiva
+ *
+ * Procesa las filas por lotes (chunks) de tamaño fijo:
+ * 1. Valida cada fila (Email value object + reglas del nombre)
+ * 2. Elimina emails repetidos dentro del lote
+ * 3. Consulta los emails existentes con UNA sola query por lote
+ * 4. Inserta los nuevos usuarios con un único batch JDBC por lote
+ *
+ * Los duplicados entre lotes distintos se detectan en el paso 3,
+ * porque cada lote se confirma antes de leer el siguiente.
+ */
+@Slf4j
+public class ImportUsersService {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private static final int NAME_MIN_LENGTH = 2;
+    private static final int NAME_MAX_LENGTH = 100;
+
+    private final UserRepository userRepository;
+    private final int chunkSize;
+
+    public ImportUsersService(UserRepository userRepository) {
+        this(userRepository, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ImportUsersService(UserRepository userRepository, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("El tamaño de lote debe ser mayor que cero");
+        }
+        this.userRepository = userRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportUsersSummary execute(Iterator<ImportUserRow> rows, Consumer<ImportUserResult> sink) {
+        log.info("🔹 Iniciando importación masiva (lotes de {})", chunkSize);
+
+        Map<Status, Long> totals = new EnumMap<>(Status.class);
+        Consumer<ImportUserResult> counting = result -> {
+            totals.merge(result.status(), 1L, Long::sum);
+            sink.accept(result);
+        };
+
+        List<ImportUserRow> chunk = new ArrayList<>(chunkSize);
+        while (rows.hasNext()) {
+            chunk.add(rows.next());
+            if (chunk.size() == chunkSize) {
+                processChunk(chunk, counting);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, counting);
+        }
+
+        ImportUsersSummary summary = new ImportUsersSummary(
+            totals.values().stream().mapToLong(Long::longValue).sum(),
+            totals.getOrDefault(Status.CREATED, 0L),
+            totals.getOrDefault(Status.DUPLICATE, 0L),
+            totals.getOrDefault(Status.ALREADY_EXISTS, 0L),
+            totals.getOrDefault(Status.INVALID, 0L),
+            totals.getOrDefault(Status.FAILED, 0L)
+        );
+
+        log.info("✅ Importación terminada: {}", summary);
+        return summary;
+    }
+
+    // ============================================
+    // PROCESAMIENTO DE UN LOTE
+    // ============================================
+
+    private void processChunk(List<ImportUserRow> chunk, Consumer<ImportUserResult> sink) {
+        List<ImportUserResult> results = new ArrayList<>(chunk.size());
+
+        // 1 y 2. Validar y eliminar duplicados dentro del lote (gana la primera aparición)
+        Map<Email, ImportUserRow> candidates = new LinkedHashMap<>();
+        for (ImportUserRow row : chunk) {
+            if (row.isMalformed()) {
+                results.add(ImportUserResult.rejected(row.line(), Status.INVALID, null, row.error()));
+                continue;
+            }
+
+            Email email;
+            try {
+                email = new Email(row.email());
+            } catch (IllegalArgumentException e) {
+                results.add(ImportUserResult.rejected(row.line(), Status.INVALID, row.email(), e.getMessage()));
+                continue;
+            }
+
+            String nameError = validateName(row.name());
+            if (nameError != null) {
+                results.add(ImportUserResult.rejected(row.line(), Status.INVALID, email.value(), nameError));
+                continue;
+            }
+
+            if (candidates.putIfAbsent(email, row) != null) {
+                results.add(ImportUserResult.rejected(row.line(), Status.DUPLICATE, email.value(),
+                    "Email repetido en la importación"));
+            }
+        }
+
+        // 3. Una sola consulta para todos los emails del lote
+        if (!candidates.isEmpty()) {
+            Set<Email> existing = userRepository.findExistingEmails(candidates.keySet());
+
+            List<User> toInsert = new ArrayList<>(candidates.size());
+            List<ImportUserRow> insertedRows = new ArrayList<>(candidates.size());
+            for (Map.Entry<Email, ImportUserRow> entry : candidates.entrySet()) {
+                ImportUserRow row = entry.getValue();
+                if (existing.contains(entry.getKey())) {
+                    results.add(ImportUserResult.rejected(row.line(), Status.ALREADY_EXISTS,
+                        entry.getKey().value(), "Ya existe un usuario con el email: " + entry.getKey().value()));
+                } else {
+                    toInsert.add(User.create(entry.getKey(), row.name().trim()));
+                    insertedRows.add(row);
+                }
+            }
+
+            // 4. Inserción en batch
+            if (!toInsert.isEmpty()) {
+                try {
+                    userRepository.insertAll(toInsert);
+                    for (int i = 0; i < toInsert.size(); i++) {
+                        User user = toInsert.get(i);
+                        results.add(ImportUserResult.created(insertedRows.get(i).line(),
+                            user.getEmail().value(), user.getId().toString()));
+                    }
+                } catch (RuntimeException e) {
+                    log.error("❌ Error insertando lote de {} usuarios: {}", toInsert.size(), e.getMessage());
+                    for (int i = 0; i < toInsert.size(); i++) {
+                        results.add(ImportUserResult.rejected(insertedRows.get(i).line(), Status.FAILED,
+                            toInsert.get(i).getEmail().value(), "Error al guardar el lote"));
+                    }
+                }
+            }
+        }
+
+        results.sort(Comparator.comparingLong(ImportUserResult::line));
+        results.forEach(sink);
+    }
+
+    private static String validateName(String name) {
+        if (name == null || name.isBlank()) {
+            return "El nombre es obligatorio";
+        }
+        int length = name.trim().length();
+        if (length < NAME_MIN_LENGTH || length > NAME_MAX_LENGTH) {
+            return "El nombre debe tener entre 2 y 100 caracteres";
+        }
+        return null;
+    }
+}
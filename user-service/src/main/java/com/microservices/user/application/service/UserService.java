@@ -1,5 +1,7 @@
 package com.microservices.user.application.service;
 
+import com.microservices.common.application.ResourceVersion;
+import com.microservices.common.application.SingleFlight;
 import com.microservices.user.application.dto.CreateUserRequest;
 import com.microservices.user.application.dto.UpdateUserRequest;
 import com.microservices.user.application.dto.UserResponse;
@@ -13,6 +15,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -24,6 +28,10 @@ import java.util.stream.Collectors;
  * Flujo:
  * Controller → UseCase (interface) → Service (implementación) → Repository
  * (interface) → DB
+ *
+ * Las búsquedas simultáneas del mismo usuario (GET /api/users/{id} desde
+ * muchas órdenes a la vez) comparten una sola consulta (SingleFlight). Solo
+ * en las lecturas: el usuario compartido no se modifica.
  */
 @RequiredArgsConstructor
 @Slf4j
@@ -32,6 +40,8 @@ public class UserService {
     // Dependencias inyectadas por constructor (gracias a @RequiredArgsConstructor)
     private final UserRepository userRepository;
 
+    private final SingleFlight<UserId, Optional<User>> userLookups = new SingleFlight<>();
+
     // ============================================
     // CREATE USER
     // ============================================
@@ -67,20 +77,52 @@ public class UserService {
     public UserResponse execute(String userId) {
         log.info("🔹 Buscando usuario con ID: {}", userId);
 
+        User user = findExisting(userId);
+
+        log.info("✅ Usuario encontrado: {}", user.getEmail().value());
+
+        // Convertir a DTO
+        return UserResponse.from(user);
+    }
+
+    /**
+     * GET condicional: la versión se calcula sobre la entidad y, si el
+     * cliente ya la tiene, se evita el mapeo a DTO (y la serialización)
+     */
+    public Optional<UserResponse> executeIfModified(String userId, Predicate<String> alreadyKnown) {
+        User user = findExisting(userId);
+
+        if (alreadyKnown.test(versionOf(user))) {
+            log.debug("🏷️ Usuario {} sin cambios (304)", userId);
+            return Optional.empty();
+        }
+        return Optional.of(UserResponse.from(user));
+    }
+
+    private User findExisting(String userId) {
         // 1. Convertir String a UserId
         UserId id = UserId.of(userId);
 
-        // 2. Buscar en el repositorio
-        User user = userRepository.findById(id)
+        // 2. Buscar en el repositorio (una consulta para búsquedas simultáneas)
+        return userLookups.execute(id, () -> userRepository.findById(id))
                 .orElseThrow(() -> {
                     log.warn("⚠️ Usuario no encontrado: {}", userId);
                     return new UserNotFoundException(userId);
                 });
+    }
 
-        log.info("✅ Usuario encontrado: {}", user.getEmail().value());
+    /**
+     * Contadores de búsquedas por ID (ejecutadas / agrupadas), para métricas
+     */
+    public SingleFlight<UserId, Optional<User>> userLookups() {
+        return userLookups;
+    }
 
-        // 3. Convertir a DTO
-        return UserResponse.from(user);
+    /**
+     * Versión de un usuario: todas las modificaciones actualizan updatedAt
+     */
+    private static String versionOf(User user) {
+        return new ResourceVersion().add(user.getUpdatedAt()).toString();
     }
 
     // ============================================
@@ -96,6 +138,27 @@ public class UserService {
         log.info("✅ Se encontraron {} usuarios", users.size());
 
         // 2. Convertir a DTOs usando streams
+        return toResponses(users);
+    }
+
+    /**
+     * GET condicional de la lista (ver executeIfModified(String, Predicate))
+     */
+    public Optional<List<UserResponse>> executeIfModified(Predicate<String> alreadyKnown) {
+        List<User> users = userRepository.findAllActive();
+
+        ResourceVersion version = new ResourceVersion();
+        for (User user : users) {
+            version.add(user.getId().value()).add(user.getUpdatedAt());
+        }
+        if (alreadyKnown.test(version.toString())) {
+            log.debug("🏷️ Lista de usuarios sin cambios (304)");
+            return Optional.empty();
+        }
+        return Optional.of(toResponses(users));
+    }
+
+    private static List<UserResponse> toResponses(List<User> users) {
         return users.stream()
                 .map(UserResponse::from)
                 .collect(Collectors.toList());
@@ -3,6 +3,8 @@ package com.microservices.user.application.usecase;
 import com.microservices.user.application.dto.UserResponse;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * 📋 FIND ALL USERS USE CASE
@@ -17,4 +19,13 @@ public interface FindAllUsersUseCase {
      * @return Lista de usuarios
      */
     List<UserResponse> execute();
+    
+    /**
+     * GET condicional: la versión de la lista cambia con cualquier alta,
+     * baja o modificación. Si el cliente ya la tiene no se mapea a DTOs.
+     * 
+     * @param alreadyKnown recibe la versión actual; true si el cliente ya la tiene
+     * @return Lista de usuarios, o vacío si el cliente ya tiene esta versión
+     */
+    Optional<List<UserResponse>> executeIfModified(Predicate<String> alreadyKnown);
 }
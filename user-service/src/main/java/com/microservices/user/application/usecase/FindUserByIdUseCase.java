@@ -2,6 +2,9 @@ package com.microservices.user.application.usecase;
 
 import com.microservices.user.application.dto.UserResponse;
 
+import java.util.Optional;
+import java.util.function.Predicate;
+
 /**
  * 🔍 FIND USER BY ID USE CASE
  * 
@@ -17,4 +20,15 @@ public interface FindUserByIdUseCase {
      * @throws com.microservices.user.domain.exception.UserNotFoundException si no existe
      */
     UserResponse execute(String userId);
+    
+    /**
+     * GET condicional: busca el usuario y calcula su versión (cambia con
+     * cada modificación). Si el cliente ya la tiene no se mapea a DTO.
+     * 
+     * @param userId ID del usuario
+     * @param alreadyKnown recibe la versión actual; true si el cliente ya la tiene
+     * @return Usuario encontrado, o vacío si el cliente ya tiene esta versión
+     * @throws com.microservices.user.domain.exception.UserNotFoundException si no existe
+     */
+    Optional<UserResponse> executeIfModified(String userId, Predicate<String> alreadyKnown);
 }
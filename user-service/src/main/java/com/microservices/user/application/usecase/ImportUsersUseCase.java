@@ -0,0 +1,29 @@
+package com.microservices.user.application.usecase;
+
+import com.microservices.user.application.dto.ImportUserResult;
+import com.microservices.user.application.dto.ImportUserRow;
+import com.microservices.user.application.dto.ImportUsersSummary;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * 📥 IMPORT USERS USE CASE
+ * 
+ * Caso de uso para la importación masiva de usuarios.
+ * 
+ * Las filas se consumen de forma incremental (nunca se carga el
+ * fichero completo en memoria) y cada resultado se entrega al
+ * {@code sink} en cuanto se conoce, para poder devolverlo en streaming.
+ */
+public interface ImportUsersUseCase {
+    
+    /**
+     * Importa usuarios por lotes
+     * 
+     * @param rows Filas a importar (se leen de una en una)
+     * @param sink Receptor de los resultados por línea
+     * @return Resumen con los totales por estado
+     */
+    ImportUsersSummary execute(Iterator<ImportUserRow> rows, Consumer<ImportUserResult> sink);
+}
@@ -1,63 +1,218 @@
 package com.microservices.user.domain.model;
 
+import java.util.Objects;
 import java.util.regex.Pattern;
 
 /**
  * 📧 EMAIL - Value Object
- * 
+ *
  * Representa un email válido.
- * 
+ *
  * Ventajas de usar un Value Object para Email:
  * 1. Validación centralizada: El email siempre es válido
  * 2. No puedes crear un Email inválido
  * 3. Expresividad: El código es más claro
  * 4. Reutilización: La validación está en un solo lugar
- * 
+ *
  * Ejemplo:
  * ❌ String email = "invalid-email"; // Se puede crear
  * ✅ Email email = new Email("invalid-email"); // Lanza excepción
+ *
+ * ⚡ Rendimiento:
+ * - La validación es una sola pasada sobre los caracteres, sin regex.
+ *   Si el valor ya viene normalizado (sin espacios, en minúsculas) se
+ *   reutiliza el mismo String: no se crea ningún objeto intermedio.
+ * - fromTrusted() no valida: es para valores que ya se validaron al
+ *   escribirlos (p.ej. los que vuelven de la base de datos).
+ *
+ * Es una clase final en lugar de un record porque un record no permite
+ * un constructor que se salte la validación (necesario para fromTrusted).
  */
-public record Email(String value) {
-    
-    // Patrón de validación de email (simplificado)
+public final class Email {
+
+    /**
+     * Patrón de validación de email (simplificado).
+     * Ya no se usa en el camino normal: validate() implementa exactamente
+     * estas mismas reglas. Solo se usa si el email contiene caracteres
+     * no ASCII, para conservar el comportamiento original.
+     */
     private static final Pattern EMAIL_PATTERN = Pattern.compile(
         "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$"
     );
-    
+
+    private static final int MIN_TLD_LENGTH = 2;
+
+    private final String value;
+
     /**
-     * Constructor compacto con validación
-     * Se ejecuta automáticamente al crear un Email
+     * Constructor con validación y normalización (trim + minúsculas)
      */
-    public Email {
-        if (value == null || value.trim().isEmpty()) {
-            throw new IllegalArgumentException("El email no puede estar vacío");
-        }
-        
-        value = value.trim().toLowerCase(); // Normalizar
-        
-        if (!EMAIL_PATTERN.matcher(value).matches()) {
-            throw new IllegalArgumentException("Email inválido: " + value);
-        }
+    public Email(String value) {
+        this.value = normalize(value);
+    }
+
+    private Email(String trustedValue, boolean trusted) {
+        this.value = trustedValue;
+    }
+
+    /**
+     * Crea un Email SIN validar ni normalizar.
+     *
+     * Solo para valores que ya pasaron por el constructor al guardarse
+     * (lecturas de la base de datos). Nunca para datos de entrada.
+     */
+    public static Email fromTrusted(String normalizedValue) {
+        return new Email(Objects.requireNonNull(normalizedValue, "El email no puede ser null"), true);
     }
-    
+
+    public String value() {
+        return value;
+    }
+
     /**
      * Verifica si el email es de un dominio específico
      */
     public boolean isDomain(String domain) {
         return value.endsWith("@" + domain);
     }
-    
+
     /**
      * Obtiene el dominio del email
      */
     public String getDomain() {
         return value.substring(value.indexOf('@') + 1);
     }
-    
+
     /**
      * Obtiene la parte local del email (antes del @)
      */
     public String getLocalPart() {
         return value.substring(0, value.indexOf('@'));
     }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Email other && value.equals(other.value));
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "Email[value=" + value + "]";
+    }
+
+    // ============================================
+    // VALIDACIÓN + NORMALIZACIÓN EN UNA PASADA
+    // ============================================
+
+    /**
+     * Equivale a value.trim().toLowerCase() + EMAIL_PATTERN, pero:
+     * - recorre los caracteres una sola vez
+     * - devuelve el MISMO String si ya estaba normalizado
+     * - si no, crea un único String nuevo (recortado y en minúsculas)
+     */
+    private static String normalize(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("El email no puede estar vacío");
+        }
+
+        // Límites tras el trim() (mismo criterio: caracteres <= ' ')
+        int start = 0;
+        int end = value.length();
+        while (start < end && value.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && value.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start == end) {
+            throw new IllegalArgumentException("El email no puede estar vacío");
+        }
+
+        boolean hasUpperCase = false;
+        int at = -1;
+        int lastDot = -1;
+        boolean lettersSinceLastDot = false;
+
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                // toLowerCase() puede convertir algunos caracteres no ASCII en ASCII:
+                // se delega en la implementación original para no cambiar el resultado
+                return normalizeWithRegex(value);
+            }
+
+            boolean upper = c >= 'A' && c <= 'Z';
+            boolean letter = upper || (c >= 'a' && c <= 'z');
+            hasUpperCase |= upper;
+
+            if (at < 0) {
+                // Parte local: [A-Za-z0-9+_.-]+
+                if (c == '@') {
+                    if (i == start) {
+                        throw invalid(value);
+                    }
+                    at = i;
+                } else if (!letter && !isDigit(c) && c != '+' && c != '_' && c != '.' && c != '-') {
+                    throw invalid(value);
+                }
+            } else {
+                // Dominio: [A-Za-z0-9.-]+ \. [A-Za-z]{2,}
+                if (c == '.') {
+                    lastDot = i;
+                    lettersSinceLastDot = true;
+                } else if (isDigit(c) || c == '-') {
+                    lettersSinceLastDot = false;
+                } else if (!letter) {
+                    throw invalid(value);
+                }
+            }
+        }
+
+        boolean valid = at >= 0
+            && lastDot > at + 1                       // algo entre '@' y el último '.'
+            && end - lastDot - 1 >= MIN_TLD_LENGTH    // TLD de al menos 2 caracteres
+            && lettersSinceLastDot;                   // TLD solo letras
+        if (!valid) {
+            throw invalid(value);
+        }
+
+        if (!hasUpperCase) {
+            // Caso habitual: sin asignaciones si ya venía normalizado
+            return start == 0 && end == value.length() ? value : value.substring(start, end);
+        }
+
+        char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            chars[i - start] = c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Implementación original: solo para entradas con caracteres no ASCII
+     */
+    private static String normalizeWithRegex(String value) {
+        String normalized = value.trim().toLowerCase();
+        if (!EMAIL_PATTERN.matcher(normalized).matches()) {
+            throw new IllegalArgumentException("Email inválido: " + normalized);
+        }
+        return normalized;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * El mensaje muestra el valor normalizado, como antes (camino frío)
+     */
+    private static IllegalArgumentException invalid(String value) {
+        return new IllegalArgumentException("Email inválido: " + value.trim().toLowerCase());
+    }
 }
@@ -4,8 +4,10 @@ import com.microservices.user.domain.model.Email;
 import com.microservices.user.domain.model.User;
 import com.microservices.user.domain.model.UserId;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * 📦 USER REPOSITORY - Puerto de Salida (Output Port)
@@ -72,6 +74,24 @@ public interface UserRepository {
      */
     boolean existsByEmail(Email email);
     
+    /**
+     * Devuelve cuáles de los emails dados ya existen (una sola consulta)
+     * 
+     * @param emails Emails a verificar
+     * @return Subconjunto de emails que ya están registrados
+     */
+    Set<Email> findExistingEmails(Collection<Email> emails);
+    
+    /**
+     * Inserta usuarios nuevos en bloque (importaciones masivas)
+     * 
+     * A diferencia de save(), asume que ningún usuario existe todavía:
+     * no hay merge ni lectura previa por cada fila.
+     * 
+     * @param users Usuarios nuevos a insertar
+     */
+    void insertAll(List<User> users);
+    
     /**
      * Elimina un usuario por su ID
      * 
@@ -0,0 +1,31 @@
+package com.microservices.user.infrastructure.adapter.application;
+
+import com.microservices.user.application.dto.ImportUserResult;
+import com.microservices.user.application.dto.ImportUserRow;
+import com.microservices.user.application.dto.ImportUsersSummary;
+import com.microservices.user.application.service.ImportUsersService;
+import com.microservices.user.application.usecase.ImportUsersUseCase;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Adaptador de infraestructura para la importación masiva.
+ * 
+ * No abre una transacción global: cada lote se confirma por separado
+ * en el repositorio, para no mantener millones de filas en una sola
+ * transacción y poder devolver resultados a medida que avanzan.
+ */
+@Service
+@RequiredArgsConstructor
+public class ImportUsersUseCaseAdapter implements ImportUsersUseCase {
+
+    private final ImportUsersService importUsersService;
+
+    @Override
+    public ImportUsersSummary execute(Iterator<ImportUserRow> rows, Consumer<ImportUserResult> sink) {
+        return importUsersService.execute(rows, sink);
+    }
+}
@@ -13,6 +13,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * Adaptador de infraestructura que expone los casos de uso de usuario
@@ -40,11 +42,21 @@ public class UserUseCaseAdapter implements
         return userService.execute(userId);
     }
 
+    @Override
+    public Optional<UserResponse> executeIfModified(String userId, Predicate<String> alreadyKnown) {
+        return userService.executeIfModified(userId, alreadyKnown);
+    }
+
     @Override
     public List<UserResponse> execute() {
         return userService.execute();
     }
 
+    @Override
+    public Optional<List<UserResponse>> executeIfModified(Predicate<String> alreadyKnown) {
+        return userService.executeIfModified(alreadyKnown);
+    }
+
     @Override
     @Transactional
     public UserResponse execute(String userId, UpdateUserRequest request) {
@@ -1,17 +1,32 @@
 package com.microservices.user.infrastructure.adapter.input.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microservices.user.application.dto.CreateUserRequest;
+import com.microservices.user.application.dto.ImportUsersSummary;
 import com.microservices.user.application.dto.UpdateUserRequest;
 import com.microservices.user.application.dto.UserResponse;
 import com.microservices.user.application.usecase.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 🌐 USER CONTROLLER - Adaptador de Entrada REST
@@ -28,8 +43,15 @@ import java.util.List;
  * 
  * NO debe contener lógica de negocio.
  * 
+ * 🏷️ GETs condicionales: las lecturas devuelven ETag (débil) y, si el
+ * cliente envía If-None-Match con la versión actual, responden 304 sin
+ * cuerpo. La comprobación se hace antes de mapear a DTO (ver
+ * executeIfModified). ETag débil porque la respuesta puede ir comprimida
+ * (server.compression) y Tomcat no comprime respuestas con ETag fuerte.
+ * 
  * Endpoints:
  * - POST   /api/users          → Crear usuario
+ * - POST   /api/users/import   → Importación masiva (NDJSON / CSV)
  * - GET    /api/users          → Listar usuarios
  * - GET    /api/users/{id}     → Obtener usuario por ID
  * - PUT    /api/users/{id}     → Actualizar usuario
@@ -47,6 +69,9 @@ public class UserController {
     private final FindAllUsersUseCase findAllUsersUseCase;
     private final UpdateUserUseCase updateUserUseCase;
     private final DeleteUserUseCase deleteUserUseCase;
+    private final ImportUsersUseCase importUsersUseCase;
+    
+    private final ObjectMapper objectMapper;
     
     /**
      * 📝 Crear un nuevo usuario
@@ -72,20 +97,71 @@ public class UserController {
                 .body(response);
     }
     
+    /**
+     * 📥 Importación masiva de usuarios
+     * 
+     * POST /api/users/import
+     * Content-Type: application/x-ndjson  → {"email": "...", "name": "..."} por línea
+     * Content-Type: text/csv              → email,name (cabecera opcional)
+     * 
+     * Response: 200 OK, application/x-ndjson
+     * Una línea de resultado por cada línea de entrada, escrita a medida que
+     * se procesa cada lote, y una última línea con el resumen.
+     * 
+     * Se escribe directamente en la respuesta (sin procesamiento asíncrono)
+     * para que importaciones largas no queden sujetas al timeout de async.
+     */
+    @PostMapping(
+            value = "/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        log.info("📨 POST /api/users/import - Importación masiva ({})", contentType.getSubtype());
+        
+        UserImportReader.Format format = contentType.isCompatibleWith(MediaType.APPLICATION_NDJSON)
+                ? UserImportReader.Format.NDJSON
+                : UserImportReader.Format.CSV;
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(request.getInputStream(), charset));
+             OutputStream out = new BufferedOutputStream(response.getOutputStream())) {
+            
+            ImportUsersSummary summary = importUsersUseCase.execute(
+                    new UserImportReader(reader, format, objectMapper),
+                    result -> writeLine(out, result));
+            
+            writeLine(out, Map.of("summary", summary));
+        }
+    }
+    
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
     /**
      * 📋 Obtener todos los usuarios
      * 
      * GET /api/users
      * 
-     * Response: 200 OK
+     * Response: 200 OK (304 Not Modified si If-None-Match coincide)
      */
     @GetMapping
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
+    public ResponseEntity<List<UserResponse>> getAllUsers(WebRequest webRequest) {
         log.info("📨 GET /api/users - Obtener todos los usuarios");
         
-        List<UserResponse> users = findAllUsersUseCase.execute();
-        
-        return ResponseEntity.ok(users);  // 200
+        return findAllUsersUseCase.executeIfModified(version -> webRequest.checkNotModified(etag(version)))
+                .map(ResponseEntity::ok)  // 200
+                .orElseGet(UserController::notModified);
     }
     
     /**
@@ -93,15 +169,29 @@ public class UserController {
      * 
      * GET /api/users/{id}
      * 
-     * Response: 200 OK
+     * Response: 200 OK (304 Not Modified si If-None-Match coincide)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<UserResponse> getUserById(@PathVariable String id) {
+    public ResponseEntity<UserResponse> getUserById(@PathVariable String id, WebRequest webRequest) {
         log.info("📨 GET /api/users/{} - Obtener usuario por ID", id);
         
-        UserResponse user = findUserByIdUseCase.execute(id);
-        
-        return ResponseEntity.ok(user);  // 200
+        return findUserByIdUseCase.executeIfModified(id, version -> webRequest.checkNotModified(etag(version)))
+                .map(ResponseEntity::ok)  // 200
+                .orElseGet(UserController::notModified);
+    }
+    
+    /**
+     * ETag débil a partir de la versión del recurso
+     */
+    private static String etag(String version) {
+        return "W/\"" + version + "\"";
+    }
+    
+    /**
+     * checkNotModified() ya añadió la cabecera ETag a la respuesta
+     */
+    private static <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();  // 304
     }
     
     /**
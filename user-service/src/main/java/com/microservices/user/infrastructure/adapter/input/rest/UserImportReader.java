@@ -0,0 +1,191 @@
+package com.microservices.user.infrastructure.adapter.input.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.user.application.dto.ImportUserRow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * 📄 USER IMPORT READER - Parser incremental de NDJSON / CSV
+ *
+ * Lee el cuerpo de la petición línea a línea y lo expone como un
+ * Iterator de filas, de modo que la importación nunca tiene el fichero
+ * completo en memoria.
+ *
+ * Formatos soportados:
+ * - NDJSON: un objeto por línea → {"email": "...", "name": "..."}
+ * - CSV: columnas email,name (cabecera opcional, admite comillas)
+ *
+ * Las líneas en blanco se ignoran; las mal formadas se devuelven como
+ * filas con error para que generen su propio resultado.
+ */
+class UserImportReader implements Iterator<ImportUserRow> {
+
+    enum Format { NDJSON, CSV }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+
+    private long lineNumber;
+    private int emailColumn = 0;
+    private int nameColumn = 1;
+    private boolean headerChecked;
+    private ImportUserRow next;
+
+    UserImportReader(BufferedReader reader, Format format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readNext();
+        }
+        return next != null;
+    }
+
+    @Override
+    public ImportUserRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ImportUserRow row = next;
+        next = null;
+        return row;
+    }
+
+    private ImportUserRow readNext() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && !headerChecked) {
+                    headerChecked = true;
+                    if (readHeader(line)) {
+                        continue;
+                    }
+                }
+                return format == Format.NDJSON ? parseJson(line) : parseCsv(line);
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ============================================
+    // NDJSON
+    // ============================================
+
+    private ImportUserRow parseJson(String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            if (node == null || !node.isObject()) {
+                return ImportUserRow.malformed(lineNumber, "Se esperaba un objeto JSON");
+            }
+            return ImportUserRow.of(lineNumber, text(node, "email"), text(node, "name"));
+        } catch (JsonProcessingException e) {
+            return ImportUserRow.malformed(lineNumber, "JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    // ============================================
+    // CSV
+    // ============================================
+
+    /**
+     * Si la primera línea es una cabecera, toma de ella el orden de las columnas.
+     * Una primera línea mal formada no es cabecera: se procesa como fila
+     * (y da su error de línea).
+     */
+    private boolean readHeader(String line) {
+        List<String> columns = splitCsv(line);
+        if (columns == null) {
+            return false;
+        }
+        int email = -1;
+        int name = -1;
+        for (int i = 0; i < columns.size(); i++) {
+            String column = columns.get(i).trim().toLowerCase(Locale.ROOT);
+            if (column.equals("email")) {
+                email = i;
+            } else if (column.equals("name")) {
+                name = i;
+            }
+        }
+        if (email < 0 || name < 0) {
+            return false;
+        }
+        emailColumn = email;
+        nameColumn = name;
+        return true;
+    }
+
+    private ImportUserRow parseCsv(String line) {
+        List<String> columns = splitCsv(line);
+        if (columns == null) {
+            return ImportUserRow.malformed(lineNumber, "CSV inválido: comillas sin cerrar");
+        }
+        if (columns.size() <= Math.max(emailColumn, nameColumn)) {
+            return ImportUserRow.malformed(lineNumber, "CSV inválido: faltan columnas");
+        }
+        return ImportUserRow.of(lineNumber, columns.get(emailColumn), columns.get(nameColumn));
+    }
+
+    /**
+     * Separa una línea CSV respetando campos entre comillas ("a, b")
+     * y comillas escapadas (""). Devuelve null si quedan comillas abiertas.
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> columns = new ArrayList<>(2);
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        columns.add(current.toString());
+        return columns;
+    }
+}
@@ -2,8 +2,11 @@ package com.microservices.user.infrastructure.adapter.output.persistence;
 
 import com.microservices.user.infrastructure.adapter.output.persistence.entity.UserEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -34,6 +37,13 @@ public interface JpaUserRepository extends JpaRepository<UserEntity, UUID> {
      */
     boolean existsByEmail(String email);
     
+    /**
+     * Obtiene los emails que ya existen de una lista dada
+     * Query: SELECT email FROM users WHERE email IN (?, ?, ...)
+     */
+    @Query("select u.email from UserEntity u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
     /**
      * Obtiene todos los usuarios activos
      * Query: SELECT * FROM users WHERE active = true
@@ -7,10 +7,14 @@ import com.microservices.user.domain.repository.UserRepository;
 import com.microservices.user.infrastructure.adapter.output.persistence.entity.UserEntity;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -36,7 +40,16 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PostgresUserRepositoryAdapter implements UserRepository {
     
+    /**
+     * INSERT directo para importaciones masivas.
+     * Con PostgreSQL y reWriteBatchedInserts=true el driver reescribe
+     * el batch como un único INSERT multi-VALUES.
+     */
+    private static final String INSERT_SQL =
+            "INSERT INTO users (id, email, name, active, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?)";
+    
     private final JpaUserRepository jpaRepository;
+    private final JdbcTemplate jdbcTemplate;
     
     @Override
     public User save(User user) {
@@ -57,7 +70,7 @@ public class PostgresUserRepositoryAdapter implements UserRepository {
         log.debug("🔍 Buscando usuario por ID: {}", id);
         
         return jpaRepository.findById(id.value())
-                .map(this::toDomain);
+                .map(PostgresUserRepositoryAdapter::toDomain);
     }
     
     @Override
@@ -65,7 +78,7 @@ public class PostgresUserRepositoryAdapter implements UserRepository {
         log.debug("🔍 Buscando usuario por email: {}", email.value());
         
         return jpaRepository.findByEmail(email.value())
-                .map(this::toDomain);
+                .map(PostgresUserRepositoryAdapter::toDomain);
     }
     
     @Override
@@ -74,7 +87,7 @@ public class PostgresUserRepositoryAdapter implements UserRepository {
         
         return jpaRepository.findByActiveTrue()
                 .stream()
-                .map(this::toDomain)
+                .map(PostgresUserRepositoryAdapter::toDomain)
                 .collect(Collectors.toList());
     }
     
@@ -84,7 +97,7 @@ public class PostgresUserRepositoryAdapter implements UserRepository {
         
         return jpaRepository.findAll()
                 .stream()
-                .map(this::toDomain)
+                .map(PostgresUserRepositoryAdapter::toDomain)
                 .collect(Collectors.toList());
     }
     
@@ -95,6 +108,38 @@ public class PostgresUserRepositoryAdapter implements UserRepository {
         return jpaRepository.existsByEmail(email.value());
     }
     
+    @Override
+    public Set<Email> findExistingEmails(Collection<Email> emails) {
+        log.debug("❓ Verificando existencia de {} emails", emails.size());
+        
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        
+        List<String> values = emails.stream().map(Email::value).toList();
+        return jpaRepository.findExistingEmails(values)
+                .stream()
+                .map(Email::fromTrusted)
+                .collect(Collectors.toSet());
+    }
+    
+    @Override
+    @Transactional
+    public void insertAll(List<User> users) {
+        log.debug("💾 Insertando {} usuarios en batch", users.size());
+        
+        // JDBC batch en lugar de saveAll(): los IDs se asignan en el dominio,
+        // así que JPA haría un SELECT (merge) por cada entidad antes del INSERT
+        jdbcTemplate.batchUpdate(INSERT_SQL, users, users.size(), (ps, user) -> {
+            ps.setObject(1, user.getId().value());
+            ps.setString(2, user.getEmail().value());
+            ps.setString(3, user.getName());
+            ps.setBoolean(4, user.isActive());
+            ps.setObject(5, user.getCreatedAt());
+            ps.setObject(6, user.getUpdatedAt());
+        });
+    }
+    
     @Override
     public void deleteById(UserId id) {
         log.debug("🗑️ Eliminando usuario: {}", id);
@@ -109,12 +154,13 @@ public class PostgresUserRepositoryAdapter implements UserRepository {
     
     // ============================================
     // MAPPERS: Conversión entre Dominio y JPA
+    // (package-private: los mide el módulo benchmarks)
     // ============================================
     
     /**
      * Convierte User (dominio) → UserEntity (JPA)
      */
-    private UserEntity toEntity(User user) {
+    static UserEntity toEntity(User user) {
         UserEntity entity = new UserEntity();
         entity.setId(user.getId().value());
         entity.setEmail(user.getEmail().value());
@@ -128,10 +174,10 @@ public class PostgresUserRepositoryAdapter implements UserRepository {
     /**
      * Convierte UserEntity (JPA) → User (dominio)
      */
-    private User toDomain(UserEntity entity) {
+    static User toDomain(UserEntity entity) {
         return new User(
                 new UserId(entity.getId()),
-                new Email(entity.getEmail()),
+                Email.fromTrusted(entity.getEmail()),   // Ya se validó al guardarlo
                 entity.getName(),
                 entity.getCreatedAt(),
                 entity.getUpdatedAt(),
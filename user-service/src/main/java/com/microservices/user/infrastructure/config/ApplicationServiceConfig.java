@@ -1,8 +1,14 @@
 package com.microservices.user.infrastructure.config;
 
+import com.microservices.common.application.SingleFlight;
 import com.microservices.user.application.service.DeleteUserService;
+import com.microservices.user.application.service.ImportUsersService;
 import com.microservices.user.application.service.UserService;
 import com.microservices.user.domain.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,13 +18,35 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class ApplicationServiceConfig {
 
+    /**
+     * Métricas: single_flight_calls_total{name="user.findById", outcome}
+     * (executed = consultas hechas, coalesced = las que esperaron a otra)
+     */
     @Bean
-    public UserService userService(UserRepository userRepository) {
-        return new UserService(userRepository);
+    public UserService userService(UserRepository userRepository, ObjectProvider<MeterRegistry> meterRegistry) {
+        UserService userService = new UserService(userRepository);
+        meterRegistry.ifAvailable(registry -> {
+            FunctionCounter.builder("single.flight.calls", userService.userLookups(), SingleFlight::executions)
+                .description("Consultas de usuarios: ejecutadas o agrupadas con otra en curso")
+                .tags("name", "user.findById", "outcome", "executed")
+                .register(registry);
+            FunctionCounter.builder("single.flight.calls", userService.userLookups(), SingleFlight::coalesced)
+                .description("Consultas de usuarios: ejecutadas o agrupadas con otra en curso")
+                .tags("name", "user.findById", "outcome", "coalesced")
+                .register(registry);
+        });
+        return userService;
     }
 
     @Bean
     public DeleteUserService deleteUserService(UserRepository userRepository) {
         return new DeleteUserService(userRepository);
     }
+
+    @Bean
+    public ImportUsersService importUsersService(
+            UserRepository userRepository,
+            @Value("${user-import.chunk-size:" + ImportUsersService.DEFAULT_CHUNK_SIZE + "}") int chunkSize) {
+        return new ImportUsersService(userRepository, chunkSize);
+    }
 }
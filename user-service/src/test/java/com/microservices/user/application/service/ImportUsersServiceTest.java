@@ -0,0 +1,128 @@
+package com.microservices.user.application.service;
+
+import com.microservices.user.application.dto.ImportUserResult;
+import com.microservices.user.application.dto.ImportUserResult.Status;
+import com.microservices.user.application.dto.ImportUserRow;
+import com.microservices.user.application.dto.ImportUsersSummary;
+import com.microservices.user.domain.model.Email;
+import com.microservices.user.domain.model.User;
+import com.microservices.user.domain.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 🧪 UNIT TESTS PARA IMPORT USERS SERVICE (Application Layer)
+ *
+ * PROPÓSITO:
+ * - Verificar validación, deduplicación y resultados por línea
+ * - Verificar que se hace UNA consulta y UN insert por lote
+ */
+@DisplayName("🧪 Import Users Service (Application Layer) Tests")
+@ExtendWith(MockitoExtension.class)
+class ImportUsersServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private ImportUsersService importUsersService;
+
+    private List<ImportUserResult> results;
+
+    @BeforeEach
+    void setUp() {
+        importUsersService = new ImportUsersService(userRepository, 2);
+        results = new ArrayList<>();
+    }
+
+    @Nested
+    @DisplayName("📥 execute() - Importar por lotes")
+    class ImportTests {
+
+        @Test
+        @DisplayName("Debe crear los usuarios válidos con un insert por lote")
+        void shouldInsertValidUsersOncePerChunk() {
+            when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+
+            ImportUsersSummary summary = importUsersService.execute(List.of(
+                ImportUserRow.of(1, "a@example.com", "User A"),
+                ImportUserRow.of(2, "b@example.com", "User B"),
+                ImportUserRow.of(3, "c@example.com", "User C")
+            ).iterator(), results::add);
+
+            assertEquals(3, summary.created());
+            assertEquals(List.of(1L, 2L, 3L), results.stream().map(ImportUserResult::line).toList());
+            assertTrue(results.stream().allMatch(r -> r.status() == Status.CREATED && r.userId() != null));
+
+            // Lotes de 2 → 2 consultas y 2 inserts
+            verify(userRepository, times(2)).findExistingEmails(anyCollection());
+            verify(userRepository, times(2)).insertAll(anyList());
+            verify(userRepository, never()).save(any(User.class));
+        }
+
+        @Test
+        @DisplayName("Debe marcar duplicados, existentes e inválidos sin insertarlos")
+        @SuppressWarnings("unchecked")
+        void shouldRejectDuplicatesExistingAndInvalidRows() {
+            importUsersService = new ImportUsersService(userRepository, 10);
+            when(userRepository.findExistingEmails(anyCollection()))
+                .thenReturn(Set.of(new Email("taken@example.com")));
+
+            ImportUsersSummary summary = importUsersService.execute(List.of(
+                ImportUserRow.of(1, "New@Example.com", "New User"),
+                ImportUserRow.of(2, "new@example.com", "Same Email"),
+                ImportUserRow.of(3, "taken@example.com", "Taken"),
+                ImportUserRow.of(4, "not-an-email", "Invalid"),
+                ImportUserRow.of(5, "short@example.com", "x"),
+                ImportUserRow.malformed(6, "JSON inválido")
+            ).iterator(), results::add);
+
+            assertEquals(6, summary.total());
+            assertEquals(1, summary.created());
+            assertEquals(1, summary.duplicated());
+            assertEquals(1, summary.alreadyExisting());
+            assertEquals(3, summary.invalid());
+
+            assertEquals(List.of(Status.CREATED, Status.DUPLICATE, Status.ALREADY_EXISTS,
+                    Status.INVALID, Status.INVALID, Status.INVALID),
+                results.stream().map(ImportUserResult::status).toList());
+
+            ArgumentCaptor<List<User>> inserted = ArgumentCaptor.forClass(List.class);
+            verify(userRepository).insertAll(inserted.capture());
+            assertEquals(1, inserted.getValue().size());
+            assertEquals("new@example.com", inserted.getValue().get(0).getEmail().value());
+        }
+
+        @Test
+        @DisplayName("Debe reportar FAILED si falla el insert del lote y continuar")
+        void shouldReportFailedChunkAndContinue() {
+            when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+            doThrow(new RuntimeException("unique violation"))
+                .doNothing()
+                .when(userRepository).insertAll(anyList());
+
+            ImportUsersSummary summary = importUsersService.execute(List.of(
+                ImportUserRow.of(1, "a@example.com", "User A"),
+                ImportUserRow.of(2, "b@example.com", "User B"),
+                ImportUserRow.of(3, "c@example.com", "User C")
+            ).iterator(), results::add);
+
+            assertEquals(2, summary.failed());
+            assertEquals(1, summary.created());
+            assertEquals(Status.CREATED, results.get(2).status());
+        }
+    }
+}
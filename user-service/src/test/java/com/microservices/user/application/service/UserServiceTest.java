@@ -23,6 +23,11 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -209,6 +214,60 @@ class UserServiceTest {
         }
     }
     
+    @Nested
+    @DisplayName("🏷️ executeIfModified() - GET condicional (ETag)")
+    class ConditionalGetTests {
+        
+        private String currentVersion() {
+            List<String> seen = new ArrayList<>();
+            userService.executeIfModified(testUserId.toString(), version -> {
+                seen.add(version);
+                return false;
+            });
+            return seen.get(0);
+        }
+        
+        @Test
+        @DisplayName("Debe devolver vacío (304) si el cliente ya tiene la versión actual")
+        void shouldReturnEmptyWhenVersionIsKnown() {
+            when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+            String version = currentVersion();
+            
+            Optional<UserResponse> response = userService.executeIfModified(testUserId.toString(), version::equals);
+            
+            assertTrue(response.isEmpty());
+        }
+        
+        @Test
+        @DisplayName("Debe devolver el usuario con otra versión tras modificarlo")
+        void shouldReturnUserWhenModified() {
+            when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+            String version = currentVersion();
+            
+            testUser.setUpdatedAt(testUser.getUpdatedAt().plusNanos(1000));
+            Optional<UserResponse> response = userService.executeIfModified(testUserId.toString(), version::equals);
+            
+            assertTrue(response.isPresent());
+            assertEquals(testUserId.toString(), response.get().id());
+        }
+        
+        @Test
+        @DisplayName("Debe cambiar la versión de la lista al añadir un usuario")
+        void shouldChangeListVersionWhenUserIsAdded() {
+            User jane = User.create(new Email("jane@example.com"), "Jane Doe");
+            List<String> versions = new ArrayList<>();
+            when(userRepository.findAllActive())
+                .thenReturn(List.of(testUser))
+                .thenReturn(List.of(testUser, jane));
+            
+            userService.executeIfModified(versions::add);
+            Optional<List<UserResponse>> response = userService.executeIfModified(versions.get(0)::equals);
+            
+            assertTrue(response.isPresent());
+            assertEquals(2, response.get().size());
+        }
+    }
+    
     @Nested
     @DisplayName("📝 update(String, UpdateUserRequest) - Actualizar Usuario")
     class UpdateUserTests {
@@ -298,6 +357,54 @@ class UserServiceTest {
         }
     }
     
+    @Nested
+    @DisplayName("🛬 Búsquedas simultáneas del mismo usuario (single-flight)")
+    class SingleFlightLookupTests {
+        
+        @Test
+        @DisplayName("Debe consultar el repositorio una sola vez para búsquedas simultáneas")
+        void shouldCoalesceConcurrentLookups() throws Exception {
+            int callers = 6;
+            CountDownLatch release = new CountDownLatch(1);
+            when(userRepository.findById(testUserId)).thenAnswer(invocation -> {
+                release.await(5, TimeUnit.SECONDS);
+                return Optional.of(testUser);
+            });
+            
+            ExecutorService pool = Executors.newFixedThreadPool(callers);
+            try {
+                List<Future<UserResponse>> responses = new ArrayList<>();
+                for (int i = 0; i < callers; i++) {
+                    responses.add(pool.submit(() -> userService.execute(testUserId.value().toString())));
+                }
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (userService.userLookups().coalesced() < callers - 1 && System.nanoTime() < deadline) {
+                    Thread.sleep(5);
+                }
+                release.countDown();
+                
+                for (Future<UserResponse> response : responses) {
+                    assertEquals(testEmail.value(), response.get(5, TimeUnit.SECONDS).email());
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+            verify(userRepository, times(1)).findById(testUserId);
+            assertEquals(callers - 1, userService.userLookups().coalesced());
+        }
+        
+        @Test
+        @DisplayName("Debe volver a consultar en búsquedas sucesivas (no es una caché)")
+        void shouldNotCacheSequentialLookups() {
+            when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+            
+            userService.execute(testUserId.value().toString());
+            userService.execute(testUserId.value().toString());
+            
+            verify(userRepository, times(2)).findById(testUserId);
+        }
+    }
+    
     @Nested
     @DisplayName("🔗 Integration de Mocks - Verificar Interacciones")
     class MockInteractionTests {
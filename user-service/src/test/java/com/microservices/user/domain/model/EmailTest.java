@@ -0,0 +1,130 @@
+package com.microservices.user.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA VALUE OBJECT Email
+ *
+ * PROPÓSITO:
+ * - Verificar que el validador de una pasada acepta y rechaza
+ *   exactamente lo mismo que la regex original
+ * - Verificar que no se crean Strings nuevos si el valor ya está normalizado
+ * - Verificar fromTrusted() (lecturas de BD)
+ */
+@DisplayName("🧪 Email Value Object Tests")
+class EmailTest {
+
+    /**
+     * Implementación original, usada como referencia
+     */
+    private static final Pattern LEGACY_PATTERN = Pattern.compile(
+        "^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$"
+    );
+
+    private static String legacyNormalize(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException("El email no puede estar vacío");
+        }
+        String normalized = value.trim().toLowerCase();
+        if (!LEGACY_PATTERN.matcher(normalized).matches()) {
+            throw new IllegalArgumentException("Email inválido: " + normalized);
+        }
+        return normalized;
+    }
+
+    @Nested
+    @DisplayName("✅ new Email() - Validación y normalización")
+    class ValidationTests {
+
+        @ParameterizedTest
+        @ValueSource(strings = {
+            "john@example.com", "  John.Doe@Example.COM ", "a+b_c.d-e@sub.domain.io",
+            "x@a.bc", "x@..com", "x@a-.com", "x@1.2.abc", "\tUSER@HOST.ORG\n",
+            "john@example.c", "john@example.c0m", "john@example.com.", "john@.com",
+            "@example.com", "john@", "john", "john@@example.com", "jo hn@example.com",
+            "john@exa_mple.com", "john@example", "john@example.-com", ".@a.bc",
+            "jöhn@example.com", "K@example.com", "john@example.Kom",
+            "", "   "
+        })
+        @DisplayName("Debe aceptar y rechazar lo mismo que la regex original")
+        void shouldMatchLegacyBehaviour(String input) {
+            String expected;
+            try {
+                expected = legacyNormalize(input);
+            } catch (IllegalArgumentException legacyError) {
+                IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                    () -> new Email(input));
+                assertEquals(legacyError.getMessage(), error.getMessage());
+                return;
+            }
+            assertEquals(expected, new Email(input).value());
+        }
+
+        @Test
+        @DisplayName("Debe rechazar null")
+        void shouldRejectNull() {
+            assertThrows(IllegalArgumentException.class, () -> new Email(null));
+        }
+
+        @Test
+        @DisplayName("Debe reutilizar el mismo String si ya está normalizado")
+        void shouldReuseNormalizedString() {
+            String normalized = new String("john@example.com");
+
+            assertSame(normalized, new Email(normalized).value());
+        }
+
+        @Test
+        @DisplayName("Debe normalizar espacios y mayúsculas")
+        void shouldNormalize() {
+            assertEquals("john.doe@example.com", new Email("  John.Doe@Example.COM ").value());
+        }
+    }
+
+    @Nested
+    @DisplayName("🔓 Email.fromTrusted() - Valores ya validados")
+    class TrustedTests {
+
+        @Test
+        @DisplayName("Debe crear el Email sin copiar el valor")
+        void shouldWrapValue() {
+            String stored = "john@example.com";
+
+            Email email = Email.fromTrusted(stored);
+
+            assertSame(stored, email.value());
+            assertEquals(new Email(stored), email);
+            assertEquals(new Email(stored).hashCode(), email.hashCode());
+        }
+
+        @Test
+        @DisplayName("Debe rechazar null")
+        void shouldRejectNull() {
+            assertThrows(NullPointerException.class, () -> Email.fromTrusted(null));
+        }
+    }
+
+    @Nested
+    @DisplayName("🔍 Métodos del Value Object")
+    class AccessorTests {
+
+        @Test
+        @DisplayName("Debe exponer dominio y parte local")
+        void shouldExposeParts() {
+            Email email = new Email("john@example.com");
+
+            assertEquals("example.com", email.getDomain());
+            assertEquals("john", email.getLocalPart());
+            assertTrue(email.isDomain("example.com"));
+            assertEquals("Email[value=john@example.com]", email.toString());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.microservices.user.infrastructure.adapter.input.rest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.user.application.service.ImportUsersService;
+import com.microservices.user.domain.repository.UserRepository;
+import com.microservices.user.infrastructure.adapter.application.ImportUsersUseCaseAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+/**
+ * 🧪 UNIT TESTS PARA POST /api/users/import (UserController)
+ *
+ * PROPÓSITO:
+ * - Verificar la respuesta NDJSON: una línea por línea de entrada y una
+ *   última con el resumen
+ * - Verificar CSV (cabecera, comillas) y NDJSON de entrada
+ * - Verificar que una primera línea CSV mal formada da un error de línea
+ *   y no rompe la importación
+ *
+ * Controller e ImportUsersService reales; solo el repositorio es un mock.
+ */
+@DisplayName("🧪 User Controller Import Tests")
+@ExtendWith(MockitoExtension.class)
+class UserControllerImportTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private UserController controller;
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(Set.of());
+        controller = new UserController(null, null, null, null, null,
+            new ImportUsersUseCaseAdapter(new ImportUsersService(userRepository, 2)), objectMapper);
+    }
+
+    private List<JsonNode> importUsers(String contentType, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/import");
+        request.setContentType(contentType);
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        controller.importUsers(request, response);
+
+        assertEquals(200, response.getStatus());
+        assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(response.getContentType())));
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : response.getContentAsString(StandardCharsets.UTF_8).split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    @Nested
+    @DisplayName("📥 Respuesta NDJSON")
+    class ImportTests {
+
+        @Test
+        @DisplayName("CSV: debe devolver un resultado por línea y el resumen al final")
+        void shouldStreamResultsForCsv() throws Exception {
+            List<JsonNode> lines = importUsers("text/csv", """
+                name,email
+                "Pérez, Ana",ana@example.com
+                Luis,no-es-un-email
+                """);
+
+            assertEquals(3, lines.size());
+            assertEquals(2, lines.get(0).get("line").asLong());
+            assertEquals("CREATED", lines.get(0).get("status").asText());
+            assertEquals("ana@example.com", lines.get(0).get("email").asText());
+            assertEquals("INVALID", lines.get(1).get("status").asText());
+            JsonNode summary = lines.get(2).get("summary");
+            assertEquals(2, summary.get("total").asLong());
+            assertEquals(1, summary.get("created").asLong());
+            assertEquals(1, summary.get("invalid").asLong());
+        }
+
+        @Test
+        @DisplayName("NDJSON: debe importar un objeto por línea")
+        void shouldStreamResultsForNdjson() throws Exception {
+            List<JsonNode> lines = importUsers(MediaType.APPLICATION_NDJSON_VALUE, """
+                {"email":"ana@example.com","name":"Ana"}
+                {"email":"luis@example.com","name":"Luis"}
+                """);
+
+            assertEquals(3, lines.size());
+            assertEquals("CREATED", lines.get(0).get("status").asText());
+            assertEquals("CREATED", lines.get(1).get("status").asText());
+            assertEquals(2, lines.get(2).get("summary").get("created").asLong());
+        }
+
+        @Test
+        @DisplayName("CSV con la primera línea mal formada: error de esa línea, el resto se importa")
+        void shouldReportMalformedFirstCsvLine() throws Exception {
+            List<JsonNode> lines = importUsers("text/csv", """
+                "email,name
+                ana@example.com,Ana
+                """);
+
+            assertEquals(3, lines.size());
+            assertEquals(1, lines.get(0).get("line").asLong());
+            assertEquals("INVALID", lines.get(0).get("status").asText());
+            assertEquals("CREATED", lines.get(1).get("status").asText());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.microservices.user.infrastructure.adapter.input.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microservices.user.application.dto.ImportUserRow;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 🧪 UNIT TESTS PARA UserImportReader
+ *
+ * PROPÓSITO:
+ * - Verificar la cabecera CSV (opcional, en cualquier orden)
+ * - Verificar los campos entre comillas y las comillas escapadas
+ * - Verificar que las líneas mal formadas dan una fila con error (también
+ *   la primera) y que las líneas en blanco se ignoran
+ * - Verificar el parseo de NDJSON
+ */
+@DisplayName("🧪 User Import Reader Tests")
+class UserImportReaderTest {
+
+    private static List<ImportUserRow> read(UserImportReader.Format format, String body) {
+        UserImportReader reader = new UserImportReader(
+            new BufferedReader(new StringReader(body)), format, new ObjectMapper());
+        List<ImportUserRow> rows = new ArrayList<>();
+        reader.forEachRemaining(rows::add);
+        return rows;
+    }
+
+    @Nested
+    @DisplayName("📄 CSV")
+    class CsvTests {
+
+        @Test
+        @DisplayName("Debe tomar el orden de las columnas de la cabecera")
+        void shouldUseHeaderColumnOrder() {
+            List<ImportUserRow> rows = read(UserImportReader.Format.CSV, """
+                Name, EMAIL
+                Ana,ana@example.com
+                """);
+
+            assertEquals(List.of(ImportUserRow.of(2, "ana@example.com", "Ana")), rows);
+        }
+
+        @Test
+        @DisplayName("Sin cabecera debe usar email,name y tratar la primera línea como fila")
+        void shouldReadWithoutHeader() {
+            List<ImportUserRow> rows = read(UserImportReader.Format.CSV, """
+                ana@example.com,Ana
+
+                luis@example.com,Luis
+                """);
+
+            assertEquals(List.of(
+                ImportUserRow.of(1, "ana@example.com", "Ana"),
+                ImportUserRow.of(3, "luis@example.com", "Luis")), rows);
+        }
+
+        @Test
+        @DisplayName("Debe respetar comas entre comillas y comillas escapadas")
+        void shouldHandleQuotedFields() {
+            List<ImportUserRow> rows = read(UserImportReader.Format.CSV, """
+                email,name
+                ana@example.com,"Pérez, Ana"
+                "luis@example.com","Luis ""Lucho"" Gómez"
+                """);
+
+            assertEquals("Pérez, Ana", rows.get(0).name());
+            assertEquals("luis@example.com", rows.get(1).email());
+            assertEquals("Luis \"Lucho\" Gómez", rows.get(1).name());
+        }
+
+        @Test
+        @DisplayName("Debe devolver una fila con error si quedan comillas sin cerrar o faltan columnas")
+        void shouldReturnMalformedRows() {
+            List<ImportUserRow> rows = read(UserImportReader.Format.CSV, """
+                email,name
+                ana@example.com,"Ana
+                luis@example.com
+                eva@example.com,Eva
+                """);
+
+            assertEquals(3, rows.size());
+            assertTrue(rows.get(0).isMalformed());
+            assertTrue(rows.get(0).error().contains("comillas"));
+            assertTrue(rows.get(1).isMalformed());
+            assertTrue(rows.get(1).error().contains("columnas"));
+            assertEquals(ImportUserRow.of(4, "eva@example.com", "Eva"), rows.get(2));
+        }
+
+        @Test
+        @DisplayName("Una primera línea con comillas sin cerrar debe ser un error de línea, no una excepción")
+        void shouldReportMalformedFirstLine() {
+            List<ImportUserRow> rows = read(UserImportReader.Format.CSV, """
+                "email,name
+                ana@example.com,Ana
+                """);
+
+            assertEquals(2, rows.size());
+            assertEquals(1, rows.get(0).line());
+            assertTrue(rows.get(0).isMalformed());
+            assertEquals(ImportUserRow.of(2, "ana@example.com", "Ana"), rows.get(1));
+        }
+    }
+
+    @Nested
+    @DisplayName("📄 NDJSON")
+    class NdjsonTests {
+
+        @Test
+        @DisplayName("Debe leer un objeto por línea y marcar las líneas inválidas")
+        void shouldParseObjectsAndReportInvalidLines() {
+            List<ImportUserRow> rows = read(UserImportReader.Format.NDJSON, """
+                {"email":"ana@example.com","name":"Ana"}
+                {"email":"luis@example.com"
+                ["no", "es", "un", "objeto"]
+                {"email":null,"name":"Sin email"}
+                """);
+
+            assertEquals(ImportUserRow.of(1, "ana@example.com", "Ana"), rows.get(0));
+            assertTrue(rows.get(1).isMalformed());
+            assertTrue(rows.get(1).error().startsWith("JSON inválido"));
+            assertTrue(rows.get(2).isMalformed());
+            assertEquals(ImportUserRow.of(4, null, "Sin email"), rows.get(3));
+        }
+    }
+}